@@ -200,9 +200,10 @@ public abstract class BesuControllerBuilder<C> {
 
     prepForBuild();
 
+    // Created before the protocol schedule, which uses it to look up contract lock state.
+    this.crosschainController = new CrosschainController();
     final ProtocolSchedule<C> protocolSchedule = createProtocolSchedule();
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
-    this.crosschainController = new CrosschainController();
     final ProtocolContext<C> protocolContext =
         ProtocolContext.init(
             storageProvider,
@@ -211,6 +212,8 @@ public abstract class BesuControllerBuilder<C> {
             metricsSystem,
             this::createConsensusContext);
     validateContext(protocolContext);
+    // All of the milestones of the protocol schedule share the same code cache.
+    protocolSchedule.getByBlockNumber(0).getCodeCache().registerMetrics(metricsSystem);
 
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
 
@@ -311,7 +314,9 @@ public abstract class BesuControllerBuilder<C> {
         this.nodeKeys,
         blockchain,
         protocolContext.getWorldStateArchive(),
-        new CrosschainNodeStorage(storageProvider.getCrosschainNodeStorage()));
+        new CrosschainNodeStorage(storageProvider.getCrosschainNodeStorage()),
+        metricsSystem);
+    addShutdownAction(this.crosschainController::shutdown);
 
     final MiningCoordinator miningCoordinator =
         createMiningCoordinator(
@@ -218,7 +218,8 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
     return IbftProtocolSchedule.create(
         genesisConfig.getConfigOptions(genesisConfigOverrides),
         privacyParameters,
-        isRevertReasonEnabled);
+        isRevertReasonEnabled,
+        crosschainController::isLockedAtChainHead);
   }
 
   @Override
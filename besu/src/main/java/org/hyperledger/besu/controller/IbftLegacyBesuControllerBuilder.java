@@ -66,7 +66,8 @@ public class IbftLegacyBesuControllerBuilder extends BesuControllerBuilder<IbftC
     return IbftProtocolSchedule.create(
         genesisConfig.getConfigOptions(genesisConfigOverrides),
         privacyParameters,
-        isRevertReasonEnabled);
+        isRevertReasonEnabled,
+        crosschainController::isLockedAtChainHead);
   }
 
   @Override
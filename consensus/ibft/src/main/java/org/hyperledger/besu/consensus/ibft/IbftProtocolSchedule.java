@@ -17,6 +17,7 @@ import static org.hyperledger.besu.consensus.ibft.IbftBlockHeaderValidationRules
 import org.hyperledger.besu.config.GenesisConfigOptions;
 import org.hyperledger.besu.config.IbftConfigOptions;
 import org.hyperledger.besu.crosschain.ethereum.privatenet.CrosschainProtocolSpecs;
+import org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles.LockStateLookup;
 import org.hyperledger.besu.ethereum.MainnetBlockValidator;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Wei;
@@ -40,7 +41,8 @@ public class IbftProtocolSchedule {
   public static ProtocolSchedule<IbftContext> create(
       final GenesisConfigOptions config,
       final PrivacyParameters privacyParameters,
-      final boolean isRevertReasonEnabled) {
+      final boolean isRevertReasonEnabled,
+      final LockStateLookup lockStateLookup) {
     final IbftConfigOptions ibftConfig = config.getIbft2ConfigOptions();
     final long blockPeriod = ibftConfig.getBlockPeriodSeconds();
 
@@ -64,11 +66,19 @@ public class IbftProtocolSchedule {
             chainId,
             config.getContractSizeLimit(),
             config.getEvmStackSize(),
-            isRevertReasonEnabled));
+            isRevertReasonEnabled,
+            lockStateLookup));
 
     return protocolSchedule;
   }
 
+  public static ProtocolSchedule<IbftContext> create(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final boolean isRevertReasonEnabled) {
+    return create(config, privacyParameters, isRevertReasonEnabled, LockStateLookup.NONE);
+  }
+
   public static ProtocolSchedule<IbftContext> create(
       final GenesisConfigOptions config, final boolean isRevertReasonEnabled) {
     return create(config, PrivacyParameters.DEFAULT, isRevertReasonEnabled);
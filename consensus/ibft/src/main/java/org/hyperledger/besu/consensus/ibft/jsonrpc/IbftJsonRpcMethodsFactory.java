@@ -33,6 +33,8 @@ import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.Cro
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossGetKeyGenFailureReason;
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossGetKeyGenNodesDroppedOutOfKeyGeneration;
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossGetKeyStatus;
+import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossGetLockedContracts;
+import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossGetTransactionStatus;
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossIsLockable;
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossIsLocked;
 import org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods.CrossListCoordinationContracts;
@@ -103,8 +105,10 @@ public class IbftJsonRpcMethodsFactory implements JsonRpcMethodFactory {
           new CrossGetKeyGenFailureReason(crosschainController, jsonRpcParameter),
           new CrossGetKeyGenNodesDroppedOutOfKeyGeneration(crosschainController, jsonRpcParameter),
           new CrossGetKeyStatus(crosschainController, jsonRpcParameter),
-          new CrossIsLockable(blockchainQueries, jsonRpcParameter),
-          new CrossIsLocked(blockchainQueries, jsonRpcParameter),
+          new CrossGetLockedContracts(crosschainController),
+          new CrossGetTransactionStatus(crosschainController, jsonRpcParameter),
+          new CrossIsLockable(blockchainQueries, crosschainController, jsonRpcParameter),
+          new CrossIsLocked(blockchainQueries, crosschainController, jsonRpcParameter),
           new CrossListCoordinationContracts(crosschainController),
           new CrossListLinkedNodes(crosschainController),
           new CrossProcessSubordinateView(
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.messages;
+
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Builds signed crosschain transactions shaped like the ones the benchmarks process. */
+final class BenchmarkTransactions {
+  static final BigInteger ORIGINATING_CHAIN_ID = BigInteger.valueOf(11);
+  static final BigInteger COORDINATION_CHAIN_ID = BigInteger.valueOf(10);
+  static final Address COORDINATION_CONTRACT = Address.fromHexString("0x" + "ab".repeat(20));
+  static final BigInteger CROSSCHAIN_TRANSACTION_ID = BigInteger.valueOf(0x1234567890L);
+
+  private static final SECP256K1.KeyPair KEYS =
+      SECP256K1.KeyPair.create(SECP256K1.PrivateKey.create(BigInteger.valueOf(0x1234567L)));
+  private static final BigInteger TIMEOUT_BLOCK_NUMBER = BigInteger.valueOf(1000);
+
+  private BenchmarkTransactions() {}
+
+  /**
+   * @param numSubordinateTransactions Number of subordinate transactions of the originating
+   *     transaction.
+   * @param numViewsPerSubordinate Number of subordinate views of each subordinate transaction.
+   * @return Originating transaction.
+   */
+  static CrosschainTransaction originatingTransaction(
+      final int numSubordinateTransactions, final int numViewsPerSubordinate) {
+    List<CrosschainTransaction> subordinates = new ArrayList<>(numSubordinateTransactions);
+    for (int i = 0; i < numSubordinateTransactions; i++) {
+      BigInteger chainId = BigInteger.valueOf(100 + i);
+      List<CrosschainTransaction> views = new ArrayList<>(numViewsPerSubordinate);
+      for (int j = 0; j < numViewsPerSubordinate; j++) {
+        views.add(
+            subordinate(
+                CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_VIEW,
+                BigInteger.valueOf(200 + j),
+                chainId,
+                List.of()));
+      }
+      subordinates.add(
+          subordinate(
+              CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_TRANSACTION,
+              chainId,
+              ORIGINATING_CHAIN_ID,
+              views));
+    }
+    return coordinated(
+            CrosschainTransaction.CrosschainTransactionType.ORIGINATING_TRANSACTION,
+            ORIGINATING_CHAIN_ID,
+            subordinates)
+        .signAndBuild(KEYS);
+  }
+
+  /** @return A subordinate view, with no nested subordinates. */
+  static CrosschainTransaction subordinateView() {
+    return subordinate(
+        CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_VIEW,
+        BigInteger.valueOf(200),
+        ORIGINATING_CHAIN_ID,
+        List.of());
+  }
+
+  /** @return A subordinate transaction, with no nested subordinates. */
+  static CrosschainTransaction subordinateTransaction() {
+    return subordinate(
+        CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_TRANSACTION,
+        BigInteger.valueOf(100),
+        ORIGINATING_CHAIN_ID,
+        List.of());
+  }
+
+  private static CrosschainTransaction subordinate(
+      final CrosschainTransaction.CrosschainTransactionType type,
+      final BigInteger chainId,
+      final BigInteger fromChainId,
+      final List<CrosschainTransaction> subordinates) {
+    return coordinated(type, chainId, subordinates)
+        .originatingSidechainId(ORIGINATING_CHAIN_ID)
+        .crosschainFromSidechainId(fromChainId)
+        .crosschainFromAddress(Address.extract(KEYS.getPublicKey()))
+        .signAndBuild(KEYS);
+  }
+
+  private static CrosschainTransaction.Builder coordinated(
+      final CrosschainTransaction.CrosschainTransactionType type,
+      final BigInteger chainId,
+      final List<CrosschainTransaction> subordinates) {
+    return new CrosschainTransaction.Builder()
+        .type(type)
+        .chainId(chainId)
+        .crosschainCoordinationBlockchainId(COORDINATION_CHAIN_ID)
+        .crosschainCoordinationContractAddress(COORDINATION_CONTRACT)
+        .crosschainTransactionTimeoutBlockNumber(TIMEOUT_BLOCK_NUMBER)
+        .crosschainTransactionId(CROSSCHAIN_TRANSACTION_ID)
+        .nonce(1)
+        .gasPrice(Wei.of(1000))
+        .gasLimit(1_000_000)
+        .to(Address.fromHexString("0x" + "cd".repeat(20)))
+        .value(Wei.ZERO)
+        .payload(Bytes32.leftPad(BytesValue.of(1, 2, 3, 4)))
+        .subordinateTransactionsAndViews(subordinates);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.messages;
+
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * RLP encoding and decoding of an originating transaction whose subordinate transactions each have
+ * nested subordinate views. Each nested transaction is RLP encoded within its parent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CrosschainTransactionRlpBenchmark {
+  @Param({"1", "4", "16"})
+  public int numSubordinateTransactions;
+
+  @Param({"0", "4"})
+  public int numViewsPerSubordinate;
+
+  private CrosschainTransaction transaction;
+  private BytesValue encoded;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    this.transaction =
+        BenchmarkTransactions.originatingTransaction(
+            this.numSubordinateTransactions, this.numViewsPerSubordinate);
+    this.encoded = RLP.encode(this.transaction::writeTo);
+  }
+
+  @Benchmark
+  public BytesValue encode() {
+    return RLP.encode(this.transaction::writeTo);
+  }
+
+  @Benchmark
+  public CrosschainTransaction decode() {
+    return CrosschainTransaction.readFrom(RLP.input(this.encoded));
+  }
+
+  @Benchmark
+  public CrosschainTransaction roundTrip() {
+    return CrosschainTransaction.readFrom(RLP.input(RLP.encode(this.transaction::writeTo)));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.messages;
+
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encoding and decoding of each type of threshold signed message. Messages about the originating
+ * transaction include the transaction and all of its subordinate transactions and views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ThresholdSignedMessageBenchmark {
+  // Size of an encoded signature point on E1.
+  private static final int SIGNATURE_SIZE = 64;
+
+  @Param({
+    "CROSSCHAIN_TRANSACTION_START",
+    "CROSSCHAIN_TRANSACTION_COMMIT",
+    "CROSSCHAIN_TRANSACTION_IGNORE",
+    "SUBORDINATE_VIEW_RESULT",
+    "SUBORDINATE_TRANSACTION_READY"
+  })
+  public String messageType;
+
+  @Param({"1", "4"})
+  public int numSubordinateTransactions;
+
+  private ThresholdSignedMessage message;
+  private BytesValue encoded;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    switch (ThresholdSignedMessageType.valueOf(this.messageType)) {
+      case CROSSCHAIN_TRANSACTION_START:
+        this.message = new CrosschainTransactionStartMessage(originatingTransaction());
+        break;
+      case CROSSCHAIN_TRANSACTION_COMMIT:
+        this.message = new CrosschainTransactionCommitMessage(originatingTransaction());
+        break;
+      case CROSSCHAIN_TRANSACTION_IGNORE:
+        this.message = new CrosschainTransactionIgnoreMessage(originatingTransaction());
+        break;
+      case SUBORDINATE_VIEW_RESULT:
+        this.message =
+            new SubordinateViewResultMessage(
+                BenchmarkTransactions.subordinateView(), BytesValue.wrap(new byte[32]), 1234);
+        break;
+      case SUBORDINATE_TRANSACTION_READY:
+        this.message =
+            new SubordinateTransactionReadyMessage(BenchmarkTransactions.subordinateTransaction());
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported message type " + this.messageType);
+    }
+    this.message.setSignature(1, BytesValue.wrap(new byte[SIGNATURE_SIZE]));
+    this.encoded = this.message.getEncodedMessage();
+  }
+
+  @Benchmark
+  public BytesValue encode() {
+    return this.message.getEncodedMessage();
+  }
+
+  @Benchmark
+  public ThresholdSignedMessage decode() {
+    return ThresholdSignedMessage.decodeEncodedMessage(this.encoded);
+  }
+
+  private CrosschainTransaction originatingTransaction() {
+    return BenchmarkTransactions.originatingTransaction(this.numSubordinateTransactions, 2);
+  }
+}
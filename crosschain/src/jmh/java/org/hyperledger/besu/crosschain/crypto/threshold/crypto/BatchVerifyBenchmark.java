@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares verifying signatures one at a time with verifying them as a batch.
+ *
+ * <p>Each signature is verified on its own as a batch of one. The alt_bn128 provider's verify
+ * method does not check the signature and always returns true, so it can't be used as the
+ * baseline. A batch of one does the same pairings as a single verification, plus a scalar
+ * multiplication by the random coefficient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchVerifyBenchmark {
+  // Number of distinct signers. Messages from the same signer share a Miller loop when batched.
+  private static final int NUM_SIGNERS = 4;
+
+  @Param({"LOCAL_ALT_BN_128", "LOCAL_BLS12_381"})
+  public String providerType;
+
+  @Param({"1", "8", "32"})
+  public int batchSize;
+
+  private BlsCryptoProvider cryptoProvider;
+  private List<BlsPoint> publicKeys;
+  private List<byte[]> data;
+  private List<BlsPoint> signatures;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    this.cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.valueOf(this.providerType),
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+    this.publicKeys = new ArrayList<>(this.batchSize);
+    this.data = new ArrayList<>(this.batchSize);
+    this.signatures = new ArrayList<>(this.batchSize);
+    for (int i = 0; i < this.batchSize; i++) {
+      BigInteger privateKey = BigInteger.valueOf(0x1234567L + (i % NUM_SIGNERS));
+      byte[] message = ("message " + i).getBytes(StandardCharsets.UTF_8);
+      this.publicKeys.add(this.cryptoProvider.createPointE2(privateKey));
+      this.data.add(message);
+      this.signatures.add(this.cryptoProvider.sign(privateKey, message));
+    }
+  }
+
+  @Benchmark
+  public boolean verifyIndividually() {
+    boolean allValid = true;
+    for (int i = 0; i < this.batchSize; i++) {
+      boolean[] verified =
+          this.cryptoProvider.verifyBatch(
+              this.publicKeys.subList(i, i + 1),
+              this.data.subList(i, i + 1),
+              this.signatures.subList(i, i + 1));
+      allValid &= verified[0];
+    }
+    return allValid;
+  }
+
+  @Benchmark
+  public boolean[] verifyBatch() {
+    return this.cryptoProvider.verifyBatch(this.publicKeys, this.data, this.signatures);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The individual operations of each BLS crypto provider which threshold signing is built from.
+ *
+ * <p>Signatures are verified as a batch of one. The alt_bn128 provider's verify method does not
+ * check the signature and always returns true, whereas batch verification does the pairings for
+ * both providers. A batch of one costs a scalar multiplication by the random coefficient on top of
+ * a single verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlsCryptoProviderBenchmark {
+  @Param({"LOCAL_ALT_BN_128", "LOCAL_BLS12_381"})
+  public String providerType;
+
+  private BlsCryptoProvider cryptoProvider;
+  private BigInteger privateKey;
+  private BigInteger scalar;
+  private byte[] data;
+  private BlsPoint publicKey;
+  private BlsPoint signature;
+  private List<BlsPoint> publicKeys;
+  private List<byte[]> dataItems;
+  private List<BlsPoint> signatures;
+  private BlsPoint pointE1;
+  private BlsPoint pointE2;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    this.cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.valueOf(this.providerType),
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+    this.privateKey =
+        this.cryptoProvider.modPrime(new BigInteger("1234567890abcdef1234567890", 16));
+    this.scalar = this.cryptoProvider.modPrime(new BigInteger("fedcba0987654321fedcba0987", 16));
+    this.data = "crosschain transaction".getBytes(StandardCharsets.UTF_8);
+    this.publicKey = this.cryptoProvider.createPointE2(this.privateKey);
+    this.signature = this.cryptoProvider.sign(this.privateKey, this.data);
+    this.publicKeys = List.of(this.publicKey);
+    this.dataItems = List.of(this.data);
+    this.signatures = List.of(this.signature);
+    this.pointE1 = this.cryptoProvider.hashToCurveE1(this.data);
+    this.pointE2 = this.publicKey;
+  }
+
+  @Benchmark
+  public BlsPoint hashToCurveE1() {
+    return this.cryptoProvider.hashToCurveE1(this.data);
+  }
+
+  @Benchmark
+  public BlsPoint sign() {
+    return this.cryptoProvider.sign(this.privateKey, this.data);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return this.cryptoProvider.verifyBatch(this.publicKeys, this.dataItems, this.signatures)[0];
+  }
+
+  // Multiplication of an arbitrary point, such as a public key share.
+  @Benchmark
+  public BlsPoint scalarMulE1() {
+    return this.pointE1.scalarMul(this.scalar);
+  }
+
+  @Benchmark
+  public BlsPoint scalarMulE2() {
+    return this.pointE2.scalarMul(this.scalar);
+  }
+
+  // Multiplication of the base point, such as when creating a public key.
+  @Benchmark
+  public BlsPoint createPointE1() {
+    return this.cryptoProvider.createPointE1(this.scalar);
+  }
+
+  @Benchmark
+  public BlsPoint createPointE2() {
+    return this.cryptoProvider.createPointE2(this.scalar);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.scheme;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Recovering a secret from threshold shares by Lagrange interpolation: integer shares, as when
+ * checking a key generation, and signature point shares, as when combining threshold signatures.
+ * The same nodes take part in each iteration, so the Lagrange basis values are computed once and
+ * then reused, as they are when the same nodes repeatedly sign.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LagrangeInterpolationBenchmark {
+  @Param({"LOCAL_ALT_BN_128", "LOCAL_BLS12_381"})
+  public String providerType;
+
+  @Param({"2", "5", "10"})
+  public int threshold;
+
+  private ThresholdScheme thresholdScheme;
+  private IntegerSecretShare[] integerShares;
+  private BlsPointSecretShare[] pointShares;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    BlsCryptoProvider cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.valueOf(this.providerType),
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+    this.thresholdScheme = new ThresholdScheme(cryptoProvider, this.threshold);
+
+    BigInteger[] xValues = new BigInteger[this.threshold];
+    BigInteger[] coefficients = new BigInteger[this.threshold - 1];
+    for (int i = 0; i < this.threshold; i++) {
+      xValues[i] = BigInteger.valueOf(i + 1);
+    }
+    for (int i = 0; i < this.threshold - 1; i++) {
+      coefficients[i] = cryptoProvider.modPrime(BigInteger.valueOf(0x1234567L * (i + 1)));
+    }
+    this.integerShares =
+        this.thresholdScheme.generateSecretShares(
+            BigInteger.valueOf(0x7654321L), xValues, coefficients);
+
+    // Each node's share of a threshold signature is a signature using its share of the private key.
+    byte[] data = "crosschain transaction".getBytes(StandardCharsets.UTF_8);
+    this.pointShares = new BlsPointSecretShare[this.threshold];
+    for (int i = 0; i < this.threshold; i++) {
+      BlsPoint signatureShare = cryptoProvider.sign(this.integerShares[i].getShareY(), data);
+      this.pointShares[i] = new BlsPointSecretShare(xValues[i], signatureShare);
+    }
+  }
+
+  @Benchmark
+  public BigInteger calculateSecretFromIntegerShares() {
+    return this.thresholdScheme.calculateSecret(this.integerShares);
+  }
+
+  @Benchmark
+  public BlsPoint calculateSecretFromSignatureShares() {
+    return this.thresholdScheme.calculateSecret(this.pointShares);
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of items, each with a deadline block number. The wheel is advanced as
+ * the blockchain advances, and returns the items whose deadlines have been reached.
+ *
+ * <p>Each level of the wheel has 64 slots, and each slot of a level spans 64 times as many blocks
+ * as a slot of the level below. Adding an item, and expiring an item, takes constant time
+ * regardless of how many items are in the wheel. Items with deadlines further in the future than
+ * the wheel spans are held in an overflow list until they come within range.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @param <T> Type of the items.
+ */
+class BlockTimingWheel<T> {
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+  private static final int LEVELS = 4;
+
+  private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS_PER_LEVEL);
+  // Number of items held at each level, and in the overflow list.
+  private final int[] levelSizes = new int[LEVELS + 1];
+  private List<Entry<T>> overflow = new ArrayList<>();
+  private long currentBlockNumber = -1;
+  private int size;
+
+  BlockTimingWheel() {
+    for (int i = 0; i < LEVELS * SLOTS_PER_LEVEL; i++) {
+      this.slots.add(new ArrayList<>());
+    }
+  }
+
+  /**
+   * @return The block number the wheel has been advanced to, or -1 if the wheel has not been
+   *     advanced.
+   */
+  long getCurrentBlockNumber() {
+    return this.currentBlockNumber;
+  }
+
+  /** @return The number of items in the wheel. */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Add an item to the wheel. The wheel must have been advanced to a block number before any items
+   * are added.
+   *
+   * @param deadlineBlockNumber Block number at which the item expires. The item expires on the next
+   *     advance if the deadline is not after the current block number.
+   * @param item Item to add.
+   */
+  void add(final long deadlineBlockNumber, final T item) {
+    if (this.currentBlockNumber < 0) {
+      throw new IllegalStateException("Timing wheel has not been advanced to a block number");
+    }
+    place(new Entry<>(Math.max(deadlineBlockNumber, this.currentBlockNumber), item));
+    this.size++;
+  }
+
+  /**
+   * Advance the wheel to a block number.
+   *
+   * @param blockNumber Block number to advance to. If the block number is not after the current
+   *     block number, only the items whose deadline is the current block number expire.
+   * @return Items whose deadline has been reached.
+   */
+  List<T> advanceTo(final long blockNumber) {
+    List<T> expired = new ArrayList<>();
+    if (this.currentBlockNumber < 0 || this.size == 0) {
+      this.currentBlockNumber = Math.max(this.currentBlockNumber, blockNumber);
+      return expired;
+    }
+    // Items due at the current block number have either been added since the last advance, or
+    // could not be expired by it.
+    expireSlot(expired);
+    while (this.currentBlockNumber < blockNumber && this.size > 0) {
+      // Skip over blocks at which nothing can expire: if the lower levels of the wheel are empty,
+      // nothing happens until the next block number at which the lowest occupied level cascades.
+      int lowestLevel = 0;
+      while (this.levelSizes[lowestLevel] == 0) {
+        lowestLevel++;
+      }
+      long spanMask = (1L << (SLOT_BITS * lowestLevel)) - 1;
+      long nextBlockNumber = (this.currentBlockNumber | spanMask) + 1;
+      if (nextBlockNumber > blockNumber) {
+        break;
+      }
+      this.currentBlockNumber = nextBlockNumber;
+      cascade();
+      expireSlot(expired);
+    }
+    this.currentBlockNumber = Math.max(this.currentBlockNumber, blockNumber);
+    return expired;
+  }
+
+  private void expireSlot(final List<T> expired) {
+    List<Entry<T>> slot = this.slots.get((int) (this.currentBlockNumber & SLOT_MASK));
+    for (Entry<T> entry : slot) {
+      expired.add(entry.item);
+    }
+    this.size -= slot.size();
+    this.levelSizes[0] -= slot.size();
+    slot.clear();
+  }
+
+  // When the lower digits of the current block number wrap around to zero, the items in the slot
+  // of the next level up which now matches the current block number are moved down the wheel.
+  private void cascade() {
+    for (int level = 1; level < LEVELS; level++) {
+      int shift = SLOT_BITS * level;
+      if ((this.currentBlockNumber & ((1L << shift) - 1)) != 0) {
+        return;
+      }
+      List<Entry<T>> slot =
+          this.slots.get(
+              level * SLOTS_PER_LEVEL + (int) ((this.currentBlockNumber >>> shift) & SLOT_MASK));
+      List<Entry<T>> entries = new ArrayList<>(slot);
+      this.levelSizes[level] -= slot.size();
+      slot.clear();
+      entries.forEach(this::place);
+    }
+    if ((this.currentBlockNumber & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+      List<Entry<T>> entries = this.overflow;
+      this.overflow = new ArrayList<>();
+      this.levelSizes[LEVELS] = 0;
+      entries.forEach(this::place);
+    }
+  }
+
+  // An item is held at the lowest level at which all of the higher digits of its deadline match
+  // the current block number.
+  private void place(final Entry<T> entry) {
+    for (int level = 0; level < LEVELS; level++) {
+      int shift = SLOT_BITS * level;
+      if ((entry.deadline >>> (shift + SLOT_BITS))
+          == (this.currentBlockNumber >>> (shift + SLOT_BITS))) {
+        this.slots
+            .get(level * SLOTS_PER_LEVEL + (int) ((entry.deadline >>> shift) & SLOT_MASK))
+            .add(entry);
+        this.levelSizes[level]++;
+        return;
+      }
+    }
+    this.overflow.add(entry);
+    this.levelSizes[LEVELS]++;
+  }
+
+  private static final class Entry<T> {
+    final long deadline;
+    final T item;
+
+    Entry(final long deadline, final T item) {
+      this.deadline = deadline;
+      this.item = item;
+    }
+  }
+}
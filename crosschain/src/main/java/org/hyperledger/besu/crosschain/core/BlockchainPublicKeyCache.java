@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.ethereum.core.Address;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of blockchain public keys fetched from Crosschain Coordination Contracts.
+ *
+ * <p>A blockchain's public key for a certain key version never changes once it has been registered
+ * with a coordination contract. Hence, keys are cached without expiry, keyed by coordination
+ * blockchain, coordination contract, blockchain and key version, and are held already deserialized.
+ * Keys which could not be fetched are negatively cached for a short period, so that a flood of
+ * messages signed with an unknown key does not result in a flood of coordination contract calls.
+ */
+public class BlockchainPublicKeyCache {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+  public static final long NEGATIVE_ENTRY_EXPIRY_SECONDS = 30;
+
+  private final OutwardBoundConnectionManager outwardBoundConnectionManager;
+  private final CoordContractManager coordContractManager;
+
+  private final Cache<Key, BlsPoint> publicKeys;
+  private final Cache<Key, Boolean> unknownKeys;
+  private final ExecutorService prefetchExecutor;
+  private final CrosschainMetrics metrics;
+
+  public BlockchainPublicKeyCache(
+      final OutwardBoundConnectionManager outwardBoundConnectionManager,
+      final CoordContractManager coordContractManager,
+      final CrosschainMetrics metrics) {
+    this(outwardBoundConnectionManager, coordContractManager, metrics, Ticker.systemTicker());
+  }
+
+  // The ticker measures the expiry of negatively cached keys.
+  BlockchainPublicKeyCache(
+      final OutwardBoundConnectionManager outwardBoundConnectionManager,
+      final CoordContractManager coordContractManager,
+      final CrosschainMetrics metrics,
+      final Ticker ticker) {
+    this.outwardBoundConnectionManager = outwardBoundConnectionManager;
+    this.coordContractManager = coordContractManager;
+    this.metrics = metrics;
+    this.publicKeys = CacheBuilder.newBuilder().maximumSize(DEFAULT_MAXIMUM_SIZE).build();
+    this.unknownKeys =
+        CacheBuilder.newBuilder()
+            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+            .expireAfterWrite(NEGATIVE_ENTRY_EXPIRY_SECONDS, TimeUnit.SECONDS)
+            .ticker(ticker)
+            .build();
+    this.prefetchExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("CrosschainPublicKeyPrefetch-%d")
+                .build());
+    coordContractManager.addChangeListener(this::invalidate);
+  }
+
+  /**
+   * Get a blockchain's public key, fetching it from the coordination contract if it is not cached.
+   *
+   * @param coordChainId ID of the blockchain where the coordination contract is deployed.
+   * @param coordContractAddr Deployed Coordination contract's address.
+   * @param blockchainId Blockchain to fetch the public key for.
+   * @param keyVersion Version of the key to fetch.
+   * @return The public key, or empty if the key could not be fetched.
+   */
+  public Optional<BlsPoint> getPublicKey(
+      final BigInteger coordChainId,
+      final Address coordContractAddr,
+      final BigInteger blockchainId,
+      final long keyVersion) {
+    Key key = new Key(coordChainId, coordContractAddr, blockchainId, keyVersion);
+    BlsPoint publicKey = this.publicKeys.getIfPresent(key);
+    if (publicKey != null) {
+      this.metrics.recordPublicKeyLookup(CrosschainMetrics.PublicKeyLookup.HIT);
+      return Optional.of(publicKey);
+    }
+    if (this.unknownKeys.getIfPresent(key) != null) {
+      this.metrics.recordPublicKeyLookup(CrosschainMetrics.PublicKeyLookup.NEGATIVE_HIT);
+      return Optional.empty();
+    }
+    this.metrics.recordPublicKeyLookup(CrosschainMetrics.PublicKeyLookup.MISS);
+    return fetch(key, true);
+  }
+
+  /**
+   * Fetch a blockchain's public key from all known coordination contracts in the background. This
+   * is called when a key is activated so that the key is in the cache before the first message
+   * signed with it needs to be verified.
+   *
+   * @param blockchainId Blockchain to fetch the public key for.
+   * @param keyVersion Version of the key to fetch.
+   */
+  public void prefetch(final BigInteger blockchainId, final long keyVersion) {
+    for (CoordinationContractInformation info :
+        this.coordContractManager.getAllCoordinationContracts()) {
+      Key key =
+          new Key(
+              info.coordinationBlockchainId,
+              Address.fromHexString(info.coodinationContract),
+              blockchainId,
+              keyVersion);
+      this.prefetchExecutor.execute(
+          () -> {
+            if (this.publicKeys.getIfPresent(key) == null) {
+              // The key may not have been registered with the coordination contract yet, so
+              // don't remember a failure.
+              fetch(key, false);
+            }
+          });
+    }
+  }
+
+  public long size() {
+    return this.publicKeys.size();
+  }
+
+  void close() {
+    this.prefetchExecutor.shutdownNow();
+  }
+
+  private void invalidate(final BigInteger coordChainId, final Address coordContractAddr) {
+    this.publicKeys.asMap().keySet().removeIf(k -> k.isFor(coordChainId, coordContractAddr));
+    this.unknownKeys.asMap().keySet().removeIf(k -> k.isFor(coordChainId, coordContractAddr));
+  }
+
+  private Optional<BlsPoint> fetch(final Key key, final boolean rememberFailure) {
+    String coordIpAddrAndPort =
+        this.coordContractManager.getIpAndPort(key.coordChainId, key.coordContractAddr);
+    if (coordIpAddrAndPort == null) {
+      LOG.error(
+          "Unknown Coordination Blockchain and Address combination: Blockchain: 0x{}, Address: {}",
+          key.coordChainId.toString(16),
+          key.coordContractAddr);
+      return Optional.empty();
+    }
+    BigInteger publicKey =
+        this.outwardBoundConnectionManager.getPublicKeyFromCoordContract(
+            coordIpAddrAndPort,
+            key.coordChainId,
+            key.coordContractAddr,
+            key.blockchainId,
+            key.keyVersion);
+    if (publicKey.signum() == 0) {
+      if (rememberFailure) {
+        this.unknownKeys.put(key, Boolean.TRUE);
+      }
+      return Optional.empty();
+    }
+    LOG.info(
+        "Obtained the public key {} from crosschain coordination contract for chain {}, key version {}.",
+        publicKey.toString(16),
+        key.blockchainId,
+        key.keyVersion);
+    BlsPoint publicKeyBlsPoint = BlsPoint.load(publicKey.toByteArray());
+    this.publicKeys.put(key, publicKeyBlsPoint);
+    this.unknownKeys.invalidate(key);
+    return Optional.of(publicKeyBlsPoint);
+  }
+
+  private static final class Key {
+    final BigInteger coordChainId;
+    final Address coordContractAddr;
+    final BigInteger blockchainId;
+    final long keyVersion;
+
+    Key(
+        final BigInteger coordChainId,
+        final Address coordContractAddr,
+        final BigInteger blockchainId,
+        final long keyVersion) {
+      this.coordChainId = coordChainId;
+      this.coordContractAddr = coordContractAddr;
+      this.blockchainId = blockchainId;
+      this.keyVersion = keyVersion;
+    }
+
+    boolean isFor(final BigInteger coordChainId, final Address coordContractAddr) {
+      return this.coordChainId.equals(coordChainId)
+          && this.coordContractAddr.equals(coordContractAddr);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return this.keyVersion == other.keyVersion
+          && this.coordChainId.equals(other.coordChainId)
+          && this.coordContractAddr.equals(other.coordContractAddr)
+          && this.blockchainId.equals(other.blockchainId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(coordChainId, coordContractAddr, blockchainId, keyVersion);
+    }
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.crosschain.core.coordination.CoordinationQuery;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches lockable transactions until their coordination contract commits or ignores them, and
+ * then has the contracts they locked unlocked.
+ *
+ * <p>The transactions waiting on each coordination contract are held in a {@link BlockTimingWheel}
+ * keyed by the coordination blockchain block number at which the transaction's status should next
+ * be checked. Each poll fetches the block number of each coordination blockchain, and only the
+ * transactions that are due at that block number have their status fetched, in one batch request.
+ * A transaction's status is checked at increasing intervals while it remains pending, and again
+ * when it times out. The signalling transactions for all of the transactions found to be committed
+ * or ignored by a poll are sent together.
+ */
+class CommitIgnoreWatcher {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Crosschain Transaction status values returned by the coordination contract.
+  static final long STATUS_COMMITTED = 2;
+  static final long STATUS_IGNORED = 3;
+  // A pending transaction's status is checked at least this often, in coordination blocks.
+  static final long MAX_CHECK_INTERVAL_BLOCKS = 8;
+
+  private final CoordContractManager coordContractManager;
+  private final OutwardBoundConnectionManager outwardBoundConnectionManager;
+  private final CrosschainMetrics metrics;
+  // Called with the addresses to unlock of committed transactions, and of ignored transactions.
+  private final BiConsumer<List<Address>, List<Address>> unlock;
+
+  private final Map<String, CoordinationContractWatch> watches = new ConcurrentHashMap<>();
+  private final AtomicBoolean pollInProgress = new AtomicBoolean();
+
+  CommitIgnoreWatcher(
+      final CoordContractManager coordContractManager,
+      final OutwardBoundConnectionManager outwardBoundConnectionManager,
+      final CrosschainMetrics metrics,
+      final BiConsumer<List<Address>, List<Address>> unlock) {
+    this.coordContractManager = coordContractManager;
+    this.outwardBoundConnectionManager = outwardBoundConnectionManager;
+    this.metrics = metrics;
+    this.unlock = unlock;
+  }
+
+  /**
+   * Start watching a mined lockable transaction. Its status is first checked on the next poll.
+   *
+   * @param transaction Lockable transaction.
+   */
+  void add(final CrosschainTransaction transaction) {
+    Optional<BigInteger> coordChainId = transaction.getCrosschainCoordinationBlockchainId();
+    Optional<Address> coordAddr = transaction.getCrosschainCoordinationContractAddress();
+    if (coordChainId.isEmpty() || coordAddr.isEmpty()) {
+      LOG.error("Coordination Chain is not set up");
+      return;
+    }
+    this.watches
+        .computeIfAbsent(
+            coordChainId.get().toString(16) + coordAddr.get().getHexString(),
+            k -> new CoordinationContractWatch(coordChainId.get(), coordAddr.get()))
+        .newTransactions
+        .add(new PendingTransaction(transaction));
+  }
+
+  /**
+   * Check the transactions which are due to be checked. Polls do not overlap: if the previous poll
+   * is still in progress, this call does nothing.
+   */
+  void poll() {
+    if (!this.pollInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    List<CompletableFuture<List<PendingTransaction>>> polls = new ArrayList<>();
+    for (CoordinationContractWatch watch : this.watches.values()) {
+      if (watch.isIdle()) {
+        continue;
+      }
+      String coordIpAddrAndPort =
+          this.coordContractManager.getIpAndPort(watch.coordChainId, watch.coordContractAddr);
+      if (coordIpAddrAndPort == null) {
+        LOG.warn(
+            "Unknown coordination contract {} on blockchain 0x{}",
+            watch.coordContractAddr,
+            watch.coordChainId.toString(16));
+        continue;
+      }
+      polls.add(watch.poll(coordIpAddrAndPort));
+    }
+
+    CompletableFuture.allOf(polls.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (result, error) -> {
+              try {
+                List<Address> committed = new ArrayList<>();
+                List<Address> ignored = new ArrayList<>();
+                for (CompletableFuture<List<PendingTransaction>> poll : polls) {
+                  if (poll.isCompletedExceptionally()) {
+                    continue;
+                  }
+                  for (PendingTransaction completed : poll.join()) {
+                    this.metrics.recordOutcome(
+                        completed.status == STATUS_COMMITTED
+                            ? CrosschainMetrics.Outcome.COMMITTED
+                            : CrosschainMetrics.Outcome.IGNORED);
+                    List<Address> addresses = completed.transaction.getLockedAddresses();
+                    if (addresses == null || addresses.isEmpty()) {
+                      LOG.info("No addresses to unlock. Not sending signalling transaction");
+                    } else if (completed.status == STATUS_COMMITTED) {
+                      committed.addAll(addresses);
+                    } else {
+                      ignored.addAll(addresses);
+                    }
+                  }
+                }
+                if (error != null) {
+                  LOG.warn(
+                      "Exception while getting the status of crosschain transactions -- {}",
+                      error.toString());
+                }
+                if (!committed.isEmpty() || !ignored.isEmpty()) {
+                  this.unlock.accept(committed, ignored);
+                }
+              } finally {
+                this.pollInProgress.set(false);
+              }
+            });
+  }
+
+  /** @return The number of transactions being watched. */
+  int getPendingCount() {
+    return this.watches.values().stream().mapToInt(CoordinationContractWatch::size).sum();
+  }
+
+  /** Transactions waiting on one coordination contract. */
+  private class CoordinationContractWatch {
+    final BigInteger coordChainId;
+    final Address coordContractAddr;
+    // Transactions which have not been checked yet. Added to by any thread.
+    final Queue<PendingTransaction> newTransactions = new ConcurrentLinkedQueue<>();
+    // Only accessed by the poll in progress.
+    final BlockTimingWheel<PendingTransaction> wheel = new BlockTimingWheel<>();
+    volatile int wheelSize;
+
+    CoordinationContractWatch(final BigInteger coordChainId, final Address coordContractAddr) {
+      this.coordChainId = coordChainId;
+      this.coordContractAddr = coordContractAddr;
+    }
+
+    boolean isIdle() {
+      return this.wheelSize == 0 && this.newTransactions.isEmpty();
+    }
+
+    int size() {
+      return this.wheelSize + this.newTransactions.size();
+    }
+
+    /**
+     * Fetch the coordination blockchain's block number, and then the status of the transactions
+     * which are due at that block number.
+     *
+     * @return Future which completes with the transactions which have been committed or ignored.
+     */
+    CompletableFuture<List<PendingTransaction>> poll(final String coordIpAddrAndPort) {
+      CoordinationQueryBatch batch =
+          CommitIgnoreWatcher.this.outwardBoundConnectionManager.newQueryBatch(
+              coordIpAddrAndPort, this.coordContractAddr);
+      CompletableFuture<BigInteger> blockNumber = batch.add(CoordinationQuery.blockNumber());
+      batch.send();
+      return blockNumber.thenCompose(
+          number -> checkDueTransactions(coordIpAddrAndPort, number.longValue()));
+    }
+
+    private CompletableFuture<List<PendingTransaction>> checkDueTransactions(
+        final String coordIpAddrAndPort, final long blockNumber) {
+      List<PendingTransaction> due = this.wheel.advanceTo(blockNumber);
+      PendingTransaction transaction;
+      while ((transaction = this.newTransactions.poll()) != null) {
+        due.add(transaction);
+      }
+      if (due.isEmpty()) {
+        return CompletableFuture.completedFuture(List.of());
+      }
+
+      CoordinationQueryBatch batch =
+          CommitIgnoreWatcher.this.outwardBoundConnectionManager.newQueryBatch(
+              coordIpAddrAndPort, this.coordContractAddr);
+      List<CompletableFuture<Long>> statuses = new ArrayList<>(due.size());
+      for (PendingTransaction pending : due) {
+        statuses.add(
+            batch.add(
+                CoordinationQuery.crosschainTransactionStatus(
+                    pending.origChainId, pending.crosschainTransactionId)));
+      }
+      LOG.debug(
+          "Checking the status of {} crosschain transactions at coordination block {}",
+          due.size(),
+          blockNumber);
+      batch.send();
+
+      return CompletableFuture.allOf(statuses.toArray(new CompletableFuture<?>[0]))
+          .handle(
+              (result, error) -> {
+                List<PendingTransaction> completed = new ArrayList<>();
+                for (int i = 0; i < due.size(); i++) {
+                  PendingTransaction pending = due.get(i);
+                  CompletableFuture<Long> status = statuses.get(i);
+                  if (!status.isCompletedExceptionally()
+                      && (status.join() == STATUS_COMMITTED || status.join() == STATUS_IGNORED)) {
+                    pending.status = status.join();
+                    completed.add(pending);
+                  } else {
+                    this.wheel.add(pending.nextCheckBlockNumber(blockNumber), pending);
+                  }
+                }
+                this.wheelSize = this.wheel.size();
+                return completed;
+              });
+    }
+  }
+
+  private static class PendingTransaction {
+    final CrosschainTransaction transaction;
+    final BigInteger origChainId;
+    final BigInteger crosschainTransactionId;
+    final long timeoutBlockNumber;
+    int checks;
+    long status;
+
+    PendingTransaction(final CrosschainTransaction transaction) {
+      this.transaction = transaction;
+      this.origChainId =
+          transaction.getType().isOriginatingTransaction()
+              ? transaction.getChainId().get()
+              : transaction.getOriginatingSidechainId().get();
+      this.crosschainTransactionId = transaction.getCrosschainTransactionId().get();
+      this.timeoutBlockNumber =
+          transaction
+              .getCrosschainTransactionTimeoutBlockNumber()
+              .map(BigInteger::longValue)
+              .orElse(Long.MAX_VALUE);
+    }
+
+    // Back off exponentially while the transaction remains pending, but check again as soon as
+    // the transaction times out, as it can then be ignored.
+    long nextCheckBlockNumber(final long blockNumber) {
+      long interval = Math.min(1L << Math.min(this.checks, 62), MAX_CHECK_INTERVAL_BLOCKS);
+      this.checks++;
+      long next = blockNumber + interval;
+      if (blockNumber < this.timeoutBlockNumber && next > this.timeoutBlockNumber) {
+        next = this.timeoutBlockNumber;
+      }
+      return next;
+    }
+  }
+}
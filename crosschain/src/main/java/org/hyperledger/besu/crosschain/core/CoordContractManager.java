@@ -17,10 +17,24 @@ import org.hyperledger.besu.ethereum.core.Address;
 import java.math.BigInteger;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 public class CoordContractManager {
   private Map<String, CoordinationContractInformation> coordinationContracts = new HashMap<>();
+  private List<BiConsumer<BigInteger, Address>> changeListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Register a listener which is called whenever a coordination contract is added, updated or
+   * removed.
+   *
+   * @param listener Called with the coordination blockchain id and contract address.
+   */
+  public void addChangeListener(final BiConsumer<BigInteger, Address> listener) {
+    this.changeListeners.add(listener);
+  }
 
   public void addCoordinationContract(
       final BigInteger coordinationBlockchainId,
@@ -30,11 +44,13 @@ public class CoordContractManager {
         key(coordinationBlockchainId, coodinationContractAddress),
         new CoordinationContractInformation(
             coordinationBlockchainId, coodinationContractAddress, ipAddressAndPort));
+    notifyChanged(coordinationBlockchainId, coodinationContractAddress);
   }
 
   public void removeCoordinationContract(
       final BigInteger coordinationBlockchainId, final Address coodinationContractAddress) {
     this.coordinationContracts.remove(key(coordinationBlockchainId, coodinationContractAddress));
+    notifyChanged(coordinationBlockchainId, coodinationContractAddress);
   }
 
   public Collection<CoordinationContractInformation> getAllCoordinationContracts() {
@@ -54,6 +70,13 @@ public class CoordContractManager {
     return (info != null) ? info.ipAddressAndPort : null;
   }
 
+  private void notifyChanged(
+      final BigInteger coordinationBlockchainId, final Address coodinationContractAddress) {
+    for (BiConsumer<BigInteger, Address> listener : this.changeListeners) {
+      listener.accept(coordinationBlockchainId, coodinationContractAddress);
+    }
+  }
+
   private String key(
       final BigInteger coordinationBlockchainId, final Address coodinationContractAddress) {
     return coordinationBlockchainId.toString(16) + coodinationContractAddress.getHexString();
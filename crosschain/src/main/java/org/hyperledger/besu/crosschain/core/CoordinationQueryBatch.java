@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.crosschain.core.coordination.CoordinationQuery;
+import org.hyperledger.besu.ethereum.core.Address;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Queries to a single Crosschain Coordination Contract which are sent together as JSON RPC batch
+ * requests, rather than as one request per query. Each query is an eth_call to the coordination
+ * contract. The results are matched back to the queries and complete the futures returned by
+ * {@link #add(CoordinationQuery)}.
+ *
+ * <p>A batch is not thread safe. It should be built and sent by one thread.
+ */
+public class CoordinationQueryBatch {
+  // Limit the size of each request, so that the coordination node is not asked to process an
+  // unbounded amount of work in one request.
+  static final int MAX_CALLS_PER_REQUEST = 500;
+
+  private final JsonRpcConnectionPool connectionPool;
+  private final String coordIpAddrAndPort;
+  private final String coordContractAddr;
+  private final List<PendingQuery<?>> queries = new ArrayList<>();
+
+  CoordinationQueryBatch(
+      final JsonRpcConnectionPool connectionPool,
+      final String coordIpAddrAndPort,
+      final Address coordContractAddr) {
+    this.connectionPool = connectionPool;
+    this.coordIpAddrAndPort = coordIpAddrAndPort;
+    this.coordContractAddr = coordContractAddr.getHexString();
+  }
+
+  /**
+   * Add a query to the batch.
+   *
+   * @param query Query to add.
+   * @param <T> Type of the result of the query.
+   * @return Future which completes with the result of the query once the batch has been sent.
+   */
+  public <T> CompletableFuture<T> add(final CoordinationQuery<T> query) {
+    PendingQuery<T> pending = new PendingQuery<>(query);
+    this.queries.add(pending);
+    return pending.result;
+  }
+
+  /** @return The number of queries in the batch. */
+  public int size() {
+    return this.queries.size();
+  }
+
+  /**
+   * Send the queries. Queries are sent in as few JSON RPC requests as possible.
+   *
+   * @return Future which completes once the results of all of the queries are known. The futures
+   *     of individual queries complete exceptionally if the query failed.
+   */
+  public CompletableFuture<Void> send() {
+    List<CompletableFuture<?>> requests = new ArrayList<>();
+    for (int start = 0; start < this.queries.size(); start += MAX_CALLS_PER_REQUEST) {
+      List<PendingQuery<?>> chunk =
+          this.queries.subList(start, Math.min(start + MAX_CALLS_PER_REQUEST, this.queries.size()));
+      requests.add(sendRequest(new ArrayList<>(chunk)));
+    }
+    this.queries.clear();
+    return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]));
+  }
+
+  private CompletableFuture<Void> sendRequest(final List<PendingQuery<?>> chunk) {
+    List<JsonRpcCodec.Call> calls = new ArrayList<>(chunk.size());
+    for (PendingQuery<?> pending : chunk) {
+      calls.add(
+          new JsonRpcCodec.Call(
+              "eth_call",
+              List.of(
+                  Map.of("to", this.coordContractAddr, "data", pending.query.encode()),
+                  "latest")));
+    }
+    return this.connectionPool
+        .postBatchAsync(this.coordIpAddrAndPort, calls)
+        .handle(
+            (results, error) -> {
+              for (int i = 0; i < chunk.size(); i++) {
+                if (error != null) {
+                  chunk.get(i).result.completeExceptionally(error);
+                } else {
+                  chunk.get(i).complete(results.get(i));
+                }
+              }
+              return null;
+            });
+  }
+
+  private static class PendingQuery<T> {
+    final CoordinationQuery<T> query;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+
+    PendingQuery(final CoordinationQuery<T> query) {
+      this.query = query;
+    }
+
+    void complete(final JsonRpcCodec.BatchResult batchResult) {
+      if (batchResult.isError()) {
+        this.result.completeExceptionally(
+            new JsonRpcCodec.JsonRpcErrorException(batchResult.getError()));
+        return;
+      }
+      try {
+        this.result.complete(this.query.decode(batchResult.getResult()));
+      } catch (RuntimeException e) {
+        this.result.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -17,9 +17,10 @@ import org.hyperledger.besu.crosschain.core.keys.BlsThresholdPublicKey;
 import org.hyperledger.besu.crosschain.core.keys.CrosschainKeyManager;
 import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
 import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration.Round;
 import org.hyperledger.besu.crosschain.core.messages.SubordinateTransactionReadyMessage;
 import org.hyperledger.besu.crosschain.core.messages.SubordinateViewResultMessage;
-import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainThreadLocalDataHolder;
 import org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.CrosschainNodeStorage;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -36,27 +37,42 @@ import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-// TODO: This class needs to use (the main instance of) Vertx rather than blocking
-
 /**
  * This class is initialised when the Ethereum Client starts up, and holds references to all of the
  * parts of the crosschain core code.
  */
 public class CrosschainController {
   protected static final Logger LOG = LogManager.getLogger();
+  private static final int PIPELINE_THREADS = 8;
+  private static final int MAX_PIPELINE_TRANSACTIONS = 1000;
+  // How long to wait for a transaction to be mined. This is less than the time the JSON RPC
+  // services wait for a response, so that the client is told that the transaction was not mined.
+  private static final long MINING_TIMEOUT_MS = 180_000;
 
   TransactionPool transactionPool;
   Blockchain blockchain;
@@ -69,6 +85,28 @@ public class CrosschainController {
 
   LinkedNodeManager linkedNodeManager;
   CoordContractManager coordContractManager;
+  OutwardBoundConnectionManager outwardBoundConnectionManager;
+  // JSON RPC connections to both linked nodes and coordination blockchains.
+  JsonRpcConnectionPool connectionPool;
+  BlockchainPublicKeyCache publicKeyCache;
+  BigInteger sidechainId;
+  MinedTransactionWatcher minedTransactionWatcher;
+  LockStateIndex lockStateIndex;
+  Vertx vertx;
+  CrosschainMetrics metrics;
+  CrosschainTransactionTracker transactionTracker = new CrosschainTransactionTracker();
+  SubordinateViewResultCache viewResultCache =
+      new SubordinateViewResultCache(result -> result instanceof TransactionSimulatorResult);
+  // Runs the stages of crosschain transaction processing. The number of transactions being
+  // processed is limited, and hence so is the number of stages waiting to run.
+  ExecutorService pipelineExecutor =
+      Executors.newFixedThreadPool(
+          PIPELINE_THREADS,
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("CrosschainTransactionPipeline-%d")
+              .build());
+  Semaphore pipelineCapacity = new Semaphore(MAX_PIPELINE_TRANSACTIONS);
 
   public CrosschainController() {
     this.linkedNodeManager = new LinkedNodeManager();
@@ -77,7 +115,7 @@ public class CrosschainController {
     this.crosschainKeyManager = CrosschainKeyManager.getCrosschainKeyManager();
     this.origMsgProcessor =
         new OriginatingBlockchainMessageProcessor(
-            this.crosschainKeyManager, this.coordContractManager);
+            this.crosschainKeyManager, this.coordContractManager, this.transactionTracker);
   }
 
   public void init(
@@ -87,8 +125,23 @@ public class CrosschainController {
       final SECP256K1.KeyPair nodeKeys,
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
-      final CrosschainNodeStorage nodeStorage) {
-    this.crosschainKeyManager.init(sidechainId, nodeKeys);
+      final CrosschainNodeStorage nodeStorage,
+      final MetricsSystem metricsSystem) {
+    this.metrics = new CrosschainMetrics(metricsSystem);
+    this.crosschainKeyManager.init(sidechainId, nodeKeys, this.metrics);
+    // this seems to cause a couple of internal exceptions visible in DEBUG
+    // logging. java.lang.UnsupportedOperationException: Reflective
+    // setAccessible(true) disabled
+    this.vertx = Vertx.vertx();
+    this.connectionPool = new JsonRpcConnectionPool(this.vertx, this.metrics);
+    this.outwardBoundConnectionManager =
+        new OutwardBoundConnectionManager(nodeKeys, this.connectionPool);
+    this.coordContractManager.addChangeListener(
+        this.outwardBoundConnectionManager::coordContractChanged);
+    this.publicKeyCache =
+        new BlockchainPublicKeyCache(
+            this.outwardBoundConnectionManager, this.coordContractManager, this.metrics);
+    this.sidechainId = sidechainId;
     this.processor.init(
         transactionSimulator,
         transactionPool,
@@ -96,103 +149,321 @@ public class CrosschainController {
         nodeKeys,
         blockchain,
         worldStateArchive,
-        this.crosschainKeyManager);
-    this.origMsgProcessor.init(nodeKeys);
+        this.crosschainKeyManager,
+        this.outwardBoundConnectionManager,
+        this.publicKeyCache,
+        this.vertx,
+        this.connectionPool,
+        this.metrics);
+    this.origMsgProcessor.init(nodeKeys, this.outwardBoundConnectionManager, this.publicKeyCache);
     this.transactionPool = transactionPool;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.nodeStorage = nodeStorage;
+    this.minedTransactionWatcher =
+        new MinedTransactionWatcher(
+            blockchain, transactionPool.getPendingTransactions(), MINING_TIMEOUT_MS);
+    this.lockStateIndex = new LockStateIndex(blockchain, worldStateArchive);
     nodeStorage.restoreNodeData(linkedNodeManager, coordContractManager, crosschainKeyManager);
-    CrosschainThreadLocalDataHolder.controller = this;
+    createGauges(metricsSystem);
+  }
+
+  private void createGauges(final MetricsSystem metricsSystem) {
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.CROSSCHAIN,
+        "transactions_in_flight",
+        "Number of crosschain transactions being processed",
+        () -> MAX_PIPELINE_TRANSACTIONS - this.pipelineCapacity.availablePermits());
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.CROSSCHAIN,
+        "transactions_awaiting_commit_ignore",
+        "Number of lockable transactions waiting to be committed or ignored",
+        this.processor::getPendingCommitIgnoreCount);
+    for (Round round : Round.values()) {
+      String roundName = round.name().toLowerCase(Locale.US);
+      metricsSystem.createGauge(
+          BesuMetricCategory.CROSSCHAIN,
+          "key_generation_" + roundName + "_round_time",
+          "Time in seconds taken by the " + roundName + " round of the latest key generation",
+          () -> keyGenerationRoundSeconds(round));
+    }
+    this.viewResultCache.registerMetrics(metricsSystem);
+  }
+
+  private double keyGenerationRoundSeconds(final Round round) {
+    long durationMs =
+        this.crosschainKeyManager.getLatestKeyGenerationRoundDurationsMs().getOrDefault(round, 0L);
+    return durationMs / 1000.0;
+  }
+
+  /** Called when the Ethereum Client shuts down. Closes all outward bound connections. */
+  public void shutdown() {
+    this.processor.shutdown();
+    this.crosschainKeyManager.shutdown();
+    if (this.minedTransactionWatcher != null) {
+      this.minedTransactionWatcher.close();
+    }
+    if (this.lockStateIndex != null) {
+      this.lockStateIndex.close();
+    }
+    this.pipelineExecutor.shutdownNow();
+    if (this.publicKeyCache != null) {
+      this.publicKeyCache.close();
+    }
+    if (this.outwardBoundConnectionManager != null) {
+      this.outwardBoundConnectionManager.close();
+    }
+    if (this.connectionPool != null) {
+      this.connectionPool.close();
+    }
+    if (this.vertx != null) {
+      this.vertx.close();
+    }
   }
 
   /**
-   * Execute a subordinate transaction.
+   * Process a subordinate or originating transaction.
    *
-   * @param transaction Subordinate Transaction to execute.
-   * @return Validation result.
+   * <p>The transaction is processed in stages on the crosschain transaction pipeline's executor:
+   * signing and sending the start message for originating transactions, executing the subordinate
+   * views and trial executing the transaction, dispatching the subordinate transactions, and
+   * submitting the transaction and waiting for it to be mined. No thread waits while the
+   * transaction is being mined, and a transaction which is not mined within the mining timeout
+   * fails. The progress of the transaction can be queried using getTransactionStatus. If too many
+   * transactions are already being processed, the transaction is rejected, so that clients back
+   * off rather than queuing unbounded work.
+   *
+   * @param transaction Subordinate or Originating Transaction to process.
+   * @return Future which completes with the validation result once the transaction has been mined
+   *     or processing has failed.
    */
-  public ValidationResult<TransactionValidator.TransactionInvalidReason> addLocalTransaction(
-      final CrosschainTransaction transaction) {
-    if (transaction.getType().isOriginatingTransaction()) {
-      // TODO The start message stuff will take a while. The rest of the code should be executed in
-      // some sort of "do later"
-      origMsgProcessor.doStartMessageMagic(transaction);
-      // Setup the list of to be mined (originating and subordinate) transactions.
-      origMsgProcessor.listMiningTxForCommit(transaction);
+  public CompletableFuture<ValidationResult<TransactionValidator.TransactionInvalidReason>>
+      addLocalTransaction(final CrosschainTransaction transaction) {
+    if (!this.pipelineCapacity.tryAcquire()) {
+      LOG.warn(
+          "Rejecting crosschain transaction {}: {} transactions are already being processed",
+          transaction.hash(),
+          MAX_PIPELINE_TRANSACTIONS);
+      this.metrics.recordOutcome(CrosschainMetrics.Outcome.REJECTED);
+      return CompletableFuture.completedFuture(
+          ValidationResult.invalid(
+              TransactionValidator.TransactionInvalidReason
+                  .CROSSCHAIN_TOO_MANY_PENDING_TRANSACTIONS));
     }
+    this.transactionTracker.start(transaction);
+    final OperationTimer.TimingContext totalTimer =
+        this.metrics.startTimer(CrosschainMetrics.TransactionPhase.TOTAL);
+
+    return CompletableFuture.supplyAsync(() -> start(transaction), this.pipelineExecutor)
+        .thenApplyAsync(
+            error -> error.isPresent() ? error : executeViews(transaction), this.pipelineExecutor)
+        .thenApplyAsync(
+            error -> error.isPresent() ? error : dispatchSubordinates(transaction),
+            this.pipelineExecutor)
+        .thenCompose(
+            error -> {
+              if (error.isPresent()) {
+                return CompletableFuture.completedFuture(error.get());
+              }
+              final OperationTimer.TimingContext miningTimer =
+                  this.metrics.startTimer(CrosschainMetrics.TransactionPhase.MINING);
+              return submitAndWaitForMining(transaction)
+                  .whenComplete((result, throwable) -> miningTimer.stopTimer());
+            })
+        .whenComplete(
+            (result, throwable) -> {
+              this.pipelineCapacity.release();
+              totalTimer.stopTimer();
+              if (throwable != null) {
+                this.metrics.recordOutcome(CrosschainMetrics.Outcome.FAILED_TRANSACTION);
+                Throwable cause =
+                    throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                this.transactionTracker.fail(
+                    transaction.hash(),
+                    CrosschainTransactionTracker.Stage.FAILED,
+                    cause.toString());
+              }
+            });
+  }
 
-    // Get Subordinate View results.
-    if (this.processor.processSubordinates(transaction, false)) {
+  private Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> start(
+      final CrosschainTransaction transaction) {
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.TransactionPhase.START)) {
       if (transaction.getType().isOriginatingTransaction()) {
-        sendIgnoreMessage(transaction);
+        origMsgProcessor.doStartMessageMagic(transaction);
+        // Setup the list of to be mined (originating and subordinate) transactions.
+        origMsgProcessor.listMiningTxForCommit(transaction);
       }
-      return ValidationResult.invalid(
-          TransactionValidator.TransactionInvalidReason.CROSSCHAIN_FAILED_SUBORDINATE_VIEW);
     }
+    return Optional.empty();
+  }
 
-    Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> executionError =
-        this.processor.trialExecution(transaction);
-    if (executionError.isPresent()) {
-      if (transaction.getType().isOriginatingTransaction()) {
-        sendIgnoreMessage(transaction);
+  private Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> executeViews(
+      final CrosschainTransaction transaction) {
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.TransactionPhase.VIEWS)) {
+      // Get Subordinate View results.
+      if (this.processor.processSubordinates(transaction, false)) {
+        return Optional.of(
+            fail(
+                transaction,
+                ValidationResult.invalid(
+                    TransactionValidator.TransactionInvalidReason
+                        .CROSSCHAIN_FAILED_SUBORDINATE_VIEW)));
+      }
+
+      Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> executionError =
+          this.processor.trialExecution(transaction);
+      if (executionError.isPresent()) {
+        return Optional.of(fail(transaction, executionError.get()));
       }
-      return executionError.get();
     }
+    this.transactionTracker.advance(
+        transaction.hash(), CrosschainTransactionTracker.Stage.VIEWS_DONE);
+    return Optional.empty();
+  }
 
-    // Dispatch Subordinate Transactions if the trial execution worked OK.
-    if (this.processor.processSubordinates(transaction, true)) {
-      if (transaction.getType().isOriginatingTransaction()) {
-        sendIgnoreMessage(transaction);
+  private Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>>
+      dispatchSubordinates(final CrosschainTransaction transaction) {
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.TransactionPhase.DISPATCH)) {
+      // Dispatch Subordinate Transactions if the trial execution worked OK.
+      if (this.processor.processSubordinates(transaction, true)) {
+        return Optional.of(
+            fail(
+                transaction,
+                ValidationResult.invalid(
+                    TransactionValidator.TransactionInvalidReason
+                        .CROSSCHAIN_FAILED_SUBORDINATE_TRANSACTION)));
       }
-      return ValidationResult.invalid(
-          TransactionValidator.TransactionInvalidReason.CROSSCHAIN_FAILED_SUBORDINATE_TRANSACTION);
     }
+    this.transactionTracker.advance(
+        transaction.hash(), CrosschainTransactionTracker.Stage.SUBORDINATES_SENT);
+    return Optional.empty();
+  }
+
+  private CompletableFuture<ValidationResult<TransactionValidator.TransactionInvalidReason>>
+      submitAndWaitForMining(final CrosschainTransaction transaction) {
+    boolean waitForMining =
+        transaction.getType().isSubordinateTransaction()
+            || transaction.getType().isOriginatingTransaction();
+    // Watch for the transaction before adding it to the pool, so that it can't be mined unnoticed.
+    CompletableFuture<Boolean> mined =
+        waitForMining
+            ? this.minedTransactionWatcher.watch(transaction.hash())
+            : CompletableFuture.completedFuture(true);
 
-    // TODO there is a synchronized inside this call. This should be surrounded by a Vertx
-    // blockingExecutor, maybe
     LOG.info("Transaction is getting added on chain with ID = {}", transaction.getChainId());
     ValidationResult<TransactionValidator.TransactionInvalidReason> validationResult =
         this.transactionPool.addLocalTransaction(transaction);
+    if (!validationResult.isValid()) {
+      this.minedTransactionWatcher.unwatch(transaction.hash());
+      return CompletableFuture.completedFuture(fail(transaction, validationResult));
+    }
+    if (waitForMining
+        && !this.transactionPool
+            .getPendingTransactions()
+            .containsTransaction(transaction.hash())
+        && !mined.isDone()) {
+      // The transaction was already known to the pool and has since left it.
+      this.minedTransactionWatcher.unwatch(transaction.hash());
+      mined = CompletableFuture.completedFuture(true);
+    }
 
-    if (transaction.getType().isSubordinateTransaction()
-        || transaction.getType().isOriginatingTransaction()) {
-      // Wait for the transaction to be mined. The transaction is deemed to be mined when the
-      // transaction disappears from the list of pendingTransactions.
-      while (this.transactionPool
-          .getPendingTransactions()
-          .containsTransaction(transaction.hash())) {
-        try {
-          Thread.sleep(1000);
-        } catch (Exception e) {
-          LOG.error(
-              "Exception in Thread.sleep while waiting for the transaction to be mined: {}",
-              e.toString());
-        }
-      }
+    return mined.handleAsync(
+        (wasMined, error) -> {
+          if (error != null) {
+            return notMined(transaction, error);
+          }
+          if (!wasMined) {
+            return fail(
+                transaction,
+                ValidationResult.invalid(
+                    TransactionValidator.TransactionInvalidReason.CROSSCHAIN_UNKNOWN_FAILURE,
+                    "Transaction was dropped from the transaction pool"));
+          }
+          if (waitForMining) {
+            this.transactionTracker.advance(
+                transaction.hash(), CrosschainTransactionTracker.Stage.MINED);
+            // Now that the transaction is mined, send subordinate transaction ready messages in
+            // case of subordinate transactions. After receiving the ready message update the list
+            // of txsToBeMined.
+            // In case of originating transaction update the list directly.
+            Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>>
+                txReadyMsgError = updateListAndSendTxReadyMsg(transaction);
+            if (txReadyMsgError.isPresent()) {
+              this.metrics.recordOutcome(CrosschainMetrics.Outcome.FAILED_TRANSACTION);
+              this.transactionTracker.fail(
+                  transaction.hash(),
+                  CrosschainTransactionTracker.Stage.FAILED,
+                  txReadyMsgError.get().getErrorMessage());
+              return txReadyMsgError.get();
+            }
+          }
+
+          if (transaction.getType().isLockableTransaction()) {
+            this.processor.startCrosschainTransactionCommitIgnoreTimeOut(transaction);
+          }
+          return validationResult;
+        },
+        this.pipelineExecutor);
+  }
 
-      // Now that the transaction is mined, send subordinate transaction ready messages in case of
-      // subordinate transactions. After receiving the ready message update the list of
-      // txsToBeMined.
-      // In case of originating transaction update the list directly.
-      Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> txReadyMsgError =
-          updateListAndSendTxReadyMsg(transaction);
-      if (txReadyMsgError.isPresent()) {
-        return txReadyMsgError.get();
-      }
+  /**
+   * Fail a transaction which was not mined before the mining deadline. Other errors are passed on.
+   */
+  private ValidationResult<TransactionValidator.TransactionInvalidReason> notMined(
+      final CrosschainTransaction transaction, final Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (!(cause instanceof TimeoutException)) {
+      throw new CompletionException(cause);
     }
+    return fail(
+        transaction,
+        ValidationResult.invalid(
+            TransactionValidator.TransactionInvalidReason.CROSSCHAIN_UNKNOWN_FAILURE,
+            cause.getMessage()));
+  }
 
-    if (transaction.getType().isLockableTransaction()) {
-      validationResult.ifValid(
-          () -> {
-            this.processor.startCrosschainTransactionCommitIgnoreTimeOut(transaction);
-          });
+  /**
+   * Record that processing of a transaction failed. For originating transactions, the ignore
+   * message is sent to the coordination contract.
+   */
+  private ValidationResult<TransactionValidator.TransactionInvalidReason> fail(
+      final CrosschainTransaction transaction,
+      final ValidationResult<TransactionValidator.TransactionInvalidReason> result) {
+    this.metrics.recordOutcome(
+        result.getInvalidReason()
+                == TransactionValidator.TransactionInvalidReason.CROSSCHAIN_FAILED_SUBORDINATE_VIEW
+            ? CrosschainMetrics.Outcome.FAILED_VIEW
+            : CrosschainMetrics.Outcome.FAILED_TRANSACTION);
+    if (transaction.getType().isOriginatingTransaction()) {
+      sendIgnoreMessage(transaction);
+      this.transactionTracker.fail(
+          transaction.hash(), CrosschainTransactionTracker.Stage.IGNORED, result.getErrorMessage());
+    } else {
+      this.transactionTracker.fail(
+          transaction.hash(), CrosschainTransactionTracker.Stage.FAILED, result.getErrorMessage());
     }
-    return validationResult;
+    return result;
+  }
+
+  /**
+   * Get the processing status of a crosschain transaction submitted to this node.
+   *
+   * @param transactionHash Hash of the transaction.
+   * @return The status, or empty if the transaction is not known.
+   */
+  public Optional<CrosschainTransactionTracker.Status> getTransactionStatus(
+      final Hash transactionHash) {
+    return this.transactionTracker.getStatus(transactionHash);
   }
 
   /**
-   * Execute a subordinate view.
+   * Execute a subordinate view. The signed result is cached, so that a view which is requested
+   * several times at the same block, including concurrently, is only executed and threshold signed
+   * once with the active key.
    *
    * @param subordinateView The subordinate view to process.
    * @param blockNumber Execute view at this block number.
@@ -200,12 +471,36 @@ public class CrosschainController {
    */
   public Object getSignedSubordinateViewResult(
       final CrosschainTransaction subordinateView, final long blockNumber) {
+    Optional<Hash> blockHash = this.blockchain.getBlockHashByNumber(blockNumber);
+    if (!blockHash.isPresent()) {
+      // The block is not on the canonical chain yet. There is nothing to key the result with.
+      return executeAndSignSubordinateView(subordinateView, blockNumber);
+    }
+    return this.viewResultCache.get(
+        subordinateView.hash(),
+        blockHash.get(),
+        this.crosschainKeyManager.getActiveKeyVersion(),
+        () -> executeAndSignSubordinateView(subordinateView, blockNumber));
+  }
+
+  private Object executeAndSignSubordinateView(
+      final CrosschainTransaction subordinateView, final long blockNumber) {
     // Get Subordinate View results.
-    if (this.processor.processSubordinates(subordinateView, false)) {
+    boolean subordinateViewsFailed;
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.ViewPhase.SUBORDINATE_VIEWS)) {
+      subordinateViewsFailed = this.processor.processSubordinates(subordinateView, false);
+    }
+    if (subordinateViewsFailed) {
+      this.metrics.recordOutcome(CrosschainMetrics.Outcome.FAILED_VIEW);
       return TransactionValidator.TransactionInvalidReason.CROSSCHAIN_FAILED_SUBORDINATE_VIEW;
     }
 
-    Object resultObj = this.processor.executeSubordinateView(subordinateView, blockNumber);
+    Object resultObj;
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.ViewPhase.EXECUTION)) {
+      resultObj = this.processor.executeSubordinateView(subordinateView, blockNumber);
+    }
     TransactionProcessor.Result txResult;
     if (resultObj instanceof TransactionSimulatorResult) {
       TransactionSimulatorResult resultTxSim = (TransactionSimulatorResult) resultObj;
@@ -215,7 +510,10 @@ public class CrosschainController {
           new SubordinateViewResultMessage(subordinateView, resultBytesValue, blockNumber);
 
       // Cooperate with other nodes to threshold sign (in-place) the message.
-      this.crosschainKeyManager.thresholdSign(resultMessage);
+      try (final OperationTimer.TimingContext ignored =
+          this.metrics.startTimer(CrosschainMetrics.ViewPhase.SIGNING)) {
+        this.crosschainKeyManager.thresholdSign(resultMessage);
+      }
 
       // TODO: Broadcast using P2P
 
@@ -229,11 +527,30 @@ public class CrosschainController {
     } else {
       // An error occurred - propagate the error.
       LOG.info("Transaction Simulator returned an error");
+      this.metrics.recordOutcome(CrosschainMetrics.Outcome.FAILED_VIEW);
       return resultObj;
     }
   }
 
+  /**
+   * Called by the CrosschainIsLocked precompile, via the protocol schedule.
+   *
+   * @param address Address of the contract.
+   * @return true if the contract is locked at the head of the chain, or empty if the controller
+   *     has not been initialised yet.
+   */
+  public Optional<Boolean> isLockedAtChainHead(final Address address) {
+    if (this.lockStateIndex == null) {
+      return Optional.empty();
+    }
+    return Optional.of(isLocked(address));
+  }
+
   public boolean isLocked(final Address address) {
+    Optional<Boolean> indexed = this.lockStateIndex.isLocked(address);
+    if (indexed.isPresent()) {
+      return indexed.get();
+    }
     Hash latestBlockStateRootHash = this.blockchain.getChainHeadBlock().getHeader().getStateRoot();
     final Optional<WorldState> maybeWorldState = worldStateArchive.get(latestBlockStateRootHash);
     if (maybeWorldState.isEmpty()) {
@@ -251,6 +568,40 @@ public class CrosschainController {
     return contract.isLocked();
   }
 
+  /**
+   * Called by the JSON RPC method: cross_isLocked.
+   *
+   * @param address Address of contract to check.
+   * @param blockNumber Block number to check at.
+   * @return Whether the contract is locked, or empty if the lock state index can not answer for
+   *     the block, in which case the world state at the block should be checked.
+   */
+  public Optional<Boolean> isLocked(final Address address, final long blockNumber) {
+    return this.lockStateIndex.isLocked(address, blockNumber);
+  }
+
+  /**
+   * Called by the JSON RPC method: cross_isLockable.
+   *
+   * @param address Address of contract to check.
+   * @param blockNumber Block number to check at.
+   * @return Whether the contract is lockable, or empty if the lock state index can not answer for
+   *     the block, in which case the world state at the block should be checked.
+   */
+  public Optional<Boolean> isLockable(final Address address, final long blockNumber) {
+    return this.lockStateIndex.isLockable(address, blockNumber);
+  }
+
+  /**
+   * Called by the JSON RPC method: cross_getLockedContracts.
+   *
+   * @return The contracts locked at the head of the chain, or empty if the world state at the head
+   *     of the chain is not available.
+   */
+  public Optional<List<Address>> getLockedContracts() {
+    return this.lockStateIndex.getLockedContracts();
+  }
+
   /**
    * Called by the JSON RPC method: CrossCheckUnlock.
    *
@@ -285,12 +636,13 @@ public class CrosschainController {
   public long startThresholdKeyGeneration(
       final int threshold, final BlsThresholdCryptoSystem algorithm) {
     long keyVersion = this.crosschainKeyManager.generateNewKeys(threshold, algorithm);
-    CrosschainNodeStorage.Updater updater = nodeStorage.updater();
-    updater.putKeyData(
-        crosschainKeyManager.getActiveKeyVersion(),
-        crosschainKeyManager.activeKeyGenerations,
-        crosschainKeyManager.credentials);
-    updater.commit();
+    ThresholdKeyGeneration keyGeneration =
+        this.crosschainKeyManager.activeKeyGenerations.get(keyVersion);
+    if (keyGeneration != null) {
+      CrosschainNodeStorage.Updater updater = nodeStorage.updater();
+      updater.putKeyGeneration(keyGeneration.getCredentials());
+      updater.commit();
+    }
     return keyVersion;
   }
 
@@ -346,12 +698,16 @@ public class CrosschainController {
    */
   public void activateKey(final long keyVersion) {
     this.crosschainKeyManager.activateKey(keyVersion);
+    if (this.crosschainKeyManager.getActiveKeyVersion() != keyVersion) {
+      // The key was not ready to be activated.
+      return;
+    }
     CrosschainNodeStorage.Updater updater = nodeStorage.updater();
-    updater.putKeyData(
-        crosschainKeyManager.getActiveKeyVersion(),
-        crosschainKeyManager.activeKeyGenerations,
-        crosschainKeyManager.credentials);
+    updater.removeKeyGeneration(keyVersion);
+    updater.putCredentials(this.crosschainKeyManager.credentials.get(keyVersion));
+    updater.putActiveKeyVersion(keyVersion);
     updater.commit();
+    this.publicKeyCache.prefetch(this.sidechainId, keyVersion);
   }
 
   /**
@@ -437,6 +793,9 @@ public class CrosschainController {
   }
 
   public void addLinkedNode(final BigInteger blockchainId, final String ipAddressAndPort) {
+    if (this.linkedNodeManager.isPartOfMultichainNode(blockchainId)) {
+      closeConnections(this.linkedNodeManager.getIpAddressAndPort(blockchainId));
+    }
     this.linkedNodeManager.addNode(blockchainId, ipAddressAndPort);
     CrosschainNodeStorage.Updater updater = nodeStorage.updater();
     updater.putLinkedNode(blockchainId, ipAddressAndPort);
@@ -444,6 +803,9 @@ public class CrosschainController {
   }
 
   public void removeLinkedNode(final BigInteger blockchainId) {
+    if (this.linkedNodeManager.isPartOfMultichainNode(blockchainId)) {
+      closeConnections(this.linkedNodeManager.getIpAddressAndPort(blockchainId));
+    }
     this.linkedNodeManager.removeNode(blockchainId);
     CrosschainNodeStorage.Updater updater = nodeStorage.updater();
     updater.removeLinkedNode(blockchainId);
@@ -453,4 +815,17 @@ public class CrosschainController {
   public Set<BlockchainNodeInformation> listLinkedNodes() {
     return this.linkedNodeManager.listAllNodes();
   }
+
+  /**
+   * Close the connections to a node, for instance because it has been removed or its network
+   * address has changed. The connection pool is shared, so this closes the connections used both
+   * to send subordinates and to query coordination contracts.
+   *
+   * @param ipAddressAndPort Network address of JSON RPC of the node.
+   */
+  private void closeConnections(final String ipAddressAndPort) {
+    if (this.connectionPool != null) {
+      this.connectionPool.evict(ipAddressAndPort);
+    }
+  }
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Metrics for crosschain transaction processing, so that it can be seen which phase of processing
+ * the time is spent in, and how transactions end up. The metrics also cover threshold signing, the
+ * JSON RPC requests sent to other nodes, and the blockchain public key cache. The metrics are in
+ * the crosschain metric category.
+ */
+public class CrosschainMetrics {
+
+  /** Phases of processing a crosschain transaction submitted to this node. */
+  public enum TransactionPhase {
+    // Signing and sending the start message, for originating transactions.
+    START,
+    // Executing the subordinate views, and trial executing the transaction.
+    VIEWS,
+    // Dispatching the subordinate transactions to their blockchains.
+    DISPATCH,
+    // Submitting the transaction to the transaction pool and waiting for it to be mined.
+    MINING,
+    // All of the above.
+    TOTAL
+  }
+
+  /** Phases of executing a subordinate view for another blockchain. */
+  public enum ViewPhase {
+    // Executing the views the subordinate view itself depends on, on their blockchains.
+    SUBORDINATE_VIEWS,
+    // Executing the subordinate view.
+    EXECUTION,
+    // Threshold signing the result.
+    SIGNING
+  }
+
+  /** How processing of a crosschain transaction ended. */
+  public enum Outcome {
+    // The coordination contract committed the transaction.
+    COMMITTED,
+    // The coordination contract ignored the transaction.
+    IGNORED,
+    // A subordinate view failed.
+    FAILED_VIEW,
+    // The transaction failed for any other reason.
+    FAILED_TRANSACTION,
+    // Too many transactions were being processed to accept the transaction.
+    REJECTED
+  }
+
+  /** How a threshold signing request coordinated by this node ended. */
+  public enum SigningOutcome {
+    COMPLETED,
+    FAILED,
+    TIMED_OUT
+  }
+
+  /** What happened to a signature share sent by another node. */
+  public enum SignatureShare {
+    // The share was received from another node.
+    RECEIVED,
+    // The share did not verify against the node's public key share, and was discarded.
+    INVALID,
+    // The share arrived after the signature had been calculated, or the request had ended.
+    LATE
+  }
+
+  /** Pairing based verifications done while threshold signing. */
+  public enum SigningVerification {
+    // The signature calculated from the shares was verified against the group public key.
+    SIGNATURE,
+    // A batch of signature shares was verified against the public key shares.
+    SHARES
+  }
+
+  /** How a JSON RPC request sent to another node ended. */
+  public enum JsonRpcOutcome {
+    SUCCEEDED,
+    // The request failed, or the response was a JSON RPC error.
+    FAILED,
+    // No response was received within the request timeout.
+    TIMED_OUT,
+    // The request was cancelled, for instance because another request in a fan out failed.
+    CANCELLED
+  }
+
+  /** Result of looking up a blockchain public key in the public key cache. */
+  public enum PublicKeyLookup {
+    HIT,
+    // The key was recently found not to be available, so it was not fetched again.
+    NEGATIVE_HIT,
+    // The key was fetched from the coordination contract.
+    MISS
+  }
+
+  private final Map<TransactionPhase, OperationTimer> transactionPhaseTimers =
+      new EnumMap<>(TransactionPhase.class);
+  private final Map<ViewPhase, OperationTimer> viewPhaseTimers = new EnumMap<>(ViewPhase.class);
+  private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+  private final OperationTimer signingTimer;
+  private final Map<SigningOutcome, Counter> signingOutcomeCounters =
+      new EnumMap<>(SigningOutcome.class);
+  private final Map<SignatureShare, Counter> signatureShareCounters =
+      new EnumMap<>(SignatureShare.class);
+  private final Map<SigningVerification, Counter> signingVerificationCounters =
+      new EnumMap<>(SigningVerification.class);
+  private final LabelledMetric<OperationTimer> jsonRpcRequestTimer;
+  private final LabelledMetric<Counter> jsonRpcOutcomeCounter;
+  private final Map<PublicKeyLookup, Counter> publicKeyLookupCounters =
+      new EnumMap<>(PublicKeyLookup.class);
+
+  public CrosschainMetrics(final MetricsSystem metricsSystem) {
+    final LabelledMetric<OperationTimer> transactionPhaseTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.CROSSCHAIN,
+            "transaction_phase_time",
+            "Time taken by each phase of processing a crosschain transaction",
+            "phase");
+    for (TransactionPhase phase : TransactionPhase.values()) {
+      this.transactionPhaseTimers.put(phase, transactionPhaseTimer.labels(label(phase)));
+    }
+
+    final LabelledMetric<OperationTimer> viewPhaseTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.CROSSCHAIN,
+            "subordinate_view_phase_time",
+            "Time taken by each phase of executing a subordinate view",
+            "phase");
+    for (ViewPhase phase : ViewPhase.values()) {
+      this.viewPhaseTimers.put(phase, viewPhaseTimer.labels(label(phase)));
+    }
+
+    final LabelledMetric<Counter> outcomeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "transaction_outcomes_total",
+            "Number of crosschain transactions by how their processing ended",
+            "outcome");
+    for (Outcome outcome : Outcome.values()) {
+      this.outcomeCounters.put(outcome, outcomeCounter.labels(label(outcome)));
+    }
+
+    this.signingTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.CROSSCHAIN,
+            "threshold_signing_time",
+            "Time taken to threshold sign a message with the other nodes");
+
+    final LabelledMetric<Counter> signingOutcomeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "threshold_signing_requests_total",
+            "Number of threshold signing requests by how they ended",
+            "outcome");
+    for (SigningOutcome outcome : SigningOutcome.values()) {
+      this.signingOutcomeCounters.put(outcome, signingOutcomeCounter.labels(label(outcome)));
+    }
+
+    final LabelledMetric<Counter> signatureShareCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "threshold_signature_shares_total",
+            "Number of signature shares received from other nodes, and invalid or late shares",
+            "share");
+    for (SignatureShare share : SignatureShare.values()) {
+      this.signatureShareCounters.put(share, signatureShareCounter.labels(label(share)));
+    }
+
+    final LabelledMetric<Counter> signingVerificationCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "threshold_signing_verifications_total",
+            "Number of pairing based verifications done while threshold signing",
+            "verification");
+    for (SigningVerification verification : SigningVerification.values()) {
+      this.signingVerificationCounters.put(
+          verification, signingVerificationCounter.labels(label(verification)));
+    }
+
+    // The destinations are only known when requests are sent, so the labelled metrics are kept
+    // rather than their children.
+    this.jsonRpcRequestTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.CROSSCHAIN,
+            "json_rpc_request_time",
+            "Time taken by JSON RPC requests sent to other nodes",
+            "destination");
+
+    this.jsonRpcOutcomeCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "json_rpc_requests_total",
+            "Number of JSON RPC requests sent to other nodes by how they ended",
+            "destination",
+            "outcome");
+
+    final LabelledMetric<Counter> publicKeyLookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.CROSSCHAIN,
+            "public_key_cache_lookups_total",
+            "Number of blockchain public key cache lookups by result",
+            "result");
+    for (PublicKeyLookup lookup : PublicKeyLookup.values()) {
+      this.publicKeyLookupCounters.put(lookup, publicKeyLookupCounter.labels(label(lookup)));
+    }
+  }
+
+  /**
+   * @param phase Phase of processing a crosschain transaction which is starting.
+   * @return Timing context to stop when the phase has completed.
+   */
+  public OperationTimer.TimingContext startTimer(final TransactionPhase phase) {
+    return this.transactionPhaseTimers.get(phase).startTimer();
+  }
+
+  /**
+   * @param phase Phase of executing a subordinate view which is starting.
+   * @return Timing context to stop when the phase has completed.
+   */
+  public OperationTimer.TimingContext startTimer(final ViewPhase phase) {
+    return this.viewPhaseTimers.get(phase).startTimer();
+  }
+
+  /** @param outcome How processing of a crosschain transaction ended. */
+  public void recordOutcome(final Outcome outcome) {
+    this.outcomeCounters.get(outcome).inc();
+  }
+
+  /** @return Timing context to stop when the threshold signing request has ended. */
+  public OperationTimer.TimingContext startSigningTimer() {
+    return this.signingTimer.startTimer();
+  }
+
+  /** @param outcome How a threshold signing request ended. */
+  public void recordSigningOutcome(final SigningOutcome outcome) {
+    this.signingOutcomeCounters.get(outcome).inc();
+  }
+
+  /** @param share What happened to a signature share sent by another node. */
+  public void recordSignatureShare(final SignatureShare share) {
+    this.signatureShareCounters.get(share).inc();
+  }
+
+  /** @param verification Pairing based verification done while threshold signing. */
+  public void recordSigningVerification(final SigningVerification verification) {
+    this.signingVerificationCounters.get(verification).inc();
+  }
+
+  /**
+   * @param destination IP address and port the JSON RPC request is sent to.
+   * @return Timing context to stop when the JSON RPC request has ended.
+   */
+  public OperationTimer.TimingContext startJsonRpcRequestTimer(final String destination) {
+    return this.jsonRpcRequestTimer.labels(destination).startTimer();
+  }
+
+  /**
+   * @param destination IP address and port the JSON RPC request was sent to.
+   * @param outcome How a JSON RPC request sent to another node ended.
+   */
+  public void recordJsonRpcOutcome(final String destination, final JsonRpcOutcome outcome) {
+    this.jsonRpcOutcomeCounter.labels(destination, label(outcome)).inc();
+  }
+
+  /** @param lookup Result of looking up a blockchain public key in the public key cache. */
+  public void recordPublicKeyLookup(final PublicKeyLookup lookup) {
+    this.publicKeyLookupCounters.get(lookup).inc();
+  }
+
+  private static String label(final Enum<?> value) {
+    return value.name().toLowerCase(Locale.US);
+  }
+}
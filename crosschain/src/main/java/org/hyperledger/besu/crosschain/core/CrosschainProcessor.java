@@ -18,7 +18,6 @@ import org.hyperledger.besu.crosschain.core.messages.SubordinateViewResultMessag
 import org.hyperledger.besu.crosschain.core.messages.ThresholdSignedMessage;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
-import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainThreadLocalDataHolder;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -38,16 +37,24 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.vertx.core.Vertx;
-import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class CrosschainProcessor {
   protected static final Logger LOG = LogManager.getLogger();
+  // How often coordination contracts are polled for the outcome of lockable transactions.
+  private static final long COMMIT_IGNORE_POLL_PERIOD_MS = 2000;
 
   TransactionSimulator transactionSimulator;
   TransactionPool transactionPool;
@@ -57,12 +64,19 @@ public class CrosschainProcessor {
   BigInteger sidechainId;
 
   Vertx vertx;
+  JsonRpcConnectionPool connectionPool;
+  // Used for the blocking parts of processing subordinate results, such as signature verification.
+  ExecutorService subordinateExecutor;
 
   private LinkedNodeManager linkedNodeManager;
   private CoordContractManager coordContractManager;
   private CrosschainKeyManager crosschainKeyManager;
+  private OutwardBoundConnectionManager outwardBoundConnectionManager;
+  private BlockchainPublicKeyCache publicKeyCache;
 
-  boolean commitOrIgnoreFlag;
+  // Lockable transactions waiting for the coordination contract to commit or ignore them.
+  private CommitIgnoreWatcher commitIgnoreWatcher;
+  private long commitIgnorePollTimerId;
 
   public CrosschainProcessor(
       final LinkedNodeManager linkedNodeManager, final CoordContractManager coordContractManager) {
@@ -77,7 +91,12 @@ public class CrosschainProcessor {
       final SECP256K1.KeyPair nodeKeys,
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
-      final CrosschainKeyManager crosschainKeyManager) {
+      final CrosschainKeyManager crosschainKeyManager,
+      final OutwardBoundConnectionManager outwardBoundConnectionManager,
+      final BlockchainPublicKeyCache publicKeyCache,
+      final Vertx vertx,
+      final JsonRpcConnectionPool connectionPool,
+      final CrosschainMetrics metrics) {
     this.transactionSimulator = transactionSimulator;
     this.transactionPool = transactionPool;
     this.sidechainId = sidechainId;
@@ -85,15 +104,34 @@ public class CrosschainProcessor {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.crosschainKeyManager = crosschainKeyManager;
-
-    this.vertx = Vertx.vertx();
-    // this seems to cause a couple of internal exceptions visible in DEBUG
-    // logging. java.lang.UnsupportedOperationException: Reflective
-    // setAccessible(true) disabled
+    this.outwardBoundConnectionManager = outwardBoundConnectionManager;
+    this.publicKeyCache = publicKeyCache;
+
+    this.vertx = vertx;
+    this.connectionPool = connectionPool;
+    this.commitIgnoreWatcher =
+        new CommitIgnoreWatcher(
+            this.coordContractManager,
+            this.outwardBoundConnectionManager,
+            metrics,
+            this::sendSignallingTransactions);
+    this.commitIgnorePollTimerId =
+        this.vertx.setPeriodic(COMMIT_IGNORE_POLL_PERIOD_MS, id -> this.commitIgnoreWatcher.poll());
+    this.subordinateExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("CrosschainSubordinates-%d")
+                .build());
   }
+
   /**
    * Process subordinate transactions or subordinate views.
    *
+   * <p>All of the matching subordinates are dispatched to their linked nodes at the same time. The
+   * responses are gathered and verified as they arrive. If any of the subordinates fail, the
+   * outstanding requests are cancelled and the whole group is deemed to have failed.
+   *
    * @param transaction The Originating Transaction, Subordinate Transaction or Subordinate View to
    *     fetch the subordinate Subordinate Transactions or Views from.
    * @param processSubordinateTransactions true if transactions rather than views should be
@@ -102,116 +140,185 @@ public class CrosschainProcessor {
    */
   boolean processSubordinates(
       final CrosschainTransaction transaction, final boolean processSubordinateTransactions) {
-    List<CrosschainTransaction> subordinates = transaction.getSubordinateTransactionsAndViews();
-    for (CrosschainTransaction subordinateTransactionsAndView : subordinates) {
+    List<CrosschainTransaction> subordinates = new ArrayList<>();
+    for (CrosschainTransaction subordinateTransactionsAndView :
+        transaction.getSubordinateTransactionsAndViews()) {
       if ((processSubordinateTransactions
               && subordinateTransactionsAndView.getType().isSubordinateTransaction())
           || (!processSubordinateTransactions
               && subordinateTransactionsAndView.getType().isSubordinateView())) {
+        subordinates.add(subordinateTransactionsAndView);
+      }
+    }
+    if (subordinates.isEmpty()) {
+      return false;
+    }
 
-        String method =
-            subordinateTransactionsAndView.getType().isSubordinateView()
-                ? RpcMethod.Constants.CROSS_PROCESS_SUBORDINATE_VIEW
-                : RpcMethod.Constants.CROSS_SEND_RAW_CROSSCHAIN_TRANSACTION_STR;
-
-        BytesValueRLPOutput out = new BytesValueRLPOutput();
-        subordinateTransactionsAndView.writeTo(out);
-        BytesValue signedTransaction = out.encoded();
-
-        if (signedTransaction == null) {
-          LOG.error("Subordinate view does not exist");
-          // Indicate execution failed unexpectedly.
-          return true;
-        }
-
-        Optional<BigInteger> optionalSidechainId = subordinateTransactionsAndView.getChainId();
-        BigInteger sidechainId = optionalSidechainId.orElse(BigInteger.ZERO);
-
-        // Get the address from chain mapping.
-        String ipAddress = this.linkedNodeManager.getIpAddressAndPort(sidechainId);
-        String response = null;
-        LOG.info("Sending Crosschain Transaction or view to chain at " + ipAddress);
-        try {
-          response =
-              OutwardBoundConnectionManager.post(ipAddress, method, signedTransaction.toString());
-          LOG.debug("Crosschain Response: " + response);
-        } catch (Exception e) {
-          LOG.error("Exception during crosschain happens here: " + e.getMessage());
-          // Indicate execution failed unexpectedly.
-          return true;
-        }
-
-        BytesValue result = processResult(response);
-
-        if ((!processSubordinateTransactions
-            && subordinateTransactionsAndView.getType().isSubordinateView())) {
-
-          // Decode the response
-          SubordinateViewResultMessage viewResultMessage =
-              (SubordinateViewResultMessage) ThresholdSignedMessage.decodeEncodedMessage(result);
-
-          // Obtain the blockchain public key from the coordination contract using the sidechainId
-          Optional<BigInteger> coordChainId = transaction.getCrosschainCoordinationBlockchainId();
-          Optional<Address> coordAddr = transaction.getCrosschainCoordinationContractAddress();
-          if (coordChainId.isEmpty() || coordAddr.isEmpty()) {
-            LOG.error("Coordination Chain is not set up");
-            return true;
-          }
-          String coordIpAddrAndPort =
-              coordContractManager.getIpAndPort(coordChainId.get(), coordAddr.get());
-          BigInteger publicKey =
-              new OutwardBoundConnectionManager(this.nodeKeys)
-                  .getPublicKeyFromCoordContract(
-                      coordIpAddrAndPort,
-                      coordChainId.get(),
-                      coordAddr.get(),
-                      sidechainId,
-                      viewResultMessage.getKeyVersion());
-          LOG.info(
-              "Obtained the public key {} from crosschain coordination contract.",
-              publicKey.toString(16));
-
-          // Verify the signature
-          BlsPoint publicKeyBlsPoint = BlsPoint.load(publicKey.toByteArray());
-
-          BlsCryptoProvider cryptoProvider =
-              BlsCryptoProvider.getInstance(
-                  BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
-                  BlsCryptoProvider.DigestAlgorithm.KECCAK256);
-
-          boolean signatureVerification =
-              cryptoProvider.verify(
-                  publicKeyBlsPoint,
-                  viewResultMessage.getEncodedCoreMessage().extractArray(),
-                  BlsPoint.load(viewResultMessage.getSignature().getByteArray()));
-
-          if (signatureVerification) {
-            LOG.info("The signature of Subordinate View Result message verified.");
-          } else {
-            LOG.error("Verification of the subordinate view result message's signature failed.");
-            return true;
-          }
-
-          // Check that the Subordiante View hash returned matches the submitted subordiante view.
-          if (subordinateTransactionsAndView.hash().equals(viewResultMessage.getTxHash())) {
-            LOG.info("The hash of the subordinate view result transaction matches.");
-          } else {
-            LOG.error("The hash of the subordinate view result transaction does not match");
-            return true;
-          }
-
-          LOG.info("Crosschain Result: " + viewResultMessage.getResult().toString());
-          subordinateTransactionsAndView.addSignedResult(viewResultMessage.getResult());
-        } else {
-          LOG.info("Crosschain Result: " + result.toString());
-          subordinateTransactionsAndView.addSignedResult(result);
-        }
+    FanOut<BytesValue> fanOut = new FanOut<>();
+    for (CrosschainTransaction subordinate : subordinates) {
+      try {
+        dispatchSubordinate(transaction, subordinate, fanOut);
+      } catch (Exception e) {
+        LOG.error("Exception while dispatching crosschain subordinate: " + e.getMessage());
+        fanOut.cancelAll();
+        // Indicate execution failed unexpectedly.
+        return true;
       }
     }
 
+    List<BytesValue> results;
+    try {
+      results = fanOut.whenAll().get();
+    } catch (ExecutionException e) {
+      LOG.error("Exception during crosschain happens here: " + e.getCause().getMessage());
+      // Indicate execution failed unexpectedly.
+      return true;
+    } catch (InterruptedException e) {
+      LOG.error("Interrupted while waiting for crosschain subordinates");
+      fanOut.cancelAll();
+      Thread.currentThread().interrupt();
+      return true;
+    }
+
+    // Results must be added in the order in which the subordinates appear in the transaction.
+    for (int i = 0; i < subordinates.size(); i++) {
+      BytesValue result = results.get(i);
+      LOG.info("Crosschain Result: " + result.toString());
+      subordinates.get(i).addSignedResult(result);
+    }
     return false;
   }
 
+  /**
+   * Send a single subordinate transaction or view to its linked node.
+   *
+   * @param transaction The transaction which contains the subordinate.
+   * @param subordinate The subordinate transaction or view to send.
+   * @param fanOut Group to add the request to. The request's result is the verified result of the
+   *     subordinate.
+   */
+  private void dispatchSubordinate(
+      final CrosschainTransaction transaction,
+      final CrosschainTransaction subordinate,
+      final FanOut<BytesValue> fanOut) {
+    final boolean isView = subordinate.getType().isSubordinateView();
+    String method =
+        isView
+            ? RpcMethod.Constants.CROSS_PROCESS_SUBORDINATE_VIEW
+            : RpcMethod.Constants.CROSS_SEND_RAW_CROSSCHAIN_TRANSACTION_STR;
+
+    BytesValueRLPOutput out = new BytesValueRLPOutput();
+    subordinate.writeTo(out);
+    BytesValue signedTransaction = out.encoded();
+
+    Optional<BigInteger> optionalSidechainId = subordinate.getChainId();
+    BigInteger sidechainId = optionalSidechainId.orElse(BigInteger.ZERO);
+
+    // Get the address from chain mapping.
+    String ipAddress = this.linkedNodeManager.getIpAddressAndPort(sidechainId);
+    LOG.info("Sending Crosschain Transaction or view to chain at " + ipAddress);
+    CompletableFuture<String> request =
+        this.connectionPool.postAsync(ipAddress, method, signedTransaction.toString());
+    CompletableFuture<BytesValue> result =
+        request.thenApply(
+            response -> {
+              LOG.debug("Crosschain Response: " + response);
+              return BytesValue.fromHexString(response);
+            });
+    if (isView) {
+      // Verification fetches the public key from the coordination contract, which blocks. Hence,
+      // don't do it on the Vertx event loop.
+      result =
+          result.thenApplyAsync(
+              encodedResult ->
+                  verifySubordinateViewResult(transaction, subordinate, sidechainId, encodedResult),
+              this.subordinateExecutor);
+    }
+    fanOut.add(result, request);
+  }
+
+  /**
+   * Check the threshold signature and transaction hash of a Subordinate View result message.
+   *
+   * @param transaction The transaction which contains the subordinate view.
+   * @param subordinateView The subordinate view which was executed.
+   * @param sidechainId The blockchain the subordinate view was executed on.
+   * @param result The encoded Subordinate View Result message.
+   * @return The result of the subordinate view.
+   */
+  private BytesValue verifySubordinateViewResult(
+      final CrosschainTransaction transaction,
+      final CrosschainTransaction subordinateView,
+      final BigInteger sidechainId,
+      final BytesValue result) {
+    // Decode the response
+    SubordinateViewResultMessage viewResultMessage =
+        (SubordinateViewResultMessage) ThresholdSignedMessage.decodeEncodedMessage(result);
+
+    // Obtain the blockchain public key from the coordination contract using the sidechainId
+    Optional<BigInteger> coordChainId = transaction.getCrosschainCoordinationBlockchainId();
+    Optional<Address> coordAddr = transaction.getCrosschainCoordinationContractAddress();
+    if (coordChainId.isEmpty() || coordAddr.isEmpty()) {
+      String msg = "Coordination Chain is not set up";
+      LOG.error(msg);
+      throw new RuntimeException(msg);
+    }
+    Optional<BlsPoint> publicKeyBlsPoint =
+        this.publicKeyCache.getPublicKey(
+            coordChainId.get(), coordAddr.get(), sidechainId, viewResultMessage.getKeyVersion());
+    if (publicKeyBlsPoint.isEmpty()) {
+      String msg =
+          "Unable to obtain the public key for chain "
+              + sidechainId
+              + " from the crosschain coordination contract.";
+      LOG.error(msg);
+      throw new RuntimeException(msg);
+    }
+
+    // Verify the signature
+    BlsCryptoProvider cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+
+    boolean signatureVerification =
+        cryptoProvider.verify(
+            publicKeyBlsPoint.get(),
+            viewResultMessage.getEncodedCoreMessage().extractArray(),
+            BlsPoint.load(viewResultMessage.getSignature().getByteArray()));
+
+    if (signatureVerification) {
+      LOG.info("The signature of Subordinate View Result message verified.");
+    } else {
+      String msg = "Verification of the subordinate view result message's signature failed.";
+      LOG.error(msg);
+      throw new RuntimeException(msg);
+    }
+
+    // Check that the Subordiante View hash returned matches the submitted subordiante view.
+    if (subordinateView.hash().equals(viewResultMessage.getTxHash())) {
+      LOG.info("The hash of the subordinate view result transaction matches.");
+    } else {
+      String msg = "The hash of the subordinate view result transaction does not match";
+      LOG.error(msg);
+      throw new RuntimeException(msg);
+    }
+    return viewResultMessage.getResult();
+  }
+
+  /**
+   * Release the timer and threads used for crosschain processing. The connection pool is shared,
+   * and is closed by the controller.
+   */
+  void shutdown() {
+    if (this.vertx != null) {
+      this.vertx.cancelTimer(this.commitIgnorePollTimerId);
+    }
+    if (this.subordinateExecutor != null) {
+      this.subordinateExecutor.shutdownNow();
+    }
+  }
+
   /**
    * Do a trial execution of the Crosschain Transaction.
    *
@@ -221,14 +328,8 @@ public class CrosschainProcessor {
    */
   Optional<ValidationResult<TransactionValidator.TransactionInvalidReason>> trialExecution(
       final CrosschainTransaction subordinateTransaction) {
-    // Add to thread local storage.
-    CrosschainThreadLocalDataHolder.setCrosschainTransaction(subordinateTransaction);
-    // Rewind to the first subordinate transaction or view for each execution.
-    subordinateTransaction.resetSubordinateTransactionsAndViewsList();
-
     Optional<TransactionSimulatorResult> result =
         this.transactionSimulator.processAtHead(subordinateTransaction);
-    CrosschainThreadLocalDataHolder.removeCrosschainTransaction();
 
     if (result.isPresent()) {
       TransactionSimulatorResult simulatorResult = result.get();
@@ -272,93 +373,20 @@ public class CrosschainProcessor {
         .orElse(null);
   }
 
-  private BytesValue processResult(final String response) {
-    final JsonObject responseJson = new JsonObject(response);
-    String result = responseJson.getString("result");
-    return BytesValue.fromHexString(result);
-  }
-
   /**
-   * This method queries the state of the crosschain transaction from the coordination contract.
+   * Wait for the coordination contract to commit or ignore a lockable transaction, and then send
+   * the signalling transaction to unlock the contracts it locked.
    *
-   * @param transaction Crosschain transaction whose state is queried upon.
-   * @return status of the crosschain transaction
+   * @param transaction Mined lockable transaction.
    */
-  private long getCrosschainTransactionStatus(final CrosschainTransaction transaction) {
-    Optional<BigInteger> coordChainId = transaction.getCrosschainCoordinationBlockchainId();
-    Optional<Address> coordAddr = transaction.getCrosschainCoordinationContractAddress();
-    if (coordChainId.isEmpty() || coordAddr.isEmpty()) {
-      LOG.error("Coordination Chain is not set up");
-      return 0;
-    }
-
-    final String coordIpAddrAndPort =
-        this.coordContractManager.getIpAndPort(coordChainId.get(), coordAddr.get());
-    final BigInteger origChainId =
-        (transaction.getType().isOriginatingTransaction()
-            ? transaction.getChainId().get()
-            : transaction.getOriginatingSidechainId().get());
-
-    return new OutwardBoundConnectionManager(this.nodeKeys)
-        .getCrosschainTransactionStatus(
-            coordIpAddrAndPort,
-            coordChainId.get(),
-            coordAddr.get(),
-            origChainId,
-            transaction.getCrosschainTransactionId().get());
+  void startCrosschainTransactionCommitIgnoreTimeOut(final CrosschainTransaction transaction) {
+    this.commitIgnoreWatcher.add(transaction);
   }
 
-  void startCrosschainTransactionCommitIgnoreTimeOut(final CrosschainTransaction transaction) {
-    this.vertx.setTimer(
-        2000,
-        id -> {
-          // check coordination contract if committed / ignored
-          long txStatus = getCrosschainTransactionStatus(transaction);
-          LOG.info(
-              "Crosschain Transaction Status as fetched from the coordination contract is {}",
-              txStatus);
-          if (txStatus == 2 || txStatus == 3) {
-            List<Address> addressesToUnlock = transaction.getLockedAddresses();
-            if (addressesToUnlock == null || addressesToUnlock.size() == 0) {
-              LOG.info("No addresses to unlock. Not sending signalling transaction");
-            } else {
-              sendSignallingTransaction(addressesToUnlock, txStatus);
-            }
-          } else {
-            startCrosschainTransactionCommitIgnoreTimeOut(transaction);
-          }
-        });
+  /** @return The number of lockable transactions waiting to be committed or ignored. */
+  int getPendingCommitIgnoreCount() {
+    return this.commitIgnoreWatcher == null ? 0 : this.commitIgnoreWatcher.getPendingCount();
   }
-  //  void startCrosschainTransactionCommitIgnoreTimeOut(final CrosschainTransaction transaction) {
-  //    this.commitOrIgnoreFlag = false;
-  //
-  //    while (!commitOrIgnoreFlag) {
-  //      this.vertx.setTimer(
-  //          2000,
-  //          id -> {
-  //            // check coordination contract if committed / ignored
-  //            long txStatus = getCrosschainTransactionStatus(transaction);
-  //            LOG.info(
-  //                "Crosschain Transaction Status as fetched from the coordination contract is {}",
-  //                txStatus);
-  //            if (txStatus == 2 || txStatus == 3) {
-  //              List<Address> addressesToUnlock = transaction.getLockedAddresses();
-  //              commitOrIgnoreFlag = true;
-  //              if (addressesToUnlock == null || addressesToUnlock.size() == 0) {
-  //                LOG.info("No addresses to unlock. Not sending signalling transaction");
-  //              } else {
-  //                sendSignallingTransaction(addressesToUnlock, txStatus);
-  //              }
-  //            } else {
-  //              try {
-  //                Thread.sleep(60000);
-  //              } catch (Exception e) {
-  //                LOG.info("Thead.sleep throws an exception {}", e.toString());
-  //              }
-  //            }
-  //          });
-  //    }
-  //  }
 
   /**
    * This method threshold signs and sends the subordinateTransactionReady message to the
@@ -379,7 +407,7 @@ public class CrosschainProcessor {
     // Submit the message to the linked node that is on originating chain
     try {
       LOG.info("Sending signed Transaction Ready message from chain {}", subTx.getChainId());
-      OutwardBoundConnectionManager.post(
+      this.connectionPool.post(
           origIpAddressAndPort,
           RpcMethod.CROSS_SEND_TRANSACTION_READY_MESSAGE.getMethodName(),
           txReadyMsg.getEncodedMessage().getHexString());
@@ -404,23 +432,62 @@ public class CrosschainProcessor {
    */
   void sendSignallingTransaction(final List<Address> addressesToUnlock, final long txStatus) {
     LOG.debug("Crosschain Signalling Transaction: Initiated");
+    OptionalLong nonce = signallingTransactionNonce();
+    if (nonce.isPresent()) {
+      submitSignallingTransaction(addressesToUnlock, txStatus, nonce.getAsLong());
+    }
+  }
+
+  /**
+   * Send the signalling transactions to unlock the contracts of a group of crosschain transactions:
+   * one transaction for all of the contracts of committed transactions, and one for all of the
+   * contracts of ignored transactions.
+   *
+   * @param committedAddresses Addresses of contracts locked by committed transactions.
+   * @param ignoredAddresses Addresses of contracts locked by ignored transactions.
+   */
+  void sendSignallingTransactions(
+      final List<Address> committedAddresses, final List<Address> ignoredAddresses) {
+    LOG.debug(
+        "Crosschain Signalling Transactions: Initiated for {} committed and {} ignored contracts",
+        committedAddresses.size(),
+        ignoredAddresses.size());
+    OptionalLong maybeNonce = signallingTransactionNonce();
+    if (maybeNonce.isEmpty()) {
+      return;
+    }
+    long nonce = maybeNonce.getAsLong();
+    if (!committedAddresses.isEmpty()) {
+      submitSignallingTransaction(
+          committedAddresses, CommitIgnoreWatcher.STATUS_COMMITTED, nonce++);
+    }
+    if (!ignoredAddresses.isEmpty()) {
+      submitSignallingTransaction(ignoredAddresses, CommitIgnoreWatcher.STATUS_IGNORED, nonce);
+    }
+  }
 
-    // Work out sender's nonce.
-    // TODO The code below only determines the nonce up until the latest block. It does not
-    // TODO look at pending transactions.
+  // Work out the nonce of this node's next transaction, allowing for transactions waiting in the
+  // transaction pool, so that signalling transactions sent back to back don't share a nonce.
+  private OptionalLong signallingTransactionNonce() {
     Hash latestBlockStateRootHash = this.blockchain.getChainHeadBlock().getHeader().getStateRoot();
     final Optional<MutableWorldState> maybeWorldState =
         worldStateArchive.getMutable(latestBlockStateRootHash);
     if (maybeWorldState.isEmpty()) {
       LOG.error("Crosschain Signalling Transaction: Can't fetch world state");
-      return;
+      return OptionalLong.empty();
     }
     MutableWorldState worldState = maybeWorldState.get();
     final Address senderAddress =
         Address.extract(Hash.hash(this.nodeKeys.getPublicKey().getEncodedBytes()));
     final Account sender = worldState.get(senderAddress);
     final long nonce = sender != null ? sender.getNonce() : 0L;
+    final OptionalLong pendingNonce =
+        this.transactionPool.getPendingTransactions().getNextNonceForSender(senderAddress);
+    return OptionalLong.of(Math.max(nonce, pendingNonce.orElse(nonce)));
+  }
 
+  private void submitSignallingTransaction(
+      final List<Address> addressesToUnlock, final long txStatus, final long nonce) {
     List<CrosschainTransaction> emptyList = List.of();
 
     BytesValue payload = BytesValue.EMPTY;
@@ -430,9 +497,9 @@ public class CrosschainProcessor {
     }
 
     final CrosschainTransaction.CrosschainTransactionType txType;
-    if (txStatus == 2) {
+    if (txStatus == CommitIgnoreWatcher.STATUS_COMMITTED) {
       txType = CrosschainTransaction.CrosschainTransactionType.UNLOCK_COMMIT_SIGNALLING_TRANSACTION;
-    } else if (txStatus == 3) {
+    } else if (txStatus == CommitIgnoreWatcher.STATUS_IGNORED) {
       txType = CrosschainTransaction.CrosschainTransactionType.UNLOCK_IGNORE_SIGNALLING_TRANSACTION;
     } else {
       LOG.error("Signalling transaction called when the transaction is not COMMITTED or IGNORED");
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks the progress of each crosschain transaction submitted to this node through the stages of
+ * its processing, so that the status of a transaction can be queried. The status is held in memory
+ * only, for the most recently started transactions. Stage latencies are recorded by
+ * CrosschainMetrics.
+ */
+public class CrosschainTransactionTracker {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final long DEFAULT_MAXIMUM_TRACKED = 10_000;
+
+  public enum Stage {
+    // The transaction has been accepted for processing. For originating transactions, the start
+    // message is signed and sent to the coordination contract.
+    STARTED,
+    // The subordinate views have been executed and the transaction has been trial executed.
+    VIEWS_DONE,
+    // The subordinate transactions have been dispatched to the other blockchains.
+    SUBORDINATES_SENT,
+    // The transaction has been included in a canonical block.
+    MINED,
+    // The commit message has been sent to the coordination contract.
+    COMMITTED,
+    // The ignore message has been sent to the coordination contract.
+    IGNORED,
+    // Processing failed without an ignore message being sent.
+    FAILED;
+  }
+
+  private final Cache<Hash, Status> transactions;
+
+  public CrosschainTransactionTracker() {
+    this(DEFAULT_MAXIMUM_TRACKED);
+  }
+
+  public CrosschainTransactionTracker(final long maximumTracked) {
+    this.transactions = CacheBuilder.newBuilder().maximumSize(maximumTracked).build();
+  }
+
+  /**
+   * Start tracking a transaction.
+   *
+   * @param transaction Transaction which has been accepted for processing.
+   */
+  public void start(final CrosschainTransaction transaction) {
+    Status status = new Status(transaction);
+    this.transactions.put(transaction.hash(), status);
+  }
+
+  /**
+   * Record that a transaction has reached a stage. Transactions which have reached a final stage
+   * are not updated any further.
+   *
+   * @param transactionHash Hash of the transaction.
+   * @param stage The stage reached.
+   */
+  public void advance(final Hash transactionHash, final Stage stage) {
+    Status status = this.transactions.getIfPresent(transactionHash);
+    if (status != null) {
+      status.advance(stage, null);
+    }
+  }
+
+  /**
+   * Record that processing of a transaction failed.
+   *
+   * @param transactionHash Hash of the transaction.
+   * @param stage IGNORED if an ignore message was sent for the transaction, otherwise FAILED.
+   * @param reason Why processing failed.
+   */
+  public void fail(final Hash transactionHash, final Stage stage, final String reason) {
+    Status status = this.transactions.getIfPresent(transactionHash);
+    if (status != null) {
+      LOG.info("Crosschain transaction {} failed: {}", transactionHash, reason);
+      status.advance(stage, reason);
+    }
+  }
+
+  public Optional<Status> getStatus(final Hash transactionHash) {
+    return Optional.ofNullable(this.transactions.getIfPresent(transactionHash));
+  }
+
+  /** Status of a crosschain transaction. */
+  public static class Status {
+    private final Hash transactionHash;
+    private final String type;
+    private final Map<Stage, Long> stageTimes = new EnumMap<>(Stage.class);
+    private Stage stage;
+    private String failureReason;
+
+    Status(final CrosschainTransaction transaction) {
+      this.transactionHash = transaction.hash();
+      this.type = transaction.getType().toString();
+      this.stage = Stage.STARTED;
+      this.stageTimes.put(Stage.STARTED, System.currentTimeMillis());
+    }
+
+    synchronized void advance(final Stage newStage, final String reason) {
+      if (isFinal() || newStage.ordinal() <= this.stage.ordinal()) {
+        return;
+      }
+      this.stage = newStage;
+      this.stageTimes.put(newStage, System.currentTimeMillis());
+      this.failureReason = reason;
+    }
+
+    private boolean isFinal() {
+      return this.stage == Stage.COMMITTED
+          || this.stage == Stage.IGNORED
+          || this.stage == Stage.FAILED;
+    }
+
+    public String getTransactionHash() {
+      return this.transactionHash.toString();
+    }
+
+    public String getType() {
+      return this.type;
+    }
+
+    public synchronized Stage getStage() {
+      return this.stage;
+    }
+
+    public synchronized String getFailureReason() {
+      return this.failureReason;
+    }
+
+    /** @return For each stage reached, the time in milliseconds since the epoch it was reached. */
+    public synchronized Map<Stage, Long> getStageTimes() {
+      return Collections.unmodifiableMap(new EnumMap<>(this.stageTimes));
+    }
+  }
+}
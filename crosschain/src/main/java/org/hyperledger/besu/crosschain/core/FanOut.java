@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A group of requests which are in progress at the same time. The group completes with the results
+ * of all of the requests, in the order in which they were added, or fails as soon as any one of the
+ * requests fails.
+ *
+ * <p>Each request is added as its result, which is usually derived from the future of the
+ * underlying request by further processing, together with that source future. Cancelling a derived
+ * future does not cancel the future it was derived from, so when the group fails or is cancelled,
+ * both the results and the source futures of the outstanding requests are cancelled. This aborts
+ * the underlying requests, rather than leaving them to run to completion.
+ *
+ * @param <T> Type of the result of each request.
+ */
+class FanOut<T> {
+  private final List<CompletableFuture<T>> results = new ArrayList<>();
+  private final List<CompletableFuture<?>> sources = new ArrayList<>();
+  private final CompletableFuture<List<T>> all = new CompletableFuture<>();
+
+  FanOut() {
+    this.all.whenComplete(
+        (values, error) -> {
+          if (error != null) {
+            cancelAll();
+          }
+        });
+  }
+
+  /**
+   * Add a request to the group.
+   *
+   * @param result Future which completes with the result of the request.
+   * @param source Future of the underlying request which the result is derived from. Cancelled if
+   *     the group fails.
+   */
+  synchronized void add(final CompletableFuture<T> result, final CompletableFuture<?> source) {
+    this.results.add(result);
+    this.sources.add(source);
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            this.all.completeExceptionally(
+                error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+          }
+        });
+    if (this.all.isCompletedExceptionally()) {
+      cancelAll();
+    }
+  }
+
+  /**
+   * Wait for all of the requests which have been added.
+   *
+   * @return Future which completes with the results of the requests, in the order in which they
+   *     were added, or completes exceptionally with the cause of the first request to fail.
+   *     Cancelling it cancels all of the requests.
+   */
+  synchronized CompletableFuture<List<T>> whenAll() {
+    final List<CompletableFuture<T>> added = new ArrayList<>(this.results);
+    CompletableFuture.allOf(added.toArray(new CompletableFuture<?>[0]))
+        .thenRun(
+            () -> {
+              List<T> values = new ArrayList<>(added.size());
+              for (CompletableFuture<T> result : added) {
+                values.add(result.join());
+              }
+              this.all.complete(values);
+            });
+    return this.all;
+  }
+
+  /** Cancel the requests which are still in progress. */
+  synchronized void cancelAll() {
+    for (CompletableFuture<T> result : this.results) {
+      result.cancel(true);
+    }
+    for (CompletableFuture<?> source : this.sources) {
+      source.cancel(true);
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming encoder and decoder for the JSON RPC requests sent to linked nodes and coordination
+ * blockchain nodes. The requests and responses used for crosschain processing can be large (they
+ * contain whole RLP encoded transactions, or hundreds of batched calls), so they are encoded and
+ * decoded directly from bytes rather than via string concatenation or an intermediate JSON tree.
+ */
+final class JsonRpcCodec {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private JsonRpcCodec() {}
+
+  /**
+   * Encode a JSON RPC request which has a single string parameter.
+   *
+   * @param id Request id.
+   * @param method JSON RPC method to call.
+   * @param params Single string parameter to pass to the method.
+   * @return UTF-8 encoded request.
+   */
+  static byte[] encodeRequest(final long id, final String method, final String params) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(64 + method.length() + params.length());
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeStringField("jsonrpc", "2.0");
+      generator.writeStringField("method", method);
+      generator.writeArrayFieldStart("params");
+      generator.writeString(params);
+      generator.writeEndArray();
+      generator.writeNumberField("id", id);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Encode a JSON RPC batch request. The calls are given consecutive request ids, starting at
+   * firstId, so that the responses can be matched to the calls.
+   *
+   * @param firstId Request id of the first call.
+   * @param calls Calls to include in the batch.
+   * @return UTF-8 encoded batch request.
+   */
+  static byte[] encodeBatchRequest(final long firstId, final List<Call> calls) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(128 * calls.size() + 2);
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      generator.writeStartArray();
+      long id = firstId;
+      for (Call call : calls) {
+        generator.writeStartObject();
+        generator.writeStringField("jsonrpc", "2.0");
+        generator.writeStringField("method", call.method);
+        generator.writeArrayFieldStart("params");
+        for (Object param : call.params) {
+          writeParam(generator, param);
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("id", id++);
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeParam(final JsonGenerator generator, final Object param)
+      throws IOException {
+    if (param instanceof String) {
+      generator.writeString((String) param);
+    } else if (param instanceof Map) {
+      generator.writeStartObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) param).entrySet()) {
+        generator.writeStringField(entry.getKey().toString(), entry.getValue().toString());
+      }
+      generator.writeEndObject();
+    } else {
+      throw new IllegalArgumentException("Unsupported JSON RPC parameter: " + param);
+    }
+  }
+
+  /**
+   * Decode the results of a JSON RPC batch response. The responses may be in any order; they are
+   * matched to the calls of the batch request using their ids.
+   *
+   * @param response UTF-8 encoded JSON RPC batch response.
+   * @param firstId Request id of the first call in the batch.
+   * @param count Number of calls in the batch.
+   * @return The result of each call, in the order of the calls in the batch request.
+   * @throws JsonRpcErrorException if the whole batch failed, or the response is malformed.
+   */
+  static List<BatchResult> decodeBatchResults(
+      final byte[] response, final long firstId, final int count) {
+    BatchResult[] results = new BatchResult[count];
+    try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.START_OBJECT) {
+        // A single response, rather than an array, indicates the batch as a whole was rejected.
+        throw new JsonRpcErrorException(decodeBatchError(parser));
+      }
+      if (token != JsonToken.START_ARRAY) {
+        throw new JsonRpcErrorException("JSON RPC batch response is not a JSON array");
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        Long id = null;
+        String result = null;
+        String error = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          JsonToken value = parser.nextToken();
+          if ("id".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+            id = parser.getLongValue();
+          } else if ("result".equals(field) && value.isScalarValue()) {
+            result = parser.getValueAsString();
+          } else if ("error".equals(field) && value == JsonToken.START_OBJECT) {
+            error = decodeErrorMessage(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        if (id == null || id < firstId || id >= firstId + count) {
+          continue;
+        }
+        int index = (int) (id - firstId);
+        if (error != null) {
+          results[index] = BatchResult.error(error);
+        } else if (result != null) {
+          results[index] = BatchResult.result(result);
+        } else {
+          results[index] = BatchResult.error("JSON RPC response does not contain a result");
+        }
+      }
+    } catch (IOException e) {
+      throw new JsonRpcErrorException("Malformed JSON RPC response: " + e.getMessage());
+    }
+
+    List<BatchResult> ordered = new ArrayList<>(count);
+    for (BatchResult result : results) {
+      ordered.add(result != null ? result : BatchResult.error("No JSON RPC response for request"));
+    }
+    return ordered;
+  }
+
+  private static String decodeBatchError(final JsonParser parser) throws IOException {
+    String error = "JSON RPC batch request failed";
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      if (parser.nextToken() == JsonToken.START_OBJECT && "error".equals(field)) {
+        error = decodeErrorMessage(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return error;
+  }
+
+  /**
+   * Decode the result of a JSON RPC response. Only the top level of the response is examined; the
+   * content of any field other than result and error is skipped without being parsed.
+   *
+   * @param response UTF-8 encoded JSON RPC response.
+   * @return The result field of the response as a string.
+   * @throws JsonRpcErrorException if the response is a JSON RPC error or is malformed.
+   */
+  static String decodeResult(final byte[] response) {
+    String result = null;
+    String error = null;
+    try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonRpcErrorException("JSON RPC response is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+        if ("result".equals(field) && value.isScalarValue()) {
+          result = parser.getValueAsString();
+        } else if ("error".equals(field) && value == JsonToken.START_OBJECT) {
+          error = decodeErrorMessage(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new JsonRpcErrorException("Malformed JSON RPC response: " + e.getMessage());
+    }
+
+    if (error != null) {
+      throw new JsonRpcErrorException(error);
+    }
+    if (result == null) {
+      throw new JsonRpcErrorException("JSON RPC response does not contain a result");
+    }
+    return result;
+  }
+
+  private static String decodeErrorMessage(final JsonParser parser) throws IOException {
+    String message = "JSON RPC error";
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if ("message".equals(field)) {
+        message = parser.getValueAsString(message);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return message;
+  }
+
+  /** A single call within a JSON RPC batch request. */
+  static final class Call {
+    private final String method;
+    // Each parameter is either a string, or a map of strings which is encoded as a JSON object.
+    private final List<Object> params;
+
+    Call(final String method, final List<Object> params) {
+      this.method = method;
+      this.params = params;
+    }
+  }
+
+  /** The result of a single call within a JSON RPC batch request, or the error it failed with. */
+  static final class BatchResult {
+    private final String result;
+    private final String error;
+
+    private BatchResult(final String result, final String error) {
+      this.result = result;
+      this.error = error;
+    }
+
+    static BatchResult result(final String result) {
+      return new BatchResult(result, null);
+    }
+
+    static BatchResult error(final String error) {
+      return new BatchResult(null, error);
+    }
+
+    boolean isError() {
+      return this.error != null;
+    }
+
+    String getResult() {
+      return this.result;
+    }
+
+    String getError() {
+      return this.error;
+    }
+  }
+
+  /** Indicates that a linked node returned an error, or a response which could not be decoded. */
+  static class JsonRpcErrorException extends RuntimeException {
+    JsonRpcErrorException(final String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pool of keep-alive HTTP connections used to send JSON RPC requests to the other nodes in the
+ * multichain node. One Vertx HTTP client, with its own connection pool, is held per destination
+ * (IP address and port), so that requests to busy linked nodes reuse established connections
+ * rather than paying for TCP connection set-up on each request.
+ */
+public class JsonRpcConnectionPool {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final Configuration config;
+  private final CrosschainMetrics metrics;
+  private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+  private final AtomicLong nextRequestId = new AtomicLong(1);
+
+  public JsonRpcConnectionPool(final Vertx vertx, final CrosschainMetrics metrics) {
+    this(vertx, Configuration.createDefault(), metrics);
+  }
+
+  public JsonRpcConnectionPool(
+      final Vertx vertx, final Configuration config, final CrosschainMetrics metrics) {
+    this.vertx = vertx;
+    this.config = config;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Post a JSON RPC request without blocking the calling thread.
+   *
+   * <p>Cancelling the returned future resets the underlying HTTP request.
+   *
+   * @param ipAddressPort IP address and port of the JSON RPC end point.
+   * @param method JSON RPC method to call.
+   * @param params Single string parameter to pass to the method.
+   * @return Future which completes with the result field of the JSON RPC response.
+   */
+  public CompletableFuture<String> postAsync(
+      final String ipAddressPort, final String method, final String params) {
+    final byte[] body =
+        JsonRpcCodec.encodeRequest(this.nextRequestId.getAndIncrement(), method, params);
+    return send(ipAddressPort, method, body, JsonRpcCodec::decodeResult);
+  }
+
+  /**
+   * Post a JSON RPC batch request without blocking the calling thread. All of the calls are sent
+   * in a single HTTP request.
+   *
+   * <p>Cancelling the returned future resets the underlying HTTP request.
+   *
+   * @param ipAddressPort IP address and port of the JSON RPC end point.
+   * @param calls Calls to include in the batch.
+   * @return Future which completes with the result of each call, in the order of the calls.
+   */
+  CompletableFuture<List<JsonRpcCodec.BatchResult>> postBatchAsync(
+      final String ipAddressPort, final List<JsonRpcCodec.Call> calls) {
+    final long firstId = this.nextRequestId.getAndAdd(calls.size());
+    final byte[] body = JsonRpcCodec.encodeBatchRequest(firstId, calls);
+    return send(
+        ipAddressPort,
+        "batch of " + calls.size() + " calls",
+        body,
+        responseBody -> JsonRpcCodec.decodeBatchResults(responseBody, firstId, calls.size()));
+  }
+
+  private <T> CompletableFuture<T> send(
+      final String ipAddressPort,
+      final String description,
+      final byte[] body,
+      final Function<byte[], T> decoder) {
+    final CompletableFuture<T> response = new CompletableFuture<>();
+    final OperationTimer.TimingContext timer = this.metrics.startJsonRpcRequestTimer(ipAddressPort);
+
+    final HttpClientRequest request = client(ipAddressPort).post("/");
+    request.setTimeout(this.config.getRequestTimeoutMs());
+    request.handler(
+        httpResponse -> {
+          if (httpResponse.statusCode() / 100 != 2) {
+            response.completeExceptionally(
+                new JsonRpcCodec.JsonRpcErrorException(
+                    "JSON RPC request "
+                        + description
+                        + " to "
+                        + ipAddressPort
+                        + " failed with HTTP status "
+                        + httpResponse.statusCode()));
+            return;
+          }
+          httpResponse.exceptionHandler(response::completeExceptionally);
+          httpResponse.bodyHandler(
+              responseBody -> {
+                try {
+                  response.complete(decoder.apply(responseBody.getBytes()));
+                } catch (RuntimeException e) {
+                  response.completeExceptionally(e);
+                }
+              });
+        });
+    request.exceptionHandler(response::completeExceptionally);
+    request.putHeader("Content-Type", "application/json; charset=UTF-8");
+    request.end(Buffer.buffer(body));
+
+    response.whenComplete(
+        (result, error) -> {
+          timer.stopTimer();
+          if (response.isCancelled()) {
+            request.reset();
+          }
+          this.metrics.recordJsonRpcOutcome(ipAddressPort, outcome(response, error));
+        });
+    return response;
+  }
+
+  private static CrosschainMetrics.JsonRpcOutcome outcome(
+      final CompletableFuture<?> response, final Throwable error) {
+    if (error == null) {
+      return CrosschainMetrics.JsonRpcOutcome.SUCCEEDED;
+    }
+    if (response.isCancelled()) {
+      return CrosschainMetrics.JsonRpcOutcome.CANCELLED;
+    }
+    return error instanceof TimeoutException
+        ? CrosschainMetrics.JsonRpcOutcome.TIMED_OUT
+        : CrosschainMetrics.JsonRpcOutcome.FAILED;
+  }
+
+  /**
+   * Post a JSON RPC request and wait for the response.
+   *
+   * <p>This blocks the calling thread until the response arrives, which is handled on a Vertx event
+   * loop. Hence, it must not be called on an event loop thread, as it could wait for itself.
+   *
+   * @param ipAddressPort IP address and port of the JSON RPC end point.
+   * @param method JSON RPC method to call.
+   * @param params Single string parameter to pass to the method.
+   * @return The result field of the JSON RPC response.
+   * @throws IllegalStateException if called on a Vertx event loop thread.
+   * @throws Exception if the request failed, timed out, or the response was a JSON RPC error.
+   */
+  public String post(final String ipAddressPort, final String method, final String params)
+      throws Exception {
+    if (Context.isOnEventLoopThread()) {
+      throw new IllegalStateException(
+          "Blocking JSON RPC request to " + ipAddressPort + " made on a Vertx event loop thread");
+    }
+    try {
+      return postAsync(ipAddressPort, method, params).get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof Exception ? (Exception) cause : e;
+    }
+  }
+
+  /**
+   * Close the connections to a destination. This should be called when a linked node is removed or
+   * its IP address and port change.
+   *
+   * @param ipAddressPort IP address and port of the JSON RPC end point.
+   */
+  public void evict(final String ipAddressPort) {
+    HttpClient client = this.clients.remove(ipAddressPort);
+    if (client != null) {
+      LOG.debug("Closing JSON RPC connections to {}", ipAddressPort);
+      client.close();
+    }
+  }
+
+  /** Close the connections to all destinations. */
+  public void close() {
+    for (String ipAddressPort : this.clients.keySet()) {
+      evict(ipAddressPort);
+    }
+  }
+
+  private HttpClient client(final String ipAddressPort) {
+    return this.clients.computeIfAbsent(ipAddressPort, this::createClient);
+  }
+
+  private HttpClient createClient(final String ipAddressPort) {
+    int separator = ipAddressPort.lastIndexOf(':');
+    String host = separator == -1 ? ipAddressPort : ipAddressPort.substring(0, separator);
+    int port =
+        separator == -1
+            ? HttpClientOptions.DEFAULT_DEFAULT_PORT
+            : Integer.parseInt(ipAddressPort.substring(separator + 1));
+    LOG.debug("Creating JSON RPC connection pool for {}", ipAddressPort);
+    return this.vertx.createHttpClient(
+        new HttpClientOptions()
+            .setDefaultHost(host)
+            .setDefaultPort(port)
+            .setKeepAlive(true)
+            .setPipelining(this.config.isPipelining())
+            .setPipeliningLimit(this.config.getPipeliningLimit())
+            .setMaxPoolSize(this.config.getMaxConnectionsPerDestination())
+            .setConnectTimeout(this.config.getConnectTimeoutMs())
+            .setIdleTimeout(this.config.getIdleTimeoutSeconds()));
+  }
+
+  /** Connection and timeout settings for the pool. */
+  public static class Configuration {
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_DESTINATION = 8;
+    public static final int DEFAULT_PIPELINING_LIMIT = 10;
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 5000;
+    // Subordinate Transaction requests only return once the transaction has been mined, so the
+    // request timeout needs to be several block periods.
+    public static final long DEFAULT_REQUEST_TIMEOUT_MS = 120_000;
+    public static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    private final int maxConnectionsPerDestination;
+    private final boolean pipelining;
+    private final int pipeliningLimit;
+    private final int connectTimeoutMs;
+    private final long requestTimeoutMs;
+    private final int idleTimeoutSeconds;
+
+    public Configuration(
+        final int maxConnectionsPerDestination,
+        final boolean pipelining,
+        final int pipeliningLimit,
+        final int connectTimeoutMs,
+        final long requestTimeoutMs,
+        final int idleTimeoutSeconds) {
+      this.maxConnectionsPerDestination = maxConnectionsPerDestination;
+      this.pipelining = pipelining;
+      this.pipeliningLimit = pipeliningLimit;
+      this.connectTimeoutMs = connectTimeoutMs;
+      this.requestTimeoutMs = requestTimeoutMs;
+      this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    public static Configuration createDefault() {
+      return new Configuration(
+          DEFAULT_MAX_CONNECTIONS_PER_DESTINATION,
+          true,
+          DEFAULT_PIPELINING_LIMIT,
+          DEFAULT_CONNECT_TIMEOUT_MS,
+          DEFAULT_REQUEST_TIMEOUT_MS,
+          DEFAULT_IDLE_TIMEOUT_SECONDS);
+    }
+
+    public int getMaxConnectionsPerDestination() {
+      return this.maxConnectionsPerDestination;
+    }
+
+    public boolean isPipelining() {
+      return this.pipelining;
+    }
+
+    public int getPipeliningLimit() {
+      return this.pipeliningLimit;
+    }
+
+    public int getConnectTimeoutMs() {
+      return this.connectTimeoutMs;
+    }
+
+    public long getRequestTimeoutMs() {
+      return this.requestTimeoutMs;
+    }
+
+    public int getIdleTimeoutSeconds() {
+      return this.idleTimeoutSeconds;
+    }
+  }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.WorldState;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.util.bytes.Bytes32;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * In memory index of the lockable contracts in the world state at the head of the chain, and
+ * whether each is locked.
+ *
+ * <p>The index is built by reading the world state at the chain head, and is then maintained from
+ * the lock state changes reported when the world state of each block is persisted. When a block
+ * becomes the chain head, the changes made by that block are applied. If the changes for a block
+ * are not known, or the chain reorganises, the index is discarded and rebuilt.
+ *
+ * <p>The index is rebuilt on a background thread, without holding the index's lock. Queries made
+ * while the index is being rebuilt are answered with empty, so that callers read the world state
+ * instead.
+ *
+ * <p>Accounts are keyed by the hash of their address in the world state. If the address of a
+ * lockable account can not be found, the index is incomplete: queries about contracts which are
+ * not in the index are answered with empty until the address is seen in a lock state change, or
+ * the index is rebuilt.
+ */
+public class LockStateIndex {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int ACCOUNTS_PER_PAGE = 1000;
+  private static final int MAXIMUM_PENDING_CHANGES = 1000;
+
+  private final Blockchain blockchain;
+  private final WorldStateArchive worldStateArchive;
+  private final ExecutorService rebuildExecutor;
+  private final long blockAddedObserverId;
+  private final long lockStateObserverId;
+
+  // Lock state changes of persisted world states, keyed by the state root after the changes.
+  private final Cache<Hash, LockStateChanges> pendingChanges =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_PENDING_CHANGES).build();
+
+  // Lockable contracts at indexedStateRoot, mapped to whether the contract is locked. The index is
+  // not valid if indexedStateRoot is null.
+  private final Map<Address, Boolean> lockableContracts = new HashMap<>();
+  // Hashes of the lockable accounts at indexedStateRoot whose addresses are not known.
+  private final Set<Hash> unknownAccounts = new HashSet<>();
+  private Hash indexedStateRoot;
+  private Hash indexedBlockHash;
+  private long indexedBlockNumber;
+  private boolean rebuilding;
+
+  public LockStateIndex(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
+    this(
+        blockchain,
+        worldStateArchive,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("LockStateIndex-%d").build()));
+  }
+
+  LockStateIndex(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ExecutorService rebuildExecutor) {
+    this.blockchain = blockchain;
+    this.worldStateArchive = worldStateArchive;
+    this.rebuildExecutor = rebuildExecutor;
+    this.lockStateObserverId = worldStateArchive.observeLockStates(this::onLockStatesPersisted);
+    this.blockAddedObserverId = blockchain.observeBlockAdded(this::onBlockAdded);
+  }
+
+  /**
+   * @param address Address of the contract.
+   * @param blockNumber Block number to answer for.
+   * @return Whether the contract is locked, or empty if the index is not at the block number or
+   *     can not tell.
+   */
+  public synchronized Optional<Boolean> isLocked(final Address address, final long blockNumber) {
+    if (!isIndexed() || blockNumber != this.indexedBlockNumber) {
+      return Optional.empty();
+    }
+    return lockState(address);
+  }
+
+  /**
+   * @param address Address of the contract.
+   * @param blockNumber Block number to answer for.
+   * @return Whether the contract is lockable, or empty if the index is not at the block number or
+   *     can not tell.
+   */
+  public synchronized Optional<Boolean> isLockable(final Address address, final long blockNumber) {
+    if (!isIndexed() || blockNumber != this.indexedBlockNumber) {
+      return Optional.empty();
+    }
+    if (this.lockableContracts.containsKey(address)) {
+      return Optional.of(Boolean.TRUE);
+    }
+    return this.unknownAccounts.isEmpty() ? Optional.of(Boolean.FALSE) : Optional.empty();
+  }
+
+  /**
+   * @param address Address of the contract.
+   * @return Whether the contract is locked at the chain head, or empty if the index is being built
+   *     or can not tell.
+   */
+  public synchronized Optional<Boolean> isLocked(final Address address) {
+    if (!isIndexed()) {
+      return Optional.empty();
+    }
+    return lockState(address);
+  }
+
+  /**
+   * @return The contracts locked at the chain head, or empty if the index is being built or is
+   *     incomplete.
+   */
+  public synchronized Optional<List<Address>> getLockedContracts() {
+    if (!isIndexed() || !this.unknownAccounts.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        this.lockableContracts.entrySet().stream()
+            .filter(Map.Entry::getValue)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList()));
+  }
+
+  /** Stop observing the blockchain and world state archive, and stop rebuilding the index. */
+  public void close() {
+    this.blockchain.removeObserver(this.blockAddedObserverId);
+    this.worldStateArchive.removeLockStateObserver(this.lockStateObserverId);
+    this.rebuildExecutor.shutdownNow();
+  }
+
+  private Optional<Boolean> lockState(final Address address) {
+    Boolean locked = this.lockableContracts.get(address);
+    if (locked != null) {
+      return Optional.of(locked);
+    }
+    return this.unknownAccounts.isEmpty() ? Optional.of(Boolean.FALSE) : Optional.empty();
+  }
+
+  private void onLockStatesPersisted(
+      final Hash parentStateRoot,
+      final Hash stateRoot,
+      final Map<Address, Boolean> lockStates,
+      final Set<Address> deletedAccounts) {
+    // A world state with an unchanged state root has no lock state changes. Don't replace the
+    // changes recorded for the state root, for instance when an empty block is processed.
+    if (!parentStateRoot.equals(stateRoot)) {
+      this.pendingChanges.put(
+          stateRoot, new LockStateChanges(parentStateRoot, lockStates, deletedAccounts));
+    }
+  }
+
+  private synchronized void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (!event.isNewCanonicalHead() || this.indexedStateRoot == null) {
+      return;
+    }
+    BlockHeader header = event.getBlock().getHeader();
+    if (header.getHash().equals(this.indexedBlockHash)) {
+      // Already applied when the index caught up with the chain after being rebuilt.
+      return;
+    }
+    if (event.getEventType() != BlockAddedEvent.EventType.HEAD_ADVANCED) {
+      LOG.debug("Lock state index invalidated by reorganisation at block {}", header.getNumber());
+      invalidate();
+      return;
+    }
+    if (!apply(header)) {
+      invalidate();
+    }
+  }
+
+  /**
+   * Apply the lock state changes made by the block which follows the indexed block.
+   *
+   * @return false if the changes are not known.
+   */
+  private boolean apply(final BlockHeader header) {
+    if (header.getNumber() != this.indexedBlockNumber + 1
+        || !header.getParentHash().equals(this.indexedBlockHash)) {
+      LOG.debug("Lock state index: block {} does not follow the index", header.getNumber());
+      return false;
+    }
+    Hash stateRoot = header.getStateRoot();
+    if (!stateRoot.equals(this.indexedStateRoot)) {
+      LockStateChanges changes = this.pendingChanges.getIfPresent(stateRoot);
+      if (changes == null || !changes.parentStateRoot.equals(this.indexedStateRoot)) {
+        LOG.debug("Lock state index: unknown changes for block {}", header.getNumber());
+        return false;
+      }
+      for (Address deleted : changes.deletedAccounts) {
+        this.lockableContracts.remove(deleted);
+        this.unknownAccounts.remove(Hash.hash(deleted));
+      }
+      for (Address changed : changes.lockStates.keySet()) {
+        this.unknownAccounts.remove(Hash.hash(changed));
+      }
+      this.lockableContracts.putAll(changes.lockStates);
+      this.pendingChanges.invalidate(stateRoot);
+    }
+    this.indexedStateRoot = stateRoot;
+    this.indexedBlockHash = header.getHash();
+    this.indexedBlockNumber = header.getNumber();
+    return true;
+  }
+
+  private void invalidate() {
+    this.indexedStateRoot = null;
+    this.lockableContracts.clear();
+    this.unknownAccounts.clear();
+    scheduleRebuild();
+  }
+
+  private boolean isIndexed() {
+    if (this.indexedStateRoot == null) {
+      scheduleRebuild();
+    }
+    return this.indexedStateRoot != null;
+  }
+
+  private void scheduleRebuild() {
+    if (this.rebuilding) {
+      return;
+    }
+    this.rebuilding = true;
+    try {
+      this.rebuildExecutor.execute(this::rebuild);
+    } catch (final RejectedExecutionException e) {
+      // The index has been closed.
+      this.rebuilding = false;
+    }
+  }
+
+  private void rebuild() {
+    BlockHeader head = this.blockchain.getChainHeadHeader();
+    Optional<WorldState> maybeWorldState = this.worldStateArchive.get(head.getStateRoot());
+    if (maybeWorldState.isEmpty()) {
+      LOG.warn("Lock state index: world state not available for block {}", head.getNumber());
+      synchronized (this) {
+        this.rebuilding = false;
+      }
+      return;
+    }
+    WorldState worldState = maybeWorldState.get();
+    Map<Address, Boolean> contracts = new HashMap<>();
+    Set<Hash> unknown = new HashSet<>();
+
+    // Page through all of the accounts.
+    Bytes32 startKeyHash = Bytes32.ZERO;
+    while (startKeyHash != null) {
+      List<WorldState.StreamableAccount> accounts =
+          worldState
+              .streamAccounts(startKeyHash, ACCOUNTS_PER_PAGE + 1)
+              .collect(Collectors.toList());
+      startKeyHash = null;
+      for (int i = 0; i < accounts.size(); i++) {
+        WorldState.StreamableAccount account = accounts.get(i);
+        if (i == ACCOUNTS_PER_PAGE) {
+          startKeyHash = account.getAddressHash();
+        } else if (account.isLockable()) {
+          if (account.getAddress().isPresent()) {
+            contracts.put(account.getAddress().get(), account.isLocked());
+          } else {
+            unknown.add(account.getAddressHash());
+          }
+        }
+      }
+    }
+    // Remove the provisional state accounts of locked contracts.
+    List<Address> locked = new ArrayList<>();
+    contracts.forEach(
+        (address, isLocked) -> {
+          if (isLocked) {
+            locked.add(address);
+          }
+        });
+    locked.forEach(address -> contracts.remove(address.deriveAddress()));
+    if (!unknown.isEmpty()) {
+      LOG.warn(
+          "Lock state index at block {} is incomplete: no address for {} lockable accounts",
+          head.getNumber(),
+          unknown.size());
+    }
+
+    synchronized (this) {
+      this.rebuilding = false;
+      this.lockableContracts.clear();
+      this.lockableContracts.putAll(contracts);
+      this.unknownAccounts.clear();
+      this.unknownAccounts.addAll(unknown);
+      this.indexedStateRoot = head.getStateRoot();
+      this.indexedBlockHash = head.getHash();
+      this.indexedBlockNumber = head.getNumber();
+      if (!catchUp()) {
+        invalidate();
+        return;
+      }
+      LOG.debug(
+          "Lock state index built at block {}: {} lockable contracts, {} locked",
+          this.indexedBlockNumber,
+          this.lockableContracts.size(),
+          locked.size());
+    }
+  }
+
+  /**
+   * Apply the changes of the blocks added to the chain while the index was being rebuilt.
+   *
+   * @return false if the changes could not be applied.
+   */
+  private boolean catchUp() {
+    List<BlockHeader> added = new ArrayList<>();
+    BlockHeader header = this.blockchain.getChainHeadHeader();
+    while (header.getNumber() > this.indexedBlockNumber) {
+      added.add(header);
+      Optional<BlockHeader> parent = this.blockchain.getBlockHeader(header.getParentHash());
+      if (parent.isEmpty()) {
+        return false;
+      }
+      header = parent.get();
+    }
+    if (!header.getHash().equals(this.indexedBlockHash)) {
+      return false;
+    }
+    Collections.reverse(added);
+    for (BlockHeader next : added) {
+      if (!apply(next)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class LockStateChanges {
+    private final Hash parentStateRoot;
+    private final Map<Address, Boolean> lockStates;
+    private final Set<Address> deletedAccounts;
+
+    LockStateChanges(
+        final Hash parentStateRoot,
+        final Map<Address, Boolean> lockStates,
+        final Set<Address> deletedAccounts) {
+      this.parentStateRoot = parentStateRoot;
+      this.lockStates = lockStates;
+      this.deletedAccounts = deletedAccounts;
+    }
+  }
+}
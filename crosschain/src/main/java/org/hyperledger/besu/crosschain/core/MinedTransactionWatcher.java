@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Notifies when transactions submitted by this node have been included in a canonical block or
+ * dropped from the transaction pool. This allows crosschain transaction processing to continue when
+ * the transaction is mined, rather than polling the transaction pool.
+ *
+ * <p>A transaction in a block which is not on the canonical chain is not treated as mined until a
+ * chain reorganisation makes the block canonical. Transactions which are neither mined nor dropped
+ * within the timeout stop being watched, and their futures complete with a TimeoutException.
+ */
+public class MinedTransactionWatcher {
+  private final Blockchain blockchain;
+  private final PendingTransactions pendingTransactions;
+  private final long timeoutMs;
+  private final long blockAddedObserverId;
+  private final long droppedListenerId;
+
+  private final Map<Hash, CompletableFuture<Boolean>> watched = new ConcurrentHashMap<>();
+
+  public MinedTransactionWatcher(
+      final Blockchain blockchain,
+      final PendingTransactions pendingTransactions,
+      final long timeoutMs) {
+    this.blockchain = blockchain;
+    this.pendingTransactions = pendingTransactions;
+    this.timeoutMs = timeoutMs;
+    this.blockAddedObserverId = blockchain.observeBlockAdded(this::onBlockAdded);
+    this.droppedListenerId = pendingTransactions.subscribeDroppedTransactions(this::onDropped);
+  }
+
+  /**
+   * Start watching for a transaction. This must be called before the transaction is added to the
+   * transaction pool, so that the transaction can not be mined before it is being watched.
+   *
+   * @param transactionHash Hash of the transaction to watch.
+   * @return Future which completes with true when the transaction is included in a canonical block,
+   *     or false if the transaction is dropped from the transaction pool. The future completes
+   *     exceptionally with a TimeoutException if neither happens within the timeout.
+   */
+  public CompletableFuture<Boolean> watch(final Hash transactionHash) {
+    return this.watched.computeIfAbsent(
+        transactionHash,
+        k -> {
+          final CompletableFuture<Boolean> future = new CompletableFuture<>();
+          // As when the transaction is mined or dropped, the watch is removed before the future is
+          // completed.
+          CompletableFuture.delayedExecutor(this.timeoutMs, TimeUnit.MILLISECONDS)
+              .execute(
+                  () -> {
+                    if (this.watched.remove(transactionHash, future)) {
+                      future.completeExceptionally(
+                          new TimeoutException(
+                              "Transaction "
+                                  + transactionHash
+                                  + " was not mined within "
+                                  + this.timeoutMs
+                                  + " ms"));
+                    }
+                  });
+          return future;
+        });
+  }
+
+  /**
+   * Stop watching for a transaction, for instance because it was not accepted by the transaction
+   * pool.
+   *
+   * @param transactionHash Hash of the transaction to stop watching.
+   */
+  public void unwatch(final Hash transactionHash) {
+    this.watched.remove(transactionHash);
+  }
+
+  public int getNumberWatched() {
+    return this.watched.size();
+  }
+
+  /** Stop observing the blockchain and transaction pool, and cancel all watches. */
+  public void close() {
+    this.blockchain.removeObserver(this.blockAddedObserverId);
+    this.pendingTransactions.unsubscribeDroppedTransactions(this.droppedListenerId);
+    this.watched.values().forEach(future -> future.cancel(false));
+    this.watched.clear();
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (this.watched.isEmpty() || !event.isNewCanonicalHead()) {
+      return;
+    }
+    for (Transaction transaction : event.getAddedTransactions()) {
+      complete(transaction, true);
+    }
+  }
+
+  private void onDropped(final Transaction transaction) {
+    complete(transaction, false);
+  }
+
+  private void complete(final Transaction transaction, final boolean mined) {
+    CompletableFuture<Boolean> future = this.watched.remove(transaction.hash());
+    if (future != null) {
+      future.complete(mined);
+    }
+  }
+}
@@ -26,10 +26,10 @@ import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
 import org.hyperledger.besu.ethereum.core.Hash;
 
 import java.math.BigInteger;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -45,17 +45,29 @@ public class OriginatingBlockchainMessageProcessor {
   CrosschainKeyManager keyManager;
   CoordContractManager coordContractManager;
   SECP256K1.KeyPair nodeKeys;
+  OutwardBoundConnectionManager outwardBoundConnectionManager;
+  BlockchainPublicKeyCache publicKeyCache;
+  CrosschainTransactionTracker transactionTracker;
+  // Updated from the crosschain transaction pipeline and when transaction ready messages arrive.
   Map<BigInteger, Tuple2<CrosschainTransaction, Set<Hash>>> txToBeMined;
 
   public OriginatingBlockchainMessageProcessor(
-      final CrosschainKeyManager keyManager, final CoordContractManager coordContractManager) {
+      final CrosschainKeyManager keyManager,
+      final CoordContractManager coordContractManager,
+      final CrosschainTransactionTracker transactionTracker) {
     this.keyManager = keyManager;
     this.coordContractManager = coordContractManager;
-    this.txToBeMined = new HashMap<BigInteger, Tuple2<CrosschainTransaction, Set<Hash>>>();
+    this.transactionTracker = transactionTracker;
+    this.txToBeMined = new ConcurrentHashMap<>();
   }
 
-  public void init(final SECP256K1.KeyPair nodeKeys) {
+  public void init(
+      final SECP256K1.KeyPair nodeKeys,
+      final OutwardBoundConnectionManager outwardBoundConnectionManager,
+      final BlockchainPublicKeyCache publicKeyCache) {
     this.nodeKeys = nodeKeys;
+    this.outwardBoundConnectionManager = outwardBoundConnectionManager;
+    this.publicKeyCache = publicKeyCache;
   }
 
   /**
@@ -100,7 +112,7 @@ public class OriginatingBlockchainMessageProcessor {
 
     // Submit message to Coordination Contract.
     boolean startedOK =
-        new OutwardBoundConnectionManager(this.nodeKeys)
+        this.outwardBoundConnectionManager
             .coordContractStart(ipAndPort, coordBcId, coordContractAddress, message);
     LOG.info("started OK {}", startedOK);
   }
@@ -121,7 +133,7 @@ public class OriginatingBlockchainMessageProcessor {
    * @param transaction The originating transaction containing all subordinate transactions
    */
   public void listMiningTxForCommit(final CrosschainTransaction transaction) {
-    Set<Hash> txs = new HashSet<Hash>();
+    Set<Hash> txs = ConcurrentHashMap.newKeySet();
     txs.add(transaction.hash());
     addTransactionHashes(transaction, txs);
     LOG.info("No. of Transaction Ready messages expected at this point = {}", txs.size() - 1);
@@ -140,15 +152,15 @@ public class OriginatingBlockchainMessageProcessor {
     BigInteger txId = origTx.getCrosschainTransactionId().get();
     Tuple2<CrosschainTransaction, Set<Hash>> val = this.txToBeMined.get(txId);
     Set<Hash> txs = val.component2();
-    txs.remove(origTx.hash());
-    LOG.info("Transaction Ready messages yet to be received from {} chains.", txs.size());
-    if (txs.isEmpty()) {
+    // Only the thread which removes the last transaction sends the commit message.
+    if (txs.remove(origTx.hash()) && txs.isEmpty() && this.txToBeMined.remove(txId, val)) {
       LOG.info(
           "All transaction ready messages have been received. Mining of the "
               + "originating transaction has been the last. Send commit message.");
       sendCommitMessage(origTx);
+    } else {
+      LOG.info("Transaction Ready messages yet to be received from {} chains.", txs.size());
     }
-    this.txToBeMined.replace(txId, val);
   }
 
   /**
@@ -165,23 +177,17 @@ public class OriginatingBlockchainMessageProcessor {
     BigInteger subChainId = subTxReadyMsg.getSubChainId();
     Address coordAddress = subTxReadyMsg.getCoordAddress();
 
-    String coordIpAddrAndPort = coordContractManager.getIpAndPort(coordChainId, coordAddress);
-    BigInteger publicKey =
-        new OutwardBoundConnectionManager(this.nodeKeys)
-            .getPublicKeyFromCoordContract(
-                coordIpAddrAndPort,
-                coordChainId,
-                coordAddress,
-                subChainId,
-                subTxReadyMsg.getKeyVersion());
-    LOG.info(
-        "Obtained the public key {} from crosschain coordination contract for chain {}.",
-        publicKey.toString(16),
-        subChainId.longValue());
+    Optional<BlsPoint> publicKeyBlsPoint =
+        this.publicKeyCache.getPublicKey(
+            coordChainId, coordAddress, subChainId, subTxReadyMsg.getKeyVersion());
+    if (publicKeyBlsPoint.isEmpty()) {
+      LOG.error(
+          "Unable to obtain the public key for chain {} from the crosschain coordination contract.",
+          subChainId);
+      return true;
+    }
 
     // Verify the signature
-    BlsPoint publicKeyBlsPoint = BlsPoint.load(publicKey.toByteArray());
-
     BlsCryptoProvider cryptoProvider =
         BlsCryptoProvider.getInstance(
             BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
@@ -189,7 +195,7 @@ public class OriginatingBlockchainMessageProcessor {
 
     boolean signatureVerification =
         cryptoProvider.verify(
-            publicKeyBlsPoint,
+            publicKeyBlsPoint.get(),
             subTxReadyMsg.getEncodedCoreMessage().extractArray(),
             BlsPoint.load(subTxReadyMsg.getSignature().getByteArray()));
 
@@ -202,13 +208,18 @@ public class OriginatingBlockchainMessageProcessor {
 
     BigInteger txId = subTxReadyMsg.getTxId();
     Tuple2<CrosschainTransaction, Set<Hash>> val = this.txToBeMined.get(txId);
+    if (val == null) {
+      LOG.error("Transaction ready message for unknown crosschain transaction {}", txId);
+      return true;
+    }
     Set<Hash> txs = val.component2();
-    txs.remove(subTxReadyMsg.getTxHash());
-    if (txs.isEmpty()) {
+    // Only the thread which removes the last transaction sends the commit message.
+    if (txs.remove(subTxReadyMsg.getTxHash())
+        && txs.isEmpty()
+        && this.txToBeMined.remove(txId, val)) {
       LOG.info("All transaction ready messages have been received. Sending the commit message.");
       sendCommitMessage(val.component1());
     }
-    this.txToBeMined.replace(txId, val);
     return false;
   }
 
@@ -235,9 +246,17 @@ public class OriginatingBlockchainMessageProcessor {
     this.keyManager.thresholdSign(msg);
     // Send it to the coordination contract
     boolean commitOk =
-        new OutwardBoundConnectionManager(this.nodeKeys)
+        this.outwardBoundConnectionManager
             .sendCommitOrIgnoreToCoordContract(ipAndPort, coordBcId, coordContractAddress, msg);
     LOG.info("Commit message sent successfully {}", commitOk);
+    if (commitOk) {
+      this.transactionTracker.advance(origTx.hash(), CrosschainTransactionTracker.Stage.COMMITTED);
+    } else {
+      this.transactionTracker.fail(
+          origTx.hash(),
+          CrosschainTransactionTracker.Stage.FAILED,
+          "Commit message not accepted by the coordination contract");
+    }
   }
 
   public void sendIgnoreMessage(final CrosschainTransaction origTx) {
@@ -263,7 +282,7 @@ public class OriginatingBlockchainMessageProcessor {
     this.keyManager.thresholdSign(msg);
     // Send it to the coordination contract
     boolean ignoreOk =
-        new OutwardBoundConnectionManager(this.nodeKeys)
+        this.outwardBoundConnectionManager
             .sendCommitOrIgnoreToCoordContract(ipAndPort, coordBcId, coordContractAddress, msg);
     LOG.info("Ignore message sent successfully {}", ignoreOk);
   }
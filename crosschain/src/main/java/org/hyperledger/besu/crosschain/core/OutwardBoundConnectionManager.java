@@ -12,69 +12,70 @@
  */
 package org.hyperledger.besu.crosschain.core;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 import org.hyperledger.besu.crosschain.core.coordination.CoordinationContractWrapper;
 import org.hyperledger.besu.crosschain.core.messages.CrosschainTransactionStartMessage;
 import org.hyperledger.besu.crosschain.core.messages.ThresholdSignedMessage;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.ethereum.core.Address;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.math.BigInteger;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLConnection;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** This class will manage all outward bound connections. For the moment, this is just JSON RPC. */
+/**
+ * This class will manage all outward bound connections to Crosschain Coordination Contracts. JSON
+ * RPC requests to linked nodes are sent using {@link JsonRpcConnectionPool}. Transactions are
+ * submitted to coordination contracts using {@link CoordinationContractWrapper}, and read only
+ * queries can be batched using {@link CoordinationQueryBatch}.
+ */
 public class OutwardBoundConnectionManager {
   private static final Logger LOG = LogManager.getLogger();
 
   final CoordinationContractWrapper wrapper;
+  final JsonRpcConnectionPool connectionPool;
 
-  /** @param credentials Credentials to use when interacting with Coordination Contract. */
-  public OutwardBoundConnectionManager(final SECP256K1.KeyPair credentials) {
+  /**
+   * @param credentials Credentials to use when interacting with Coordination Contract.
+   * @param connectionPool Connections used to send batched queries to coordination blockchains,
+   *     shared with the crosschain processor.
+   */
+  public OutwardBoundConnectionManager(
+      final SECP256K1.KeyPair credentials, final JsonRpcConnectionPool connectionPool) {
     this.wrapper = new CoordinationContractWrapper(credentials);
+    this.connectionPool = connectionPool;
   }
 
-  // TODO this should be implemented as a Vertx HTTPS Client. We should probably submit all
-  // TODO Subordinate Views together, and wait for them to all return, and submit all
-  //  Subordinate Transactions together and wait for them to all return.
-  public static String post(final String ipAddressPort, final String method, final String params)
-      throws Exception {
-    URL url = new URL("http://" + ipAddressPort);
-    URLConnection con = url.openConnection();
-    HttpURLConnection http = (HttpURLConnection) con;
-    http.setRequestMethod("POST");
-    http.setDoOutput(true);
-    byte[] out =
-        ("{\"jsonrpc\":\"2.0\",\"method\":\""
-                + method
-                + "\",\"params\":[\""
-                + params
-                + "\"],\"id\":1}")
-            .getBytes(UTF_8);
-    int length = out.length;
-    http.setFixedLengthStreamingMode(length);
-    http.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-    http.connect();
-    OutputStream os = http.getOutputStream();
-    os.write(out);
-    BufferedReader in = new BufferedReader(new InputStreamReader(http.getInputStream(), UTF_8));
-    String line;
-    String response = "";
-    while ((line = in.readLine()) != null) {
-      response += line;
-    }
-    os.close();
-    in.close();
-    http.disconnect();
-    return response;
+  /**
+   * Discard any cached client state for a coordination contract.
+   *
+   * @param coordChainId ID of the blockchain where the coordination contract is deployed.
+   * @param coordContractAddr Deployed Coordination contract's address.
+   */
+  public void coordContractChanged(final BigInteger coordChainId, final Address coordContractAddr) {
+    this.wrapper.invalidate(coordChainId, coordContractAddr);
+  }
+
+  /**
+   * Close the clients used to submit transactions to coordination contracts. The connection pool
+   * is shared with the crosschain processor, and is closed by its owner.
+   */
+  public void close() {
+    this.wrapper.close();
+  }
+
+  /**
+   * Create a batch of queries to a coordination contract. The queries are sent as JSON RPC batch
+   * requests when the batch is sent, so that many queries cost one round trip to the coordination
+   * blockchain.
+   *
+   * @param coordIpAddrAndPort IP address and port of a node on the coordination blockchain.
+   * @param coordContractAddr Deployed Coordination contract's address.
+   * @return Empty batch.
+   */
+  public CoordinationQueryBatch newQueryBatch(
+      final String coordIpAddrAndPort, final Address coordContractAddr) {
+    return new CoordinationQueryBatch(this.connectionPool, coordIpAddrAndPort, coordContractAddr);
   }
 
   // Send the start message to the coordination contract.
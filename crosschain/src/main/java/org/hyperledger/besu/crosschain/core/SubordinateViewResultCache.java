@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Cache of the signed results of subordinate views, keyed by the hash of the subordinate view, the
+ * hash of the block the view was executed at, and the version of the key the result was signed
+ * with.
+ *
+ * <p>Executing a subordinate view and threshold signing its result is expensive, and the result of
+ * a view at a certain block never changes. Hence, when several originating transactions include
+ * the same subordinate view, the view is executed and its result is signed once per block. The
+ * block is identified by its hash rather than its number, so that a result is not reused after a
+ * reorg replaces the block. Including the key version means that results signed with a key which
+ * has been replaced are not reused after a new key is activated. Concurrent requests for the same
+ * view at the same block wait for the request which is already executing the view, rather than
+ * executing it themselves. Results which should not be cached, such as errors, are returned to all
+ * of the waiting requests, but are not cached.
+ */
+class SubordinateViewResultCache {
+  static final long DEFAULT_MAXIMUM_SIZE = 256;
+
+  private final Cache<Key, Object> results;
+  private final Predicate<Object> isCacheable;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /** @param isCacheable Whether a result should be cached. */
+  SubordinateViewResultCache(final Predicate<Object> isCacheable) {
+    this(DEFAULT_MAXIMUM_SIZE, isCacheable);
+  }
+
+  /**
+   * @param maximumSize Maximum number of results to cache. The least recently used results are
+   *     evicted first.
+   * @param isCacheable Whether a result should be cached.
+   */
+  SubordinateViewResultCache(final long maximumSize, final Predicate<Object> isCacheable) {
+    this.results = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    this.isCacheable = isCacheable;
+  }
+
+  /**
+   * Get the result of a subordinate view, executing the view if the result is not cached and is not
+   * already being computed.
+   *
+   * @param viewHash Hash of the subordinate view.
+   * @param blockHash Hash of the block the view is executed at.
+   * @param keyVersion Version of the key the result is signed with.
+   * @param execute Executes the view and signs the result.
+   * @return The result.
+   */
+  Object get(
+      final Hash viewHash,
+      final Hash blockHash,
+      final long keyVersion,
+      final Supplier<Object> execute) {
+    Key key = new Key(viewHash, blockHash, keyVersion);
+    Object cached = this.results.getIfPresent(key);
+    if (cached != null) {
+      this.hits.increment();
+      return cached;
+    }
+    this.misses.increment();
+    try {
+      return this.results.get(
+          key,
+          () -> {
+            Object result = execute.get();
+            if (!this.isCacheable.test(result)) {
+              throw new UncacheableResult(result);
+            }
+            return result;
+          });
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncacheableResult) {
+        return ((UncacheableResult) cause).result;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  long getHits() {
+    return this.hits.sum();
+  }
+
+  long getMisses() {
+    return this.misses.sum();
+  }
+
+  long size() {
+    return this.results.size();
+  }
+
+  /** @param metricsSystem Metrics system to report the hits and misses of the cache to. */
+  void registerMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.CROSSCHAIN,
+        "subordinate_view_cache_hits",
+        "Number of times the signed result of a subordinate view was found in the cache",
+        this::getHits);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.CROSSCHAIN,
+        "subordinate_view_cache_misses",
+        "Number of times a subordinate view was not found in the cache",
+        this::getMisses);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.CROSSCHAIN,
+        "subordinate_view_cache_size",
+        "Number of signed subordinate view results in the cache",
+        this::size);
+  }
+
+  // Thrown from the cache loader so that the result is given to the waiting requests, but is not
+  // cached.
+  private static final class UncacheableResult extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final transient Object result;
+
+    UncacheableResult(final Object result) {
+      super(null, null, false, false);
+      this.result = result;
+    }
+  }
+
+  private static final class Key {
+    final Hash viewHash;
+    final Hash blockHash;
+    final long keyVersion;
+
+    Key(final Hash viewHash, final Hash blockHash, final long keyVersion) {
+      this.viewHash = viewHash;
+      this.blockHash = blockHash;
+      this.keyVersion = keyVersion;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return this.keyVersion == other.keyVersion
+          && this.viewHash.equals(other.viewHash)
+          && this.blockHash.equals(other.blockHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(viewHash, blockHash, keyVersion);
+    }
+  }
+}
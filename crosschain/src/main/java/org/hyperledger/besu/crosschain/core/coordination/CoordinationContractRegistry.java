@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.coordination;
+
+import org.hyperledger.besu.crosschain.core.coordination.generated.CrosschainCoordinationV1;
+import org.hyperledger.besu.ethereum.core.Address;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.tx.FastRawTransactionManager;
+import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+
+/**
+ * Long lived registry of web3j clients and loaded Crosschain Coordination Contract wrappers.
+ *
+ * <p>One client and transaction manager is held per coordination blockchain. The transaction
+ * manager tracks this node's nonce locally, so that transactions submitted back to back to the same
+ * coordination blockchain (for instance commit messages for several crosschain transactions) do
+ * not reuse the same nonce. Contract wrappers are held per coordination blockchain and contract
+ * address.
+ */
+class CoordinationContractRegistry {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Credentials credentials;
+  private final ContractGasProvider gasProvider;
+  private final int retry;
+  private final int blockPeriodInMs;
+  private final Function<String, HttpService> serviceFactory;
+
+  private final Map<BigInteger, ChainClient> clients = new ConcurrentHashMap<>();
+  private final Map<String, CrosschainCoordinationV1> contracts = new ConcurrentHashMap<>();
+
+  CoordinationContractRegistry(
+      final Credentials credentials,
+      final ContractGasProvider gasProvider,
+      final int retry,
+      final int blockPeriodInMs) {
+    this(
+        credentials,
+        gasProvider,
+        retry,
+        blockPeriodInMs,
+        ipAddressPort -> new HttpService("http://" + ipAddressPort + "/"));
+  }
+
+  // The service factory creates the JSON RPC service for the IP address and port of a client.
+  CoordinationContractRegistry(
+      final Credentials credentials,
+      final ContractGasProvider gasProvider,
+      final int retry,
+      final int blockPeriodInMs,
+      final Function<String, HttpService> serviceFactory) {
+    this.credentials = credentials;
+    this.gasProvider = gasProvider;
+    this.retry = retry;
+    this.blockPeriodInMs = blockPeriodInMs;
+    this.serviceFactory = serviceFactory;
+  }
+
+  /**
+   * Get the contract wrapper for a Crosschain Coordination Contract, creating it if need be.
+   *
+   * @param ipAddressPort IP address and port of a node on the coordination blockchain.
+   * @param coordChainId Coordination blockchain id.
+   * @param contractAddress Address of the Crosschain Coordination Contract.
+   * @return Contract wrapper.
+   */
+  CrosschainCoordinationV1 getContract(
+      final String ipAddressPort, final BigInteger coordChainId, final Address contractAddress) {
+    ChainClient client = getClient(ipAddressPort, coordChainId);
+    return this.contracts.compute(
+        key(coordChainId, contractAddress),
+        (k, existing) -> {
+          // Reload the wrapper if the client it was loaded with has been replaced.
+          if (existing != null && client.contracts.containsKey(k)) {
+            return existing;
+          }
+          CrosschainCoordinationV1 contract =
+              CrosschainCoordinationV1.load(
+                  contractAddress.getHexString(),
+                  client.web3j,
+                  client.transactionManager,
+                  this.gasProvider);
+          client.contracts.put(k, Boolean.TRUE);
+          return contract;
+        });
+  }
+
+  /**
+   * Resynchronise this node's nonce on a coordination blockchain with the blockchain. This should
+   * be called after a transaction fails to be submitted, as the locally tracked nonce may have been
+   * consumed without the transaction being accepted.
+   *
+   * @param coordChainId Coordination blockchain id.
+   */
+  void resetNonce(final BigInteger coordChainId) {
+    ChainClient client = this.clients.get(coordChainId);
+    if (client == null) {
+      return;
+    }
+    try {
+      client.transactionManager.resetNonce();
+    } catch (IOException e) {
+      LOG.warn(
+          "Unable to reset nonce for coordination blockchain 0x{}: {}",
+          coordChainId.toString(16),
+          e.toString());
+    }
+  }
+
+  /**
+   * Remove the contract wrapper for a Crosschain Coordination Contract. This is called when a
+   * coordination contract is added, updated, or removed.
+   *
+   * @param coordChainId Coordination blockchain id.
+   * @param contractAddress Address of the Crosschain Coordination Contract.
+   */
+  void invalidate(final BigInteger coordChainId, final Address contractAddress) {
+    String key = key(coordChainId, contractAddress);
+    this.contracts.remove(key);
+    ChainClient client = this.clients.get(coordChainId);
+    if (client != null) {
+      client.contracts.remove(key);
+      if (client.contracts.isEmpty() && this.clients.remove(coordChainId, client)) {
+        client.shutdown();
+      }
+    }
+  }
+
+  /** Shutdown all clients. */
+  void close() {
+    this.contracts.clear();
+    for (BigInteger coordChainId : this.clients.keySet()) {
+      ChainClient client = this.clients.remove(coordChainId);
+      if (client != null) {
+        client.shutdown();
+      }
+    }
+  }
+
+  private ChainClient getClient(final String ipAddressPort, final BigInteger coordChainId) {
+    return this.clients.compute(
+        coordChainId,
+        (k, existing) -> {
+          if (existing != null && existing.ipAddressPort.equals(ipAddressPort)) {
+            return existing;
+          }
+          if (existing != null) {
+            existing.shutdown();
+          }
+          return new ChainClient(ipAddressPort, coordChainId);
+        });
+  }
+
+  private static String key(final BigInteger coordChainId, final Address contractAddress) {
+    return coordChainId.toString(16) + contractAddress.getHexString();
+  }
+
+  private class ChainClient {
+    final String ipAddressPort;
+    final Besu web3j;
+    final FastRawTransactionManager transactionManager;
+    // Keys of the contract wrappers which have been loaded using this client.
+    final Map<String, Boolean> contracts = new ConcurrentHashMap<>();
+
+    ChainClient(final String ipAddressPort, final BigInteger coordChainId) {
+      LOG.debug(
+          "Creating client for coordination blockchain 0x{} at {}",
+          coordChainId.toString(16),
+          ipAddressPort);
+      this.ipAddressPort = ipAddressPort;
+      this.web3j =
+          Besu.build(
+              CoordinationContractRegistry.this.serviceFactory.apply(ipAddressPort),
+              CoordinationContractRegistry.this.blockPeriodInMs);
+      // Even though the coordination contract isn't doing crosschain operations, we need to use
+      // it as if it was so the start function can get the current blockchain id using the
+      // precompile.
+      this.transactionManager =
+          new FastRawTransactionManager(
+              this.web3j,
+              CoordinationContractRegistry.this.credentials,
+              coordChainId.longValue(),
+              new PollingTransactionReceiptProcessor(
+                  this.web3j,
+                  CoordinationContractRegistry.this.blockPeriodInMs,
+                  CoordinationContractRegistry.this.retry));
+    }
+
+    void shutdown() {
+      LOG.debug("Shutting down client for coordination blockchain at {}", this.ipAddressPort);
+      this.web3j.shutdown();
+    }
+  }
+}
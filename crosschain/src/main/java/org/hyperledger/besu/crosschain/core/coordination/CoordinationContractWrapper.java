@@ -25,13 +25,10 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.web3j.crypto.Credentials;
-import org.web3j.protocol.besu.Besu;
 import org.web3j.protocol.core.RemoteFunctionCall;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.protocol.http.HttpService;
 import org.web3j.tuples.generated.Tuple3;
-import org.web3j.tx.RawTransactionManager;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.DefaultGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
@@ -48,9 +45,29 @@ public class CoordinationContractWrapper {
       new StaticGasProvider(BigInteger.ZERO, DefaultGasProvider.GAS_LIMIT);
 
   Credentials credentials;
+  private final CoordinationContractRegistry registry;
 
   public CoordinationContractWrapper(final SECP256K1.KeyPair creds) {
     this.credentials = Credentials.create(creds.getPrivateKey().getD().toString(16));
+    this.registry =
+        new CoordinationContractRegistry(
+            this.credentials, this.freeGasProvider, RETRY, COORDINATION_BLOCK_PERIOD_IN_MS);
+  }
+
+  /**
+   * Discard the cached client state for a coordination contract. Called when a coordination
+   * contract is added, updated or removed.
+   *
+   * @param coordChainId ID of the blockchain where the coordination contract is deployed.
+   * @param coordContractAddr Deployed Coordination contract's address.
+   */
+  public void invalidate(final BigInteger coordChainId, final Address coordContractAddr) {
+    this.registry.invalidate(coordChainId, coordContractAddr);
+  }
+
+  /** Shutdown all of the clients used to communicate with coordination blockchains. */
+  public void close() {
+    this.registry.close();
   }
 
   public boolean start(
@@ -59,20 +76,8 @@ public class CoordinationContractWrapper {
       final Address contractAddress,
       final CrosschainTransactionStartMessage message) {
 
-    String uri = "http://" + ipAddressPort + "/";
-    Besu web3j = Besu.build(new HttpService(uri), COORDINATION_BLOCK_PERIOD_IN_MS);
-    // Even though the coordination contract isn't doing crosschain operations, we need to use
-    // it as if it was so the start function can get the current blockchain id using the precompile.
-    RawTransactionManager tm =
-        new RawTransactionManager(
-            web3j,
-            this.credentials,
-            blockchainId.longValue(),
-            RETRY,
-            COORDINATION_BLOCK_PERIOD_IN_MS);
     CrosschainCoordinationV1 contractWrapper =
-        CrosschainCoordinationV1.load(
-            contractAddress.getHexString(), web3j, tm, this.freeGasProvider);
+        this.registry.getContract(ipAddressPort, blockchainId, contractAddress);
 
     BigInteger originatingBlockchainId = message.getOriginatingBlockchainId();
     BigInteger crosschainTransactionId = message.getCrosschainTransactionId();
@@ -110,6 +115,7 @@ public class CoordinationContractWrapper {
       LOG.error(
           "Exception thrown while submitting start message transaction to Crosschain Coordination Contract: {}",
           ex.toString());
+      this.registry.resetNonce(blockchainId);
       startDebug(ipAddressPort, blockchainId, contractAddress, message);
       return false;
     }
@@ -125,20 +131,8 @@ public class CoordinationContractWrapper {
       final Address contractAddress,
       final CrosschainTransactionStartMessage message) {
 
-    String uri = "http://" + ipAddressPort + "/";
-    Besu web3j = Besu.build(new HttpService(uri), COORDINATION_BLOCK_PERIOD_IN_MS);
-    // Even though the coordination contract isn't doing crosschain operations, we need to use
-    // it as if it was so the start function can get the current blockchain id using the precompile.
-    RawTransactionManager tm =
-        new RawTransactionManager(
-            web3j,
-            this.credentials,
-            blockchainId.longValue(),
-            RETRY,
-            COORDINATION_BLOCK_PERIOD_IN_MS);
     CrosschainCoordinationV1 contractWrapper =
-        CrosschainCoordinationV1.load(
-            contractAddress.getHexString(), web3j, tm, this.freeGasProvider);
+        this.registry.getContract(ipAddressPort, blockchainId, contractAddress);
 
     BigInteger originatingBlockchainId = message.getOriginatingBlockchainId();
     BigInteger crosschainTransactionId = message.getCrosschainTransactionId();
@@ -166,6 +160,7 @@ public class CoordinationContractWrapper {
       receipt = tx.send();
     } catch (Exception ex) {
       LOG.error("Exception thrown during startDebug: {}", ex.toString());
+      this.registry.resetNonce(blockchainId);
       return;
     }
     List<Log> logs = receipt.getLogs();
@@ -180,20 +175,8 @@ public class CoordinationContractWrapper {
       final Address contractAddress,
       final ThresholdSignedMessage message) {
 
-    String uri = "http://" + ipAddressPort + "/";
-    Besu web3j = Besu.build(new HttpService(uri), COORDINATION_BLOCK_PERIOD_IN_MS);
-    // Even though the coordination contract isn't doing crosschain operations, we need to use
-    // it as if it was so the start function can get the current blockchain id using the precompile.
-    RawTransactionManager tm =
-        new RawTransactionManager(
-            web3j,
-            this.credentials,
-            blockchainId.longValue(),
-            RETRY,
-            COORDINATION_BLOCK_PERIOD_IN_MS);
     CrosschainCoordinationV1 contractWrapper =
-        CrosschainCoordinationV1.load(
-            contractAddress.getHexString(), web3j, tm, this.freeGasProvider);
+        this.registry.getContract(ipAddressPort, blockchainId, contractAddress);
 
     BigInteger originatingBlockchainId = message.getOriginatingBlockchainId();
     BigInteger crosschainTransactionId = message.getCrosschainTransactionId();
@@ -228,6 +211,7 @@ public class CoordinationContractWrapper {
         LOG.error(
             "Exception thrown while submitting commit message transaction to Crosschain Coordination Contract: {}",
             ex.toString());
+        this.registry.resetNonce(blockchainId);
         return false;
       }
       LOG.info(
@@ -249,6 +233,7 @@ public class CoordinationContractWrapper {
         LOG.error(
             "Exception thrown while submitting ignore message transaction to Crosschain Coordination Contract: {}",
             ex.toString());
+        this.registry.resetNonce(blockchainId);
         return false;
       }
       LOG.info(
@@ -276,18 +261,8 @@ public class CoordinationContractWrapper {
       final BigInteger origChainId,
       final BigInteger ccTransactionId) {
 
-    String uri = "http://" + coordIpAddrAndPort + "/";
-    Besu web3j = Besu.build(new HttpService(uri), COORDINATION_BLOCK_PERIOD_IN_MS);
-    RawTransactionManager tm =
-        new RawTransactionManager(
-            web3j,
-            this.credentials,
-            coordChainId.longValue(),
-            RETRY,
-            COORDINATION_BLOCK_PERIOD_IN_MS);
     CrosschainCoordinationV1 contractWrapper =
-        CrosschainCoordinationV1.load(
-            coordContractAddr.getHexString(), web3j, tm, this.freeGasProvider);
+        this.registry.getContract(coordIpAddrAndPort, coordChainId, coordContractAddr);
 
     try {
       LOG.info(
@@ -313,18 +288,8 @@ public class CoordinationContractWrapper {
       final BigInteger blockchainId,
       final long keyVersion) {
 
-    String uri = "http://" + coordIpAddrAndPort + "/";
-    Besu web3j = Besu.build(new HttpService(uri), COORDINATION_BLOCK_PERIOD_IN_MS);
-    RawTransactionManager tm =
-        new RawTransactionManager(
-            web3j,
-            this.credentials,
-            coordChainId.longValue(),
-            RETRY,
-            COORDINATION_BLOCK_PERIOD_IN_MS);
     CrosschainCoordinationV1 contractWrapper =
-        CrosschainCoordinationV1.load(
-            coordContractAddr.getHexString(), web3j, tm, this.freeGasProvider);
+        this.registry.getContract(coordIpAddrAndPort, coordChainId, coordContractAddr);
 
     try {
       LOG.info(
@@ -333,15 +298,7 @@ public class CoordinationContractWrapper {
           keyVersion);
       Tuple3<BigInteger, BigInteger, List<BigInteger>> result =
           contractWrapper.getPublicKey(blockchainId, BigInteger.valueOf(keyVersion)).send();
-      String pubKeyHexString = new String();
-      for (BigInteger elem : result.component3()) {
-        String temp = elem.toString(16);
-        while (temp.length() < 64) {
-          temp = "0" + temp;
-        }
-        pubKeyHexString += temp;
-      }
-      return new BigInteger(pubKeyHexString, 16);
+      return CoordinationQuery.publicKeyFromWords(result.component3());
     } catch (Exception e) {
       LOG.error(
           "Exception while getting the public key from coordination contract {}", e.toString());
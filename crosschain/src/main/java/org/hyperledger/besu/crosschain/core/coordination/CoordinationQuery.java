@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.coordination;
+
+import org.hyperledger.besu.crosschain.core.coordination.generated.CrosschainCoordinationV1;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint32;
+import org.web3j.abi.datatypes.generated.Uint64;
+
+/**
+ * A read only call to a Crosschain Coordination Contract, which can be sent as one of the calls of
+ * a JSON RPC batch request. The call is ABI encoded in the same way as by {@link
+ * CrosschainCoordinationV1}.
+ *
+ * @param <T> Type of the decoded result of the call.
+ */
+public final class CoordinationQuery<T> {
+  private final Function function;
+  private final java.util.function.Function<List<Type>, T> resultDecoder;
+
+  private CoordinationQuery(
+      final Function function, final java.util.function.Function<List<Type>, T> resultDecoder) {
+    this.function = function;
+    this.resultDecoder = resultDecoder;
+  }
+
+  /**
+   * @param origChainId Originating blockchain ID.
+   * @param ccTransactionId Crosschain Transaction ID.
+   * @return Query for the status of a crosschain transaction.
+   */
+  public static CoordinationQuery<Long> crosschainTransactionStatus(
+      final BigInteger origChainId, final BigInteger ccTransactionId) {
+    return new CoordinationQuery<>(
+        new Function(
+            CrosschainCoordinationV1.FUNC_GETCROSSCHAINTRANSACTIONSTATUS,
+            Arrays.<Type>asList(new Uint256(origChainId), new Uint256(ccTransactionId)),
+            Arrays.<TypeReference<?>>asList(new TypeReference<Uint32>() {})),
+        results -> ((BigInteger) results.get(0).getValue()).longValue());
+  }
+
+  /**
+   * @param blockchainId Blockchain whose public key is to be fetched.
+   * @param keyVersion Version of the key.
+   * @return Query for a blockchain's public key.
+   */
+  @SuppressWarnings("unchecked")
+  public static CoordinationQuery<BigInteger> publicKey(
+      final BigInteger blockchainId, final long keyVersion) {
+    return new CoordinationQuery<>(
+        new Function(
+            CrosschainCoordinationV1.FUNC_GETPUBLICKEY,
+            Arrays.<Type>asList(new Uint256(blockchainId), new Uint64(keyVersion)),
+            Arrays.<TypeReference<?>>asList(
+                new TypeReference<Uint256>() {},
+                new TypeReference<Uint32>() {},
+                new TypeReference<DynamicArray<Uint256>>() {})),
+        results ->
+            publicKeyFromWords(
+                ((List<Uint256>) results.get(2).getValue())
+                    .stream()
+                    .map(Uint256::getValue)
+                    .collect(Collectors.toList())));
+  }
+
+  /** @return Query for the current block number of the coordination blockchain. */
+  public static CoordinationQuery<BigInteger> blockNumber() {
+    return new CoordinationQuery<>(
+        new Function(
+            CrosschainCoordinationV1.FUNC_GETBLOCKNUMBER,
+            Arrays.<Type>asList(),
+            Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {})),
+        results -> (BigInteger) results.get(0).getValue());
+  }
+
+  /** @return ABI encoded call data, as a hex string. */
+  public String encode() {
+    return FunctionEncoder.encode(this.function);
+  }
+
+  /**
+   * @param result Hex encoded return data of the call.
+   * @return Decoded result of the call.
+   * @throws IllegalArgumentException if the return data can't be decoded.
+   */
+  public T decode(final String result) {
+    List<Type> results = FunctionReturnDecoder.decode(result, this.function.getOutputParameters());
+    if (results.size() != this.function.getOutputParameters().size()) {
+      throw new IllegalArgumentException(
+          "Unexpected result for " + this.function.getName() + ": " + result);
+    }
+    return this.resultDecoder.apply(results);
+  }
+
+  // The public key is returned as an array of 256 bit words, most significant word first.
+  static BigInteger publicKeyFromWords(final List<BigInteger> words) {
+    BigInteger publicKey = BigInteger.ZERO;
+    for (BigInteger word : words) {
+      publicKey = publicKey.shiftLeft(Type.MAX_BIT_LENGTH).or(word);
+    }
+    return publicKey;
+  }
+}
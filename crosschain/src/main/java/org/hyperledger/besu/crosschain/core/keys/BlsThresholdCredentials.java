@@ -14,10 +14,18 @@ package org.hyperledger.besu.crosschain.core.keys;
 
 import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /** Holds all of the information related to a round of key generation. */
 public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
@@ -25,6 +33,7 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
   private Map<BigInteger, BigInteger> mySecretShares;
   private BigInteger myNodeAddress;
   private Set<BigInteger> nodesStillActiveInKeyGeneration;
+  private Map<BigInteger, BlsPoint> publicKeyShares;
   private Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration;
   private KeyGenFailureToCompleteReason failureReason;
   private KeyStatus keyStatus;
@@ -39,6 +48,7 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
       final Map<BigInteger, BigInteger> mySecretShares,
       final BigInteger myNodeAddress,
       final Set<BigInteger> nodesStillActiveInKeyGeneration,
+      final Map<BigInteger, BlsPoint> publicKeyShares,
       final Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration,
       final KeyGenFailureToCompleteReason failureReason,
       final KeyStatus keyStatus) {
@@ -47,6 +57,7 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
     this.mySecretShares = mySecretShares;
     this.myNodeAddress = myNodeAddress;
     this.nodesStillActiveInKeyGeneration = nodesStillActiveInKeyGeneration;
+    this.publicKeyShares = publicKeyShares;
     this.nodesNoLongerInKeyGeneration = nodesNoLongerInKeyGeneration;
     this.failureReason = failureReason;
     this.keyStatus = keyStatus;
@@ -68,6 +79,17 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
     return nodesStillActiveInKeyGeneration;
   }
 
+  /**
+   * Get the public key share of a node which completed key generation. Signature shares created by
+   * the node can be verified using the public key share.
+   *
+   * @param nodeAddress Address of the node.
+   * @return The node's public key share, or null if the node did not complete key generation.
+   */
+  public BlsPoint getPublicKeyShare(final BigInteger nodeAddress) {
+    return this.publicKeyShares == null ? null : this.publicKeyShares.get(nodeAddress);
+  }
+
   public Map<BigInteger, KeyGenFailureToCompleteReason> getNodesDoppedOutOfKeyGeneration() {
     return nodesNoLongerInKeyGeneration;
   }
@@ -80,6 +102,128 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
     return this.keyStatus;
   }
 
+  public Map<BigInteger, BlsPoint> getPublicKeyShares() {
+    return this.publicKeyShares;
+  }
+
+  /**
+   * Encode all of the information held in the credentials, including the private key share, so
+   * that it can be persisted. The public key and private key share may not be available if key
+   * generation did not complete, and are encoded as empty values in this case.
+   *
+   * @return RLP encoded credentials.
+   */
+  public BytesValue getEncodedCredentials() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeBigIntegerScalar(getBlockchainId());
+          out.writeLongScalar(getKeyVersion());
+          out.writeLongScalar(getThreshold());
+          out.writeLongScalar(getAlgorithm().value);
+          writeNullablePoint(out, getPublicKey());
+          if (this.privateKeyShare == null) {
+            out.writeNull();
+          } else {
+            out.writeBytesValue(BytesValue.wrap(this.privateKeyShare.toByteArray()));
+          }
+          out.writeBigIntegerScalar(this.myNodeAddress);
+          writeMap(out, this.mySecretShares, (share, o) -> o.writeBigIntegerScalar(share));
+          out.writeList(
+              this.nodesStillActiveInKeyGeneration == null
+                  ? Set.<BigInteger>of()
+                  : this.nodesStillActiveInKeyGeneration,
+              (node, o) -> o.writeBigIntegerScalar(node));
+          writeMap(out, this.publicKeyShares, (share, o) -> writeNullablePoint(o, share));
+          writeMap(
+              out,
+              this.nodesNoLongerInKeyGeneration,
+              (reason, o) -> o.writeLongScalar(reason.value));
+          out.writeLongScalar(this.failureReason.value);
+          out.writeLongScalar(this.keyStatus.value);
+          out.endList();
+        });
+  }
+
+  /**
+   * Decode credentials encoded using getEncodedCredentials.
+   *
+   * @param input RLP encoded credentials.
+   * @return The credentials.
+   */
+  public static BlsThresholdCredentials readCredentialsFrom(final BytesValue input) {
+    RLPInput in = RLP.input(input);
+    in.enterList();
+    Builder builder = new Builder();
+    builder.blockchainId(in.readBigIntegerScalar());
+    builder.keyVersion(in.readLongScalar());
+    builder.threshold((int) in.readLongScalar());
+    BlsThresholdCryptoSystem algorithm = BlsThresholdCryptoSystem.create(in.readIntScalar());
+    builder.algorithm(algorithm);
+    builder.publicKey(readNullablePoint(in, algorithm));
+    if (in.nextIsNull()) {
+      in.skipNext();
+    } else {
+      builder.privateKeyShare(new BigInteger(in.readBytesValue().extractArray()));
+    }
+    builder.myNodeAddress(in.readBigIntegerScalar());
+    builder.mySecretShares(readMap(in, RLPInput::readBigIntegerScalar));
+    builder.nodesStillActiveInKeyGeneration(
+        new HashSet<>(in.readList(RLPInput::readBigIntegerScalar)));
+    builder.publicKeyShares(readMap(in, i -> readNullablePoint(i, algorithm)));
+    builder.nodesNoLongerInKeyGeneration(
+        readMap(in, i -> KeyGenFailureToCompleteReason.create(i.readIntScalar())));
+    builder.failureReason(KeyGenFailureToCompleteReason.create(in.readIntScalar()));
+    builder.keyStatus(KeyStatus.create(in.readIntScalar()));
+    in.leaveList();
+    return builder.build();
+  }
+
+  private static void writeNullablePoint(final RLPOutput out, final BlsPoint point) {
+    if (point == null) {
+      out.writeNull();
+    } else {
+      out.writeBytesValue(BytesValue.wrap(point.store()));
+    }
+  }
+
+  private static BlsPoint readNullablePoint(
+      final RLPInput in, final BlsThresholdCryptoSystem algorithm) {
+    if (in.nextIsNull()) {
+      in.skipNext();
+      return null;
+    }
+    return loadPoint(algorithm, in.readBytesValue().extractArray());
+  }
+
+  private static <T> void writeMap(
+      final RLPOutput out,
+      final Map<BigInteger, T> map,
+      final BiConsumer<T, RLPOutput> valueWriter) {
+    out.writeList(
+        map == null ? Set.<Map.Entry<BigInteger, T>>of() : map.entrySet(),
+        (entry, o) -> {
+          o.startList();
+          o.writeBigIntegerScalar(entry.getKey());
+          valueWriter.accept(entry.getValue(), o);
+          o.endList();
+        });
+  }
+
+  private static <T> Map<BigInteger, T> readMap(
+      final RLPInput in, final Function<RLPInput, T> valueReader) {
+    Map<BigInteger, T> map = new HashMap<>();
+    int size = in.enterList();
+    for (int i = 0; i < size; i++) {
+      in.enterList();
+      BigInteger key = in.readBigIntegerScalar();
+      map.put(key, valueReader.apply(in));
+      in.leaveList();
+    }
+    in.leaveList();
+    return map;
+  }
+
   public static class Builder {
     private long keyVersion;
     private int threshold;
@@ -90,6 +234,7 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
     private Map<BigInteger, BigInteger> mySecretShares;
     private BigInteger myNodeAddress;
     private Set<BigInteger> nodesStillActiveInKeyGeneration;
+    private Map<BigInteger, BlsPoint> publicKeyShares;
     private Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration;
     private KeyGenFailureToCompleteReason failureReason;
     private KeyStatus keyStatus;
@@ -140,6 +285,11 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
       return this;
     }
 
+    public Builder publicKeyShares(final Map<BigInteger, BlsPoint> publicKeyShares) {
+      this.publicKeyShares = publicKeyShares;
+      return this;
+    }
+
     public Builder nodesNoLongerInKeyGeneration(
         final Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration) {
       this.nodesNoLongerInKeyGeneration = nodesNoLongerInKeyGeneration;
@@ -167,6 +317,7 @@ public class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl {
           mySecretShares,
           myNodeAddress,
           nodesStillActiveInKeyGeneration,
+          publicKeyShares,
           nodesNoLongerInKeyGeneration,
           failureReason,
           keyStatus);
@@ -107,18 +107,7 @@ public class BlsThresholdPublicKeyImpl implements BlsThresholdPublicKey, Seriali
     BytesValue publicKeyBytesValue = in.readBytesValue();
 
     BlsThresholdCryptoSystem cryptoSystem = BlsThresholdCryptoSystem.create(algorithm);
-    byte[] pubKeyBytes = publicKeyBytesValue.extractArray();
-    BlsPoint publicKey;
-    switch (cryptoSystem) {
-      case ALT_BN_128_WITH_KECCAK256:
-        publicKey =
-            BlsPoint.load(BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128, pubKeyBytes);
-        break;
-      default:
-        String msg = "Unknown crypto system " + cryptoSystem;
-        LOG.error(msg);
-        throw new RuntimeException(msg);
-    }
+    BlsPoint publicKey = loadPoint(cryptoSystem, publicKeyBytesValue.extractArray());
     return new BlsThresholdPublicKeyImpl(
         publicKey, keyVersion, threshold, blockchainId, cryptoSystem);
   }
@@ -132,17 +121,19 @@ public class BlsThresholdPublicKeyImpl implements BlsThresholdPublicKey, Seriali
     buffer.get(pubKeyBytes);
 
     BlsThresholdCryptoSystem cryptoSystem = BlsThresholdCryptoSystem.create(algorithm);
-    BlsPoint publicKey;
+    BlsPoint publicKey = loadPoint(cryptoSystem, pubKeyBytes);
+    return new BlsThresholdPublicKeyImpl(publicKey, keyVersion, 0, blockchainId, cryptoSystem);
+  }
+
+  protected static BlsPoint loadPoint(
+      final BlsThresholdCryptoSystem cryptoSystem, final byte[] data) {
     switch (cryptoSystem) {
       case ALT_BN_128_WITH_KECCAK256:
-        publicKey =
-            BlsPoint.load(BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128, pubKeyBytes);
-        break;
+        return BlsPoint.load(BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128, data);
       default:
         String msg = "Unknown crypto system " + cryptoSystem;
         LOG.error(msg);
         throw new RuntimeException(msg);
     }
-    return new BlsThresholdPublicKeyImpl(publicKey, keyVersion, 0, blockchainId, cryptoSystem);
   }
 }
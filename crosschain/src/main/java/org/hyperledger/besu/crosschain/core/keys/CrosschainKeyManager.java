@@ -12,11 +12,13 @@
  */
 package org.hyperledger.besu.crosschain.core.keys;
 
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics;
 import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
 import org.hyperledger.besu.crosschain.core.keys.generation.SimulatedThresholdKeyGenContractWrapper;
 import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGenContractInterface;
 import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration;
 import org.hyperledger.besu.crosschain.core.keys.signatures.ThresholdSigning;
+import org.hyperledger.besu.crosschain.core.keys.signatures.ThresholdSigningCoordinator;
 import org.hyperledger.besu.crosschain.core.messages.ThresholdSignedMessage;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
 import org.hyperledger.besu.crosschain.p2p.CrosschainDevP2PInterface;
@@ -30,6 +32,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -61,12 +70,18 @@ public class CrosschainKeyManager {
   private long NO_ACTIVE_VERSION = 0;
   long activeKeyVersion = NO_ACTIVE_VERSION;
 
-  public Map<Long, ThresholdKeyGeneration> activeKeyGenerations = new HashMap<>();
+  private static final int KEY_GENERATION_THREADS = 4;
+
+  public Map<Long, ThresholdKeyGeneration> activeKeyGenerations = new ConcurrentHashMap<>();
+  // The key generation most recently started by this node.
+  private volatile ThresholdKeyGeneration latestKeyGeneration;
 
   public Map<Long, BlsThresholdCredentials> credentials;
 
   ThresholdKeyGenContractInterface thresholdKeyGenContract;
   CrosschainDevP2PInterface p2p;
+  ThresholdSigningCoordinator signingCoordinator;
+  ExecutorService keyGenerationExecutor;
   BigInteger blockchainId;
 
   // TODO add key generation contract address
@@ -82,6 +97,13 @@ public class CrosschainKeyManager {
       final CrosschainDevP2PInterface p2p) {
     this.thresholdKeyGenContract = thresholdKeyGenContract;
     this.p2p = p2p;
+    this.keyGenerationExecutor =
+        Executors.newFixedThreadPool(
+            KEY_GENERATION_THREADS,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("CrosschainKeyGeneration-%d")
+                .build());
 
     this.credentials = CrosschainKeyManagerStorage.loadAllCredentials();
     if (this.credentials.size() != 0) {
@@ -93,9 +115,13 @@ public class CrosschainKeyManager {
     }
   }
 
-  public void init(final BigInteger sidechainId, final SECP256K1.KeyPair nodeKeys) {
+  public void init(
+      final BigInteger sidechainId,
+      final SECP256K1.KeyPair nodeKeys,
+      final CrosschainMetrics metrics) {
     this.blockchainId = sidechainId;
     this.nodeKeys = nodeKeys;
+    this.signingCoordinator = new ThresholdSigningCoordinator(this.p2p, metrics);
 
     this.thresholdKeyGenContract.init(nodeKeys);
   }
@@ -103,16 +129,21 @@ public class CrosschainKeyManager {
   /**
    * This method is used to restore the key data from the persistent store when the node restarts.
    *
-   * @param activeKeyGenerations Current credentials
+   * @param keyGenerations Snapshots of the key generations which have not been activated.
    * @param credentials All the credentials
    * @param activeKeyVersion The version of the key that is active.
    */
   public void restore(
-      final Map<Long, ThresholdKeyGeneration> activeKeyGenerations,
+      final Map<Long, BlsThresholdCredentials> keyGenerations,
       final Map<Long, BlsThresholdCredentials> credentials,
       final long activeKeyVersion) {
-    this.credentials = credentials;
-    this.activeKeyGenerations = activeKeyGenerations;
+    this.credentials = new HashMap<>(credentials);
+    this.activeKeyGenerations = new ConcurrentHashMap<>();
+    for (Map.Entry<Long, BlsThresholdCredentials> entry : keyGenerations.entrySet()) {
+      this.activeKeyGenerations.put(
+          entry.getKey(),
+          new ThresholdKeyGeneration(entry.getValue(), this.thresholdKeyGenContract, this.p2p));
+    }
     this.activeKeyVersion = activeKeyVersion;
   }
 
@@ -129,6 +160,28 @@ public class CrosschainKeyManager {
    * @return The key version number of the key.
    */
   public long generateNewKeys(final int threshold, final BlsThresholdCryptoSystem algorithm) {
+    try {
+      return generateNewKeysAsync(threshold, algorithm).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Coordinate with other nodes to generate a new threshold key set, without blocking the calling
+   * thread. The key generation is available via getKeyStatus and related methods as soon as this
+   * method returns, so its progress can be monitored.
+   *
+   * @param threshold The threshold number of keys that need to cooperate to sign messages.
+   * @param algorithm The ECC curve and message digest function to be used.
+   * @return Future which completes with the key version number of the key once key generation has
+   *     completed or failed.
+   */
+  public CompletableFuture<Long> generateNewKeysAsync(
+      final int threshold, final BlsThresholdCryptoSystem algorithm) {
     ThresholdKeyGeneration keyGen =
         new ThresholdKeyGeneration(
             threshold,
@@ -137,9 +190,19 @@ public class CrosschainKeyManager {
             this.nodeKeys,
             this.thresholdKeyGenContract,
             this.p2p);
-    long keyVersionNumber = keyGen.startKeyGeneration();
-    this.activeKeyGenerations.put(keyVersionNumber, keyGen);
-    return keyVersionNumber;
+    CompletableFuture<Long> result = keyGen.startKeyGenerationAsync(this.keyGenerationExecutor);
+    this.activeKeyGenerations.put(keyGen.getKeyVersion(), keyGen);
+    this.latestKeyGeneration = keyGen;
+    return result;
+  }
+
+  /**
+   * @return How long each round of the key generation most recently started by this node took, in
+   *     milliseconds, for the rounds which have completed.
+   */
+  public Map<ThresholdKeyGeneration.Round, Long> getLatestKeyGenerationRoundDurationsMs() {
+    ThresholdKeyGeneration keyGeneration = this.latestKeyGeneration;
+    return keyGeneration == null ? Map.of() : keyGeneration.getRoundDurationsMs();
   }
 
   public KeyStatus getKeyStatus(final long keyVersion) {
@@ -251,6 +314,34 @@ public class CrosschainKeyManager {
    * @param message The message to be (in-place) signed.
    */
   public void thresholdSign(final ThresholdSignedMessage message) {
+    BlsPoint point =
+        createSigner(message).sign(dataToBeSigned(message), message.getEncodedMessage());
+    message.setSignature(this.activeKeyVersion, BytesValue.wrap(point.store()));
+  }
+
+  /**
+   * Coordinate with other nodes to sign the message, without blocking the calling thread while the
+   * other nodes' signature shares are collected.
+   *
+   * @param message The message to be (in-place) signed.
+   * @return Future which completes once the message has been signed.
+   */
+  public CompletableFuture<Void> thresholdSignAsync(final ThresholdSignedMessage message) {
+    final long keyVersion = this.activeKeyVersion;
+    return createSigner(message)
+        .signAsync(dataToBeSigned(message), message.getEncodedMessage())
+        .thenAccept(point -> message.setSignature(keyVersion, BytesValue.wrap(point.store())));
+  }
+
+  public void shutdown() {
+    if (this.signingCoordinator != null) {
+      this.signingCoordinator.close();
+    }
+    this.keyGenerationExecutor.shutdownNow();
+    this.p2p.close();
+  }
+
+  private ThresholdSigning createSigner(final ThresholdSignedMessage message) {
     if (this.activeKeyVersion == NO_ACTIVE_VERSION) {
       String msg =
           "Attempted to threshold sign message ("
@@ -259,7 +350,11 @@ public class CrosschainKeyManager {
       LOG.error(msg);
       throw new Error(msg);
     }
+    return new ThresholdSigning(
+        this.signingCoordinator, this.credentials.get(this.activeKeyVersion));
+  }
 
+  private static byte[] dataToBeSigned(final ThresholdSignedMessage message) {
     BytesValue toBeSigned;
     if (message.verifiedByCoordContract()) {
       toBeSigned = message.getEncodedMessageForCoordContract();
@@ -268,10 +363,6 @@ public class CrosschainKeyManager {
     }
 
     LOG.info("Message contents to be signed: {}", toBeSigned.getHexString());
-
-    ThresholdSigning signer =
-        new ThresholdSigning(this.p2p, this.credentials.get(this.activeKeyVersion));
-    BlsPoint point = signer.sign(toBeSigned.extractArray(), message.getEncodedMessage());
-    message.setSignature(this.activeKeyVersion, BytesValue.wrap(point.store()));
+    return toBeSigned.extractArray();
   }
 }
@@ -31,11 +31,19 @@ import java.io.Serializable;
 import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,10 +51,22 @@ import org.apache.logging.log4j.Logger;
 public class ThresholdKeyGeneration implements Serializable {
   protected static final Logger LOG = LogManager.getLogger();
 
+  // How long to wait for the other nodes to send their secret shares before dropping the nodes
+  // which have not sent them.
+  public static final long PRIVATE_VALUES_TIMEOUT_MS = 60_000;
+
+  /** The rounds of a key generation, in the order they are run. */
+  public enum Round {
+    POST_X_VALUE,
+    POST_COMMITMENTS,
+    POST_PUBLIC_VALUES,
+    PRIVATE_VALUES
+  }
+
   private int threshold;
   private BigInteger blockchainId;
   private BlsThresholdCryptoSystem algorithm;
-  private KeyStatus keyGenerationStatus = KeyStatus.UNKNOWN_KEY;
+  private volatile KeyStatus keyGenerationStatus = KeyStatus.UNKNOWN_KEY;
 
   private transient SecureRandom prng = new PRNGSecureRandom();
 
@@ -54,27 +74,39 @@ public class ThresholdKeyGeneration implements Serializable {
   private BlsPoint[] myCoeffsPublicValues;
   private transient Bytes32[] myCoeffsPublicValueCommitments;
   private BigInteger myNodeAddress;
-  private HashSet<BigInteger> nodesStillActiveInKeyGeneration;
+  // The key generation rounds update the node sets while other threads query them.
+  private Set<BigInteger> nodesStillActiveInKeyGeneration;
 
   // For each node that drops out of the key generation, record why is dropped out.
   private Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration;
 
   // This will indicate why, overall, the key generation failed.
-  private KeyGenFailureToCompleteReason failureReason =
+  private volatile KeyGenFailureToCompleteReason failureReason =
       KeyGenFailureToCompleteReason.NO_FAILURE_THUS_FAR;
 
-  private Map<BigInteger, BigInteger> receivedSecretShares = new HashMap<>();
+  private Map<BigInteger, BigInteger> receivedSecretShares = new ConcurrentHashMap<>();
 
   ThresholdKeyGenContractInterface thresholdKeyGenContract;
   CrosschainDevP2PInterface p2p;
 
   private Map<BigInteger, BlsPoint[]> otherNodeCoefficients;
 
+  // Events the key generation rounds wait on. The coefficient public values of a node are needed
+  // both by the public values round and to verify the node's secret share, which may arrive
+  // first. A node's share verification completes with whether the share was valid.
+  private transient Executor executor;
+  private transient Map<BigInteger, CompletableFuture<BlsPoint[]>> coefficientFutures;
+  private transient Map<BigInteger, CompletableFuture<Boolean>> shareVerifications;
+  // How long each round which has completed took, in milliseconds.
+  private transient Map<Round, Long> roundDurationsMs;
+
   private BlsCryptoProvider cryptoProvider;
 
-  private BigInteger privateKeyShare = null;
+  private volatile BigInteger privateKeyShare = null;
+
+  private volatile BlsPoint publicKey = null;
 
-  private BlsPoint publicKey = null;
+  private volatile Map<BigInteger, BlsPoint> publicKeyShares = null;
 
   private ThresholdScheme thresholdScheme;
 
@@ -114,162 +146,311 @@ public class ThresholdKeyGeneration implements Serializable {
     this.myNodeAddress = new BigInteger(Address.extract(publicKey).toUnprefixedString(), 16);
   }
 
-  public long startKeyGeneration() {
-    try {
-      this.nodesStillActiveInKeyGeneration = new HashSet<>(this.p2p.getAllPeers());
-      this.nodesStillActiveInKeyGeneration.add(this.myNodeAddress);
-      this.nodesNoLongerInKeyGeneration = new HashMap<>();
-
-      this.keyVersionNumber = this.thresholdKeyGenContract.getExpectedKeyGenerationVersion();
-      this.keyGenerationStatus = KeyStatus.KEY_GEN_POST_XVALUE;
-
-      this.p2p.setSecretShareCallback(new CrosschainPartSecretShareCallbackImpl());
-      this.p2p.setMyNodeAddress(this.myNodeAddress);
-
-      // TODO: Put the following in a "do later" clause
-      this.thresholdKeyGenContract.startNewKeyGeneration(keyVersionNumber, this.threshold);
-
-      // TODO: Put the following in a "do later" clause
-      // Request all nodes start the process in parallel with this node.
-      this.p2p.requestStartNewKeyGeneration(keyVersionNumber);
-
-      // TODO: After some time-out, to allow other nodes to post their node ids.
-      // TODO Use vertix
-      // Probably have to wait multiple block times.
-      // Thread.sleep(2000);
-      this.keyGenerationStatus = KeyStatus.KEY_GEN_POST_COMMITMENT;
-      this.p2p.requestPostCommits(keyVersionNumber);
-
-      // Work out which nodes have dropped out of the key generation process.
-      int numberOfNodes = this.thresholdKeyGenContract.getNumberOfNodes(keyVersionNumber);
-      ArrayList<BigInteger> nodeAddresses = new ArrayList<>();
-      for (int i = 0; i < numberOfNodes; i++) {
-        BigInteger address = this.thresholdKeyGenContract.getNodeAddress(keyVersionNumber, i);
-        nodeAddresses.add(address);
-        if (!this.nodesStillActiveInKeyGeneration.contains(address)) {
-          String msg = "Unknown node attempting to participate in key generation: " + address;
-          LOG.error(msg);
-          // Ignore the unknown node and continue.
-        }
-      }
-      for (Iterator<BigInteger> iterator = this.nodesStillActiveInKeyGeneration.iterator();
-          iterator.hasNext(); ) {
-        BigInteger nodeAddress = iterator.next();
-        if (!nodeAddresses.contains(nodeAddress)) {
-          iterator.remove();
-          this.nodesNoLongerInKeyGeneration.put(
-              nodeAddress, KeyGenFailureToCompleteReason.DID_NOT_POST_XVALUE);
-        }
-      }
-      if (belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_POST_XVALUE)) {
-        return keyVersionNumber;
-      }
+  /**
+   * Recreate a key generation from the snapshot of its state returned by getCredentials. This is
+   * used to restore key generations from the persistent store when the node restarts. The
+   * coefficient public values and secret shares received from other nodes are not part of the
+   * snapshot, and hence the restored key generation can be queried and activated, but not
+   * continued.
+   *
+   * @param state Snapshot of the key generation.
+   * @param thresholdKeyGenContract Threshold key generation contract.
+   * @param p2p Interface to the other nodes.
+   */
+  public ThresholdKeyGeneration(
+      final BlsThresholdCredentials state,
+      final ThresholdKeyGenContractInterface thresholdKeyGenContract,
+      final CrosschainDevP2PInterface p2p) {
+    this.threshold = state.getThreshold();
+    this.blockchainId = state.getBlockchainId();
+    this.thresholdKeyGenContract = thresholdKeyGenContract;
+    this.p2p = p2p;
+    this.algorithm = state.getAlgorithm();
+    this.cryptoProvider = this.algorithm.getCryptoProvider();
+    this.thresholdScheme = new ThresholdScheme(this.cryptoProvider, this.threshold, this.prng);
 
-      // Post Commitments Round
-      generatePartsOfKeySharesPublicValueAndCommitments(nodeAddresses.toArray(BigInteger[]::new));
-      this.thresholdKeyGenContract.setNodeCoefficientsCommitments(
-          keyVersionNumber, this.myCoeffsPublicValueCommitments);
-
-      // TODO wait for a period of time, to let other nodes post their commitments.
-      // Probably have to wait multiple block times.
-      // Thread.sleep(2000);
-
-      // Work out which nodes have dropped out of the key generation process.
-      for (Iterator<BigInteger> iterator = this.nodesStillActiveInKeyGeneration.iterator();
-          iterator.hasNext(); ) {
-        BigInteger nodeAddress = iterator.next();
-        boolean postedCommitments =
-            this.thresholdKeyGenContract.nodeCoefficientsCommitmentsSet(
-                keyVersionNumber, nodeAddress);
-        if (!postedCommitments) {
-          iterator.remove();
-          this.nodesNoLongerInKeyGeneration.put(
-              nodeAddress, KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
-        }
-      }
-      if (belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT)) {
-        return keyVersionNumber;
+    this.keyVersionNumber = state.getKeyVersion();
+    this.keyGenerationStatus = state.getKeyStatus();
+    this.myNodeAddress = state.getMyNodeAddress();
+    this.mySecretShares = state.getMySecretShares();
+    this.nodesStillActiveInKeyGeneration = ConcurrentHashMap.newKeySet();
+    this.nodesStillActiveInKeyGeneration.addAll(state.getNodesCompletedKeyGeneration());
+    this.nodesNoLongerInKeyGeneration =
+        new ConcurrentHashMap<>(state.getNodesDoppedOutOfKeyGeneration());
+    this.failureReason = state.getFailureReason();
+    this.privateKeyShare = state.getPrivateKeyShare();
+    this.publicKey = state.getPublicKey();
+    this.publicKeyShares = state.getPublicKeyShares();
+  }
+
+  /**
+   * Start the key generation without blocking the calling thread.
+   *
+   * <p>The key generation is a sequence of rounds: post X values, post commitments, post
+   * coefficient public values, and exchange secret shares. Each round runs on the executor and
+   * starts when the events the previous round was waiting for have happened, rather than after a
+   * fixed wait. Per node work, such as checking commitments and fetching coefficient public values,
+   * is done for all nodes in parallel, and secret shares are verified as they arrive. Nodes which
+   * fail to complete a round are dropped, and the key generation fails if fewer than the threshold
+   * number of nodes remain.
+   *
+   * @param executor Executor to run the key generation rounds and per node work on.
+   * @return Future which completes with the key version when key generation has completed or
+   *     failed. The key version is available from getKeyVersion as soon as this method returns.
+   */
+  public CompletableFuture<Long> startKeyGenerationAsync(final Executor executor) {
+    this.executor = executor;
+    this.coefficientFutures = new ConcurrentHashMap<>();
+    this.shareVerifications = new ConcurrentHashMap<>();
+    this.roundDurationsMs = new ConcurrentHashMap<>();
+    this.nodesStillActiveInKeyGeneration = ConcurrentHashMap.newKeySet();
+    this.nodesStillActiveInKeyGeneration.addAll(this.p2p.getAllPeers());
+    this.nodesStillActiveInKeyGeneration.add(this.myNodeAddress);
+    this.nodesNoLongerInKeyGeneration = new ConcurrentHashMap<>();
+
+    this.keyVersionNumber = this.thresholdKeyGenContract.getExpectedKeyGenerationVersion();
+    this.keyGenerationStatus = KeyStatus.KEY_GEN_POST_XVALUE;
+
+    this.p2p.setSecretShareCallback(new CrosschainPartSecretShareCallbackImpl());
+    this.p2p.setMyNodeAddress(this.myNodeAddress);
+
+    return CompletableFuture.supplyAsync(this::postXValueRound, executor)
+        .thenComposeAsync(
+            ifStillGenerating(Round.POST_COMMITMENTS, this::postCommitmentsRound), executor)
+        .thenComposeAsync(
+            ifStillGenerating(Round.POST_PUBLIC_VALUES, this::postPublicValuesRound), executor)
+        .thenComposeAsync(
+            ifStillGenerating(Round.PRIVATE_VALUES, this::privateValuesRound), executor)
+        .thenApplyAsync(
+            stillGenerating -> {
+              if (stillGenerating) {
+                completeKeyGeneration();
+              }
+              return this.keyVersionNumber;
+            },
+            executor);
+  }
+
+  public long getKeyVersion() {
+    return this.keyVersionNumber;
+  }
+
+  /**
+   * @return How long each round of the key generation which has completed took, in milliseconds.
+   *     Empty if the key generation was restored rather than run by this node.
+   */
+  public Map<Round, Long> getRoundDurationsMs() {
+    return this.roundDurationsMs == null ? Map.of() : Map.copyOf(this.roundDurationsMs);
+  }
+
+  private Function<Boolean, CompletableFuture<Boolean>> ifStillGenerating(
+      final Round round, final Supplier<CompletableFuture<Boolean>> body) {
+    return stillGenerating -> {
+      if (!stillGenerating) {
+        return CompletableFuture.completedFuture(false);
       }
+      final long startNanos = System.nanoTime();
+      return body.get().whenComplete((result, error) -> recordRoundDuration(round, startNanos));
+    };
+  }
+
+  private void recordRoundDuration(final Round round, final long startNanos) {
+    this.roundDurationsMs.put(round, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+  }
+
+  private boolean postXValueRound() {
+    final long startNanos = System.nanoTime();
+    this.thresholdKeyGenContract.startNewKeyGeneration(this.keyVersionNumber, this.threshold);
+    // Request all nodes start the process in parallel with this node.
+    this.p2p.requestStartNewKeyGeneration(this.keyVersionNumber);
+    recordRoundDuration(Round.POST_X_VALUE, startNanos);
+    return true;
+  }
 
-      // Post Public Values Round.
-      this.keyGenerationStatus = KeyStatus.KEY_GEN_PUBLIC_VALUES;
-      this.p2p.requestPostPublicValues(keyVersionNumber);
-      LOG.info("Post Public Values");
-      // TODO only publish the public values after all of the commitments are posted.
-      // Post public values of coefficient to threshold key gen contract.
-      this.thresholdKeyGenContract.setNodeCoefficientsPublicValues(
-          keyVersionNumber, this.myCoeffsPublicValues);
-
-      // Probably have to wait multiple block times.
-      // Thread.sleep(2000);
-      // Get all of the other node's coefficient public values.
-      LOG.info("Get all of the other node's coefficient public values.");
-      this.otherNodeCoefficients = new HashMap<BigInteger, BlsPoint[]>();
-      for (Iterator<BigInteger> iterator = this.nodesStillActiveInKeyGeneration.iterator();
-          iterator.hasNext(); ) {
-        BigInteger nodeAddress = iterator.next();
-        if (!nodeAddress.equals(this.myNodeAddress)) {
-          BlsPoint[] points = new BlsPoint[this.myCoeffsPublicValues.length];
-          for (int j = 0; j < this.myCoeffsPublicValues.length; j++) {
-            points[j] =
-                this.thresholdKeyGenContract.getCoefficientPublicValue(
-                    keyVersionNumber, nodeAddress, j);
-          }
-          if (points[0] == null) {
-            iterator.remove();
-            this.nodesNoLongerInKeyGeneration.put(
-                nodeAddress, KeyGenFailureToCompleteReason.DID_NOT_POST_COEFFICIENT_PUBLIC_VALUES);
-          } else {
-            this.otherNodeCoefficients.put(nodeAddress, points);
-          }
-        }
+  private CompletableFuture<Boolean> postCommitmentsRound() {
+    this.keyGenerationStatus = KeyStatus.KEY_GEN_POST_COMMITMENT;
+    this.p2p.requestPostCommits(this.keyVersionNumber);
+
+    // Work out which nodes have dropped out of the key generation process.
+    int numberOfNodes = this.thresholdKeyGenContract.getNumberOfNodes(this.keyVersionNumber);
+    List<BigInteger> nodeAddresses = new ArrayList<>();
+    for (int i = 0; i < numberOfNodes; i++) {
+      BigInteger address = this.thresholdKeyGenContract.getNodeAddress(this.keyVersionNumber, i);
+      nodeAddresses.add(address);
+      if (!this.nodesStillActiveInKeyGeneration.contains(address)) {
+        // Ignore the unknown node and continue.
+        LOG.error("Unknown node attempting to participate in key generation: {}", address);
       }
-      if (belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_POST_COEFFICIENT_PUBLIC_VALUES)) {
-        return keyVersionNumber;
+    }
+    dropNodes(
+        node -> !nodeAddresses.contains(node), KeyGenFailureToCompleteReason.DID_NOT_POST_XVALUE);
+    if (belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_POST_XVALUE)) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    generatePartsOfKeySharesPublicValueAndCommitments(nodeAddresses.toArray(BigInteger[]::new));
+    this.thresholdKeyGenContract.setNodeCoefficientsCommitments(
+        this.keyVersionNumber, this.myCoeffsPublicValueCommitments);
+
+    // Work out which nodes have not posted their commitments, checking all nodes in parallel.
+    Map<BigInteger, CompletableFuture<Boolean>> postedCommitments = new HashMap<>();
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      postedCommitments.put(
+          nodeAddress,
+          CompletableFuture.supplyAsync(
+              () ->
+                  this.thresholdKeyGenContract.nodeCoefficientsCommitmentsSet(
+                      this.keyVersionNumber, nodeAddress),
+              this.executor));
+    }
+    return allOf(postedCommitments.values())
+        .thenApply(
+            v -> {
+              dropNodes(
+                  node -> !postedCommitments.get(node).join(),
+                  KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
+              return !belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
+            });
+  }
+
+  private CompletableFuture<Boolean> postPublicValuesRound() {
+    this.keyGenerationStatus = KeyStatus.KEY_GEN_PUBLIC_VALUES;
+    this.p2p.requestPostPublicValues(this.keyVersionNumber);
+    LOG.info("Post Public Values");
+    // TODO only publish the public values after all of the commitments are posted.
+    // Post public values of coefficient to threshold key gen contract.
+    this.thresholdKeyGenContract.setNodeCoefficientsPublicValues(
+        this.keyVersionNumber, this.myCoeffsPublicValues);
+
+    // Get all of the other node's coefficient public values, fetching them from all nodes in
+    // parallel.
+    List<CompletableFuture<BlsPoint[]>> fetches = new ArrayList<>();
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      if (!nodeAddress.equals(this.myNodeAddress)) {
+        CompletableFuture<BlsPoint[]> coefficients = coefficientFuture(nodeAddress);
+        CompletableFuture.supplyAsync(
+                () -> fetchCoefficientPublicValues(nodeAddress), this.executor)
+            .whenComplete(
+                (points, error) -> {
+                  if (error != null) {
+                    LOG.error(
+                        "Unable to fetch coefficient public values of node {}: {}",
+                        nodeAddress,
+                        error.toString());
+                    coefficients.complete(null);
+                  } else {
+                    coefficients.complete(points);
+                  }
+                });
+        fetches.add(coefficients);
       }
-      this.p2p.requestGetOtherNodeCoefs(keyVersionNumber);
-
-      // TODO send private values
-      // TODO Note that the nodeAddresses will have had some purged for nodes that have not posted
-      // the commitments or public values.
-      this.keyGenerationStatus = KeyStatus.KEY_GEN_PRIVATE_VALUES;
-      this.p2p.sendPrivateValues(
-          this.myNodeAddress, this.nodesStillActiveInKeyGeneration, this.mySecretShares);
-      this.p2p.requestSendPrivateValues(keyVersionNumber);
-
-      // TODO Wait some time here for the values to be sent.
-
-      this.p2p.requestNodesCompleteKeyGen();
-      // Calculate private key shares and public key round.
-      // TODO need to account for some private key shares not being sent / nefarious actors.
-
-      // Work out which nodes have dropped out of the key generation process.
-      for (Iterator<BigInteger> iterator = this.nodesStillActiveInKeyGeneration.iterator();
-          iterator.hasNext(); ) {
-        BigInteger nodeAddress = iterator.next();
-        if (!nodeAddress.equals(this.myNodeAddress)
-            && this.receivedSecretShares.get(nodeAddress) == null) {
-          iterator.remove();
-          this.nodesNoLongerInKeyGeneration.put(
-              nodeAddress, KeyGenFailureToCompleteReason.DID_NOT_SEND_PRIVATE_VALUES);
-        }
+    }
+    return allOf(fetches)
+        .thenApply(
+            v -> {
+              Map<BigInteger, BlsPoint[]> coefficients = new HashMap<>();
+              for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+                if (!nodeAddress.equals(this.myNodeAddress)) {
+                  BlsPoint[] points = coefficientFuture(nodeAddress).join();
+                  if (points != null) {
+                    coefficients.put(nodeAddress, points);
+                  }
+                }
+              }
+              dropNodes(
+                  node -> !node.equals(this.myNodeAddress) && !coefficients.containsKey(node),
+                  KeyGenFailureToCompleteReason.DID_NOT_POST_COEFFICIENT_PUBLIC_VALUES);
+              this.otherNodeCoefficients = coefficients;
+              return !belowThreshold(
+                  KeyGenFailureToCompleteReason.DID_NOT_POST_COEFFICIENT_PUBLIC_VALUES);
+            });
+  }
+
+  private BlsPoint[] fetchCoefficientPublicValues(final BigInteger nodeAddress) {
+    BlsPoint[] points = new BlsPoint[this.myCoeffsPublicValues.length];
+    for (int j = 0; j < points.length; j++) {
+      points[j] =
+          this.thresholdKeyGenContract.getCoefficientPublicValue(
+              this.keyVersionNumber, nodeAddress, j);
+      if (points[j] == null) {
+        return null;
       }
-      if (belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_SEND_PRIVATE_VALUES)) {
-        return keyVersionNumber;
+    }
+    return points;
+  }
+
+  private CompletableFuture<Boolean> privateValuesRound() {
+    this.p2p.requestGetOtherNodeCoefs(this.keyVersionNumber);
+
+    // TODO Note that the nodeAddresses will have had some purged for nodes that have not posted
+    // the commitments or public values.
+    this.keyGenerationStatus = KeyStatus.KEY_GEN_PRIVATE_VALUES;
+    this.p2p.sendPrivateValues(
+        this.myNodeAddress, this.nodesStillActiveInKeyGeneration, this.mySecretShares);
+    this.p2p.requestSendPrivateValues(this.keyVersionNumber);
+
+    // Move on as soon as all of the other nodes' secret shares have been verified, or after a
+    // time-out if some nodes don't send their shares.
+    List<CompletableFuture<Boolean>> verifications = new ArrayList<>();
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      if (!nodeAddress.equals(this.myNodeAddress)) {
+        verifications.add(shareVerification(nodeAddress));
       }
-      this.privateKeyShare = calculateMyPrivateKeyShare();
+    }
+    return allOf(verifications)
+        .completeOnTimeout(null, PRIVATE_VALUES_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+        .thenApply(
+            v -> {
+              // Work out which nodes have dropped out of the key generation process.
+              dropNodes(
+                  node ->
+                      !node.equals(this.myNodeAddress)
+                          && !shareVerification(node).isDone()
+                          && shareVerification(node).complete(false),
+                  KeyGenFailureToCompleteReason.DID_NOT_SEND_PRIVATE_VALUES);
+              dropNodes(
+                  node -> !node.equals(this.myNodeAddress) && !shareVerification(node).join(),
+                  KeyGenFailureToCompleteReason
+                      .PRIVATE_VALUES_DID_NOT_MATCH_COEFFICIENT_PUBLIC_VALUES);
+              return !belowThreshold(KeyGenFailureToCompleteReason.DID_NOT_SEND_PRIVATE_VALUES);
+            });
+  }
+
+  private void completeKeyGeneration() {
+    this.p2p.requestNodesCompleteKeyGen();
 
-      this.publicKey = calculatePublicKey();
+    // Calculate private key shares and public key round.
+    this.privateKeyShare = calculateMyPrivateKeyShare();
+    this.publicKey = calculatePublicKey();
+    this.publicKeyShares = calculatePublicKeyShares();
 
-      this.keyGenerationStatus = KeyStatus.KEY_GEN_COMPLETE;
-      this.failureReason = KeyGenFailureToCompleteReason.SUCCESS;
+    this.failureReason = KeyGenFailureToCompleteReason.SUCCESS;
+    this.keyGenerationStatus = KeyStatus.KEY_GEN_COMPLETE;
+  }
 
-      return keyVersionNumber;
-    } catch (Exception ex) {
-      throw new RuntimeException(ex);
+  private void dropNodes(
+      final Predicate<BigInteger> dropped, final KeyGenFailureToCompleteReason reason) {
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      if (dropped.test(nodeAddress)) {
+        this.nodesStillActiveInKeyGeneration.remove(nodeAddress);
+        this.nodesNoLongerInKeyGeneration.put(nodeAddress, reason);
+      }
     }
   }
 
+  private CompletableFuture<BlsPoint[]> coefficientFuture(final BigInteger nodeAddress) {
+    return this.coefficientFutures.computeIfAbsent(nodeAddress, k -> new CompletableFuture<>());
+  }
+
+  private CompletableFuture<Boolean> shareVerification(final BigInteger nodeAddress) {
+    return this.shareVerifications.computeIfAbsent(nodeAddress, k -> new CompletableFuture<>());
+  }
+
+  private static CompletableFuture<Void> allOf(
+      final Collection<? extends CompletableFuture<?>> futures) {
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+  }
+
   private void generatePartsOfKeySharesPublicValueAndCommitments(final BigInteger[] xValues) {
     // Generate random coefficients.
     BigInteger[] coeffs = thresholdScheme.generateRandomCoefficients();
@@ -343,6 +524,7 @@ public class ThresholdKeyGeneration implements Serializable {
         .mySecretShares(this.mySecretShares)
         .myNodeAddress(this.myNodeAddress)
         .nodesStillActiveInKeyGeneration(this.nodesStillActiveInKeyGeneration)
+        .publicKeyShares(this.publicKeyShares)
         .nodesNoLongerInKeyGeneration(this.nodesNoLongerInKeyGeneration)
         .failureReason(this.failureReason)
         .keyStatus(this.keyGenerationStatus)
@@ -371,36 +553,95 @@ public class ThresholdKeyGeneration implements Serializable {
     return yValue;
   }
 
+  /**
+   * Calculate the public key share of each node which completed key generation. A node's private
+   * key share is the sum of the secret shares for the node's address from all curves. As such, its
+   * public key share is the point for the node's address on the curve whose coefficient public
+   * values are the sums of the coefficient public values of all curves.
+   */
+  private Map<BigInteger, BlsPoint> calculatePublicKeyShares() {
+    final int numCoeffs = this.myCoeffsPublicValues.length;
+    final List<BlsPoint[]> allCoefficients = new ArrayList<>();
+    allCoefficients.add(this.myCoeffsPublicValues);
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      if (!nodeAddress.equals(this.myNodeAddress)) {
+        allCoefficients.add(this.otherNodeCoefficients.get(nodeAddress));
+      }
+    }
+
+    final BigInteger[] ones = new BigInteger[allCoefficients.size()];
+    Arrays.fill(ones, BigInteger.ONE);
+    final BlsPoint[] summedCoefficients = new BlsPoint[numCoeffs];
+    for (int j = 0; j < numCoeffs; j++) {
+      BlsPoint[] points = new BlsPoint[allCoefficients.size()];
+      for (int i = 0; i < points.length; i++) {
+        points[i] = allCoefficients.get(i)[j];
+      }
+      summedCoefficients[j] = this.cryptoProvider.multiScalarMul(points, ones);
+    }
+
+    final Map<BigInteger, BlsPoint> shares = new HashMap<>();
+    for (BigInteger nodeAddress : this.nodesStillActiveInKeyGeneration) {
+      shares.put(
+          nodeAddress,
+          this.thresholdScheme.generatePublicKeyShare(nodeAddress, summedCoefficients));
+    }
+    return shares;
+  }
+
   class CrosschainPartSecretShareCallbackImpl
       implements CrosschainPartSecretShareCallback, Serializable {
     @Override
     public void storePrivateSecretShareCallback(
         final BigInteger nodeId, final BigInteger secretShare) {
-      synchronized (this) {
-        // Check that the secret share corresponds to a public value which is on the curve
-        // defined by the coefficients the node published to the ThresholdKeyGenContract.
-        BlsPoint publicKeyShare = cryptoProvider.createPointE2(secretShare);
-
-        LOG.info("thresholdscheme: {}", thresholdScheme);
-        LOG.info("othernodecoeffs: {}", otherNodeCoefficients);
-        LOG.info("othernodecoeffs.len: {}", otherNodeCoefficients.size());
-
-        BlsPoint[] otherNodeCoefs = otherNodeCoefficients.get(nodeId);
-        if (otherNodeCoefs == null) {
-          throw new Error("Unexpectedly, no coefficients for node: " + nodeId);
-        }
-        BlsPoint calculatedPublicKeyShare =
-            thresholdScheme.generatePublicKeyShare(
-                myNodeAddress, otherNodeCoefficients.get(nodeId));
-
-        if (!publicKeyShare.equals(calculatedPublicKeyShare)) {
-          LOG.error("Private share from {} did not match public coefficients.", nodeId);
-          // TODO we need to indicate this key generation failure.
-        }
-
-        receivedSecretShares.put(nodeId, secretShare);
+      if (!nodesStillActiveInKeyGeneration.contains(nodeId)) {
+        LOG.error("Private share sent by node {} which is not in the key generation", nodeId);
+        return;
+      }
+      CompletableFuture<Boolean> verification = shareVerification(nodeId);
+      if (verification.isDone()) {
+        LOG.warn("Ignoring private share sent by node {} after its previous share", nodeId);
+        return;
       }
+      // Verify the share once the coefficients the node published to the ThresholdKeyGenContract
+      // are known, without holding up the thread delivering the share.
+      coefficientFuture(nodeId)
+          .thenAcceptAsync(
+              coefficients -> {
+                boolean valid = isValidShare(nodeId, secretShare, coefficients);
+                if (valid) {
+                  receivedSecretShares.put(nodeId, secretShare);
+                }
+                verification.complete(valid);
+              },
+              executor)
+          .exceptionally(
+              error -> {
+                LOG.error("Unable to verify private share from {}: {}", nodeId, error.toString());
+                verification.complete(false);
+                return null;
+              });
+    }
+  }
+
+  /**
+   * Check that the secret share corresponds to a public value which is on the curve defined by the
+   * coefficients the node published to the ThresholdKeyGenContract.
+   */
+  private boolean isValidShare(
+      final BigInteger nodeAddress, final BigInteger secretShare, final BlsPoint[] coefficients) {
+    if (coefficients == null) {
+      LOG.error("Unexpectedly, no coefficients for node: {}", nodeAddress);
+      return false;
+    }
+    BlsPoint publicKeyShare = this.cryptoProvider.createPointE2(secretShare);
+    BlsPoint calculatedPublicKeyShare =
+        this.thresholdScheme.generatePublicKeyShare(this.myNodeAddress, coefficients);
+    if (!publicKeyShare.equals(calculatedPublicKeyShare)) {
+      LOG.error("Private share from {} did not match public coefficients.", nodeAddress);
+      return false;
     }
+    return true;
   }
 
   // JUST FOR TESTING
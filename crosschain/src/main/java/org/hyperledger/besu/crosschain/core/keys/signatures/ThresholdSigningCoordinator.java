@@ -0,0 +1,368 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.keys.signatures;
+
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics;
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics.SignatureShare;
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics.SigningOutcome;
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics.SigningVerification;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.crosschain.crypto.threshold.scheme.BlsPointSecretShare;
+import org.hyperledger.besu.crosschain.crypto.threshold.scheme.ThresholdScheme;
+import org.hyperledger.besu.crosschain.p2p.CrosschainDevP2PInterface;
+import org.hyperledger.besu.crosschain.p2p.CrosschainSigningResponseCallback;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Coordinates threshold signing of messages with the other nodes of the blockchain.
+ *
+ * <p>A signing request is sent to all nodes, and the signature shares are collected as the nodes
+ * respond. As soon as this node's share plus the shares of threshold - 1 other nodes are available,
+ * the signature is calculated using Lagrange interpolation and verified against the group public
+ * key. If it does not verify, the shares are verified against the public key shares of the nodes
+ * which sent them, so that the shares from faulty nodes can be discarded. Shares which arrive after
+ * the signature has been calculated are ignored. Requests for which not enough valid shares arrive
+ * before the timeout fail with a {@link TimeoutException}.
+ */
+public class ThresholdSigningCoordinator implements CrosschainSigningResponseCallback {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final long DEFAULT_TIMEOUT_MS = 10_000;
+
+  private final CrosschainDevP2PInterface p2p;
+  private final long timeoutMs;
+  private final ScheduledExecutorService timeoutScheduler;
+  private final Map<Long, SigningRequest> pendingRequests = new ConcurrentHashMap<>();
+  private final AtomicLong nextRequestId = new AtomicLong(1);
+  private final CrosschainMetrics metrics;
+
+  public ThresholdSigningCoordinator(
+      final CrosschainDevP2PInterface p2p, final CrosschainMetrics metrics) {
+    this(p2p, DEFAULT_TIMEOUT_MS, metrics);
+  }
+
+  public ThresholdSigningCoordinator(
+      final CrosschainDevP2PInterface p2p, final long timeoutMs, final CrosschainMetrics metrics) {
+    this.p2p = p2p;
+    this.timeoutMs = timeoutMs;
+    this.metrics = metrics;
+    this.timeoutScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("CrosschainSigningTimeout-%d")
+                .build());
+    p2p.setSigningResponseCallback(this);
+  }
+
+  /**
+   * Threshold sign data without blocking the calling thread.
+   *
+   * @param credentials Key to sign the data with.
+   * @param data The data to be signed.
+   * @param message The message the data was encoded from. This is sent to the other nodes so that
+   *     they can check the message before signing it.
+   * @return Future which completes with the signature.
+   */
+  public CompletableFuture<BlsPoint> sign(
+      final BlsThresholdCredentials credentials, final byte[] data, final BytesValue message) {
+    final BlsCryptoProvider cryptoProvider = credentials.getAlgorithm().getCryptoProvider();
+    final int threshold = credentials.getThreshold();
+
+    // If there is only one node, then just locally sign.
+    // The result of Lagrange Interpolation for one point is the point. As such, just return the
+    // point.
+    if (threshold == 1) {
+      this.metrics.recordSigningOutcome(SigningOutcome.COMPLETED);
+      return CompletableFuture.completedFuture(
+          cryptoProvider.sign(credentials.getPrivateKeyShare(), data));
+    }
+
+    int numPeers = this.p2p.getAllPeers().size();
+    if (numPeers < threshold - 1) {
+      String msg =
+          "Not enough nodes to threshold sign. Threshold: "
+              + threshold
+              + ", and number of connected nodes: "
+              + numPeers;
+      LOG.error(msg);
+      this.metrics.recordSigningOutcome(SigningOutcome.FAILED);
+      CompletableFuture<BlsPoint> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IllegalStateException(msg));
+      return failed;
+    }
+
+    final long requestId = this.nextRequestId.getAndIncrement();
+    final SigningRequest request =
+        new SigningRequest(
+            requestId, credentials, cryptoProvider, data, this.metrics.startSigningTimer());
+    BlsPoint mySignatureShare = cryptoProvider.sign(credentials.getPrivateKeyShare(), data);
+    request.verifiedShares.put(credentials.getMyNodeAddress(), mySignatureShare);
+    this.pendingRequests.put(requestId, request);
+
+    final ScheduledFuture<?> timeout =
+        this.timeoutScheduler.schedule(
+            () -> timeout(request), this.timeoutMs, TimeUnit.MILLISECONDS);
+    // The bookkeeping is done before the caller is notified that the signature is available.
+    final CompletableFuture<BlsPoint> result =
+        request.signature.whenComplete(
+            (signature, error) -> {
+              timeout.cancel(false);
+              this.pendingRequests.remove(requestId);
+              request.timer.stopTimer();
+              if (error == null) {
+                this.metrics.recordSigningOutcome(SigningOutcome.COMPLETED);
+              } else if (error instanceof TimeoutException) {
+                this.metrics.recordSigningOutcome(SigningOutcome.TIMED_OUT);
+              } else {
+                this.metrics.recordSigningOutcome(SigningOutcome.FAILED);
+              }
+            });
+
+    try {
+      this.p2p.sendMessageSigningRequest(
+          credentials.getMyNodeAddress(), requestId, message, BytesValue.wrap(data));
+    } catch (RuntimeException e) {
+      LOG.error("Unable to send message signing request {}: {}", requestId, e.toString());
+      request.signature.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  @Override
+  public void storeSignatureShareCallback(
+      final long requestId, final BigInteger nodeAddress, final BlsPoint signatureShare) {
+    this.metrics.recordSignatureShare(SignatureShare.RECEIVED);
+    final SigningRequest request = this.pendingRequests.get(requestId);
+    if (request == null) {
+      // The signature has already been calculated, or the request has timed out.
+      this.metrics.recordSignatureShare(SignatureShare.LATE);
+      return;
+    }
+    synchronized (request) {
+      if (request.signature.isDone()) {
+        this.metrics.recordSignatureShare(SignatureShare.LATE);
+        return;
+      }
+      if (request.verifiedShares.containsKey(nodeAddress)
+          || request.unverifiedShares.containsKey(nodeAddress)) {
+        LOG.warn("Duplicate signature share from node {} for request {}", nodeAddress, requestId);
+        return;
+      }
+      request.unverifiedShares.put(nodeAddress, signatureShare);
+    }
+    verifySharesAndCombine(request);
+  }
+
+  /**
+   * Once enough signature shares have arrived, calculate the signature and verify it against the
+   * group public key. This needs a fixed number of pairings, however large the threshold is. Only
+   * if the signature does not verify are the shares which have not yet been verified checked, using
+   * a batch verification, to find the invalid shares. Invalid shares are discarded, and the request
+   * continues to wait for shares from other nodes.
+   */
+  private void verifySharesAndCombine(final SigningRequest request) {
+    while (true) {
+      final Map<BigInteger, BlsPoint> candidates = new LinkedHashMap<>();
+      final BlsPointSecretShare[] shares = new BlsPointSecretShare[request.threshold];
+      synchronized (request) {
+        if (request.verifying
+            || request.signature.isDone()
+            || request.verifiedShares.size() + request.unverifiedShares.size()
+                < request.threshold) {
+          return;
+        }
+        request.verifying = true;
+        int i = 0;
+        for (Map.Entry<BigInteger, BlsPoint> share : request.verifiedShares.entrySet()) {
+          shares[i++] = new BlsPointSecretShare(share.getKey(), share.getValue());
+        }
+        Iterator<Map.Entry<BigInteger, BlsPoint>> iter =
+            request.unverifiedShares.entrySet().iterator();
+        while (i < request.threshold) {
+          Map.Entry<BigInteger, BlsPoint> share = iter.next();
+          candidates.put(share.getKey(), share.getValue());
+          shares[i++] = new BlsPointSecretShare(share.getKey(), share.getValue());
+          iter.remove();
+        }
+      }
+
+      final boolean[] valid;
+      try {
+        // Do Lagrange interpolation to determine the group signature (the point for x=0).
+        ThresholdScheme thresholdScheme =
+            new ThresholdScheme(request.cryptoProvider, request.threshold);
+        BlsPoint signature = thresholdScheme.calculateSecret(shares);
+        this.metrics.recordSigningVerification(SigningVerification.SIGNATURE);
+        if (verify(request, request.credentials.getPublicKey(), signature)) {
+          request.signature.complete(signature);
+          return;
+        }
+        if (candidates.isEmpty()) {
+          throw new IllegalStateException(
+              "Signature calculated from verified signature shares does not verify");
+        }
+        valid = verifyShares(request, candidates);
+      } catch (RuntimeException e) {
+        request.signature.completeExceptionally(e);
+        return;
+      }
+
+      synchronized (request) {
+        request.verifying = false;
+        int i = 0;
+        for (Map.Entry<BigInteger, BlsPoint> share : candidates.entrySet()) {
+          if (valid[i++]) {
+            request.verifiedShares.put(share.getKey(), share.getValue());
+          } else {
+            LOG.warn(
+                "Invalid signature share from node {} for signing request {}",
+                share.getKey(),
+                request.requestId);
+            this.metrics.recordSignatureShare(SignatureShare.INVALID);
+          }
+        }
+      }
+      // Shares may have arrived while the signature was being verified.
+    }
+  }
+
+  private boolean verify(
+      final SigningRequest request, final BlsPoint publicKey, final BlsPoint signature) {
+    // The batch verification always checks the pairings, whichever crypto provider is used.
+    boolean[] verified =
+        request.cryptoProvider.verifyBatch(
+            Collections.singletonList(publicKey),
+            Collections.singletonList(request.data),
+            Collections.singletonList(signature));
+    return verified[0];
+  }
+
+  private boolean[] verifyShares(
+      final SigningRequest request, final Map<BigInteger, BlsPoint> batch) {
+    final boolean[] valid = new boolean[batch.size()];
+    final List<Integer> indices = new ArrayList<>();
+    final List<BlsPoint> publicKeyShares = new ArrayList<>();
+    final List<BlsPoint> signatureShares = new ArrayList<>();
+    int i = 0;
+    for (Map.Entry<BigInteger, BlsPoint> share : batch.entrySet()) {
+      // Shares from nodes which did not complete key generation can not be verified.
+      BlsPoint publicKeyShare = request.credentials.getPublicKeyShare(share.getKey());
+      if (publicKeyShare != null) {
+        indices.add(i);
+        publicKeyShares.add(publicKeyShare);
+        signatureShares.add(share.getValue());
+      }
+      i++;
+    }
+    if (indices.isEmpty()) {
+      return valid;
+    }
+    this.metrics.recordSigningVerification(SigningVerification.SHARES);
+    boolean[] verified =
+        request.cryptoProvider.verifyBatch(
+            publicKeyShares, Collections.nCopies(indices.size(), request.data), signatureShares);
+    for (int j = 0; j < verified.length; j++) {
+      valid[indices.get(j)] = verified[j];
+    }
+    return valid;
+  }
+
+  /** Fail all outstanding signing requests and stop the timeout thread. */
+  public void close() {
+    for (SigningRequest request : this.pendingRequests.values()) {
+      request.signature.completeExceptionally(
+          new CancellationException("Threshold signing shutting down"));
+    }
+    this.timeoutScheduler.shutdownNow();
+  }
+
+  public int getNumberOfPendingRequests() {
+    return this.pendingRequests.size();
+  }
+
+  private void timeout(final SigningRequest request) {
+    int numShares;
+    synchronized (request) {
+      numShares = request.verifiedShares.size();
+    }
+    LOG.warn(
+        "Signing request {} timed out with {} of {} signature shares",
+        request.requestId,
+        numShares,
+        request.threshold);
+    request.signature.completeExceptionally(
+        new TimeoutException(
+            "Threshold signing request "
+                + request.requestId
+                + " timed out with "
+                + numShares
+                + " of "
+                + request.threshold
+                + " valid signature shares"));
+  }
+
+  private static final class SigningRequest {
+    final long requestId;
+    final BlsThresholdCredentials credentials;
+    final BlsCryptoProvider cryptoProvider;
+    final int threshold;
+    final byte[] data;
+    final OperationTimer.TimingContext timer;
+    final CompletableFuture<BlsPoint> signature = new CompletableFuture<>();
+    // The following are guarded by this.
+    // Verified signature shares, including this node's share, by node address.
+    final Map<BigInteger, BlsPoint> verifiedShares = new LinkedHashMap<>();
+    // Signature shares waiting to be verified, by node address.
+    final Map<BigInteger, BlsPoint> unverifiedShares = new LinkedHashMap<>();
+    boolean verifying = false;
+
+    SigningRequest(
+        final long requestId,
+        final BlsThresholdCredentials credentials,
+        final BlsCryptoProvider cryptoProvider,
+        final byte[] data,
+        final OperationTimer.TimingContext timer) {
+      this.requestId = requestId;
+      this.credentials = credentials;
+      this.cryptoProvider = cryptoProvider;
+      this.threshold = credentials.getThreshold();
+      this.data = data;
+      this.timer = timer;
+    }
+  }
+}
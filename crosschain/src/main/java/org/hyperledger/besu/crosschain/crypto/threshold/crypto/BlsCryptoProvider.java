@@ -15,6 +15,7 @@ package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.altbn128.AltBn128CryptoProvider;
 
 import java.math.BigInteger;
+import java.util.List;
 
 public interface BlsCryptoProvider {
   enum CryptoProviderTypes {
@@ -43,18 +44,48 @@ public interface BlsCryptoProvider {
 
   BigInteger getPrimeModulus();
 
+  /**
+   * Multiply the E1 base point by a scalar. The scalar is usually secret, such as a private key
+   * or a secret share, so this uses the curve implementation's own scalar multiplication rather
+   * than precomputed multiples of the base point, whose timing depends on the scalar.
+   *
+   * @param scalar Value to multiply the base point by.
+   * @return Point on the E1 curve.
+   */
   BlsPoint createPointE1(BigInteger scalar);
 
   BlsPoint hashToCurveE1(byte[] data);
 
   BlsPoint getBasePointE1();
 
+  /**
+   * Multiply the E2 base point by a scalar. The scalar is usually secret, such as a private key
+   * or a secret share, so this uses the curve implementation's own scalar multiplication rather
+   * than precomputed multiples of the base point, whose timing depends on the scalar.
+   *
+   * @param scalar Value to multiply the base point by.
+   * @return Point on the E2 curve.
+   */
   BlsPoint createPointE2(BigInteger scalar);
 
   BlsPoint hashToCurveE2(byte[] data);
 
   BlsPoint getBasePointE2();
 
+  /**
+   * Calculate the sum of points[i] * scalars[i] using multi-scalar multiplication. This is
+   * considerably faster than multiplying each point separately and adding the results.
+   *
+   * <p>The time taken depends on the scalars, so they must be public values, such as Lagrange
+   * coefficients or powers of the x value of a share. Don't use this with secret scalars.
+   *
+   * @param points Points to multiply. All of the points must be on the same curve, E1 or E2.
+   * @param scalars Values to multiply the points by. Values larger than the order of the group are
+   *     reduced.
+   * @return Sum of the products, on the same curve as the points.
+   */
+  BlsPoint multiScalarMul(BlsPoint[] points, BigInteger[] scalars);
+
   /**
    * Create a signature as a point on the E1 curve.
    *
@@ -73,4 +104,16 @@ public interface BlsCryptoProvider {
    * @return true if the signature is verified.
    */
   boolean verify(BlsPoint publicKey, byte[] data, BlsPoint signature);
+
+  /**
+   * Verify a batch of signatures. The whole batch is first checked with a single multi-pairing
+   * over a random linear combination of the signatures. If that check fails, the batch is bisected
+   * to find the signatures which do not verify.
+   *
+   * @param publicKeys Points on the E2 curve to verify each item of data with.
+   * @param data Data to be verified.
+   * @param signatures Signatures on E1 curve.
+   * @return For each signature, true if the signature is verified.
+   */
+  boolean[] verifyBatch(List<BlsPoint> publicKeys, List<byte[]> data, List<BlsPoint> signatures);
 }
@@ -12,7 +12,13 @@
  */
 package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
 
+import org.hyperledger.besu.crypto.SecureRandomProvider;
+
 import java.io.Serializable;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.google.common.base.Charsets;
 
@@ -23,6 +29,88 @@ public abstract class CryptoProviderBase implements BlsCryptoProvider, Serializa
   private static String ALGORITHM_BASE = "-a";
   private static int ALG_TYPE_FIXED_LENGTH = 5;
 
+  // Size of the random coefficients used for batch verification. A forged signature passes batch
+  // verification with probability 2^-BATCH_COEFFICIENT_BITS.
+  private static final int BATCH_COEFFICIENT_BITS = 64;
+  private static final SecureRandom BATCH_RANDOM = SecureRandomProvider.createSecureRandom();
+
+  @Override
+  public boolean[] verifyBatch(
+      final List<BlsPoint> publicKeys, final List<byte[]> data, final List<BlsPoint> signatures) {
+    int size = signatures.size();
+    if (publicKeys.size() != size || data.size() != size) {
+      throw new IllegalArgumentException(
+          "Batch verification requires the same number of public keys, data and signatures");
+    }
+    boolean[] verified = new boolean[size];
+    if (size == 0) {
+      return verified;
+    }
+
+    List<BlsPoint> hashes = new ArrayList<>(size);
+    List<BigInteger> coefficients = new ArrayList<>(size);
+    for (byte[] item : data) {
+      hashes.add(hashToCurveE1(item));
+      BigInteger coefficient;
+      do {
+        coefficient = new BigInteger(BATCH_COEFFICIENT_BITS, BATCH_RANDOM);
+      } while (coefficient.signum() == 0);
+      coefficients.add(coefficient);
+    }
+
+    verifyBatchRange(publicKeys, hashes, signatures, coefficients, 0, size, verified);
+    return verified;
+  }
+
+  private void verifyBatchRange(
+      final List<BlsPoint> publicKeys,
+      final List<BlsPoint> hashes,
+      final List<BlsPoint> signatures,
+      final List<BigInteger> coefficients,
+      final int from,
+      final int to,
+      final boolean[] verified) {
+    boolean ok =
+        verifyAggregate(
+            publicKeys.subList(from, to),
+            hashes.subList(from, to),
+            signatures.subList(from, to),
+            coefficients.subList(from, to));
+    if (ok) {
+      for (int i = from; i < to; i++) {
+        verified[i] = true;
+      }
+      return;
+    }
+    if (to - from == 1) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    verifyBatchRange(publicKeys, hashes, signatures, coefficients, from, mid, verified);
+    verifyBatchRange(publicKeys, hashes, signatures, coefficients, mid, to, verified);
+  }
+
+  /**
+   * Check the aggregate of a set of signatures using a single multi-pairing. With signatures S_i of
+   * hashed messages H_i by public keys P_i, and random coefficients r_i, check that:
+   *
+   * <p>e(-sum(r_i * S_i), G2) * product(e(r_i * H_i, P_i)) == 1
+   *
+   * <p>Implementations should combine the hashed messages of items which have the same public key
+   * so that only one Miller loop is needed per distinct public key.
+   *
+   * @param publicKeys Points on the E2 curve.
+   * @param hashes Messages hashed to points on the E1 curve.
+   * @param signatures Signatures on E1 curve.
+   * @param coefficients Random non-zero coefficients, one per signature.
+   * @return true if the aggregate signature is verified.
+   */
+  protected abstract boolean verifyAggregate(
+      List<BlsPoint> publicKeys,
+      List<BlsPoint> hashes,
+      List<BlsPoint> signatures,
+      List<BigInteger> coefficients);
+
   /**
    * Create a security domain separation parameter. See
    * https://tools.ietf.org/html/draft-irtf-cfrg-hash-to-curve-04#page-7 section 2.2.5 for a
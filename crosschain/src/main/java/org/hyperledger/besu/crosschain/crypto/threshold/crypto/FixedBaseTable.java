@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed multiples of a fixed base point, used to speed up multiplying a generator by a
+ * scalar.
+ *
+ * <p>The scalar is split into windows of {@link #WINDOW_BITS} bits. For each window i, the table
+ * holds d * 2^(WINDOW_BITS * i) * base for all non-zero digits d. A scalar multiplication is then
+ * one table look up and one addition per non-zero window, with no doublings.
+ *
+ * <p>The additions done and the table entries read depend on the digits of the scalar, so the time
+ * taken is not constant. Only use a table to multiply by public scalars, never by private keys,
+ * secret shares or polynomial coefficients.
+ *
+ * @param <P> Point representation of the curve implementation.
+ */
+public final class FixedBaseTable<P> {
+  static final int WINDOW_BITS = 4;
+  private static final int DIGITS = 1 << WINDOW_BITS;
+  private static final int DIGIT_MASK = DIGITS - 1;
+
+  private final GroupOperations<P> ops;
+  // table[window][digit] = digit * 2^(WINDOW_BITS * window) * base. Entry 0 of each row is unused.
+  private final Object[][] table;
+
+  public FixedBaseTable(final GroupOperations<P> ops, final P base) {
+    this.ops = ops;
+    int numWindows = (ops.order().bitLength() + WINDOW_BITS - 1) / WINDOW_BITS;
+    this.table = new Object[numWindows][DIGITS];
+    P windowBase = base;
+    for (int window = 0; window < numWindows; window++) {
+      Object[] row = this.table[window];
+      row[1] = windowBase;
+      for (int digit = 2; digit < DIGITS; digit++) {
+        row[digit] = ops.add(point(row[digit - 1]), windowBase);
+      }
+      // 2^WINDOW_BITS * windowBase is the next window's base.
+      windowBase = ops.doub(point(row[DIGITS / 2]));
+    }
+  }
+
+  /**
+   * Multiply the base point by a scalar.
+   *
+   * @param scalar Value to multiply by. Values outside the range 0 to order - 1 are reduced.
+   * @return scalar * base.
+   */
+  public P multiply(final BigInteger scalar) {
+    BigInteger k = scalar.mod(this.ops.order());
+    P result = this.ops.infinity();
+    byte[] bytes = k.toByteArray();
+    int window = 0;
+    // Process the big endian byte array from the least significant byte.
+    for (int i = bytes.length - 1; i >= 0 && window < this.table.length; i--) {
+      int b = bytes[i] & 0xFF;
+      for (int shift = 0; shift < 8 && window < this.table.length; shift += WINDOW_BITS) {
+        int digit = (b >>> shift) & DIGIT_MASK;
+        if (digit != 0) {
+          result = this.ops.add(result, point(this.table[window][digit]));
+        }
+        window++;
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private P point(final Object entry) {
+    return (P) entry;
+  }
+}
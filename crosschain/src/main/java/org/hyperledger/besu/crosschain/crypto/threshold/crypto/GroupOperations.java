@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Group operations on the underlying point representation of a curve, as used by the scalar
+ * multiplication algorithms in {@link FixedBaseTable} and {@link MultiScalarMultiplication}.
+ * Implementations must not modify the points passed to them.
+ *
+ * @param <P> Point representation of the curve implementation.
+ */
+public interface GroupOperations<P> {
+
+  // Order of the group. Scalars are reduced modulo the order before use.
+  BigInteger order();
+
+  // The point at infinity.
+  P infinity();
+
+  boolean isInfinity(P point);
+
+  // Return a + b.
+  P add(P a, P b);
+
+  // Return 2 * a.
+  P doub(P a);
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-scalar multiplication: calculate sum(k_i * P_i).
+ *
+ * <p>Both algorithms split the scalars into windows of c bits and work from the most significant
+ * window down, doubling the accumulator c times between windows. This shares the doublings between
+ * all of the points, rather than each point needing its own double and add chain.
+ *
+ * <p>For a small number of points, Straus' method is used: the multiples 1 to 2^c - 1 of each point
+ * are precomputed, and the multiple for each point's digit is added to the accumulator in each
+ * window. For a larger number of points, Pippenger's bucket method is used: each point is added to
+ * the bucket for its digit in the window, and the buckets are combined as sum(d * bucket_d) using a
+ * running sum. This avoids the per point precomputation.
+ *
+ * <p>Neither method takes constant time, as the additions done depend on the digits of the scalars.
+ * Only use them with public scalars.
+ */
+public final class MultiScalarMultiplication {
+
+  // Below this number of points, Straus' method needs fewer additions than Pippenger's method.
+  static final int PIPPENGER_THRESHOLD = 32;
+  private static final int STRAUS_WINDOW_BITS = 4;
+
+  private MultiScalarMultiplication() {}
+
+  /**
+   * Calculate sum(scalars[i] * points[i]).
+   *
+   * @param ops Group operations for the curve the points are on.
+   * @param points Points to multiply.
+   * @param scalars Scalars to multiply the points by. Values outside the range 0 to order - 1 are
+   *     reduced.
+   * @param <P> Point representation of the curve implementation.
+   * @return The sum of the products.
+   */
+  public static <P> P multiply(
+      final GroupOperations<P> ops, final List<P> points, final List<BigInteger> scalars) {
+    if (points.size() != scalars.size()) {
+      throw new IllegalArgumentException(
+          "Multi-scalar multiplication requires the same number of points and scalars");
+    }
+    BigInteger order = ops.order();
+    List<BigInteger> reduced = new ArrayList<>(scalars.size());
+    int maxBits = 0;
+    for (BigInteger scalar : scalars) {
+      BigInteger k = scalar.mod(order);
+      reduced.add(k);
+      maxBits = Math.max(maxBits, k.bitLength());
+    }
+    if (maxBits == 0) {
+      return ops.infinity();
+    }
+    if (points.size() < PIPPENGER_THRESHOLD) {
+      return straus(ops, points, reduced, maxBits);
+    }
+    return pippenger(ops, points, reduced, maxBits);
+  }
+
+  private static <P> P straus(
+      final GroupOperations<P> ops,
+      final List<P> points,
+      final List<BigInteger> scalars,
+      final int maxBits) {
+    int c = STRAUS_WINDOW_BITS;
+    // multiples.get(i).get(d) = d * points[i]. Entry 0 is the point at infinity.
+    List<List<P>> multiples = new ArrayList<>(points.size());
+    for (P point : points) {
+      List<P> row = new ArrayList<>(1 << c);
+      row.add(ops.infinity());
+      row.add(point);
+      for (int d = 2; d < (1 << c); d++) {
+        row.add(ops.add(row.get(d - 1), point));
+      }
+      multiples.add(row);
+    }
+
+    int numWindows = (maxBits + c - 1) / c;
+    P accumulator = ops.infinity();
+    for (int window = numWindows - 1; window >= 0; window--) {
+      for (int i = 0; i < c; i++) {
+        accumulator = doub(ops, accumulator);
+      }
+      for (int i = 0; i < points.size(); i++) {
+        int digit = digit(scalars.get(i), window * c, c);
+        if (digit != 0) {
+          accumulator = ops.add(accumulator, multiples.get(i).get(digit));
+        }
+      }
+    }
+    return accumulator;
+  }
+
+  private static <P> P pippenger(
+      final GroupOperations<P> ops,
+      final List<P> points,
+      final List<BigInteger> scalars,
+      final int maxBits) {
+    int c = windowBits(points.size());
+    int numWindows = (maxBits + c - 1) / c;
+    List<P> buckets = new ArrayList<>(1 << c);
+    P accumulator = ops.infinity();
+    for (int window = numWindows - 1; window >= 0; window--) {
+      for (int i = 0; i < c; i++) {
+        accumulator = doub(ops, accumulator);
+      }
+
+      buckets.clear();
+      for (int i = 0; i < (1 << c); i++) {
+        buckets.add(ops.infinity());
+      }
+      for (int i = 0; i < points.size(); i++) {
+        int digit = digit(scalars.get(i), window * c, c);
+        if (digit != 0) {
+          buckets.set(digit, ops.add(buckets.get(digit), points.get(i)));
+        }
+      }
+
+      // sum(d * bucket_d) = bucket_top + (bucket_top + bucket_top-1) + ...
+      P running = ops.infinity();
+      P windowSum = ops.infinity();
+      for (int digit = (1 << c) - 1; digit > 0; digit--) {
+        running = ops.add(running, buckets.get(digit));
+        windowSum = ops.add(windowSum, running);
+      }
+      accumulator = ops.add(accumulator, windowSum);
+    }
+    return accumulator;
+  }
+
+  // Window size for Pippenger's method which roughly minimises the number of additions.
+  static int windowBits(final int numPoints) {
+    return Math.min(16, 32 - Integer.numberOfLeadingZeros(numPoints) - 1);
+  }
+
+  private static int digit(final BigInteger scalar, final int fromBit, final int numBits) {
+    int digit = 0;
+    for (int i = numBits - 1; i >= 0; i--) {
+      digit = (digit << 1) | (scalar.testBit(fromBit + i) ? 1 : 0);
+    }
+    return digit;
+  }
+
+  private static <P> P doub(final GroupOperations<P> ops, final P point) {
+    return ops.isInfinity(point) ? point : ops.doub(point);
+  }
+}
@@ -15,18 +15,39 @@ package org.hyperledger.besu.crosschain.crypto.threshold.crypto.altbn128;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.CryptoProviderBase;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.FixedBaseTable;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.GroupOperations;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.MultiScalarMultiplication;
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.crypto.altbn128.AltBn128Fq12Pairer;
 import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
 import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
+import org.hyperledger.besu.crypto.altbn128.Fq12;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
 
 public class AltBn128CryptoProvider extends CryptoProviderBase
     implements BlsCryptoProvider, Serializable {
+  static final GroupOperations<AltBn128Point> E1_OPS = new E1Operations();
+  static final GroupOperations<AltBn128Fq2Point> E2_OPS = new E2Operations();
+
+  // Multiples of the generators, built the first time they are needed. They are only used for
+  // public scalars: the time a table multiplication takes depends on the scalar.
+  static final Supplier<FixedBaseTable<AltBn128Point>> E1_TABLE =
+      Suppliers.memoize(() -> new FixedBaseTable<>(E1_OPS, AltBn128Point.g1()));
+  static final Supplier<FixedBaseTable<AltBn128Fq2Point>> E2_TABLE =
+      Suppliers.memoize(() -> new FixedBaseTable<>(E2_OPS, AltBn128Fq2Point.g2()));
+
   public BlsCryptoProvider.DigestAlgorithm digestAlgorithm;
 
   public AltBn128CryptoProvider(final BlsCryptoProvider.DigestAlgorithm alg) {
@@ -99,7 +120,8 @@ public class AltBn128CryptoProvider extends CryptoProviderBase
       BigInteger x = dc1.add(ctr);
       x = x.mod(q);
 
-      p = createPointE1(x); // map to point
+      // The hash is public, so the precomputed multiples can be used.
+      p = new AltBn128PointWrapper(E1_TABLE.get().multiply(x)); // map to point
 
       // if map is valid, we are done
       if (!p.isAtInfinity()) {
@@ -164,7 +186,8 @@ public class AltBn128CryptoProvider extends CryptoProviderBase
       BigInteger x = dc1.add(ctr);
       x = x.mod(q);
 
-      p = createPointE2(x); // map to point
+      // The hash is public, so the precomputed multiples can be used.
+      p = new AltBn128Fq2PointWrapper(E2_TABLE.get().multiply(x)); // map to point
 
       // if map is valid, we are done
       if (!p.isAtInfinity()) {
@@ -181,6 +204,28 @@ public class AltBn128CryptoProvider extends CryptoProviderBase
     return (p);
   }
 
+  @Override
+  public BlsPoint multiScalarMul(final BlsPoint[] points, final BigInteger[] scalars) {
+    if (points.length == 0) {
+      throw new IllegalArgumentException("Multi-scalar multiplication requires at least one point");
+    }
+    List<BigInteger> scalarList = List.of(scalars);
+    if (points[0] instanceof AltBn128PointWrapper) {
+      List<AltBn128Point> e1Points = new ArrayList<>(points.length);
+      for (BlsPoint point : points) {
+        e1Points.add(((AltBn128PointWrapper) point).point);
+      }
+      return new AltBn128PointWrapper(
+          MultiScalarMultiplication.multiply(E1_OPS, e1Points, scalarList));
+    }
+    List<AltBn128Fq2Point> e2Points = new ArrayList<>(points.length);
+    for (BlsPoint point : points) {
+      e2Points.add(((AltBn128Fq2PointWrapper) point).point);
+    }
+    return new AltBn128Fq2PointWrapper(
+        MultiScalarMultiplication.multiply(E2_OPS, e2Points, scalarList));
+  }
+
   /**
    * Create a signature as a point on the E1 curve.
    *
@@ -231,4 +276,85 @@ public class AltBn128CryptoProvider extends CryptoProviderBase
     //
     //    return result1.equals(result2);
   }
+
+  @Override
+  protected boolean verifyAggregate(
+      final List<BlsPoint> publicKeys,
+      final List<BlsPoint> hashes,
+      final List<BlsPoint> signatures,
+      final List<BigInteger> coefficients) {
+    AltBn128Point aggregateSignature = AltBn128Point.g1().multiply(BigInteger.ZERO);
+    // Messages signed by the same public key can share a Miller loop.
+    Map<AltBn128Fq2Point, AltBn128Point> weightedHashes = new LinkedHashMap<>();
+    for (int i = 0; i < signatures.size(); i++) {
+      BigInteger coefficient = coefficients.get(i);
+      aggregateSignature =
+          aggregateSignature.add(
+              ((AltBn128PointWrapper) signatures.get(i)).point.multiply(coefficient));
+      weightedHashes.merge(
+          ((AltBn128Fq2PointWrapper) publicKeys.get(i)).point,
+          ((AltBn128PointWrapper) hashes.get(i)).point.multiply(coefficient),
+          AltBn128Point::add);
+    }
+
+    Fq12 exponent = AltBn128Fq12Pairer.pair(aggregateSignature.negate(), AltBn128Fq2Point.g2());
+    for (Map.Entry<AltBn128Fq2Point, AltBn128Point> entry : weightedHashes.entrySet()) {
+      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(entry.getValue(), entry.getKey()));
+    }
+    return AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one());
+  }
+
+  private static final class E1Operations implements GroupOperations<AltBn128Point> {
+    @Override
+    public BigInteger order() {
+      return AltBn128Fq12Pairer.CURVE_ORDER;
+    }
+
+    @Override
+    public AltBn128Point infinity() {
+      return AltBn128Point.g1().multiply(BigInteger.ZERO);
+    }
+
+    @Override
+    public boolean isInfinity(final AltBn128Point point) {
+      return point.isInfinity();
+    }
+
+    @Override
+    public AltBn128Point add(final AltBn128Point a, final AltBn128Point b) {
+      return a.add(b);
+    }
+
+    @Override
+    public AltBn128Point doub(final AltBn128Point a) {
+      return a.doub();
+    }
+  }
+
+  private static final class E2Operations implements GroupOperations<AltBn128Fq2Point> {
+    @Override
+    public BigInteger order() {
+      return AltBn128Fq12Pairer.CURVE_ORDER;
+    }
+
+    @Override
+    public AltBn128Fq2Point infinity() {
+      return AltBn128Fq2Point.g2().multiply(BigInteger.ZERO);
+    }
+
+    @Override
+    public boolean isInfinity(final AltBn128Fq2Point point) {
+      return point.isInfinity();
+    }
+
+    @Override
+    public AltBn128Fq2Point add(final AltBn128Fq2Point a, final AltBn128Fq2Point b) {
+      return a.add(b);
+    }
+
+    @Override
+    public AltBn128Fq2Point doub(final AltBn128Fq2Point a) {
+      return a.doub();
+    }
+  }
 }
@@ -15,6 +15,9 @@ package org.hyperledger.besu.crosschain.crypto.threshold.crypto.bls12381;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.CryptoProviderBase;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.FixedBaseTable;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.GroupOperations;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.MultiScalarMultiplication;
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
@@ -22,7 +25,11 @@ import org.hyperledger.besu.util.bytes.BytesValues;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
+import com.google.common.base.Suppliers;
 import org.apache.milagro.amcl.BLS381.BIG;
 import org.apache.milagro.amcl.BLS381.DBIG;
 import org.apache.milagro.amcl.BLS381.ECP;
@@ -35,6 +42,18 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
     implements BlsCryptoProvider, Serializable {
   private static final String SECURITY_DOMAIN = "BLS12";
 
+  private static final BigInteger CURVE_ORDER =
+      Bls12381Util.BigIntegerFromBIG(new BIG(ROM.CURVE_Order));
+  static final GroupOperations<ECP> E1_OPS = new E1Operations();
+  static final GroupOperations<ECP2> E2_OPS = new E2Operations();
+
+  // Multiples of the generators, built the first time they are needed. They are only used for
+  // public scalars: the time a table multiplication takes depends on the scalar.
+  static final Supplier<FixedBaseTable<ECP>> E1_TABLE =
+      Suppliers.memoize(() -> new FixedBaseTable<>(E1_OPS, ECP.generator()));
+  static final Supplier<FixedBaseTable<ECP2>> E2_TABLE =
+      Suppliers.memoize(() -> new FixedBaseTable<>(E2_OPS, ECP2.generator()));
+
   public BlsCryptoProvider.DigestAlgorithm digestAlgorithm;
 
   public Bls12381CryptoProvider(final BlsCryptoProvider.DigestAlgorithm alg) {
@@ -118,7 +137,8 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
       BigInteger x = new BigInteger(1, dc);
       x = x.mod(q);
 
-      p = createPointE1(x); // map to point
+      // The hash is public, so the precomputed multiples can be used.
+      p = new Bls12381PointWrapper(E1_TABLE.get().multiply(x)); // map to point
 
       // if map is valid, we are done
       if (!p.isAtInfinity()) {
@@ -194,7 +214,8 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
       BigInteger x = new BigInteger(1, dc);
       x = x.mod(q);
 
-      p = createPointE2(x); // map to point
+      // The hash is public, so the precomputed multiples can be used.
+      p = new Bls12381Fq2PointWrapper(E2_TABLE.get().multiply(x)); // map to point
 
       // if map is valid, we are done
       if (!p.isAtInfinity()) {
@@ -211,6 +232,28 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
     return (p);
   }
 
+  @Override
+  public BlsPoint multiScalarMul(final BlsPoint[] points, final BigInteger[] scalars) {
+    if (points.length == 0) {
+      throw new IllegalArgumentException("Multi-scalar multiplication requires at least one point");
+    }
+    List<BigInteger> scalarList = List.of(scalars);
+    if (points[0] instanceof Bls12381PointWrapper) {
+      List<ECP> e1Points = new ArrayList<>(points.length);
+      for (BlsPoint point : points) {
+        e1Points.add(((Bls12381PointWrapper) point).point);
+      }
+      return new Bls12381PointWrapper(
+          MultiScalarMultiplication.multiply(E1_OPS, e1Points, scalarList));
+    }
+    List<ECP2> e2Points = new ArrayList<>(points.length);
+    for (BlsPoint point : points) {
+      e2Points.add(((Bls12381Fq2PointWrapper) point).point);
+    }
+    return new Bls12381Fq2PointWrapper(
+        MultiScalarMultiplication.multiply(E2_OPS, e2Points, scalarList));
+  }
+
   /**
    * Create a signature as a point on the E1 curve.
    *
@@ -251,6 +294,45 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
     return result;
   }
 
+  @Override
+  protected boolean verifyAggregate(
+      final List<BlsPoint> publicKeys,
+      final List<BlsPoint> hashes,
+      final List<BlsPoint> signatures,
+      final List<BigInteger> coefficients) {
+    ECP aggregateSignature = new ECP();
+    // Messages signed by the same public key can share a Miller loop.
+    List<ECP2> distinctKeys = new ArrayList<>();
+    List<ECP> weightedHashes = new ArrayList<>();
+    for (int i = 0; i < signatures.size(); i++) {
+      BIG coefficient = Bls12381Util.BIGFromBigInteger(coefficients.get(i));
+      aggregateSignature.add(((Bls12381PointWrapper) signatures.get(i)).point.mul(coefficient));
+      ECP weightedHash = ((Bls12381PointWrapper) hashes.get(i)).point.mul(coefficient);
+
+      ECP2 publicKey = ((Bls12381Fq2PointWrapper) publicKeys.get(i)).point;
+      int index = -1;
+      for (int j = 0; j < distinctKeys.size(); j++) {
+        if (distinctKeys.get(j).equals(publicKey)) {
+          index = j;
+          break;
+        }
+      }
+      if (index == -1) {
+        distinctKeys.add(publicKey);
+        weightedHashes.add(weightedHash);
+      } else {
+        weightedHashes.get(index).add(weightedHash);
+      }
+    }
+    aggregateSignature.neg();
+
+    FP12 product = PAIR.ate(ECP2.generator(), aggregateSignature);
+    for (int j = 0; j < distinctKeys.size(); j++) {
+      product.mul(PAIR.ate(distinctKeys.get(j), weightedHashes.get(j)));
+    }
+    return PAIR.fexp(product).isunity();
+  }
+
   public boolean pair(final ECP p1, final ECP2 p2) {
 
     // TODO this is written as if in a loop, as in the code from the Pantheon precompile
@@ -262,4 +344,71 @@ public class Bls12381CryptoProvider extends CryptoProviderBase
     }
     return false;
   }
+
+  // The Milagro point operations modify the point they are called on, so operate on copies.
+  private static final class E1Operations implements GroupOperations<ECP> {
+    @Override
+    public BigInteger order() {
+      return CURVE_ORDER;
+    }
+
+    @Override
+    public ECP infinity() {
+      return new ECP();
+    }
+
+    @Override
+    public boolean isInfinity(final ECP point) {
+      return point.is_infinity();
+    }
+
+    @Override
+    public ECP add(final ECP a, final ECP b) {
+      ECP result = new ECP();
+      result.copy(a);
+      result.add(b);
+      return result;
+    }
+
+    @Override
+    public ECP doub(final ECP a) {
+      ECP result = new ECP();
+      result.copy(a);
+      result.dbl();
+      return result;
+    }
+  }
+
+  private static final class E2Operations implements GroupOperations<ECP2> {
+    @Override
+    public BigInteger order() {
+      return CURVE_ORDER;
+    }
+
+    @Override
+    public ECP2 infinity() {
+      return new ECP2();
+    }
+
+    @Override
+    public boolean isInfinity(final ECP2 point) {
+      return point.is_infinity();
+    }
+
+    @Override
+    public ECP2 add(final ECP2 a, final ECP2 b) {
+      ECP2 result = new ECP2();
+      result.copy(a);
+      result.add(b);
+      return result;
+    }
+
+    @Override
+    public ECP2 doub(final ECP2 a) {
+      ECP2 result = new ECP2();
+      result.copy(a);
+      result.dbl();
+      return result;
+    }
+  }
 }
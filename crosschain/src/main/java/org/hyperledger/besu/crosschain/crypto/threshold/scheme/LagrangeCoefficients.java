@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.scheme;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Calculates and caches the Lagrange basis polynomial values used to interpolate shares.
+ *
+ * <p>The values only depend on the x values of the shares, the x value being interpolated to and
+ * the prime. The same set of nodes will typically co-operate to produce many signatures with a
+ * key, so the values are cached, keyed by the set of x values. As the values are held by x value,
+ * the order in which the shares are supplied does not matter.
+ *
+ * <p>Calculating the values needs one modular inverse per share. Rather than calculating each
+ * inverse separately, Montgomery's trick is used to calculate all of the inverses using a single
+ * modular inverse and three multiplications per share.
+ */
+final class LagrangeCoefficients {
+  static final long MAXIMUM_CACHE_SIZE = 256;
+
+  private static final Cache<Key, Map<BigInteger, BigInteger>> CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_CACHE_SIZE).build();
+
+  private LagrangeCoefficients() {}
+
+  /**
+   * Get the Lagrange basis polynomial values for a set of x values.
+   *
+   * @param prime The prime modulus.
+   * @param x The x value being interpolated to.
+   * @param xValues The x values of the shares. All of the values must be unique.
+   * @return The basis polynomial values, indexed in the same order as xValues.
+   */
+  static BigInteger[] get(final BigInteger prime, final BigInteger x, final BigInteger[] xValues) {
+    Key key = new Key(prime, x, Set.of(xValues));
+    Map<BigInteger, BigInteger> byXValue;
+    try {
+      byXValue = CACHE.get(key, () -> calculate(prime, x, xValues));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+    BigInteger[] lagrange = new BigInteger[xValues.length];
+    for (int i = 0; i < xValues.length; i++) {
+      lagrange[i] = byXValue.get(xValues[i]);
+    }
+    return lagrange;
+  }
+
+  /**
+   * Calculate the Lagrange basis polynomial values:
+   *
+   * <pre>
+   *   Li = product for j != i (x - xj) / product for j != i (xi - xj)
+   * </pre>
+   *
+   * The numerators are calculated from prefix and suffix products of (x - xj), and the
+   * denominators are inverted in a single batch.
+   */
+  private static Map<BigInteger, BigInteger> calculate(
+      final BigInteger prime, final BigInteger x, final BigInteger[] xValues) {
+    int n = xValues.length;
+
+    // prefix[i] = (x - x0) * ... * (x - xi-1), suffix[i] = (x - xi) * ... * (x - xn-1).
+    BigInteger[] prefix = new BigInteger[n + 1];
+    BigInteger[] suffix = new BigInteger[n + 1];
+    prefix[0] = BigInteger.ONE;
+    suffix[n] = BigInteger.ONE;
+    for (int i = 0; i < n; i++) {
+      prefix[i + 1] = prefix[i].multiply(x.subtract(xValues[i])).mod(prime);
+      suffix[n - 1 - i] = suffix[n - i].multiply(x.subtract(xValues[n - 1 - i])).mod(prime);
+    }
+
+    BigInteger[] denominators = new BigInteger[n];
+    for (int i = 0; i < n; i++) {
+      BigInteger denominator = BigInteger.ONE;
+      for (int j = 0; j < n; j++) {
+        if (j != i) {
+          denominator = denominator.multiply(xValues[i].subtract(xValues[j])).mod(prime);
+        }
+      }
+      denominators[i] = denominator;
+    }
+    BigInteger[] inverses = batchInverse(denominators, prime);
+
+    Map<BigInteger, BigInteger> byXValue = new HashMap<>();
+    for (int i = 0; i < n; i++) {
+      BigInteger numerator = prefix[i].multiply(suffix[i + 1]);
+      byXValue.put(xValues[i], numerator.multiply(inverses[i]).mod(prime));
+    }
+    return byXValue;
+  }
+
+  /**
+   * Invert a set of values modulo a prime using Montgomery's trick: invert the product of all of
+   * the values, and then recover each inverse by multiplying by the prefix products.
+   *
+   * @param values Values to invert. None of the values may be zero modulo the prime.
+   * @param prime The prime modulus.
+   * @return The inverses of the values.
+   */
+  static BigInteger[] batchInverse(final BigInteger[] values, final BigInteger prime) {
+    int n = values.length;
+    BigInteger[] inverses = new BigInteger[n];
+    if (n == 0) {
+      return inverses;
+    }
+    // inverses[i] temporarily holds values[0] * ... * values[i-1].
+    BigInteger accumulator = BigInteger.ONE;
+    for (int i = 0; i < n; i++) {
+      if (values[i].mod(prime).signum() == 0) {
+        throw new RuntimeException("Can not invert zero. Are the x values unique?");
+      }
+      inverses[i] = accumulator;
+      accumulator = accumulator.multiply(values[i]).mod(prime);
+    }
+    accumulator = accumulator.modInverse(prime);
+    for (int i = n - 1; i >= 0; i--) {
+      // accumulator = 1 / (values[0] * ... * values[i]).
+      BigInteger inverse = accumulator.multiply(inverses[i]).mod(prime);
+      accumulator = accumulator.multiply(values[i]).mod(prime);
+      inverses[i] = inverse;
+    }
+    return inverses;
+  }
+
+  private static final class Key {
+    final BigInteger prime;
+    final BigInteger x;
+    final Set<BigInteger> xValues;
+
+    Key(final BigInteger prime, final BigInteger x, final Set<BigInteger> xValues) {
+      this.prime = prime;
+      this.x = x;
+      this.xValues = xValues;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return this.prime.equals(other.prime)
+          && this.x.equals(other.x)
+          && this.xValues.equals(other.xValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(prime, x, xValues);
+    }
+  }
+}
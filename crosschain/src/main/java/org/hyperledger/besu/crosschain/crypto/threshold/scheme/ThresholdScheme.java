@@ -241,17 +241,34 @@ public final class ThresholdScheme implements Serializable {
   /**
    * Calculate BLS points for a single x value based on coefficients.
    *
+   * <p>The point is calculated as a single multi-scalar multiplication:<br>
+   * y = A * x^(m-1) + B * x^(m-2) + ... + D
+   *
+   * <p>This shares the point doublings between the coefficients, rather than evaluating the
+   * polynomial using Horner's method, which needs a full scalar multiplication per coefficient.
+   *
    * @param xValue The x value to calculate the point for.
    * @param coefPublic The coefficients to the curve.
    * @return The point which corresponds to the x value.
    */
   public BlsPoint generatePublicKeyShare(final BigInteger xValue, final BlsPoint[] coefPublic) {
-    BlsPoint yValAccumulator = coefPublic[0];
-    for (int j = 1; j < coefPublic.length; j++) {
-      yValAccumulator = yValAccumulator.scalarMul(xValue);
-      yValAccumulator = yValAccumulator.add(coefPublic[j]);
+    int numCoefs = coefPublic.length;
+    if (numCoefs <= 2) {
+      // At most one scalar multiplication is needed, by the x value rather than a power of it.
+      BlsPoint yValAccumulator = coefPublic[0];
+      for (int j = 1; j < numCoefs; j++) {
+        yValAccumulator = yValAccumulator.scalarMul(xValue).add(coefPublic[j]);
+      }
+      return yValAccumulator;
     }
-    return yValAccumulator;
+    // The powers are left unreduced: the crypto provider reduces them by the order of the group.
+    BigInteger[] powers = new BigInteger[numCoefs];
+    BigInteger power = BigInteger.ONE;
+    for (int j = numCoefs - 1; j >= 0; j--) {
+      powers[j] = power;
+      power = power.multiply(xValue);
+    }
+    return this.cryptoProvider.multiScalarMul(coefPublic, powers);
   }
 
   /**
@@ -300,56 +317,20 @@ public final class ThresholdScheme implements Serializable {
    * @return The recovered secret.
    */
   public BigInteger calculateShare(final IntegerSecretShare[] shares, final BigInteger x) {
-    int numShares = shares.length;
-    if (numShares < threshold) {
-      throw new RuntimeException("not enough shares to recover the secret");
-    }
-    if (numShares != threshold) {
-      throw new RuntimeException("Why are too many shares being provided?");
-    }
+    checkNumShares(shares.length);
 
     BigInteger[] xValues = new BigInteger[shares.length];
-    BigInteger[] yValues = new BigInteger[shares.length];
     for (int i = 0; i < shares.length; i++) {
       xValues[i] = shares[i].getShareX();
-      yValues[i] = shares[i].getShareY();
-    }
-
-    // Compute the Lagrange basis polynomials L0 to Ln-1.
-    BigInteger[] lagrange = new BigInteger[numShares];
-    for (int i = 0; i < numShares; i++) {
-      BigInteger numerator = BigInteger.ONE;
-      BigInteger denominator = BigInteger.ONE;
-      for (int j = 0; j < numShares; j++) {
-        if (j != i) {
-          // Numerator = (x-x0) * (x-x1) * (x-x2) * ...
-          BigInteger temp1 = x.subtract(xValues[j]);
-          BigInteger temp2 = temp1.mod(prime);
-          BigInteger mult1 = numerator.multiply(temp2);
-          numerator = mult1.mod(prime);
-
-          // Denominator = (xi-x0) * (xi-x1) * (xi-x2) * ...
-          BigInteger temp3 = xValues[i].subtract(xValues[j]);
-          BigInteger temp4 = temp3.mod(prime);
-          BigInteger mult2 = denominator.multiply(temp4);
-          denominator = mult2.mod(prime);
-        }
-      }
-
-      // Li = numerator / denominator
-      BigInteger temp5 = denominator.modInverse(prime);
-      BigInteger temp6 = numerator.multiply(temp5);
-      lagrange[i] = temp6.mod(prime);
     }
+    BigInteger[] lagrange = LagrangeCoefficients.get(this.prime, x, xValues);
 
     // recovered = (y0 * L0) + (y1 * L1) +...
     BigInteger recovered = BigInteger.ZERO;
-    for (int i = 0; i < numShares; i++) {
-      BigInteger mult3 = yValues[i].multiply(lagrange[i]);
-      BigInteger temp7 = mult3.add(recovered);
-      recovered = temp7.mod(prime);
+    for (int i = 0; i < shares.length; i++) {
+      recovered = recovered.add(shares[i].getShareY().multiply(lagrange[i]));
     }
-    return recovered;
+    return recovered.mod(this.prime);
   }
 
   /**
@@ -362,14 +343,17 @@ public final class ThresholdScheme implements Serializable {
     return calculateShare(shares, BigInteger.ZERO);
   }
 
+  /**
+   * Regenerate a point for a certain X value, based on a set of X values and points. See {@link
+   * #calculateShare(IntegerSecretShare[], BigInteger)} for a description of the Lagrange basis
+   * polynomials. The points are combined using a single multi-scalar multiplication.
+   *
+   * @param shares Shares to use to reconstruct coefficients.
+   * @param x The x value. If x=0 then the secret is recovered, otherwise a new share is created.
+   * @return The recovered point.
+   */
   public BlsPoint calculateShare(final BlsPointSecretShare[] shares, final BigInteger x) {
-    int numShares = shares.length;
-    if (numShares < threshold) {
-      throw new RuntimeException("not enough shares to recover the secret");
-    }
-    if (numShares != threshold) {
-      throw new RuntimeException("Why are too many shares being provided?");
-    }
+    checkNumShares(shares.length);
 
     BigInteger[] xValues = new BigInteger[shares.length];
     BlsPoint[] yValues = new BlsPoint[shares.length];
@@ -377,44 +361,18 @@ public final class ThresholdScheme implements Serializable {
       xValues[i] = shares[i].getShareX();
       yValues[i] = shares[i].getShareY();
     }
+    BigInteger[] lagrange = LagrangeCoefficients.get(this.prime, x, xValues);
 
-    // Compute the Lagrange basis polynomials L0 to Ln-1.
-    BigInteger[] lagrange = new BigInteger[numShares];
-    for (int i = 0; i < numShares; i++) {
-      BigInteger numerator = BigInteger.ONE;
-      BigInteger denominator = BigInteger.ONE;
-      for (int j = 0; j < numShares; j++) {
-        if (j != i) {
-          // Numerator = (x-x0) * (x-x1) * (x-x2) * ...
-          BigInteger temp1 = x.subtract(xValues[j]);
-          BigInteger temp2 = temp1.mod(prime);
-          BigInteger mult1 = numerator.multiply(temp2);
-          numerator = mult1.mod(prime);
-
-          // Denominator = (xi-x0) * (xi-x1) * (xi-x2) * ...
-          BigInteger temp3 = xValues[i].subtract(xValues[j]);
-          BigInteger temp4 = temp3.mod(prime);
-          BigInteger mult2 = denominator.multiply(temp4);
-          denominator = mult2.mod(prime);
-        }
-      }
+    // recovered = (y0 * L0) + (y1 * L1) +...
+    return this.cryptoProvider.multiScalarMul(yValues, lagrange);
+  }
 
-      // Li = numerator / denominator
-      BigInteger temp5 = denominator.modInverse(prime);
-      BigInteger temp6 = numerator.multiply(temp5);
-      lagrange[i] = temp6.mod(prime);
+  private void checkNumShares(final int numShares) {
+    if (numShares < threshold) {
+      throw new RuntimeException("not enough shares to recover the secret");
     }
-
-    // recovered = (y0 * L0) + (y1 * L1) +...
-    BlsPoint recovered = null;
-    for (int i = 0; i < numShares; i++) {
-      BlsPoint mult3 = yValues[i].scalarMul(lagrange[i]);
-      if (recovered == null) {
-        recovered = mult3;
-      } else {
-        recovered = recovered.add(mult3);
-      }
+    if (numShares != threshold) {
+      throw new RuntimeException("Why are too many shares being provided?");
     }
-    return recovered;
   }
 }
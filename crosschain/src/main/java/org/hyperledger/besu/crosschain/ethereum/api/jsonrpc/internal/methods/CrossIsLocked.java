@@ -12,6 +12,7 @@
  */
 package org.hyperledger.besu.crosschain.ethereum.api.jsonrpc.internal.methods;
 
+import org.hyperledger.besu.crosschain.core.CrosschainController;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AbstractBlockParameterMethod;
@@ -27,8 +28,14 @@ import org.apache.logging.log4j.Logger;
 public class CrossIsLocked extends AbstractBlockParameterMethod {
   private static final Logger LOG = LogManager.getLogger();
 
-  public CrossIsLocked(final BlockchainQueries blockchain, final JsonRpcParameter parameters) {
+  private final CrosschainController crosschainController;
+
+  public CrossIsLocked(
+      final BlockchainQueries blockchain,
+      final CrosschainController crosschainController,
+      final JsonRpcParameter parameters) {
     super(blockchain, parameters);
+    this.crosschainController = crosschainController;
   }
 
   @Override
@@ -44,9 +51,11 @@ public class CrossIsLocked extends AbstractBlockParameterMethod {
   @Override
   protected String resultByBlockNumber(final JsonRpcRequest request, final long blockNumber) {
     final Address address = getParameters().required(request.getParams(), 0, Address.class);
+    // Answer from the lock state index if it is at the block, otherwise from the world state.
     String result =
-        getBlockchainQueries()
-            .isContractLocked(address, blockNumber)
+        this.crosschainController
+            .isLocked(address, blockNumber)
+            .or(() -> getBlockchainQueries().isContractLocked(address, blockNumber))
             .map(Quantity::create)
             .orElse(null);
     LOG.trace(
@@ -169,9 +169,7 @@ public class CrossProcessSubordinateView implements JsonRpcMethod {
    * @return false if all "transactions" below this point are Subordinate Views.
    */
   private boolean foundNonSubordinateViewsInHierarchy(final CrosschainTransaction transaction) {
-    transaction.resetSubordinateTransactionsAndViewsList();
-    CrosschainTransaction subordinateTx;
-    while ((subordinateTx = transaction.getNextSubordinateTransactionOrView()) != null) {
+    for (CrosschainTransaction subordinateTx : transaction.getSubordinateTransactionsAndViews()) {
       if (!subordinateTx.getType().isSubordinateView()) {
         LOG.error(getName() + " called with a non-Subordinate View");
         return true;
@@ -18,24 +18,24 @@ import org.hyperledger.besu.crosschain.core.CrosschainController;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcRequestException;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AsyncJsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
-import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
-import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /** Process either a Crosschain Originating Transaction or a Subordinate Transaction. */
-public class CrossSendRawCrosschainTransaction implements JsonRpcMethod {
+public class CrossSendRawCrosschainTransaction implements AsyncJsonRpcMethod {
 
   private static final Logger LOG = LogManager.getLogger();
 
@@ -54,10 +54,10 @@ public class CrossSendRawCrosschainTransaction implements JsonRpcMethod {
   }
 
   @Override
-  // @SuppressWarnings("ModifiedButNotUsed")
-  public JsonRpcResponse response(final JsonRpcRequest request) {
+  public CompletableFuture<JsonRpcResponse> responseAsync(final JsonRpcRequest request) {
     if (request.getParamLength() != 1) {
-      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS);
+      return CompletableFuture.completedFuture(
+          new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS));
     }
     final String rawTransaction = parameters.required(request.getParams(), 0, String.class);
 
@@ -66,19 +66,22 @@ public class CrossSendRawCrosschainTransaction implements JsonRpcMethod {
       transaction = decodeRawCrosschainTransaction(rawTransaction);
     } catch (final InvalidJsonRpcRequestException e) {
       LOG.error(e);
-      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS);
+      return CompletableFuture.completedFuture(
+          new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS));
     }
 
     LOG.info(prettyPrintJSON(transaction.toString()));
 
-    final ValidationResult<TransactionValidator.TransactionInvalidReason> validationResult =
-        this.crosschainController.addLocalTransaction(transaction);
-
-    return validationResult.either(
-        () -> new JsonRpcSuccessResponse(request.getId(), transaction.hash().toString()),
-        errorReason ->
-            new JsonRpcErrorResponse(
-                request.getId(), convertTransactionInvalidReason(errorReason)));
+    return this.crosschainController
+        .addLocalTransaction(transaction)
+        .thenApply(
+            validationResult ->
+                validationResult.<JsonRpcResponse>either(
+                    () ->
+                        new JsonRpcSuccessResponse(request.getId(), transaction.hash().toString()),
+                    errorReason ->
+                        new JsonRpcErrorResponse(
+                            request.getId(), convertTransactionInvalidReason(errorReason))));
   }
 
   private String prettyPrintJSON(final String raw) {
@@ -15,6 +15,7 @@ package org.hyperledger.besu.crosschain.ethereum.crosschain;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Account;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainExecutionContext;
 import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.core.LogSeries;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.Code;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
@@ -41,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,7 +58,8 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
       final AbstractMessageProcessor messageCallProcessor,
       final boolean clearEmptyAccounts,
       final int maxStackSize,
-      final int createContractAccountVersion) {
+      final int createContractAccountVersion,
+      final CodeCache codeCache) {
     super(
         gasCalculator,
         transactionValidator,
@@ -63,7 +67,8 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
         messageCallProcessor,
         clearEmptyAccounts,
         maxStackSize,
-        createContractAccountVersion);
+        createContractAccountVersion,
+        codeCache);
   }
 
   @Override
@@ -123,6 +128,11 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
     final WorldUpdater worldUpdater = worldState.updater();
     final MessageFrame initialFrame;
     final Deque<MessageFrame> messageFrameStack = new ArrayDeque<>();
+    // The transaction context is passed to the precompiles via the message frames. Each execution
+    // has its own context, so that it consumes the subordinate transactions and views from the
+    // first one, independently of any other execution of the same transaction.
+    final CrosschainExecutionContext crosschainContext =
+        new CrosschainExecutionContext(transaction);
     if (transaction.isContractCreation()) {
       final Address contractAddress =
           Address.contractAddress(senderAddress, sender.getNonce() - 1L);
@@ -158,6 +168,7 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
               .blockHashLookup(blockHashLookup)
               .isPersistingState(isPersistingState)
               .maxStackSize(maxStackSize)
+              .crosschainContext(Optional.of(crosschainContext))
               .build();
 
     } else {
@@ -209,7 +220,7 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(codeCache.getCode(contract))
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -217,37 +228,22 @@ public class CrosschainTransactionProcessor extends MainnetTransactionProcessor
               .blockHashLookup(blockHashLookup)
               .maxStackSize(maxStackSize)
               .isPersistingState(isPersistingState)
+              .crosschainContext(Optional.of(crosschainContext))
               .build();
     }
 
-    // If we are processing a crosschain transaction, then add the transaction context such that
-    // the precompile can access it.
-    if (transaction instanceof CrosschainTransaction) {
-      // Add to thread local storage.
-      CrosschainThreadLocalDataHolder.setCrosschainTransaction((CrosschainTransaction) transaction);
-      // Rewind to the first subordinate transaction or view for each execution.
-      ((CrosschainTransaction) transaction).resetSubordinateTransactionsAndViewsList();
-    } else {
-      CrosschainThreadLocalDataHolder.setTransaction(transaction);
-    }
-
     messageFrameStack.addFirst(initialFrame);
 
     while (!messageFrameStack.isEmpty()) {
       process(messageFrameStack.peekFirst(), operationTracer);
     }
 
-    // Clean-up steps for crosschain transactions post execution:
     // Check that all of the subordinate transactions and views were used in the transaction
     // execution.
-    // Remove the transaction context from thread local storage.
-    if (transaction instanceof CrosschainTransaction) {
-      if (((CrosschainTransaction) transaction).getNextSubordinateTransactionOrView() != null) {
-        LOG.error(
-            "Crosschain transaction ended prior to all Subordinate Transactions and Views being consumed.");
-        initialFrame.setState(MessageFrame.State.EXCEPTIONAL_HALT);
-      }
-      CrosschainThreadLocalDataHolder.removeCrosschainTransaction();
+    if (crosschainContext.hasRemainingSubordinateTransactionsOrViews()) {
+      LOG.error(
+          "Crosschain transaction ended prior to all Subordinate Transactions and Views being consumed.");
+      initialFrame.setState(MessageFrame.State.EXCEPTIONAL_HALT);
     }
 
     if (initialFrame.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
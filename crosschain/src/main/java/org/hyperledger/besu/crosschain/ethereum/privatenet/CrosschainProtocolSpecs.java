@@ -14,6 +14,7 @@ package org.hyperledger.besu.crosschain.ethereum.privatenet;
 
 import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainTransactionProcessor;
 import org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles.CrosschainPrecompiledContractRegistries;
+import org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles.LockStateLookup;
 import org.hyperledger.besu.ethereum.core.Account;
 import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSpecs;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpecBuilder;
@@ -29,6 +30,20 @@ public class CrosschainProtocolSpecs {
       final OptionalInt contractSizeLimit,
       final OptionalInt configStackSizeLimit,
       final boolean enableRevertReason) {
+    return crossChainDefinition(
+        chainId,
+        contractSizeLimit,
+        configStackSizeLimit,
+        enableRevertReason,
+        LockStateLookup.NONE);
+  }
+
+  public static ProtocolSpecBuilder<Void> crossChainDefinition(
+      final Optional<BigInteger> chainId,
+      final OptionalInt contractSizeLimit,
+      final OptionalInt configStackSizeLimit,
+      final boolean enableRevertReason,
+      final LockStateLookup lockStateLookup) {
     final int stackSizeLimit = configStackSizeLimit.orElse(MessageFrame.DEFAULT_MAX_STACK_SIZE);
     return MainnetProtocolSpecs.istanbulDefinition(
             chainId, contractSizeLimit, configStackSizeLimit, enableRevertReason)
@@ -36,7 +51,8 @@ public class CrosschainProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new CrosschainTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -44,9 +60,12 @@ public class CrosschainProtocolSpecs {
                     messageCallProcessor,
                     true,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .precompileContractRegistryBuilder(
-            CrosschainPrecompiledContractRegistries::crosschainPrecompiles)
+            precompiledContractConfiguration ->
+                CrosschainPrecompiledContractRegistries.crosschainPrecompiles(
+                    precompiledContractConfiguration, lockStateLookup))
         .name("CrossChain");
   }
 }
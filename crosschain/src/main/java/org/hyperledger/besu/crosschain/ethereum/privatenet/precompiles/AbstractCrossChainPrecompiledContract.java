@@ -12,35 +12,31 @@
  */
 package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
 
-import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainThreadLocalDataHolder;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainExecutionContext;
 import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.mainnet.AbstractPrecompiledContract;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.math.BigInteger;
+import java.util.Optional;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Base class for the Subordinate Transaction and Subordinate View precompiles. The precompiles hold
+ * no per-call state: the input is decoded into a new {@link SubordinateCallInput} for each call,
+ * and the transaction being executed is obtained from the message frame. This allows a single
+ * instance to be used by many executions at once.
+ */
 public abstract class AbstractCrossChainPrecompiledContract extends AbstractPrecompiledContract {
 
   protected static final Logger LOG = LogManager.getLogger();
 
-  private static final int uint256Length = 32;
-  private static final int functionSignatureHashLength = 4;
-
-  private BigInteger actualLength;
-  private BigInteger actualSidechainId;
-  private BigInteger actualZeroFillBeforeAddress;
-  private BigInteger actualContractAddress;
-  private BigInteger actualLengthOfFunctionAndParametersAndLength;
-  private BigInteger actualLengthOfFunctionAndParameters;
-  private BigInteger actualFunction;
-  private BigInteger actualFunctionParameters;
-
   protected AbstractCrossChainPrecompiledContract(
       final String name, final GasCalculator gasCalculator) {
     super(name, gasCalculator);
@@ -51,77 +47,53 @@ public abstract class AbstractCrossChainPrecompiledContract extends AbstractPrec
     return gasCalculator().idPrecompiledContractGasCost(input);
   } // TODO do not use the idPrecompiledContractGasCost, create a new one
 
-  protected BytesValue processSubordinateTxOrView(final BytesValue input) {
-    this.offset = 0;
-    this.actualLength = extractParameter(input, uint256Length);
-    this.actualSidechainId = extractParameter(input, uint256Length);
-    this.actualZeroFillBeforeAddress = extractParameter(input, 12);
-    this.actualContractAddress = extractParameter(input, Address.SIZE);
-    this.actualLengthOfFunctionAndParametersAndLength = extractParameter(input, uint256Length);
-    this.actualLengthOfFunctionAndParameters = extractParameter(input, uint256Length);
-    this.actualFunction = extractParameter(input, functionSignatureHashLength);
-    this.actualFunctionParameters =
-        extractParameter(
-            input, actualLengthOfFunctionAndParameters.intValue() - functionSignatureHashLength);
-    if (this.offset != input.size()) {
-      LOG.error(
-          "Actual parameter did not match required length: Needed: "
-              + this.offset
-              + ", Actual: "
-              + input.size());
+  protected BytesValue processSubordinateTxOrView(
+      final BytesValue input, final MessageFrame messageFrame) {
+    Optional<SubordinateCallInput> maybeActual = SubordinateCallInput.decode(input);
+    if (maybeActual.isEmpty()) {
+      LOG.error("Actual parameter did not match required length: Actual: " + input.size());
       return null;
     }
+    SubordinateCallInput actual = maybeActual.get();
 
     // Fetch the transaction which is the context of this pre-compile execution.
-    CrosschainTransaction tx = CrosschainThreadLocalDataHolder.getCrosschainTransaction();
-    if (tx == null) {
+    Optional<CrosschainExecutionContext> context = messageFrame.getCrosschainContext();
+    if (context.isEmpty() || context.get().getCrosschainTransaction().isEmpty()) {
       LOG.error("Attempted a crosschain transaction that had not been provided 1");
-      logActual();
+      LOG.error("actual: " + actual);
       // Indicate execution failed unexpectedly by returning null.
       return null;
     }
-    CrosschainTransaction ct = tx.getNextSubordinateTransactionOrView();
-    if (!isMatched(ct)) {
+    CrosschainTransaction ct = context.get().getNextSubordinateTransactionOrView();
+    if (ct == null || !isMatched(ct)) {
       LOG.error("Mismatched expected and actual crosschain subordinate view and transaction");
-      logActual();
+      LOG.error("actual: " + actual);
       // Indicate execution failed unexpectedly by returning null.
       return null;
     }
 
-    BigInteger expectedSidechainId =
-        (ct.getChainId().isPresent() ? ct.getChainId().get() : BigInteger.ZERO);
-    Address expectedContractAddress =
-        (ct.getTo().isPresent() ? ct.getTo().get() : Address.fromHexString("0x0"));
-    BigInteger expectedFunction = extractParameter(ct.getPayload(), 0, 4);
-    BigInteger expectedFunctionParameters =
-        extractParameter(ct.getPayload(), 4, ct.getPayload().size() - 4);
+    BigInteger expectedSidechainId = ct.getChainId().orElse(BigInteger.ZERO);
+    Address expectedContractAddress = ct.getTo().orElse(Address.ZERO);
 
     boolean fail = false;
-    if (!expectedSidechainId.equals(actualSidechainId)) {
+    if (!expectedSidechainId.equals(actual.getSidechainId())) {
       LOG.error("Expected and actual target SidechainId do not match");
       fail = true;
     }
-    BigInteger expectedAddress = new BigInteger(1, expectedContractAddress.extractArray());
-    if (!expectedAddress.equals(actualContractAddress)) {
+    if (!expectedContractAddress.equals(actual.getContractAddress())) {
       LOG.error("Expected and actual target ContractAddress do not match");
       fail = true;
     }
-    if (!expectedFunction.equals(actualFunction)) {
-      LOG.error("Expected and actual target Function do not match");
-      fail = true;
-    }
-    if (!expectedFunctionParameters.equals(actualFunctionParameters)) {
-      LOG.error("Expected and actual target Function Parameters do not match");
+    if (!actual.isFunctionCall(ct.getPayload())) {
+      LOG.error("Expected and actual target Function or Function Parameters do not match");
       fail = true;
     }
 
     if (fail) {
-      logActual();
-
+      LOG.error("actual: " + actual);
       LOG.error("expectedSidechainId: " + expectedSidechainId.toString(16));
       LOG.error("expectedContractAddress: " + expectedContractAddress.toUnprefixedString());
-      LOG.error("expectedFunction: " + expectedFunction.toString(16));
-      LOG.error("expectedlParameters: " + expectedFunctionParameters.toString(16));
+      LOG.error("expectedPayload: " + ct.getPayload());
       // Indicate execution failed unexpectedly by returning null.
       return null;
     }
@@ -135,16 +107,5 @@ public abstract class AbstractCrossChainPrecompiledContract extends AbstractPrec
     }
   }
 
-  private void logActual() {
-    LOG.error("actualLength: " + actualLength.toString(16));
-    LOG.error("actualSidechainId: " + actualSidechainId.toString(16));
-    LOG.error("actualZeroFillBeforeAddress: " + actualZeroFillBeforeAddress.toString(16));
-    LOG.error("actualContractAddress: " + actualContractAddress.toString(16));
-    LOG.error("actualLengthOfRest: " + actualLengthOfFunctionAndParametersAndLength.toString(16));
-    LOG.error("actualLengthOfFuncParam: " + actualLengthOfFunctionAndParameters.toString(16));
-    LOG.error("actualFunction: " + actualFunction.toString(16));
-    LOG.error("actualParameters: " + actualFunctionParameters.toString(16));
-  }
-
   protected abstract boolean isMatched(CrosschainTransaction ct);
 }
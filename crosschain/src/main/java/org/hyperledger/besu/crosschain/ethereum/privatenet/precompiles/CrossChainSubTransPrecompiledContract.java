@@ -27,7 +27,7 @@ public class CrossChainSubTransPrecompiledContract extends AbstractCrossChainPre
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
     LOG.info(
         "CrossChainSubTrans Precompile called with " + input.size() + "bytes:" + input.toString());
-    BytesValue outputOrError = processSubordinateTxOrView(input);
+    BytesValue outputOrError = processSubordinateTxOrView(input, messageFrame);
     if (outputOrError == null) {
       return null;
     }
@@ -27,7 +27,7 @@ public class CrossChainSubViewPrecompiledContract extends AbstractCrossChainPrec
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
     LOG.info(
         "CrossChainSubView Precompile called with " + input.size() + "bytes:" + input.toString());
-    return processSubordinateTxOrView(input);
+    return processSubordinateTxOrView(input, messageFrame);
   }
 
   @Override
@@ -12,8 +12,8 @@
  */
 package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
 
-import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainThreadLocalDataHolder;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainExecutionContext;
 import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -60,13 +60,15 @@ public class CrosschainGetInfoPrecompiledContract extends AbstractPrecompiledCon
     int option = optionBigInt.intValue();
     LOG.info("CrosschainGetInfo Precompile called with option: {}", option);
 
-    CrosschainTransaction tx = CrosschainThreadLocalDataHolder.getCrosschainTransaction();
+    Optional<CrosschainExecutionContext> context = messageFrame.getCrosschainContext();
+    CrosschainTransaction tx =
+        context.flatMap(CrosschainExecutionContext::getCrosschainTransaction).orElse(null);
     if (tx == null) {
       if (option == GET_INFO_CROSSCHAIN_TRANSACTION_TYPE) {
         return toBytes32(BigInteger.ZERO);
       } else if (option == GET_INFO_BLOCKCHAIN_ID) {
-        Transaction nonXTx = CrosschainThreadLocalDataHolder.getTransaction();
-        if (nonXTx != null) {
+        if (context.isPresent()) {
+          Transaction nonXTx = context.get().getTransaction();
           Optional<BigInteger> maybeId = nonXTx.getChainId();
           BigInteger id = maybeId.orElse(BigInteger.ZERO);
           LOG.info("CrosschainGetInfo: Get Blockchain Ida: Returning: {}", id);
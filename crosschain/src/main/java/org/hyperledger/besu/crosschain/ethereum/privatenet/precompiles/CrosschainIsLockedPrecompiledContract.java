@@ -12,7 +12,7 @@
  */
 package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
 
-import org.hyperledger.besu.crosschain.ethereum.crosschain.CrosschainThreadLocalDataHolder;
+import org.hyperledger.besu.ethereum.core.Account;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.mainnet.AbstractPrecompiledContract;
@@ -32,8 +32,12 @@ public class CrosschainIsLockedPrecompiledContract extends AbstractPrecompiledCo
   // TODO: Not sure what this should really be
   private static final long FIXED_GAS_COST = 10L;
 
-  public CrosschainIsLockedPrecompiledContract(final GasCalculator gasCalculator) {
+  private final LockStateLookup lockStateLookup;
+
+  public CrosschainIsLockedPrecompiledContract(
+      final GasCalculator gasCalculator, final LockStateLookup lockStateLookup) {
     super("CrosschainIsLocked", gasCalculator);
+    this.lockStateLookup = lockStateLookup;
   }
 
   @Override
@@ -47,7 +51,17 @@ public class CrosschainIsLockedPrecompiledContract extends AbstractPrecompiledCo
     Address addr = Address.wrap(addressBytes);
     LOG.info("CrosschainIsLocked Precompile called for address {})", addr.toString());
 
-    boolean result = CrosschainThreadLocalDataHolder.controller.isLocked(addr);
+    // Check the lock state at the head of the chain. When that isn't available, check the world
+    // state the transaction is executing against. Contracts that don't exist and non-lockable
+    // contracts are always unlocked.
+    final boolean result =
+        this.lockStateLookup
+            .isLocked(addr)
+            .orElseGet(
+                () -> {
+                  final Account contract = messageFrame.getWorldState().get(addr);
+                  return contract != null && contract.isLocked();
+                });
 
     return toBytes32(BigInteger.valueOf(result ? 1 : 0));
   }
@@ -21,6 +21,12 @@ import org.hyperledger.besu.ethereum.mainnet.PrecompiledContractConfiguration;
 public class CrosschainPrecompiledContractRegistries {
   public static PrecompileContractRegistry crosschainPrecompiles(
       final PrecompiledContractConfiguration precompiledContractConfiguration) {
+    return crosschainPrecompiles(precompiledContractConfiguration, LockStateLookup.NONE);
+  }
+
+  public static PrecompileContractRegistry crosschainPrecompiles(
+      final PrecompiledContractConfiguration precompiledContractConfiguration,
+      final LockStateLookup lockStateLookup) {
     final PrecompileContractRegistry registry =
         MainnetPrecompiledContractRegistries.istanbul(precompiledContractConfiguration);
     registry.put(
@@ -42,7 +48,7 @@ public class CrosschainPrecompiledContractRegistries {
         Address.CROSSCHAIN_ISLOCKED,
         Account.DEFAULT_VERSION,
         new CrosschainIsLockedPrecompiledContract(
-            precompiledContractConfiguration.getGasCalculator()));
+            precompiledContractConfiguration.getGasCalculator(), lockStateLookup));
     return registry;
   }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
+
+import org.hyperledger.besu.ethereum.core.Address;
+
+import java.util.Optional;
+
+/** Looks up whether a contract is locked at the head of the chain. */
+@FunctionalInterface
+public interface LockStateLookup {
+  /** Lookup with no chain head lock state, for protocol schedules built without a controller. */
+  LockStateLookup NONE = address -> Optional.empty();
+
+  /**
+   * Check whether a contract is locked at the head of the chain.
+   *
+   * @param address Address of the contract.
+   * @return true if the contract is locked, or empty if the lock state is not available.
+   */
+  Optional<Boolean> isLocked(Address address);
+}
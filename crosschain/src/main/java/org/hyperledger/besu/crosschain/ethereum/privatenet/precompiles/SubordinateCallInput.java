@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * The input of a call to the Subordinate Transaction or Subordinate View precompile. The fields
+ * are slices of the input, so decoding does not copy the input.
+ *
+ * <p>The input is laid out as follows:
+ *
+ * <pre>
+ * 32 bytes  Length
+ * 32 bytes  Sidechain Id
+ * 12 bytes  Zero fill before the address
+ * 20 bytes  Contract Address
+ * 32 bytes  Length of the function selector, the parameters, and this length field
+ * 32 bytes  Length of the function selector and the parameters
+ *  4 bytes  Function selector
+ *  n bytes  Parameters
+ * </pre>
+ */
+public final class SubordinateCallInput {
+  private static final int UINT256_LENGTH = 32;
+  private static final int FUNCTION_SELECTOR_LENGTH = 4;
+
+  private static final int SIDECHAIN_ID_OFFSET = UINT256_LENGTH;
+  private static final int ZERO_FILL_OFFSET = SIDECHAIN_ID_OFFSET + UINT256_LENGTH;
+  private static final int ADDRESS_OFFSET = ZERO_FILL_OFFSET + UINT256_LENGTH - Address.SIZE;
+  private static final int LENGTH_OF_REST_OFFSET = ADDRESS_OFFSET + Address.SIZE;
+  private static final int LENGTH_OF_FUNCTION_AND_PARAMETERS_OFFSET =
+      LENGTH_OF_REST_OFFSET + UINT256_LENGTH;
+  private static final int FUNCTION_OFFSET =
+      LENGTH_OF_FUNCTION_AND_PARAMETERS_OFFSET + UINT256_LENGTH;
+  private static final int PARAMETERS_OFFSET = FUNCTION_OFFSET + FUNCTION_SELECTOR_LENGTH;
+
+  private final BytesValue input;
+  private final BytesValue sidechainId;
+  private final Address contractAddress;
+  private final BytesValue function;
+  private final BytesValue parameters;
+
+  private SubordinateCallInput(final BytesValue input) {
+    this.input = input;
+    this.sidechainId = input.slice(SIDECHAIN_ID_OFFSET, UINT256_LENGTH);
+    this.contractAddress = Address.wrap(input.slice(ADDRESS_OFFSET, Address.SIZE));
+    this.function = input.slice(FUNCTION_OFFSET, FUNCTION_SELECTOR_LENGTH);
+    this.parameters = input.slice(PARAMETERS_OFFSET);
+  }
+
+  /**
+   * Decode the input of a call to the precompile.
+   *
+   * @param input The input of the call.
+   * @return The decoded input, or empty if the input is not the required length.
+   */
+  public static Optional<SubordinateCallInput> decode(final BytesValue input) {
+    if (input.size() < PARAMETERS_OFFSET) {
+      return Optional.empty();
+    }
+    BigInteger lengthOfFunctionAndParameters =
+        BytesValues.asUnsignedBigInteger(
+            input.slice(LENGTH_OF_FUNCTION_AND_PARAMETERS_OFFSET, UINT256_LENGTH));
+    BigInteger requiredLength =
+        lengthOfFunctionAndParameters.add(BigInteger.valueOf(FUNCTION_OFFSET));
+    if (!requiredLength.equals(BigInteger.valueOf(input.size()))) {
+      return Optional.empty();
+    }
+    return Optional.of(new SubordinateCallInput(input));
+  }
+
+  public BigInteger getSidechainId() {
+    return BytesValues.asUnsignedBigInteger(this.sidechainId);
+  }
+
+  public Address getContractAddress() {
+    return this.contractAddress;
+  }
+
+  public BytesValue getFunction() {
+    return this.function;
+  }
+
+  public BytesValue getParameters() {
+    return this.parameters;
+  }
+
+  /**
+   * Check whether a function call payload is the function call in this input.
+   *
+   * @param payload Function selector followed by the parameters.
+   * @return true if the payload matches the function and parameters of this input.
+   */
+  public boolean isFunctionCall(final BytesValue payload) {
+    return payload.size() >= FUNCTION_SELECTOR_LENGTH
+        && this.function.equals(payload.slice(0, FUNCTION_SELECTOR_LENGTH))
+        && this.parameters.equals(payload.slice(FUNCTION_SELECTOR_LENGTH));
+  }
+
+  @Override
+  public String toString() {
+    return "SubordinateCallInput{"
+        + "length="
+        + this.input.slice(0, UINT256_LENGTH)
+        + ", sidechainId="
+        + this.sidechainId
+        + ", zeroFillBeforeAddress="
+        + this.input.slice(ZERO_FILL_OFFSET, ADDRESS_OFFSET - ZERO_FILL_OFFSET)
+        + ", contractAddress="
+        + this.contractAddress
+        + ", lengthOfRest="
+        + this.input.slice(LENGTH_OF_REST_OFFSET, UINT256_LENGTH)
+        + ", lengthOfFunctionAndParameters="
+        + this.input.slice(LENGTH_OF_FUNCTION_AND_PARAMETERS_OFFSET, UINT256_LENGTH)
+        + ", function="
+        + this.function
+        + ", parameters="
+        + this.parameters
+        + '}';
+  }
+}
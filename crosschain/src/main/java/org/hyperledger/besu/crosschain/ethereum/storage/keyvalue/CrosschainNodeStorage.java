@@ -16,22 +16,28 @@ import org.hyperledger.besu.crosschain.core.CoordContractManager;
 import org.hyperledger.besu.crosschain.core.LinkedNodeManager;
 import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
 import org.hyperledger.besu.crosschain.core.keys.CrosschainKeyManager;
-import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration;
+import org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy.LegacyKeyData;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.util.bytes.BytesValue;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.primitives.Bytes;
 import org.apache.logging.log4j.LogManager;
@@ -41,24 +47,46 @@ import org.apache.logging.log4j.Logger;
  * This class persists the information of a node that is related to crosschain transactions. There
  * are 3 components to this information and a KeyValueStorage instance is used in the implementation
  * - 1) Linked nodes information - blockchainID and ipAddressAndPort, 2) Coordination Contract
- * information, 3) Key information. Zero key is used for bookkeeping the size information in the
- * KeyValueStorages
+ * information, 3) Key information.
+ *
+ * <p>Each linked node, coordination contract, key generation and set of credentials is stored as a
+ * separate RLP encoded record, keyed by a prefix identifying the type of record followed by the
+ * natural key of the record (blockchain id, coordination contract address and blockchain id, or key
+ * version). Adding, updating or removing one item only writes that item's record. As
+ * KeyValueStorage can't enumerate keys, the keys of the records of each type are held in an index
+ * record, which is loaded into memory on restore and is only rewritten when a record is added or
+ * removed.
+ *
+ * <p>Stores written using the original format, which held all records under sequential keys and
+ * Java serialized the key data, are migrated to this format when the node data is restored.
  */
 public class CrosschainNodeStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // Version 1 was the original, sequentially keyed, format.
+  static final int FORMAT_VERSION = 2;
 
-  private enum Component {
-    LINKED_NODE((byte) 1),
-    COORDINATION((byte) 2),
-    KEY((byte) 3);
+  private enum Prefix {
+    FORMAT_VERSION((byte) 0x01),
+    LINKED_NODE_INDEX((byte) 0x02),
+    COORDINATION_INDEX((byte) 0x03),
+    KEY_INDEX((byte) 0x04),
+    ACTIVE_KEY_VERSION((byte) 0x05),
+    LINKED_NODE((byte) 0x10),
+    COORDINATION((byte) 0x11),
+    KEY_GENERATION((byte) 0x12),
+    CREDENTIALS((byte) 0x13);
 
-    private final byte[] id;
+    private static final Prefix[] INDEXES = {LINKED_NODE_INDEX, COORDINATION_INDEX, KEY_INDEX};
 
-    Component(final byte... id) {
+    private final byte id;
+
+    Prefix(final byte id) {
       this.id = id;
     }
 
-    public byte[] getId() {
-      return id;
+    BytesValue key(final byte[]... naturalKey) {
+      return BytesValue.wrap(Bytes.concat(new byte[] {this.id}, Bytes.concat(naturalKey)));
     }
   }
 
@@ -68,144 +96,39 @@ public class CrosschainNodeStorage {
     return buf.array();
   }
 
-  /**
-   * This is an empty interface helps collaging all the pieces of data that needs to be persisted.
-   */
-  private static interface NodeData {}
-
-  /** This class LinkedNodeData maintains information related to linked nodes. */
-  private static class LinkedNodeData implements NodeData {
-    final BigInteger chainId;
-    final String ipAddressAndPort;
-
-    LinkedNodeData(final BigInteger chainId, final String ipAddressAndPort) {
-      this.chainId = chainId;
-      this.ipAddressAndPort = ipAddressAndPort;
-    }
-
-    static byte[] serialize(final BigInteger chainId, final String ipAddressAndPort) {
-      byte[] val =
-          Bytes.concat(
-              Component.LINKED_NODE.getId(),
-              longToByteArray(chainId.longValue()),
-              ipAddressAndPort.getBytes(Charset.defaultCharset()));
-      return val;
-    }
-
-    static LinkedNodeData deserialize(final byte[] buf) {
-      byte[] chainIdB = new byte[Long.BYTES];
-      System.arraycopy(buf, 1, chainIdB, 0, Long.BYTES);
-      BigInteger chainId = new BigInteger(chainIdB);
-      byte[] ipAddrB = new byte[buf.length - Long.BYTES - 1];
-      System.arraycopy(buf, 1 + Long.BYTES, ipAddrB, 0, ipAddrB.length);
-      return new LinkedNodeData(chainId, new String(ipAddrB, Charset.defaultCharset()));
-    }
+  private static BytesValue linkedNodeKey(final BigInteger chainId) {
+    return Prefix.LINKED_NODE.key(chainId.toByteArray());
   }
 
-  /** This class CoordinationData maintains information related to coordination contracts. */
-  private static class CoordinationData implements NodeData {
-    public final BigInteger chainId;
-    public final String ipAddressAndPort;
-    public final Address coordCtrtAddr;
-
-    CoordinationData(
-        final BigInteger chainId, final String ipAddressAndPort, final Address coordCtrtAddr) {
-      this.chainId = chainId;
-      this.ipAddressAndPort = ipAddressAndPort;
-      this.coordCtrtAddr = coordCtrtAddr;
-    }
-
-    static byte[] serialize(
-        final BigInteger chainId, final String ipAddressAndPort, final Address coordCtrtAddr) {
-      String ipAddrCtrtAddr = ipAddressAndPort + "#" + coordCtrtAddr.getHexString();
-      return Bytes.concat(
-          Component.COORDINATION.getId(),
-          longToByteArray(chainId.longValue()),
-          ipAddrCtrtAddr.getBytes(Charset.defaultCharset()));
-    }
-
-    static CoordinationData deserialize(final byte[] buf) {
-      byte[] chainIdB = new byte[Long.BYTES];
-      System.arraycopy(buf, 1, chainIdB, 0, Long.BYTES);
-      BigInteger chainId = new BigInteger(chainIdB);
-      byte[] strBuf = new byte[buf.length - Long.BYTES - 1];
-      System.arraycopy(buf, 1 + Long.BYTES, strBuf, 0, strBuf.length);
-      String[] data = new String(strBuf, Charset.defaultCharset()).split("#", 2);
-      Address coordCtrtAddr = Address.fromHexString(data[1]);
-      return new CoordinationData(chainId, data[0], coordCtrtAddr);
-    }
+  private static BytesValue coordinationKey(final BigInteger chainId, final Address coordCtrtAddr) {
+    return Prefix.COORDINATION.key(coordCtrtAddr.getByteArray(), chainId.toByteArray());
   }
 
-  /** This class KeyData maintains information related to keys of a crosschain node. */
-  private static class KeyData implements NodeData {
-    public final Map<Long, ThresholdKeyGeneration> activeKeyGenerations;
-    public final Map<Long, BlsThresholdCredentials> credentials;
-    public final long activeKeyVersion;
-
-    KeyData(
-        final Map<Long, ThresholdKeyGeneration> activeKeyGenerations,
-        final Map<Long, BlsThresholdCredentials> credentials,
-        final long activeKeyVersion) {
-      this.activeKeyGenerations = activeKeyGenerations;
-      this.credentials = credentials;
-      this.activeKeyVersion = activeKeyVersion;
-    }
-
-    static byte[] serialize(
-        final Map<Long, ThresholdKeyGeneration> activeKeyGenerations,
-        final Map<Long, BlsThresholdCredentials> credentials,
-        final long activeKeyVersion) {
-
-      try {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        ObjectOutputStream out = new ObjectOutputStream(byteOut);
-        out.writeObject(activeKeyGenerations);
-        out.writeObject(credentials);
-        byte[] maps = byteOut.toByteArray();
-
-        return Bytes.concat(Component.KEY.getId(), longToByteArray(activeKeyVersion), maps);
-      } catch (Exception e) {
-        LOG.error("Unexpected exception while serializing crosschain key data: {}", e.toString());
-        return null;
-      }
-    }
-
-    static KeyData deserialize(final byte[] buf) {
-      byte[] keyVersionB = new byte[Long.BYTES];
-      System.arraycopy(buf, 1, keyVersionB, 0, Long.BYTES);
-      long keyVersion = new BigInteger(keyVersionB).longValue();
-
-      byte[] strBuf = new byte[buf.length - Long.BYTES - 1];
-      System.arraycopy(buf, 1 + Long.BYTES, strBuf, 0, strBuf.length);
+  private static BytesValue keyGenerationKey(final long keyVersion) {
+    return Prefix.KEY_GENERATION.key(longToByteArray(keyVersion));
+  }
 
-      KeyData keyData = null;
+  private static BytesValue credentialsKey(final long keyVersion) {
+    return Prefix.CREDENTIALS.key(longToByteArray(keyVersion));
+  }
 
-      try {
-        ByteArrayInputStream byteIn = new ByteArrayInputStream(strBuf);
-        ObjectInputStream in = new ObjectInputStream(byteIn);
-        @SuppressWarnings("unchecked")
-        Map<Long, ThresholdKeyGeneration> activeKeyGenerations =
-            (Map<Long, ThresholdKeyGeneration>) in.readObject();
-        @SuppressWarnings("unchecked")
-        Map<Long, BlsThresholdCredentials> credentials =
-            (Map<Long, BlsThresholdCredentials>) in.readObject();
-        keyData = new KeyData(activeKeyGenerations, credentials, keyVersion);
-      } catch (Exception e) {
-        LOG.error("Exception while reading from the crosschain node store: {}", e);
-      }
+  private static BytesValue encodeString(final String value) {
+    return BytesValue.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
 
-      return keyData;
-    }
+  private static String decodeString(final BytesValue value) {
+    return new String(value.extractArray(), StandardCharsets.UTF_8);
   }
 
-  private static Logger LOG = LogManager.getLogger();
-  private long maxKey;
-  private Map<BigInteger, NodeData> cache;
-  private KeyValueStorage nodeStore;
+  private final KeyValueStorage nodeStore;
+  // Keys of the records of each type, by the prefix of the type's index record.
+  private final Map<Prefix, Set<BytesValue>> indexes = new EnumMap<>(Prefix.class);
 
   public CrosschainNodeStorage(final KeyValueStorage nodeStore) {
     this.nodeStore = nodeStore;
-    this.cache = new HashMap<BigInteger, NodeData>();
+    for (Prefix index : Prefix.INDEXES) {
+      this.indexes.put(index, new LinkedHashSet<>());
+    }
   }
 
   /**
@@ -221,71 +144,111 @@ public class CrosschainNodeStorage {
       final LinkedNodeManager linkedNodeManager,
       final CoordContractManager coordContractManager,
       final CrosschainKeyManager keyManager) {
+    if (this.nodeStore.containsKey(Legacy.SIZE_KEY)) {
+      Legacy.migrate(this);
+    }
+    checkFormatVersion();
 
-    OptionalLong size = getSize();
+    for (Prefix index : Prefix.INDEXES) {
+      this.indexes.put(index, readIndex(index));
+    }
 
-    // If the store is untouched, then explicitly initialize the size to 0.
-    if (size.isEmpty()) {
-      CrosschainNodeStorage.Updater updater = updater();
-      updater.putSize(0);
-      updater.commit();
-      maxKey = 0;
-      return;
+    for (BytesValue key : this.indexes.get(Prefix.LINKED_NODE_INDEX)) {
+      readRecord(key)
+          .ifPresent(
+              in -> {
+                BigInteger chainId = in.readBigIntegerScalar();
+                linkedNodeManager.addNode(chainId, decodeString(in.readBytesValue()));
+              });
+    }
+
+    for (BytesValue key : this.indexes.get(Prefix.COORDINATION_INDEX)) {
+      readRecord(key)
+          .ifPresent(
+              in -> {
+                BigInteger chainId = in.readBigIntegerScalar();
+                Address coordCtrtAddr = Address.wrap(in.readBytesValue());
+                coordContractManager.addCoordinationContract(
+                    chainId, coordCtrtAddr, decodeString(in.readBytesValue()));
+              });
     }
 
-    // If the store has some elements, then restore them.
-    long num = size.getAsLong();
-    long key = 0;
-    for (long i = 0; i < num; i++, key++) {
-      Optional<byte[]> val = nodeStore.get(longToByteArray(key + 1));
+    Map<Long, BlsThresholdCredentials> keyGenerations = new HashMap<>();
+    Map<Long, BlsThresholdCredentials> credentials = new HashMap<>();
+    for (BytesValue key : this.indexes.get(Prefix.KEY_INDEX)) {
+      Optional<byte[]> val = this.nodeStore.get(key.getArrayUnsafe());
       if (val.isEmpty()) {
+        LOG.error("Crosschain Persistence Storage corrupted. Missing key record {}", key);
         continue;
+      }
+      BlsThresholdCredentials record =
+          BlsThresholdCredentials.readCredentialsFrom(BytesValue.wrap(val.get()));
+      if (key.get(0) == Prefix.KEY_GENERATION.id) {
+        keyGenerations.put(record.getKeyVersion(), record);
       } else {
-        byte component = val.get()[0];
-        if (component == Component.LINKED_NODE.getId()[0]) {
-          LinkedNodeData nodeData = LinkedNodeData.deserialize(val.get());
-          linkedNodeManager.addNode(nodeData.chainId, nodeData.ipAddressAndPort);
-          cache.put(BigInteger.valueOf(key), nodeData);
-        } else if (component == Component.COORDINATION.getId()[0]) {
-          CoordinationData coordinationData = CoordinationData.deserialize(val.get());
-          coordContractManager.addCoordinationContract(
-              coordinationData.chainId,
-              coordinationData.coordCtrtAddr,
-              coordinationData.ipAddressAndPort);
-          cache.put(BigInteger.valueOf(key), coordinationData);
-        } else if (component == Component.KEY.getId()[0]) {
-          KeyData keyData = KeyData.deserialize(val.get());
-          keyManager.restore(
-              keyData.activeKeyGenerations, keyData.credentials, keyData.activeKeyVersion);
-          cache.put(BigInteger.valueOf(key), keyData);
-        }
+        credentials.put(record.getKeyVersion(), record);
       }
     }
-    maxKey = key;
-  }
-
-  /**
-   * Returns the size of the given store. This function relies on the assumption that key = 0,
-   * always stores the size.
-   *
-   * @return OptionalLong.empty() when the store is empty, otherwise the size.
-   */
-  private OptionalLong getSize() {
-    Optional<byte[]> numElements = nodeStore.get(longToByteArray(0));
-    if (numElements.isEmpty()) {
-      return OptionalLong.empty();
+    OptionalLong activeKeyVersion = getActiveKeyVersion();
+    if (activeKeyVersion.isPresent() || !keyGenerations.isEmpty() || !credentials.isEmpty()) {
+      keyManager.restore(keyGenerations, credentials, activeKeyVersion.orElse(0));
     }
-    ByteBuffer buf = ByteBuffer.wrap(numElements.get());
-    return OptionalLong.of(buf.getLong());
   }
 
   public Updater updater() {
     return new CrosschainNodeStorage.Updater(nodeStore.startTransaction());
   }
 
+  private void checkFormatVersion() {
+    byte[] versionKey = Prefix.FORMAT_VERSION.key().getArrayUnsafe();
+    Optional<byte[]> version = this.nodeStore.get(versionKey);
+    if (version.isEmpty()) {
+      // The store is untouched.
+      KeyValueStorageTransaction transaction = this.nodeStore.startTransaction();
+      transaction.put(versionKey, new byte[] {FORMAT_VERSION});
+      transaction.commit();
+    } else if (version.get().length != 1 || version.get()[0] != FORMAT_VERSION) {
+      throw new IllegalStateException(
+          "Unsupported crosschain node storage format version: "
+              + BytesValue.wrap(version.get()));
+    }
+  }
+
+  private Set<BytesValue> readIndex(final Prefix index) {
+    Set<BytesValue> keys = new LinkedHashSet<>();
+    this.nodeStore
+        .get(index.key().getArrayUnsafe())
+        .ifPresent(
+            val -> keys.addAll(RLP.input(BytesValue.wrap(val)).readList(RLPInput::readBytesValue)));
+    return keys;
+  }
+
+  private Optional<RLPInput> readRecord(final BytesValue key) {
+    Optional<byte[]> val = this.nodeStore.get(key.getArrayUnsafe());
+    if (val.isEmpty()) {
+      LOG.error("Crosschain Persistence Storage corrupted. Missing record {}", key);
+      return Optional.empty();
+    }
+    RLPInput in = RLP.input(BytesValue.wrap(val.get()));
+    in.enterList();
+    return Optional.of(in);
+  }
+
+  private OptionalLong getActiveKeyVersion() {
+    Optional<byte[]> val = this.nodeStore.get(Prefix.ACTIVE_KEY_VERSION.key().getArrayUnsafe());
+    if (val.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(ByteBuffer.wrap(val.get()).getLong());
+  }
+
   public class Updater {
 
     private final KeyValueStorageTransaction transaction;
+    // Records added to (true) or removed from (false) each index by this updater. The changes are
+    // applied to the indexes when the updater is committed.
+    private final Map<Prefix, Map<BytesValue, Boolean>> indexChanges =
+        new EnumMap<>(Prefix.class);
 
     public Updater(final KeyValueStorageTransaction transaction) {
       this.transaction = transaction;
@@ -298,23 +261,7 @@ public class CrosschainNodeStorage {
      * @return Updater object used for such removal.
      */
     public Updater removeLinkedNode(final BigInteger chainId) {
-      for (Map.Entry<BigInteger, NodeData> entry : CrosschainNodeStorage.this.cache.entrySet()) {
-        if (entry.getValue() instanceof LinkedNodeData) {
-          LinkedNodeData nodeData = (LinkedNodeData) entry.getValue();
-          if (nodeData.chainId.equals(chainId)) {
-            transaction.remove(longToByteArray(entry.getKey().longValue()));
-            CrosschainNodeStorage.this.cache.remove(entry.getKey());
-            if (CrosschainNodeStorage.this.maxKey == entry.getKey().longValue()) {
-              CrosschainNodeStorage.this.maxKey--;
-            }
-            break;
-          }
-        } else {
-          LOG.error(
-              "Crosschain Persistence Storage corrupted. Value does not contain LinkedNode Data");
-        }
-      }
-      return this;
+      return remove(Prefix.LINKED_NODE_INDEX, linkedNodeKey(chainId));
     }
 
     /**
@@ -326,23 +273,7 @@ public class CrosschainNodeStorage {
      * @return Updater instance used for such removal
      */
     public Updater removeCoordCtrt(final BigInteger chainId, final Address coordCtrtAddr) {
-      for (Map.Entry<BigInteger, NodeData> entry : CrosschainNodeStorage.this.cache.entrySet()) {
-        if (entry.getValue() instanceof CoordinationData) {
-          CoordinationData coordData = (CoordinationData) entry.getValue();
-          if (coordData.chainId.equals(chainId) && coordData.coordCtrtAddr.equals(coordCtrtAddr)) {
-            transaction.remove(longToByteArray(entry.getKey().longValue()));
-            CrosschainNodeStorage.this.cache.remove(entry.getKey());
-            if (CrosschainNodeStorage.this.maxKey == entry.getKey().longValue()) {
-              CrosschainNodeStorage.this.maxKey--;
-            }
-            break;
-          } else {
-            LOG.error(
-                "Crosschain Persistence Storage corrupted. Value does not contain Coordination Data");
-          }
-        }
-      }
-      return this;
+      return remove(Prefix.COORDINATION_INDEX, coordinationKey(chainId, coordCtrtAddr));
     }
 
     /**
@@ -353,20 +284,16 @@ public class CrosschainNodeStorage {
      * @return Updater instance used.
      */
     public Updater putLinkedNode(final BigInteger blockchainId, final String ipAddressAndPort) {
-      // Increment the maxKey for the purposes of bookkeeping
-      CrosschainNodeStorage.this.maxKey++;
-
-      // Add the element to the transaction
-      transaction.put(
-          longToByteArray(CrosschainNodeStorage.this.maxKey),
-          LinkedNodeData.serialize(blockchainId, ipAddressAndPort));
-
-      // Simulate the adding in the cache
-      cache.put(
-          BigInteger.valueOf(CrosschainNodeStorage.this.maxKey),
-          new LinkedNodeData(blockchainId, ipAddressAndPort));
-
-      return incrementSize();
+      return put(
+          Prefix.LINKED_NODE_INDEX,
+          linkedNodeKey(blockchainId),
+          RLP.encode(
+              out -> {
+                out.startList();
+                out.writeBigIntegerScalar(blockchainId);
+                out.writeBytesValue(encodeString(ipAddressAndPort));
+                out.endList();
+              }));
     }
 
     /**
@@ -382,74 +309,218 @@ public class CrosschainNodeStorage {
      */
     public Updater putCoordCtrt(
         final BigInteger blockchainId, final Address coordCtrtAddr, final String ipAddressAndPort) {
-      // Increment the maxKey for the purposes of bookkeeping
-      CrosschainNodeStorage.this.maxKey++;
+      return put(
+          Prefix.COORDINATION_INDEX,
+          coordinationKey(blockchainId, coordCtrtAddr),
+          RLP.encode(
+              out -> {
+                out.startList();
+                out.writeBigIntegerScalar(blockchainId);
+                out.writeBytesValue(coordCtrtAddr);
+                out.writeBytesValue(encodeString(ipAddressAndPort));
+                out.endList();
+              }));
+    }
 
-      // Add the element to the transaction
-      transaction.put(
-          longToByteArray(CrosschainNodeStorage.this.maxKey),
-          CoordinationData.serialize(blockchainId, ipAddressAndPort, coordCtrtAddr));
+    /**
+     * This method persists the state of a key generation which has not been activated yet.
+     *
+     * @param keyGeneration Snapshot of the key generation, as returned by
+     *     ThresholdKeyGeneration.getCredentials.
+     * @return Updater instance used.
+     */
+    public Updater putKeyGeneration(final BlsThresholdCredentials keyGeneration) {
+      return put(
+          Prefix.KEY_INDEX,
+          keyGenerationKey(keyGeneration.getKeyVersion()),
+          keyGeneration.getEncodedCredentials());
+    }
 
-      // Simulate the adding in the cache
-      cache.put(
-          BigInteger.valueOf(CrosschainNodeStorage.this.maxKey),
-          new CoordinationData(blockchainId, ipAddressAndPort, coordCtrtAddr));
+    /**
+     * This method removes the state of a key generation, for instance once its key has been
+     * activated.
+     *
+     * @param keyVersion Key version of the key generation.
+     * @return Updater instance used.
+     */
+    public Updater removeKeyGeneration(final long keyVersion) {
+      return remove(Prefix.KEY_INDEX, keyGenerationKey(keyVersion));
+    }
 
-      return incrementSize();
+    /**
+     * This method persists the credentials of a key which has been activated.
+     *
+     * @param credentials Credentials to persist.
+     * @return Updater instance used.
+     */
+    public Updater putCredentials(final BlsThresholdCredentials credentials) {
+      return put(
+          Prefix.KEY_INDEX,
+          credentialsKey(credentials.getKeyVersion()),
+          credentials.getEncodedCredentials());
     }
 
     /**
-     * This method persists the key information.
+     * This method persists the version of the key that is active.
      *
      * @param keyVersion Current active key version.
-     * @param activeKeyGenerations Current active key data being used.
-     * @param credentials Stored credentials.
      * @return Updater instance used.
      */
-    public Updater putKeyData(
-        final long keyVersion,
-        final Map<Long, ThresholdKeyGeneration> activeKeyGenerations,
-        final Map<Long, BlsThresholdCredentials> credentials) {
-
-      // Increment the maxKey for the purposes of bookkeeping
-      CrosschainNodeStorage.this.maxKey++;
-
-      // Add the element to the transaction
+    public Updater putActiveKeyVersion(final long keyVersion) {
       transaction.put(
-          longToByteArray(CrosschainNodeStorage.this.maxKey),
-          KeyData.serialize(activeKeyGenerations, credentials, keyVersion));
+          Prefix.ACTIVE_KEY_VERSION.key().getArrayUnsafe(), longToByteArray(keyVersion));
+      return this;
+    }
 
-      // Simulate the adding in the cache
-      cache.put(
-          BigInteger.valueOf(CrosschainNodeStorage.this.maxKey),
-          new KeyData(activeKeyGenerations, credentials, keyVersion));
+    public void commit() {
+      synchronized (CrosschainNodeStorage.this) {
+        Map<Prefix, Set<BytesValue>> changedIndexes = new EnumMap<>(Prefix.class);
+        for (Map.Entry<Prefix, Map<BytesValue, Boolean>> changes : indexChanges.entrySet()) {
+          Set<BytesValue> index = new LinkedHashSet<>(indexes.get(changes.getKey()));
+          boolean changed = false;
+          for (Map.Entry<BytesValue, Boolean> change : changes.getValue().entrySet()) {
+            changed |=
+                change.getValue() ? index.add(change.getKey()) : index.remove(change.getKey());
+          }
+          if (changed) {
+            transaction.put(
+                changes.getKey().key().getArrayUnsafe(),
+                RLP.encode(out -> out.writeList(index, (key, o) -> o.writeBytesValue(key)))
+                    .getArrayUnsafe());
+            changedIndexes.put(changes.getKey(), index);
+          }
+        }
+        transaction.commit();
+        indexes.putAll(changedIndexes);
+      }
+    }
 
-      return incrementSize();
+    public void rollback() {
+      transaction.rollback();
     }
 
-    public Updater putSize(final long size) {
-      transaction.put(longToByteArray(0), longToByteArray(size));
+    private Updater put(final Prefix index, final BytesValue key, final BytesValue value) {
+      transaction.put(key.getArrayUnsafe(), value.getArrayUnsafe());
+      indexChanges.computeIfAbsent(index, k -> new LinkedHashMap<>()).put(key, Boolean.TRUE);
       return this;
     }
 
-    public Updater incrementSize() {
-      // Update the number of elements in the keyValueStorage
-      OptionalLong size = CrosschainNodeStorage.this.getSize();
-      long numElements = 0;
-      if (!size.isEmpty()) {
-        transaction.remove(longToByteArray(0));
-        numElements = size.getAsLong();
-      }
-      this.putSize(numElements + 1);
+    private Updater remove(final Prefix index, final BytesValue key) {
+      transaction.remove(key.getArrayUnsafe());
+      indexChanges.computeIfAbsent(index, k -> new LinkedHashMap<>()).put(key, Boolean.FALSE);
       return this;
     }
+  }
 
-    public void commit() {
-      transaction.commit();
+  /**
+   * The original storage format. Records were stored under sequential eight byte keys, with key
+   * zero holding the number of records. The first byte of each record identified its type. Keys of
+   * the current format start with a non-zero prefix, and hence never collide with the original
+   * keys.
+   */
+  private static class Legacy {
+    private static final byte[] SIZE_KEY = longToByteArray(0);
+
+    private static final byte LINKED_NODE = 1;
+    private static final byte COORDINATION = 2;
+    private static final byte KEY = 3;
+
+    /**
+     * Rewrite all of the records in the current format, and remove the original records, in a
+     * single transaction. Each key record held the complete key data, so only the last one is
+     * used.
+     */
+    static void migrate(final CrosschainNodeStorage storage) {
+      long size = ByteBuffer.wrap(storage.nodeStore.get(SIZE_KEY).get()).getLong();
+      LOG.info("Migrating {} crosschain node storage records to format {}", size, FORMAT_VERSION);
+      Updater updater = storage.updater();
+      byte[] keyData = null;
+      for (long key = 1; key <= size; key++) {
+        Optional<byte[]> val = storage.nodeStore.get(longToByteArray(key));
+        updater.transaction.remove(longToByteArray(key));
+        if (val.isEmpty()) {
+          continue;
+        }
+        byte[] buf = val.get();
+        switch (buf[0]) {
+          case LINKED_NODE:
+            updater.putLinkedNode(BigInteger.valueOf(readLong(buf)), readString(buf));
+            break;
+          case COORDINATION:
+            String[] data = readString(buf).split("#", 2);
+            updater.putCoordCtrt(
+                BigInteger.valueOf(readLong(buf)), Address.fromHexString(data[1]), data[0]);
+            break;
+          case KEY:
+            keyData = buf;
+            break;
+          default:
+            LOG.error("Crosschain Persistence Storage corrupted. Unknown record type {}", buf[0]);
+        }
+      }
+      if (keyData != null) {
+        migrateKeyData(updater, keyData);
+      }
+      updater.transaction.remove(SIZE_KEY);
+      updater.transaction.put(
+          Prefix.FORMAT_VERSION.key().getArrayUnsafe(), new byte[] {FORMAT_VERSION});
+      updater.commit();
     }
 
-    public void rollback() {
-      transaction.rollback();
+    /**
+     * The key data was Java serialized, using classes which have since changed, so it is read using
+     * frozen copies of the original classes. The curve points of the original classes were
+     * transient, so the migrated credentials have no public key or public key shares; the private
+     * key share, secret shares, node sets and status are kept. Key data which can't be read, and
+     * key versions which can't be encoded in the current format, are dropped.
+     */
+    private static void migrateKeyData(final Updater updater, final byte[] buf) {
+      LegacyKeyData keyData;
+      try {
+        keyData = LegacyKeyData.read(buf, 1 + Long.BYTES, buf.length - Long.BYTES - 1);
+      } catch (IOException e) {
+        LOG.error("Unable to read crosschain key data, dropping it: {}", e.toString());
+        return;
+      }
+
+      for (BlsThresholdCredentials keyGeneration : keyData.getKeyGenerations().values()) {
+        migrateKey(updater::putKeyGeneration, keyGeneration);
+      }
+      long activeKeyVersion = readLong(buf);
+      boolean activeKeyMigrated = false;
+      for (BlsThresholdCredentials cred : keyData.getCredentials().values()) {
+        if (migrateKey(updater::putCredentials, cred)
+            && cred.getKeyVersion() == activeKeyVersion) {
+          activeKeyMigrated = true;
+        }
+      }
+      if (activeKeyMigrated) {
+        updater.putActiveKeyVersion(activeKeyVersion);
+      }
+    }
+
+    private static boolean migrateKey(
+        final Consumer<BlsThresholdCredentials> put, final BlsThresholdCredentials credentials) {
+      try {
+        put.accept(credentials);
+        return true;
+      } catch (RuntimeException e) {
+        LOG.error(
+            "Unable to migrate crosschain key version {}, dropping it: {}",
+            credentials.getKeyVersion(),
+            e.toString());
+        return false;
+      }
+    }
+
+    // All records hold a long (the chain id, or the active key version) after the record type.
+    private static long readLong(final byte[] buf) {
+      return ByteBuffer.wrap(buf, 1, Long.BYTES).getLong();
+    }
+
+    private static String readString(final byte[] buf) {
+      return new String(
+          buf, 1 + Long.BYTES, buf.length - Long.BYTES - 1, Charset.defaultCharset());
     }
   }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy;
+
+import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
+import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/** Serialized form of the original BlsThresholdCredentials. */
+class BlsThresholdCredentials extends BlsThresholdPublicKeyImpl implements LegacyKey {
+  private static final long serialVersionUID = -8232371701947782733L;
+
+  private BigInteger privateKeyShare;
+  private Map<BigInteger, BigInteger> mySecretShares;
+  private BigInteger myNodeAddress;
+  private Set<BigInteger> nodesStillActiveInKeyGeneration;
+  private Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration;
+  private KeyGenFailureToCompleteReason failureReason;
+  private KeyStatus keyStatus;
+
+  @Override
+  public org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials migrate() {
+    return new org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials.Builder()
+        .keyVersion(this.keyVersion)
+        .threshold(this.threshold)
+        .privateKeyShare(this.privateKeyShare)
+        .blockchainId(this.blockchainId)
+        .algorithm(this.algorithm)
+        .mySecretShares(this.mySecretShares)
+        .myNodeAddress(this.myNodeAddress)
+        .nodesStillActiveInKeyGeneration(this.nodesStillActiveInKeyGeneration)
+        .publicKeyShares(new HashMap<>())
+        .nodesNoLongerInKeyGeneration(this.nodesNoLongerInKeyGeneration)
+        .failureReason(this.failureReason)
+        .keyStatus(this.keyStatus)
+        .build();
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy;
+
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * Serialized form of the original BlsThresholdPublicKeyImpl. The public key was serialized without
+ * its curve point, and hence is not read.
+ */
+class BlsThresholdPublicKeyImpl implements Serializable {
+  private static final long serialVersionUID = 4310555005218270445L;
+
+  long keyVersion;
+  int threshold;
+  BigInteger blockchainId;
+  BlsThresholdCryptoSystem algorithm;
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy;
+
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+
+/** A key generation or set of credentials read from the original storage format. */
+interface LegacyKey {
+
+  /**
+   * Convert to the current credentials. The points were not serialized, so the public key and the
+   * public key shares are not available.
+   *
+   * @return The credentials, without a public key or public key shares.
+   */
+  BlsThresholdCredentials migrate();
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy;
+
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
+import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The key data of the original storage format: the key generations in progress and the
+ * credentials, each keyed by key version, Java serialized one after the other.
+ *
+ * <p>The classes which were serialized have since changed, so the key data is read using frozen
+ * copies of their serialized form, which are in this package. Java serialization matches classes by
+ * their simple names and serialVersionUIDs, so the copies have the same simple names as the
+ * original classes and have the original serialVersionUIDs. Enums are serialized by constant name,
+ * and are read as the current enums. Only the original alt_bn128 crypto provider existed, so it is
+ * the only provider which can be read.
+ *
+ * <p>The original point classes held the curve point in a transient field, so no public keys or
+ * public values were ever persisted. The migrated credentials hence don't have a public key or
+ * public key shares. All of the other information of the credentials is kept.
+ */
+public class LegacyKeyData {
+  private static final String KEYS = "org.hyperledger.besu.crosschain.core.keys.";
+  private static final String GENERATION = KEYS + "generation.";
+  private static final String CRYPTO = "org.hyperledger.besu.crosschain.crypto.threshold.crypto.";
+  private static final String ALT_BN_128 = CRYPTO + "altbn128.";
+
+  private static final Map<String, Class<?>> FROZEN_CLASSES =
+      Map.ofEntries(
+          Map.entry(KEYS + "BlsThresholdPublicKeyImpl", BlsThresholdPublicKeyImpl.class),
+          Map.entry(
+              KEYS + "BlsThresholdCredentials",
+              org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy
+                  .BlsThresholdCredentials.class),
+          Map.entry(GENERATION + "ThresholdKeyGeneration", ThresholdKeyGeneration.class),
+          Map.entry(
+              GENERATION + "ThresholdKeyGeneration$CrosschainPartSecretShareCallbackImpl",
+              ThresholdKeyGeneration.CrosschainPartSecretShareCallbackImpl.class),
+          Map.entry(
+              GENERATION + "SimulatedThresholdKeyGenContractWrapper",
+              SimulatedThresholdKeyGenContractWrapper.class),
+          Map.entry(
+              GENERATION + "SimulatedThresholdKeyGenContract",
+              SimulatedThresholdKeyGenContract.class),
+          Map.entry(
+              "org.hyperledger.besu.crosschain.p2p.SimulatedCrosschainDevP2P",
+              SimulatedCrosschainDevP2P.class),
+          Map.entry(
+              "org.hyperledger.besu.crosschain.crypto.threshold.scheme.ThresholdScheme",
+              ThresholdScheme.class),
+          Map.entry(CRYPTO + "CryptoProviderBase", CryptoProviderBase.class),
+          Map.entry("[L" + CRYPTO + "BlsPoint;", BlsPoint[].class),
+          Map.entry(ALT_BN_128 + "AltBn128CryptoProvider", AltBn128CryptoProvider.class),
+          Map.entry(ALT_BN_128 + "AltBn128PointWrapper", AltBn128PointWrapper.class),
+          Map.entry(ALT_BN_128 + "AltBn128Fq2PointWrapper", AltBn128Fq2PointWrapper.class));
+
+  // Classes which are read as themselves. Anything else is rejected rather than deserialized.
+  private static final Set<Class<?>> CURRENT_CLASSES =
+      Set.of(
+          BlsThresholdCryptoSystem.class,
+          KeyStatus.class,
+          KeyGenFailureToCompleteReason.class,
+          BlsCryptoProvider.DigestAlgorithm.class,
+          Enum.class,
+          Number.class,
+          Long.class,
+          BigInteger.class,
+          byte[].class,
+          HashMap.class,
+          HashSet.class);
+
+  private final Map<Long, BlsThresholdCredentials> keyGenerations;
+  private final Map<Long, BlsThresholdCredentials> credentials;
+
+  private LegacyKeyData(
+      final Map<Long, BlsThresholdCredentials> keyGenerations,
+      final Map<Long, BlsThresholdCredentials> credentials) {
+    this.keyGenerations = keyGenerations;
+    this.credentials = credentials;
+  }
+
+  /**
+   * Read the key data.
+   *
+   * @param buf Buffer holding the key data.
+   * @param offset Offset of the key data in the buffer.
+   * @param length Length of the key data.
+   * @return The key generations and credentials, in the current format.
+   * @throws IOException if the key data is not a valid serialization of the original classes.
+   */
+  public static LegacyKeyData read(final byte[] buf, final int offset, final int length)
+      throws IOException {
+    try (ObjectInputStream in = new FrozenClassInputStream(buf, offset, length)) {
+      Map<Long, BlsThresholdCredentials> keyGenerations = migrate(in.readObject());
+      Map<Long, BlsThresholdCredentials> credentials = migrate(in.readObject());
+      return new LegacyKeyData(keyGenerations, credentials);
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Get the credentials of the key generations which were in progress.
+   *
+   * @return The credentials of each key generation, keyed by key version.
+   */
+  public Map<Long, BlsThresholdCredentials> getKeyGenerations() {
+    return this.keyGenerations;
+  }
+
+  /**
+   * Get the credentials of the keys which had completed key generation and had been activated.
+   *
+   * @return The credentials, keyed by key version.
+   */
+  public Map<Long, BlsThresholdCredentials> getCredentials() {
+    return this.credentials;
+  }
+
+  private static Map<Long, BlsThresholdCredentials> migrate(final Object keys) {
+    Map<Long, BlsThresholdCredentials> migrated = new TreeMap<>();
+    for (Map.Entry<?, ?> key : ((Map<?, ?>) keys).entrySet()) {
+      migrated.put((Long) key.getKey(), ((LegacyKey) key.getValue()).migrate());
+    }
+    return migrated;
+  }
+
+  private static class FrozenClassInputStream extends ObjectInputStream {
+    FrozenClassInputStream(final byte[] buf, final int offset, final int length)
+        throws IOException {
+      super(new ByteArrayInputStream(buf, offset, length));
+    }
+
+    @Override
+    protected Class<?> resolveClass(final ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      Class<?> frozen = FROZEN_CLASSES.get(desc.getName());
+      if (frozen != null) {
+        return frozen;
+      }
+      Class<?> current = super.resolveClass(desc);
+      if (!CURRENT_CLASSES.contains(current)) {
+        throw new InvalidClassException(desc.getName(), "Not part of the original key data");
+      }
+      return current;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue.legacy;
+
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
+import org.hyperledger.besu.crosschain.core.keys.generation.KeyGenFailureToCompleteReason;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Serialized form of the original ThresholdKeyGeneration. Only the fields which make up the
+ * credentials of the key generation are read; the state of the simulated key generation contract,
+ * the P2P layer and the coefficients is discarded.
+ */
+class ThresholdKeyGeneration implements Serializable, LegacyKey {
+  private static final long serialVersionUID = -4327886160800984056L;
+
+  private int threshold;
+  private BigInteger blockchainId;
+  private BlsThresholdCryptoSystem algorithm;
+  private KeyStatus keyGenerationStatus;
+  private Map<BigInteger, BigInteger> mySecretShares;
+  private BigInteger myNodeAddress;
+  private HashSet<BigInteger> nodesStillActiveInKeyGeneration;
+  private Map<BigInteger, KeyGenFailureToCompleteReason> nodesNoLongerInKeyGeneration;
+  private KeyGenFailureToCompleteReason failureReason;
+  private BigInteger privateKeyShare;
+  private long keyVersionNumber;
+
+  @Override
+  public BlsThresholdCredentials migrate() {
+    return new BlsThresholdCredentials.Builder()
+        .keyVersion(this.keyVersionNumber)
+        .threshold(this.threshold)
+        .privateKeyShare(this.privateKeyShare)
+        .blockchainId(this.blockchainId)
+        .algorithm(this.algorithm)
+        .mySecretShares(this.mySecretShares)
+        .myNodeAddress(this.myNodeAddress)
+        .nodesStillActiveInKeyGeneration(this.nodesStillActiveInKeyGeneration)
+        .publicKeyShares(new HashMap<>())
+        .nodesNoLongerInKeyGeneration(this.nodesNoLongerInKeyGeneration)
+        .failureReason(this.failureReason)
+        .keyStatus(this.keyGenerationStatus)
+        .build();
+  }
+
+  /** Serialized form of the callback the key generation registered with the P2P layer. */
+  static class CrosschainPartSecretShareCallbackImpl implements Serializable {
+    private static final long serialVersionUID = 9086281178221435058L;
+  }
+}
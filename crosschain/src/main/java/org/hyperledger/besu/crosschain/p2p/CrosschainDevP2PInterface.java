@@ -52,15 +52,32 @@ public interface CrosschainDevP2PInterface {
 
   void setSecretShareCallback(final CrosschainPartSecretShareCallback implementation);
   // TODO void setSigningRequestCallback(final CrosschainPartSecretShareCallback implementation);
-  // TODO void setSigningResponseCallback(final CrosschainPartSecretShareCallback implementation);
 
   /**
-   * Send from this node to all nodes.
+   * Set the callback which is called as signature shares are received in response to message
+   * signing requests.
+   *
+   * @param implementation Callback to call when a signature share is received.
+   */
+  void setSigningResponseCallback(final CrosschainSigningResponseCallback implementation);
+
+  /**
+   * Send from this node to all nodes. Nodes respond asynchronously, via the signing response
+   * callback, with their signature share for the data.
    *
    * @param myAddress The address of this node.
+   * @param requestId Identifies the request. Responses to the request include this id.
    * @param message The message to be signed.
+   * @param dataToBeSigned The encoding of the message which is to be signed.
    */
-  void sendMessageSigningRequest(final BigInteger myAddress, final BytesValue message);
+  void sendMessageSigningRequest(
+      final BigInteger myAddress,
+      final long requestId,
+      final BytesValue message,
+      final BytesValue dataToBeSigned);
+
+  /** Stop sending and receiving messages, and release the threads used to do so. */
+  void close();
 
   //  /**
   //   * Send from this node to a specific node.
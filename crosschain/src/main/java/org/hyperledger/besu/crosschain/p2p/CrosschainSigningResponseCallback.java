@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.p2p;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+
+import java.math.BigInteger;
+
+public interface CrosschainSigningResponseCallback {
+
+  /**
+   * Called when another node responds to a message signing request with its signature share.
+   *
+   * @param requestId The id of the signing request being responded to.
+   * @param nodeAddress The address of the node which signed the message.
+   * @param signatureShare The node's signature share.
+   */
+  void storeSignatureShareCallback(long requestId, BigInteger nodeAddress, BlsPoint signatureShare);
+}
@@ -13,6 +13,7 @@
 package org.hyperledger.besu.crosschain.p2p;
 
 import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGenContractInterface;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.io.Serializable;
@@ -21,7 +22,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -90,10 +95,67 @@ public class SimulatedCrosschainDevP2P implements CrosschainDevP2PInterface, Ser
     this.cb = implementation;
   }
 
+  private transient CrosschainSigningResponseCallback signingResponseCallback;
+  private transient ScheduledExecutorService responseExecutor;
+
   @Override
-  public void sendMessageSigningRequest(final BigInteger myAddress, final BytesValue message) {
-    LOG.error("not implemented yet");
-    throw new Error("not implemented yet");
+  public void setSigningResponseCallback(final CrosschainSigningResponseCallback implementation) {
+    this.signingResponseCallback = implementation;
+  }
+
+  /**
+   * Ask each of the simulated nodes to sign the data. As with a real network, the responses are
+   * delivered asynchronously, after each node's simulated signing delay.
+   */
+  @Override
+  public void sendMessageSigningRequest(
+      final BigInteger myAddress,
+      final long requestId,
+      final BytesValue message,
+      final BytesValue dataToBeSigned) {
+    final byte[] data = dataToBeSigned.extractArray();
+    for (SimulatedOtherNode node : this.otherNodes.values()) {
+      if (node.getMyNodeAddress().equals(myAddress)) {
+        continue;
+      }
+      responseExecutor()
+          .schedule(
+              () -> {
+                try {
+                  BlsPoint signatureShare = node.signMessage(data);
+                  CrosschainSigningResponseCallback callback = this.signingResponseCallback;
+                  if (signatureShare != null && callback != null) {
+                    callback.storeSignatureShareCallback(
+                        requestId, node.getMyNodeAddress(), signatureShare);
+                  }
+                } catch (RuntimeException e) {
+                  LOG.error("Simulated node {} failed to sign: {}", node.getMyNodeAddress(), e);
+                }
+              },
+              node.getSigningDelayMs(),
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private synchronized ScheduledExecutorService responseExecutor() {
+    if (this.responseExecutor == null) {
+      this.responseExecutor =
+          Executors.newScheduledThreadPool(
+              2,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("SimulatedCrosschainP2P-%d")
+                  .build());
+    }
+    return this.responseExecutor;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (this.responseExecutor != null) {
+      this.responseExecutor.shutdownNow();
+      this.responseExecutor = null;
+    }
   }
 
   @Override
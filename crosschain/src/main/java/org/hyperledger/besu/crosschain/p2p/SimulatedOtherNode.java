@@ -25,6 +25,7 @@ import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +37,17 @@ public class SimulatedOtherNode {
 
   protected static final Logger LOG = LogManager.getLogger();
 
+  /** How the node responds to message signing requests. Used to simulate faulty nodes. */
+  public enum SigningBehaviour {
+    HONEST,
+    // Respond with a signature share created with the wrong private key share.
+    WRONG_SHARE,
+    NO_RESPONSE
+  }
+
+  private volatile SigningBehaviour signingBehaviour = SigningBehaviour.HONEST;
+  private volatile long signingDelayMs = 0;
+
   private int threshold;
   private SecureRandom prng = new PRNGSecureRandom();
 
@@ -119,14 +131,23 @@ public class SimulatedOtherNode {
     // Get all of the other node's coefficient public values.
     LOG.info("Get all of the other node's coefficient public values.");
     otherNodeCoefficients = new HashMap<BigInteger, BlsPoint[]>();
-    for (BigInteger nodeAddress : nodesStillActiveInKeyGeneration) {
+    Iterator<BigInteger> iter = nodesStillActiveInKeyGeneration.iterator();
+    while (iter.hasNext()) {
+      BigInteger nodeAddress = iter.next();
       if (!nodeAddress.equals(myNodeAddress)) {
         BlsPoint[] points = new BlsPoint[myCoeffsPublicValues.length];
         for (int j = 0; j < myCoeffsPublicValues.length; j++) {
           points[j] =
               thresholdKeyGenContract.getCoefficientPublicValue(keyVersionNumber, nodeAddress, j);
         }
-        otherNodeCoefficients.put(nodeAddress, points);
+        if (points[0] == null) {
+          // Nodes which did not post their commitments and public values drop out of the key
+          // generation, as they do for the node running the key generation.
+          LOG.info("Node {} did not post coefficient public values", nodeAddress);
+          iter.remove();
+        } else {
+          otherNodeCoefficients.put(nodeAddress, points);
+        }
       }
     }
   }
@@ -198,6 +219,38 @@ public class SimulatedOtherNode {
     return this.myNodeAddress;
   }
 
+  /**
+   * Configure how the node responds to message signing requests.
+   *
+   * @param behaviour Whether the node responds with a valid share, an invalid share, or not at all.
+   * @param delayMs Time the node takes to respond.
+   */
+  public void setSigningBehaviour(final SigningBehaviour behaviour, final long delayMs) {
+    this.signingBehaviour = behaviour;
+    this.signingDelayMs = delayMs;
+  }
+
+  public long getSigningDelayMs() {
+    return this.signingDelayMs;
+  }
+
+  /**
+   * Create this node's signature share for some data.
+   *
+   * @param data The data to be signed.
+   * @return The signature share, or null if the node does not respond.
+   */
+  public BlsPoint signMessage(final byte[] data) {
+    switch (this.signingBehaviour) {
+      case WRONG_SHARE:
+        return this.cryptoProvider.sign(this.privateKeyShare.add(BigInteger.ONE), data);
+      case NO_RESPONSE:
+        return null;
+      default:
+        return this.cryptoProvider.sign(this.privateKeyShare, data);
+    }
+  }
+
   /**
    * The public key is the sum of the constant coefficient for all curves.
    *
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BlockTimingWheelTest {
+
+  @Test
+  public void itemsExpireAtTheirDeadline() {
+    BlockTimingWheel<String> wheel = new BlockTimingWheel<>();
+    wheel.advanceTo(1000);
+    wheel.add(1001, "a");
+    wheel.add(1003, "b");
+    wheel.add(1003, "c");
+
+    assertThat(wheel.advanceTo(1000)).isEmpty();
+    assertThat(wheel.advanceTo(1001)).containsExactly("a");
+    assertThat(wheel.advanceTo(1002)).isEmpty();
+    assertThat(wheel.advanceTo(1010)).containsExactlyInAnyOrder("b", "c");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void itemsWithPastDeadlinesExpireOnNextAdvance() {
+    BlockTimingWheel<String> wheel = new BlockTimingWheel<>();
+    wheel.advanceTo(50);
+    wheel.add(10, "late");
+
+    assertThat(wheel.advanceTo(50)).containsExactly("late");
+  }
+
+  @Test
+  public void addBeforeAdvanceThrows() {
+    assertThatThrownBy(() -> new BlockTimingWheel<String>().add(1, "a"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void matchesDeadlinesAcrossLevelsAndOverflow() {
+    Random random = new Random(1);
+    BlockTimingWheel<Integer> wheel = new BlockTimingWheel<>();
+    long blockNumber = 123_456;
+    wheel.advanceTo(blockNumber);
+    Map<Integer, Long> deadlines = new HashMap<>();
+    int nextItem = 0;
+    for (int step = 0; step < 5000; step++) {
+      for (int i = random.nextInt(4); i > 0; i--) {
+        // Mostly near deadlines, with some far enough away to be held in higher levels or in the
+        // overflow list.
+        long deadline =
+            blockNumber + (random.nextInt(10) == 0 ? random.nextInt(1 << 26) : random.nextInt(300));
+        wheel.add(deadline, nextItem);
+        deadlines.put(nextItem++, deadline);
+      }
+      blockNumber += random.nextInt(50) == 0 ? random.nextInt(1 << 25) : random.nextInt(3);
+
+      List<Integer> expected = new ArrayList<>();
+      for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+        if (entry.getValue() <= blockNumber) {
+          expected.add(entry.getKey());
+        }
+      }
+      assertThat(wheel.advanceTo(blockNumber)).containsExactlyInAnyOrderElementsOf(expected);
+      expected.forEach(deadlines::remove);
+      assertThat(wheel.size()).isEqualTo(deadlines.size());
+    }
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockchainPublicKeyCacheTest {
+  private static final BigInteger COORD_CHAIN = BigInteger.valueOf(11);
+  private static final Address COORD_ADDR =
+      Address.fromHexString("0x1234567890123456789012345678901234567890");
+  private static final Address OTHER_COORD_ADDR =
+      Address.fromHexString("0x0987654321098765432109876543210987654321");
+  private static final BigInteger CHAIN = BigInteger.valueOf(22);
+
+  private final ObservableMetricsSystem metricsSystem =
+      PrometheusMetricsSystem.init(
+          MetricsConfiguration.builder()
+              .enabled(true)
+              .metricCategories(ImmutableSet.of(BesuMetricCategory.CROSSCHAIN))
+              .build());
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+
+  private StubConnectionManager connectionManager;
+  private CoordContractManager coordContractManager;
+  private BlockchainPublicKeyCache cache;
+
+  @Before
+  public void setup() {
+    this.connectionManager = new StubConnectionManager();
+    this.coordContractManager = new CoordContractManager();
+    this.coordContractManager.addCoordinationContract(COORD_CHAIN, COORD_ADDR, "127.0.0.1:8545");
+    this.cache =
+        new BlockchainPublicKeyCache(
+            this.connectionManager,
+            this.coordContractManager,
+            new CrosschainMetrics(this.metricsSystem),
+            this.ticker);
+  }
+
+  @After
+  public void close() {
+    this.cache.close();
+  }
+
+  @Test
+  public void keyIsFetchedOnMissAndThenCached() {
+    BlsPoint publicKey = this.connectionManager.register(1);
+
+    assertThat(lookup(1).map(BlsPoint::store)).contains(publicKey.store());
+    assertThat(lookup(1).map(BlsPoint::store)).contains(publicKey.store());
+
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(1);
+    assertThat(this.cache.size()).isEqualTo(1);
+    assertThat(lookups("miss")).isEqualTo(1);
+    assertThat(lookups("hit")).isEqualTo(1);
+    assertThat(lookups("negative_hit")).isEqualTo(0);
+  }
+
+  @Test
+  public void unknownKeyIsNegativelyCachedUntilItExpires() {
+    assertThat(lookup(1)).isEmpty();
+    this.connectionManager.register(1);
+    assertThat(lookup(1)).isEmpty();
+    advanceSeconds(BlockchainPublicKeyCache.NEGATIVE_ENTRY_EXPIRY_SECONDS - 1);
+    assertThat(lookup(1)).isEmpty();
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(1);
+
+    advanceSeconds(1);
+    assertThat(lookup(1)).isPresent();
+
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(2);
+    assertThat(lookups("miss")).isEqualTo(2);
+    assertThat(lookups("negative_hit")).isEqualTo(2);
+  }
+
+  @Test
+  public void prefetchCachesKnownKeys() throws InterruptedException {
+    this.connectionManager.register(1);
+
+    this.cache.prefetch(CHAIN, 1);
+    waitFor(() -> (int) this.cache.size(), 1);
+
+    assertThat(lookup(1)).isPresent();
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(1);
+    assertThat(lookups("hit")).isEqualTo(1);
+  }
+
+  @Test
+  public void prefetchDoesNotNegativelyCacheUnknownKeys() throws InterruptedException {
+    this.cache.prefetch(CHAIN, 1);
+    waitFor(() -> this.connectionManager.fetches(1), 1);
+
+    // The key may be registered just after the prefetch, so it is fetched again.
+    this.connectionManager.register(1);
+    assertThat(lookup(1)).isPresent();
+
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(2);
+    assertThat(lookups("miss")).isEqualTo(1);
+    assertThat(lookups("negative_hit")).isEqualTo(0);
+  }
+
+  @Test
+  public void coordinationContractChangeInvalidatesItsKeys() {
+    this.coordContractManager.addCoordinationContract(
+        COORD_CHAIN, OTHER_COORD_ADDR, "127.0.0.1:8546");
+    this.connectionManager.register(1);
+    assertThat(lookup(1)).isPresent();
+    assertThat(lookup(2)).isEmpty();
+    assertThat(this.cache.getPublicKey(COORD_CHAIN, OTHER_COORD_ADDR, CHAIN, 1)).isPresent();
+
+    this.coordContractManager.addCoordinationContract(COORD_CHAIN, COORD_ADDR, "127.0.0.1:8547");
+    this.connectionManager.register(2);
+
+    assertThat(lookup(1)).isPresent();
+    assertThat(lookup(2)).isPresent();
+    assertThat(this.cache.getPublicKey(COORD_CHAIN, OTHER_COORD_ADDR, CHAIN, 1)).isPresent();
+    // Both keys of the changed contract are fetched again, but not the other contract's key.
+    assertThat(this.connectionManager.fetches(1)).isEqualTo(3);
+    assertThat(this.connectionManager.fetches(2)).isEqualTo(2);
+    assertThat(this.connectionManager.lastCoordIpAddrAndPort).isEqualTo("127.0.0.1:8547");
+  }
+
+  private Optional<BlsPoint> lookup(final long keyVersion) {
+    return this.cache.getPublicKey(COORD_CHAIN, COORD_ADDR, CHAIN, keyVersion);
+  }
+
+  private void advanceSeconds(final long seconds) {
+    this.nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  private double lookups(final String result) {
+    return this.metricsSystem
+        .streamObservations(BesuMetricCategory.CROSSCHAIN)
+        .filter(
+            o ->
+                o.getMetricName().equals("public_key_cache_lookups_total")
+                    && o.getLabels().equals(singletonList(result)))
+        .map(Observation::getValue)
+        .map(Double.class::cast)
+        .findFirst()
+        .orElse(0.0);
+  }
+
+  // Prefetches are done on the cache's background thread.
+  private static void waitFor(final IntSupplier actual, final int expected)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (actual.getAsInt() < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(actual.getAsInt()).isEqualTo(expected);
+  }
+
+  /** Answers public key requests from the keys registered with it, rather than a contract. */
+  private static class StubConnectionManager extends OutwardBoundConnectionManager {
+    private static final BlsCryptoProvider CRYPTO_PROVIDER =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+
+    private final Map<Long, BigInteger> publicKeys = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> fetches = new ConcurrentHashMap<>();
+    private volatile String lastCoordIpAddrAndPort;
+
+    StubConnectionManager() {
+      super(SECP256K1.KeyPair.generate(), null);
+    }
+
+    /**
+     * Register a public key with the simulated coordination contract. The coordination contract
+     * returns keys as unsigned integers, so keys whose encoding does not survive the round trip
+     * through BigInteger are skipped.
+     */
+    BlsPoint register(final long keyVersion) {
+      for (long privateKey = keyVersion; ; privateKey += 1000) {
+        BlsPoint publicKey = CRYPTO_PROVIDER.createPointE2(BigInteger.valueOf(privateKey));
+        byte[] stored = publicKey.store();
+        BigInteger value = new BigInteger(stored);
+        if (value.signum() > 0 && Arrays.equals(value.toByteArray(), stored)) {
+          this.publicKeys.put(keyVersion, value);
+          return publicKey;
+        }
+      }
+    }
+
+    int fetches(final long keyVersion) {
+      AtomicInteger count = this.fetches.get(keyVersion);
+      return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public BigInteger getPublicKeyFromCoordContract(
+        final String coordIpAddrAndPort,
+        final BigInteger coordChainId,
+        final Address coordContractAddr,
+        final BigInteger blockchainId,
+        final long keyVersion) {
+      this.lastCoordIpAddrAndPort = coordIpAddrAndPort;
+      this.fetches.computeIfAbsent(keyVersion, k -> new AtomicInteger()).incrementAndGet();
+      return this.publicKeys.getOrDefault(keyVersion, BigInteger.ZERO);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CrosschainControllerTest {
+  private static final long MINING_TIMEOUT_MS = 100;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final MutableBlockchain blockchain =
+      InMemoryStorageProvider.createInMemoryBlockchain(this.gen.genesisBlock());
+  private final PendingTransactions pendingTransactions =
+      new PendingTransactions(1, 10, Clock.systemUTC(), new NoOpMetricsSystem());
+  private final CrosschainController controller = new CrosschainController();
+  private int initialCapacity;
+
+  @Before
+  public void setUp() {
+    this.controller.metrics = new CrosschainMetrics(new NoOpMetricsSystem());
+    this.controller.processor = new TrialExecutionSucceeds();
+    this.controller.transactionPool = new PoolWithoutValidation(this.pendingTransactions);
+    this.controller.minedTransactionWatcher =
+        new MinedTransactionWatcher(this.blockchain, this.pendingTransactions, MINING_TIMEOUT_MS);
+    this.initialCapacity = this.controller.pipelineCapacity.availablePermits();
+  }
+
+  @After
+  public void shutdown() {
+    this.controller.shutdown();
+  }
+
+  @Test
+  public void transactionWhichIsNeverMinedFailsAndReleasesItsPipelineSlot() throws Exception {
+    CrosschainTransaction transaction = subordinateTransaction();
+
+    ValidationResult<TransactionInvalidReason> result =
+        this.controller.addLocalTransaction(transaction).get(10, TimeUnit.SECONDS);
+
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.getInvalidReason())
+        .isEqualTo(TransactionInvalidReason.CROSSCHAIN_UNKNOWN_FAILURE);
+    assertThat(result.getErrorMessage()).contains("not mined");
+    assertThat(this.controller.pipelineCapacity.availablePermits())
+        .isEqualTo(this.initialCapacity);
+    assertThat(this.controller.minedTransactionWatcher.getNumberWatched()).isEqualTo(0);
+    CrosschainTransactionTracker.Status status =
+        this.controller.getTransactionStatus(transaction.hash()).get();
+    assertThat(status.getStage()).isEqualTo(CrosschainTransactionTracker.Stage.FAILED);
+    assertThat(status.getFailureReason()).contains("not mined");
+  }
+
+  @Test
+  public void transactionWhichFailsTrialExecutionReleasesItsPipelineSlot() throws Exception {
+    this.controller.processor = new TrialExecutionFails();
+    CrosschainTransaction transaction = subordinateTransaction();
+
+    ValidationResult<TransactionInvalidReason> result =
+        this.controller.addLocalTransaction(transaction).get(10, TimeUnit.SECONDS);
+
+    assertThat(result.getInvalidReason())
+        .isEqualTo(TransactionInvalidReason.CROSSCHAIN_UNKNOWN_FAILURE);
+    assertThat(this.controller.pipelineCapacity.availablePermits())
+        .isEqualTo(this.initialCapacity);
+    assertThat(this.controller.getTransactionStatus(transaction.hash()).get().getStage())
+        .isEqualTo(CrosschainTransactionTracker.Stage.FAILED);
+    assertThat(this.pendingTransactions.size()).isEqualTo(0);
+  }
+
+  private static CrosschainTransaction subordinateTransaction() {
+    return CrosschainTransaction.builderX()
+        .type(CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_TRANSACTION)
+        .chainId(BigInteger.valueOf(11))
+        .crosschainCoordinationBlockchainId(BigInteger.valueOf(12))
+        .crosschainCoordinationContractAddress(Address.fromHexString("0x12"))
+        .crosschainTransactionTimeoutBlockNumber(BigInteger.valueOf(100))
+        .crosschainTransactionId(BigInteger.ONE)
+        .originatingSidechainId(BigInteger.valueOf(13))
+        .crosschainFromSidechainId(BigInteger.valueOf(13))
+        .crosschainFromAddress(Address.fromHexString("0x13"))
+        .nonce(0)
+        .gasPrice(Wei.of(1))
+        .gasLimit(100_000)
+        .to(Address.fromHexString("0x14"))
+        .value(Wei.ZERO)
+        .payload(BytesValue.EMPTY)
+        .subordinateTransactionsAndViews(Collections.emptyList())
+        .signAndBuild(SECP256K1.KeyPair.generate());
+  }
+
+  private static class TrialExecutionSucceeds extends CrosschainProcessor {
+    TrialExecutionSucceeds() {
+      super(new LinkedNodeManager(), new CoordContractManager());
+    }
+
+    @Override
+    Optional<ValidationResult<TransactionInvalidReason>> trialExecution(
+        final CrosschainTransaction subordinateTransaction) {
+      return Optional.empty();
+    }
+  }
+
+  private static class TrialExecutionFails extends CrosschainProcessor {
+    TrialExecutionFails() {
+      super(new LinkedNodeManager(), new CoordContractManager());
+    }
+
+    @Override
+    Optional<ValidationResult<TransactionInvalidReason>> trialExecution(
+        final CrosschainTransaction subordinateTransaction) {
+      return Optional.of(
+          ValidationResult.invalid(
+              TransactionInvalidReason.CROSSCHAIN_UNKNOWN_FAILURE, "Trial execution failed"));
+    }
+  }
+
+  /** Adds transactions to the pending transactions without validating them against world state. */
+  private static class PoolWithoutValidation extends TransactionPool {
+    private final PendingTransactions pendingTransactions;
+
+    PoolWithoutValidation(final PendingTransactions pendingTransactions) {
+      super(
+          pendingTransactions,
+          null,
+          null,
+          transactions -> {},
+          null,
+          new EthContext(
+              new EthPeers("eth", Clock.systemUTC(), new NoOpMetricsSystem()), null, null),
+          null,
+          Wei.ZERO,
+          new NoOpMetricsSystem());
+      this.pendingTransactions = pendingTransactions;
+    }
+
+    @Override
+    public ValidationResult<TransactionInvalidReason> addLocalTransaction(
+        final Transaction transaction) {
+      this.pendingTransactions.addRemoteTransaction(transaction);
+      return ValidationResult.valid();
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableSet;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import org.junit.After;
+import org.junit.Test;
+
+public class CrosschainMetricsTest {
+  private final ObservableMetricsSystem metricsSystem =
+      PrometheusMetricsSystem.init(
+          MetricsConfiguration.builder()
+              .enabled(true)
+              .metricCategories(ImmutableSet.of(BesuMetricCategory.CROSSCHAIN))
+              .timersEnabled(true)
+              .build());
+  private final CrosschainMetrics metrics = new CrosschainMetrics(this.metricsSystem);
+  private Vertx vertx;
+
+  @After
+  public void closeVertx() {
+    if (this.vertx != null) {
+      this.vertx.close();
+    }
+  }
+
+  @Test
+  public void recordsTransactionPhaseTimes() {
+    this.metrics.startTimer(CrosschainMetrics.TransactionPhase.VIEWS).stopTimer();
+    this.metrics.startTimer(CrosschainMetrics.TransactionPhase.VIEWS).stopTimer();
+    this.metrics.startTimer(CrosschainMetrics.TransactionPhase.TOTAL).stopTimer();
+
+    assertThat(observation("transaction_phase_time", "views", "count")).isEqualTo(2);
+    assertThat(observation("transaction_phase_time", "total", "count")).isEqualTo(1);
+    assertThat(observation("transaction_phase_time", "mining", "count")).isEqualTo(0);
+  }
+
+  @Test
+  public void recordsSubordinateViewPhaseTimes() {
+    try (final OperationTimer.TimingContext ignored =
+        this.metrics.startTimer(CrosschainMetrics.ViewPhase.SIGNING)) {
+      assertThat(observation("subordinate_view_phase_time", "signing", "count")).isEqualTo(0);
+    }
+
+    assertThat(observation("subordinate_view_phase_time", "signing", "count")).isEqualTo(1);
+  }
+
+  @Test
+  public void recordsTransactionOutcomes() {
+    this.metrics.recordOutcome(CrosschainMetrics.Outcome.COMMITTED);
+    this.metrics.recordOutcome(CrosschainMetrics.Outcome.REJECTED);
+    this.metrics.recordOutcome(CrosschainMetrics.Outcome.REJECTED);
+
+    assertThat(observation("transaction_outcomes_total", "committed")).isEqualTo(1);
+    assertThat(observation("transaction_outcomes_total", "rejected")).isEqualTo(2);
+    assertThat(observation("transaction_outcomes_total", "ignored")).isEqualTo(0);
+  }
+
+  @Test
+  public void recordsThresholdSigning() {
+    this.metrics.startSigningTimer().stopTimer();
+    this.metrics.recordSigningOutcome(CrosschainMetrics.SigningOutcome.TIMED_OUT);
+    this.metrics.recordSignatureShare(CrosschainMetrics.SignatureShare.LATE);
+    this.metrics.recordSigningVerification(CrosschainMetrics.SigningVerification.SHARES);
+
+    assertThat(observation("threshold_signing_time", "count")).isEqualTo(1);
+    assertThat(observation("threshold_signing_requests_total", "timed_out")).isEqualTo(1);
+    assertThat(observation("threshold_signature_shares_total", "late")).isEqualTo(1);
+    assertThat(observation("threshold_signing_verifications_total", "shares")).isEqualTo(1);
+  }
+
+  @Test
+  public void recordsPublicKeyLookups() {
+    this.metrics.recordPublicKeyLookup(CrosschainMetrics.PublicKeyLookup.HIT);
+    this.metrics.recordPublicKeyLookup(CrosschainMetrics.PublicKeyLookup.NEGATIVE_HIT);
+
+    assertThat(observation("public_key_cache_lookups_total", "hit")).isEqualTo(1);
+    assertThat(observation("public_key_cache_lookups_total", "negative_hit")).isEqualTo(1);
+    assertThat(observation("public_key_cache_lookups_total", "miss")).isEqualTo(0);
+  }
+
+  @Test
+  public void connectionPoolRecordsJsonRpcRequests() throws Exception {
+    this.vertx = Vertx.vertx();
+    JsonRpcConnectionPool pool = new JsonRpcConnectionPool(this.vertx, poolConfig(), this.metrics);
+    String destination = "127.0.0.1:" + startServer();
+
+    assertThat(pool.postAsync(destination, "succeed", "").get(10, TimeUnit.SECONDS))
+        .isEqualTo("0x1");
+    assertThatThrownBy(() -> pool.postAsync(destination, "fail", "").get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class);
+    assertThatThrownBy(() -> pool.postAsync(destination, "hang", "").get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class);
+    CompletableFuture<String> cancelled = pool.postAsync(destination, "hang", "");
+    cancelled.cancel(true);
+
+    waitForObservation("json_rpc_request_time", 4, destination, "count");
+    assertThat(observation("json_rpc_requests_total", destination, "succeeded")).isEqualTo(1);
+    assertThat(observation("json_rpc_requests_total", destination, "failed")).isEqualTo(1);
+    assertThat(observation("json_rpc_requests_total", destination, "timed_out")).isEqualTo(1);
+    assertThat(observation("json_rpc_requests_total", destination, "cancelled")).isEqualTo(1);
+    pool.close();
+  }
+
+  private JsonRpcConnectionPool.Configuration poolConfig() {
+    return new JsonRpcConnectionPool.Configuration(
+        JsonRpcConnectionPool.Configuration.DEFAULT_MAX_CONNECTIONS_PER_DESTINATION,
+        false,
+        JsonRpcConnectionPool.Configuration.DEFAULT_PIPELINING_LIMIT,
+        JsonRpcConnectionPool.Configuration.DEFAULT_CONNECT_TIMEOUT_MS,
+        500,
+        JsonRpcConnectionPool.Configuration.DEFAULT_IDLE_TIMEOUT_SECONDS);
+  }
+
+  /**
+   * Start a JSON RPC server which answers the method "succeed", fails the method "fail" with an
+   * HTTP error, and never answers any other method.
+   *
+   * @return The port the server listens on.
+   */
+  private int startServer() throws Exception {
+    CompletableFuture<HttpServer> started = new CompletableFuture<>();
+    this.vertx
+        .createHttpServer()
+        .requestHandler(
+            request ->
+                request.bodyHandler(
+                    body -> {
+                      String json = body.toString();
+                      if (json.contains("\"succeed\"")) {
+                        request
+                            .response()
+                            .end("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}");
+                      } else if (json.contains("\"fail\"")) {
+                        request.response().setStatusCode(500).end();
+                      }
+                    }))
+        .listen(
+            0,
+            "127.0.0.1",
+            result -> {
+              if (result.succeeded()) {
+                started.complete(result.result());
+              } else {
+                started.completeExceptionally(result.cause());
+              }
+            });
+    return started.get(10, TimeUnit.SECONDS).actualPort();
+  }
+
+  private double observation(final String name, final String... labels) {
+    return this.metricsSystem
+        .streamObservations(BesuMetricCategory.CROSSCHAIN)
+        .filter(o -> o.getMetricName().equals(name) && o.getLabels().equals(asList(labels)))
+        .map(Observation::getValue)
+        .map(Double.class::cast)
+        .findFirst()
+        .orElse(0.0);
+  }
+
+  // Metrics are recorded when a request's future completes, which may be just after a thread
+  // waiting for the future has been woken up.
+  private void waitForObservation(final String name, final double value, final String... labels)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (observation(name, labels) < value && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(observation(name, labels)).isEqualTo(value);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+public class FanOutTest {
+
+  @Test
+  public void resultsAreInTheOrderTheRequestsWereAdded() throws Exception {
+    FanOut<String> fanOut = new FanOut<>();
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+    CompletableFuture<String> third = new CompletableFuture<>();
+    fanOut.add(first.thenApply(String::toUpperCase), first);
+    fanOut.add(second.thenApply(String::toUpperCase), second);
+    fanOut.add(third.thenApply(String::toUpperCase), third);
+    CompletableFuture<List<String>> all = fanOut.whenAll();
+
+    third.complete("c");
+    second.complete("b");
+    assertThat(all).isNotDone();
+    first.complete("a");
+
+    assertThat(all.get()).containsExactly("A", "B", "C");
+  }
+
+  @Test
+  public void emptyGroupCompletesImmediately() throws Exception {
+    assertThat(new FanOut<String>().whenAll().get()).isEmpty();
+  }
+
+  @Test
+  public void firstFailureFailsTheGroupAndCancelsTheSources() {
+    FanOut<String> fanOut = new FanOut<>();
+    CompletableFuture<String> failing = new CompletableFuture<>();
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    CompletableFuture<String> pendingResult = pending.thenApply(String::toUpperCase);
+    fanOut.add(failing.thenApply(String::toUpperCase), failing);
+    fanOut.add(pendingResult, pending);
+    CompletableFuture<List<String>> all = fanOut.whenAll();
+
+    IllegalStateException failure = new IllegalStateException("subordinate failed");
+    failing.completeExceptionally(failure);
+
+    assertThatThrownBy(all::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+    assertThat(pending).isCancelled();
+    assertThat(pendingResult).isCancelled();
+  }
+
+  @Test
+  public void failureBeforeWaitingIsReported() {
+    FanOut<String> fanOut = new FanOut<>();
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException("subordinate failed"));
+    fanOut.add(failed, failed);
+    CompletableFuture<String> later = new CompletableFuture<>();
+    fanOut.add(later, later);
+
+    assertThat(fanOut.whenAll()).isCompletedExceptionally();
+    assertThat(later).isCancelled();
+  }
+
+  @Test
+  public void cancelAllCancelsTheSourcesOfDerivedResults() {
+    FanOut<String> fanOut = new FanOut<>();
+    CompletableFuture<String> source = new CompletableFuture<>();
+    CompletableFuture<String> derived = source.thenApply(String::toUpperCase);
+    CompletableFuture<String> done = CompletableFuture.completedFuture("done");
+    fanOut.add(derived, source);
+    fanOut.add(done, done);
+
+    fanOut.cancelAll();
+
+    assertThat(source).isCancelled();
+    assertThat(derived).isCancelled();
+    assertThat(done).isCompletedWithValue("done");
+  }
+
+  @Test
+  public void cancellingTheGroupCancelsTheSources() {
+    FanOut<String> fanOut = new FanOut<>();
+    CompletableFuture<String> source = new CompletableFuture<>();
+    fanOut.add(source.thenApply(String::toUpperCase), source);
+
+    fanOut.whenAll().cancel(true);
+
+    assertThat(source).isCancelled();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class JsonRpcCodecTest {
+
+  @Test
+  public void encodeRequest() {
+    byte[] encoded = JsonRpcCodec.encodeRequest(7, "cross_processSubordinateView", "0x0102");
+    assertThat(new String(encoded, UTF_8))
+        .isEqualTo(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"cross_processSubordinateView\","
+                + "\"params\":[\"0x0102\"],\"id\":7}");
+  }
+
+  @Test
+  public void decodeResultSkipsOtherFields() {
+    String response =
+        "{\"jsonrpc\":\"2.0\",\"id\":{\"nested\":[1,2,3]},\"result\":\"0xabcdef\",\"extra\":[{}]}";
+    assertThat(JsonRpcCodec.decodeResult(response.getBytes(UTF_8))).isEqualTo("0xabcdef");
+  }
+
+  @Test
+  public void decodeErrorThrows() {
+    String response =
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32000,\"message\":\"Bad view\"}}";
+    assertThatThrownBy(() -> JsonRpcCodec.decodeResult(response.getBytes(UTF_8)))
+        .isInstanceOf(JsonRpcCodec.JsonRpcErrorException.class)
+        .hasMessage("Bad view");
+  }
+
+  @Test
+  public void decodeMissingResultThrows() {
+    String response = "{\"jsonrpc\":\"2.0\",\"id\":1}";
+    assertThatThrownBy(() -> JsonRpcCodec.decodeResult(response.getBytes(UTF_8)))
+        .isInstanceOf(JsonRpcCodec.JsonRpcErrorException.class);
+  }
+
+  @Test
+  public void encodeBatchRequest() {
+    byte[] encoded =
+        JsonRpcCodec.encodeBatchRequest(
+            3,
+            List.of(
+                new JsonRpcCodec.Call("eth_call", List.of(Map.of("to", "0x01"), "latest")),
+                new JsonRpcCodec.Call("eth_blockNumber", List.of())));
+    assertThat(new String(encoded, UTF_8))
+        .isEqualTo(
+            "[{\"jsonrpc\":\"2.0\",\"method\":\"eth_call\","
+                + "\"params\":[{\"to\":\"0x01\"},\"latest\"],\"id\":3},"
+                + "{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\",\"params\":[],\"id\":4}]");
+  }
+
+  @Test
+  public void decodeBatchResultsMatchesResponsesToCalls() {
+    String response =
+        "[{\"jsonrpc\":\"2.0\",\"id\":12,\"error\":{\"code\":-32000,\"message\":\"Bad call\"}},"
+            + "{\"jsonrpc\":\"2.0\",\"id\":10,\"result\":\"0x0a\"},"
+            + "{\"jsonrpc\":\"2.0\",\"id\":99,\"result\":\"0x63\"}]";
+    List<JsonRpcCodec.BatchResult> results =
+        JsonRpcCodec.decodeBatchResults(response.getBytes(UTF_8), 10, 4);
+
+    assertThat(results).hasSize(4);
+    assertThat(results.get(0).isError()).isFalse();
+    assertThat(results.get(0).getResult()).isEqualTo("0x0a");
+    // No response for the second or fourth calls.
+    assertThat(results.get(1).isError()).isTrue();
+    assertThat(results.get(2).getError()).isEqualTo("Bad call");
+    assertThat(results.get(3).isError()).isTrue();
+  }
+
+  @Test
+  public void decodeBatchErrorThrows() {
+    String response =
+        "{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid\"}}";
+    assertThatThrownBy(() -> JsonRpcCodec.decodeBatchResults(response.getBytes(UTF_8), 1, 2))
+        .isInstanceOf(JsonRpcCodec.JsonRpcErrorException.class)
+        .hasMessage("Invalid");
+  }
+}
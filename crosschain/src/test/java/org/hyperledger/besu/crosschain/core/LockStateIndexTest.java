@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ForwardingExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Test;
+
+public class LockStateIndexTest {
+  private static final Address CONTRACT_A = Address.fromHexString("0xa");
+  private static final Address CONTRACT_B = Address.fromHexString("0xb");
+  private static final Address NOT_LOCKABLE = Address.fromHexString("0xc");
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block genesis = this.gen.genesisBlock();
+  private final MutableBlockchain blockchain =
+      InMemoryStorageProvider.createInMemoryBlockchain(this.genesis);
+  private final InMemoryKeyValueStorage preimageStorage = new InMemoryKeyValueStorage();
+  private final WorldStateArchive worldStateArchive =
+      new WorldStateArchive(
+          new WorldStateKeyValueStorage(new InMemoryKeyValueStorage()),
+          new WorldStatePreimageKeyValueStorage(this.preimageStorage));
+  private final MutableWorldState worldState = this.worldStateArchive.getMutable();
+
+  // Runs the rebuilds on the calling thread, counting them.
+  private final AtomicInteger rebuilds = new AtomicInteger();
+  private final ExecutorService countingExecutor =
+      new ForwardingExecutorService() {
+        private final ExecutorService delegate = MoreExecutors.newDirectExecutorService();
+
+        @Override
+        protected ExecutorService delegate() {
+          return this.delegate;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+          rebuilds.incrementAndGet();
+          super.execute(command);
+        }
+      };
+  private LockStateIndex index;
+
+  @After
+  public void closeIndex() {
+    if (this.index != null) {
+      this.index.close();
+    }
+  }
+
+  @Test
+  public void answersFromWorldStateAtChainHead() {
+    deploy(CONTRACT_A, CONTRACT_B);
+    lock(CONTRACT_B);
+    appendBlock(this.genesis, 1, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+
+    assertThat(this.index.isLocked(CONTRACT_A)).contains(false);
+    assertThat(this.index.isLocked(CONTRACT_B)).contains(true);
+    assertThat(this.index.isLocked(NOT_LOCKABLE)).contains(false);
+    assertThat(this.index.isLockable(CONTRACT_A, 1)).contains(true);
+    assertThat(this.index.isLockable(NOT_LOCKABLE, 1)).contains(false);
+    assertThat(this.index.getLockedContracts().get()).containsExactly(CONTRACT_B);
+    assertThat(this.rebuilds.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void answersEmptyForBlocksOtherThanTheChainHead() {
+    deploy(CONTRACT_A);
+    lock(CONTRACT_A);
+    appendBlock(this.genesis, 1, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+
+    assertThat(this.index.isLocked(CONTRACT_A, 1)).contains(true);
+    assertThat(this.index.isLocked(CONTRACT_A, 0)).isEmpty();
+    assertThat(this.index.isLockable(CONTRACT_A, 0)).isEmpty();
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).isEmpty();
+  }
+
+  @Test
+  public void appliesChangesWhenHeadAdvances() {
+    deploy(CONTRACT_A);
+    Block block1 = appendBlock(this.genesis, 1, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+    assertThat(this.index.isLocked(CONTRACT_A)).contains(false);
+
+    lock(CONTRACT_A);
+    Block block2 = appendBlock(block1, 1, this.worldState.rootHash());
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(true);
+
+    deploy(CONTRACT_B);
+    Block block3 = appendBlock(block2, 1, this.worldState.rootHash());
+    assertThat(this.index.isLockable(CONTRACT_B, 3)).contains(true);
+
+    // A block which does not change the world state.
+    appendBlock(block3, 1, this.worldState.rootHash());
+    assertThat(this.index.isLocked(CONTRACT_A, 4)).contains(true);
+    assertThat(this.index.getLockedContracts().get()).containsExactly(CONTRACT_A);
+    assertThat(this.rebuilds.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void rebuildsAfterReorganisation() {
+    deploy(CONTRACT_A);
+    Hash deployedRoot = this.worldState.rootHash();
+    Block block1 = appendBlock(this.genesis, 1, deployedRoot);
+    lock(CONTRACT_A);
+    appendBlock(block1, 1, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(true);
+
+    // A heavier fork in which the contract was not locked becomes the canonical chain.
+    appendBlock(block1, 10, deployedRoot);
+
+    assertThat(this.blockchain.getChainHeadHeader().getStateRoot()).isEqualTo(deployedRoot);
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(false);
+    assertThat(this.rebuilds.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void ignoresForkBlocks() {
+    deploy(CONTRACT_A);
+    Hash deployedRoot = this.worldState.rootHash();
+    Block block1 = appendBlock(this.genesis, 1, deployedRoot);
+    lock(CONTRACT_A);
+    appendBlock(block1, 10, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(true);
+
+    // A lighter fork does not change the chain head.
+    appendBlock(block1, 1, deployedRoot);
+
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(true);
+    assertThat(this.rebuilds.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void rebuildsWhenChangesOfBlockAreUnknown() {
+    deploy(CONTRACT_A);
+    Block block1 = appendBlock(this.genesis, 1, this.worldState.rootHash());
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+    assertThat(this.index.isLocked(CONTRACT_A)).contains(false);
+
+    // The changes are made to a world state from a different archive, so they are not reported.
+    WorldStateArchive otherArchive =
+        new WorldStateArchive(
+            this.worldStateArchive.getWorldStateStorage(),
+            new WorldStatePreimageKeyValueStorage(this.preimageStorage));
+    MutableWorldState unobserved = otherArchive.getMutable(this.worldState.rootHash()).get();
+    WorldUpdater updater = unobserved.updater();
+    updater.getMutable(CONTRACT_A).lock();
+    updater.commit();
+    unobserved.persist();
+    appendBlock(block1, 1, unobserved.rootHash());
+
+    assertThat(this.index.isLocked(CONTRACT_A, 2)).contains(true);
+    assertThat(this.rebuilds.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void answersEmptyWhileRebuilding() throws Exception {
+    deploy(CONTRACT_A);
+    lock(CONTRACT_A);
+    appendBlock(this.genesis, 1, this.worldState.rootHash());
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch rebuildMayStart = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          try {
+            rebuildMayStart.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, executor);
+
+    assertThat(this.index.isLocked(CONTRACT_A)).isEmpty();
+    assertThat(this.index.getLockedContracts()).isEmpty();
+
+    rebuildMayStart.countDown();
+    executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+
+    assertThat(this.index.isLocked(CONTRACT_A)).contains(true);
+  }
+
+  @Test
+  public void incompleteWhenAccountAddressesAreUnknown() {
+    deploy(CONTRACT_A, CONTRACT_B);
+    Block block1 = appendBlock(this.genesis, 1, this.worldState.rootHash());
+    this.preimageStorage.clear();
+    this.index = new LockStateIndex(this.blockchain, this.worldStateArchive, this.countingExecutor);
+
+    assertThat(this.index.isLocked(CONTRACT_A)).isEmpty();
+    assertThat(this.index.isLockable(NOT_LOCKABLE, 1)).isEmpty();
+    assertThat(this.index.getLockedContracts()).isEmpty();
+
+    // A lock state change reveals the address of one of the accounts.
+    lock(CONTRACT_A);
+    appendBlock(block1, 1, this.worldState.rootHash());
+
+    assertThat(this.index.isLocked(CONTRACT_A)).contains(true);
+    assertThat(this.index.isLocked(NOT_LOCKABLE)).isEmpty();
+    assertThat(this.index.getLockedContracts()).isEmpty();
+    assertThat(this.rebuilds.get()).isEqualTo(1);
+  }
+
+  private void deploy(final Address... contracts) {
+    WorldUpdater updater = this.worldState.updater();
+    for (Address contract : contracts) {
+      MutableAccount account = updater.createAccount(contract);
+      account.setCode(BytesValue.of(1, 2, 3));
+      account.setLockability(true);
+    }
+    updater.commit();
+    this.worldState.persist();
+  }
+
+  private void lock(final Address contract) {
+    WorldUpdater updater = this.worldState.updater();
+    updater.getMutable(contract).lock();
+    updater.commit();
+    this.worldState.persist();
+  }
+
+  private Block appendBlock(final Block parent, final int difficulty, final Hash stateRoot) {
+    Block block =
+        this.gen.block(
+            this.gen
+                .nextBlockOptions(parent)
+                .setDifficulty(UInt256.of(difficulty))
+                .setStateRoot(stateRoot));
+    this.blockchain.appendBlock(block, this.gen.receipts(block));
+    return block;
+  }
+}
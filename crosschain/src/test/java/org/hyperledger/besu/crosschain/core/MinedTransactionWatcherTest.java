@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MinedTransactionWatcherTest {
+  private static final long TIMEOUT_MS = 60_000;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block genesis = this.gen.genesisBlock();
+  private final MutableBlockchain blockchain =
+      InMemoryStorageProvider.createInMemoryBlockchain(this.genesis);
+  // The pool only holds one transaction, so adding a second transaction drops one of them.
+  private final PendingTransactions pendingTransactions =
+      new PendingTransactions(1, 1, Clock.systemUTC(), new NoOpMetricsSystem());
+  private MinedTransactionWatcher watcher;
+
+  @Before
+  public void createWatcher() {
+    this.watcher =
+        new MinedTransactionWatcher(this.blockchain, this.pendingTransactions, TIMEOUT_MS);
+  }
+
+  @After
+  public void closeWatcher() {
+    this.watcher.close();
+  }
+
+  @Test
+  public void completesWhenTransactionIsMined() throws Exception {
+    Transaction transaction = transaction(1);
+    CompletableFuture<Boolean> mined = this.watcher.watch(transaction.hash());
+
+    appendBlock(this.genesis, 10, transaction);
+
+    assertThat(mined.get(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.watcher.getNumberWatched()).isEqualTo(0);
+  }
+
+  @Test
+  public void completesWhenTransactionIsDropped() throws Exception {
+    Transaction cheap = transaction(1);
+    CompletableFuture<Boolean> mined = this.watcher.watch(cheap.hash());
+
+    this.pendingTransactions.addRemoteTransaction(cheap);
+    assertThat(mined).isNotDone();
+    // The cheaper transaction is dropped to make room for the more expensive one.
+    this.pendingTransactions.addRemoteTransaction(transaction(2));
+
+    assertThat(mined.get(1, TimeUnit.SECONDS)).isFalse();
+    assertThat(this.watcher.getNumberWatched()).isEqualTo(0);
+  }
+
+  @Test
+  public void doesNotCompleteWhenTransactionIsOnlyInForkBlock() {
+    Transaction transaction = transaction(1);
+    CompletableFuture<Boolean> mined = this.watcher.watch(transaction.hash());
+    Block head = appendBlock(this.genesis, 10);
+
+    // The fork block has less total difficulty than the canonical head.
+    appendBlock(this.genesis, 1, transaction);
+    appendBlock(head, 10);
+
+    assertThat(mined).isNotDone();
+    assertThat(this.watcher.getNumberWatched()).isEqualTo(1);
+  }
+
+  @Test
+  public void completesWhenReorganisationMakesForkBlockCanonical() throws Exception {
+    Transaction transaction = transaction(1);
+    CompletableFuture<Boolean> mined = this.watcher.watch(transaction.hash());
+    appendBlock(this.genesis, 10);
+    Block fork = appendBlock(this.genesis, 1, transaction);
+    assertThat(mined).isNotDone();
+
+    // The fork now has more total difficulty than the chain it replaces.
+    appendBlock(fork, 20);
+
+    assertThat(mined.get(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void keepsWaitingForTransactionReorganisedOutOfChain() throws Exception {
+    Transaction transaction = transaction(1);
+    Block head = appendBlock(this.genesis, 10, transaction);
+    // The transaction is watched again, for instance because it is resubmitted.
+    CompletableFuture<Boolean> mined = this.watcher.watch(transaction.hash());
+
+    Block fork = appendBlock(this.genesis, 1);
+    fork = appendBlock(fork, 20);
+
+    assertThat(this.blockchain.getChainHeadHash()).isEqualTo(fork.getHash());
+    assertThat(this.blockchain.getChainHeadHash()).isNotEqualTo(head.getHash());
+    assertThat(mined).isNotDone();
+
+    appendBlock(fork, 10, transaction);
+
+    assertThat(mined.get(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void failsWhenTransactionIsNotMinedWithinTimeout() {
+    this.watcher.close();
+    this.watcher = new MinedTransactionWatcher(this.blockchain, this.pendingTransactions, 100);
+    Transaction transaction = transaction(1);
+    CompletableFuture<Boolean> mined = this.watcher.watch(transaction.hash());
+
+    assertThatThrownBy(() -> mined.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+    assertThat(this.watcher.getNumberWatched()).isEqualTo(0);
+
+    // Mining the transaction after the timeout has no effect.
+    appendBlock(this.genesis, 10, transaction);
+    assertThat(mined).isCompletedExceptionally();
+  }
+
+  private Block appendBlock(
+      final Block parent, final long difficulty, final Transaction... transactions) {
+    Block block =
+        this.gen.block(
+            this.gen
+                .nextBlockOptions(parent)
+                .setDifficulty(UInt256.of(difficulty))
+                .addTransaction(transactions));
+    this.blockchain.appendBlock(block, this.gen.receipts(block));
+    return block;
+  }
+
+  private Transaction transaction(final long gasPrice) {
+    return new TransactionTestFixture()
+        .gasPrice(Wei.of(gasPrice))
+        .createTransaction(SECP256K1.KeyPair.generate());
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class SubordinateViewResultCacheTest {
+  private static final Hash VIEW_1 = Hash.hash(BytesValue.of(1));
+  private static final Hash VIEW_2 = Hash.hash(BytesValue.of(2));
+  private static final Hash BLOCK_10 = Hash.hash(BytesValue.of(10));
+  private static final Hash BLOCK_11 = Hash.hash(BytesValue.of(11));
+  private static final long KEY_VERSION = 1;
+
+  private final SubordinateViewResultCache cache =
+      new SubordinateViewResultCache(result -> !"error".equals(result));
+
+  @Test
+  public void resultIsCachedPerViewAndBlock() {
+    AtomicInteger executions = new AtomicInteger();
+    Supplier<Object> execute = () -> "a" + executions.incrementAndGet();
+
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, execute)).isEqualTo("a1");
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, execute)).isEqualTo("a1");
+    assertThat(this.cache.get(VIEW_1, BLOCK_11, KEY_VERSION, execute)).isEqualTo("a2");
+    assertThat(this.cache.get(VIEW_2, BLOCK_10, KEY_VERSION, execute)).isEqualTo("a3");
+
+    assertThat(executions.get()).isEqualTo(3);
+    assertThat(this.cache.getHits()).isEqualTo(1);
+    assertThat(this.cache.getMisses()).isEqualTo(3);
+  }
+
+  @Test
+  public void resultIsNotReusedForReorgedBlock() {
+    Hash reorgedBlock10 = Hash.hash(BytesValue.of(10, 1));
+
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "before")).isEqualTo("before");
+    assertThat(this.cache.get(VIEW_1, reorgedBlock10, KEY_VERSION, () -> "after"))
+        .isEqualTo("after");
+  }
+
+  @Test
+  public void resultIsNotReusedAfterKeyActivation() {
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "old key"))
+        .isEqualTo("old key");
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION + 1, () -> "new key"))
+        .isEqualTo("new key");
+  }
+
+  @Test
+  public void hitsAndMissesAreReportedAsGauges() {
+    StubMetricsSystem metricsSystem = new StubMetricsSystem();
+    this.cache.registerMetrics(metricsSystem);
+
+    this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "a");
+    this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "a");
+    this.cache.get(VIEW_2, BLOCK_10, KEY_VERSION, () -> "b");
+
+    assertThat(metricsSystem.getGaugeValue("subordinate_view_cache_hits")).isEqualTo(1);
+    assertThat(metricsSystem.getGaugeValue("subordinate_view_cache_misses")).isEqualTo(2);
+    assertThat(metricsSystem.getGaugeValue("subordinate_view_cache_size")).isEqualTo(2);
+  }
+
+  @Test
+  public void uncacheableResultIsReturnedButNotCached() {
+    AtomicInteger executions = new AtomicInteger();
+    Supplier<Object> execute = () -> executions.incrementAndGet() == 1 ? "error" : "ok";
+
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, execute)).isEqualTo("error");
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, execute)).isEqualTo("ok");
+    assertThat(this.cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void exceptionIsRethrownAndNotCached() {
+    assertThatThrownBy(
+            () ->
+                this.cache.get(
+                    VIEW_1,
+                    BLOCK_10,
+                    KEY_VERSION,
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+    assertThat(this.cache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "ok")).isEqualTo("ok");
+  }
+
+  @Test
+  public void leastRecentlyUsedResultIsEvicted() {
+    SubordinateViewResultCache smallCache = new SubordinateViewResultCache(1, result -> true);
+    smallCache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "a");
+    smallCache.get(VIEW_2, BLOCK_10, KEY_VERSION, () -> "b");
+
+    assertThat(smallCache.size()).isEqualTo(1);
+    assertThat(smallCache.get(VIEW_1, BLOCK_10, KEY_VERSION, () -> "c")).isEqualTo("c");
+  }
+
+  @Test
+  public void concurrentRequestsForSameViewExecuteItOnce() throws Exception {
+    int numRequests = 8;
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch executing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(numRequests);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      results.add(
+          executor.submit(
+              () ->
+                  this.cache.get(
+                      VIEW_1,
+                      BLOCK_10,
+                      KEY_VERSION,
+                      () -> {
+                        executions.incrementAndGet();
+                        executing.countDown();
+                        awaitUninterruptibly(release);
+                        return "result";
+                      })));
+      assertThat(executing.await(10, TimeUnit.SECONDS)).isTrue();
+      for (int i = 1; i < numRequests; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    this.cache.get(
+                        VIEW_1,
+                        BLOCK_10,
+                        KEY_VERSION,
+                        () -> {
+                          executions.incrementAndGet();
+                          return "duplicate";
+                        })));
+      }
+      release.countDown();
+
+      for (Future<Object> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+      }
+      assertThat(executions.get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
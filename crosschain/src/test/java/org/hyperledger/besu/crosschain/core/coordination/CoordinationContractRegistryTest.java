@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.coordination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.core.coordination.generated.CrosschainCoordinationV1;
+import org.hyperledger.besu.ethereum.core.Address;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.tx.gas.DefaultGasProvider;
+
+public class CoordinationContractRegistryTest {
+  private static final BigInteger CHAIN_1 = BigInteger.valueOf(11);
+  private static final BigInteger CHAIN_2 = BigInteger.valueOf(22);
+  private static final Address CONTRACT_A =
+      Address.fromHexString("0x1234567890123456789012345678901234567890");
+  private static final Address CONTRACT_B =
+      Address.fromHexString("0x0987654321098765432109876543210987654321");
+  private static final String IP_1 = "127.0.0.1:8545";
+  private static final String IP_2 = "127.0.0.1:8546";
+
+  // The services created for clients, in order of creation.
+  private final List<TrackingHttpService> services = new ArrayList<>();
+  private CoordinationContractRegistry registry;
+
+  @Before
+  public void setup() {
+    this.registry =
+        new CoordinationContractRegistry(
+            Credentials.create("8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63"),
+            new DefaultGasProvider(),
+            1,
+            100,
+            ipAddressPort -> {
+              TrackingHttpService service = new TrackingHttpService(ipAddressPort);
+              this.services.add(service);
+              return service;
+            });
+  }
+
+  @After
+  public void close() {
+    this.registry.close();
+  }
+
+  @Test
+  public void clientIsReusedForAllContractsOnAChain() {
+    CrosschainCoordinationV1 contractA = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+    CrosschainCoordinationV1 contractB = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_B);
+
+    assertThat(this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A)).isSameAs(contractA);
+    assertThat(this.registry.getContract(IP_1, CHAIN_1, CONTRACT_B)).isSameAs(contractB);
+    assertThat(contractA).isNotSameAs(contractB);
+    assertThat(this.services).hasSize(1);
+    assertThat(this.services.get(0).ipAddressPort).isEqualTo(IP_1);
+  }
+
+  @Test
+  public void eachChainHasItsOwnClient() {
+    this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+    this.registry.getContract(IP_2, CHAIN_2, CONTRACT_A);
+
+    assertThat(this.services).hasSize(2);
+    assertThat(this.services.get(0).closed).isFalse();
+    assertThat(this.services.get(1).closed).isFalse();
+  }
+
+  @Test
+  public void clientIsReplacedWhenTheAddressChanges() {
+    CrosschainCoordinationV1 contractA = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+
+    CrosschainCoordinationV1 movedContractA = this.registry.getContract(IP_2, CHAIN_1, CONTRACT_A);
+
+    assertThat(movedContractA).isNotSameAs(contractA);
+    assertThat(this.services).hasSize(2);
+    assertThat(this.services.get(0).closed).isTrue();
+    assertThat(this.services.get(1).ipAddressPort).isEqualTo(IP_2);
+    assertThat(this.services.get(1).closed).isFalse();
+    assertThat(this.registry.getContract(IP_2, CHAIN_1, CONTRACT_A)).isSameAs(movedContractA);
+  }
+
+  @Test
+  public void wrappersLoadedWithAReplacedClientAreReloaded() {
+    CrosschainCoordinationV1 contractB = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_B);
+    this.registry.getContract(IP_2, CHAIN_1, CONTRACT_A);
+
+    CrosschainCoordinationV1 reloadedContractB =
+        this.registry.getContract(IP_2, CHAIN_1, CONTRACT_B);
+
+    assertThat(reloadedContractB).isNotSameAs(contractB);
+    assertThat(this.services).hasSize(2);
+    assertThat(this.registry.getContract(IP_2, CHAIN_1, CONTRACT_B)).isSameAs(reloadedContractB);
+  }
+
+  @Test
+  public void clientIsShutDownWhenItsLastContractIsInvalidated() {
+    CrosschainCoordinationV1 contractA = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+    CrosschainCoordinationV1 contractB = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_B);
+
+    this.registry.invalidate(CHAIN_1, CONTRACT_A);
+    assertThat(this.services.get(0).closed).isFalse();
+    assertThat(this.registry.getContract(IP_1, CHAIN_1, CONTRACT_B)).isSameAs(contractB);
+    assertThat(this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A)).isNotSameAs(contractA);
+    assertThat(this.services).hasSize(1);
+
+    this.registry.invalidate(CHAIN_1, CONTRACT_A);
+    this.registry.invalidate(CHAIN_1, CONTRACT_B);
+    assertThat(this.services.get(0).closed).isTrue();
+
+    this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+    assertThat(this.services).hasSize(2);
+    assertThat(this.services.get(1).closed).isFalse();
+  }
+
+  @Test
+  public void invalidatingAnUnknownContractDoesNotShutDownClients() {
+    this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+
+    this.registry.invalidate(CHAIN_1, CONTRACT_B);
+    this.registry.invalidate(CHAIN_2, CONTRACT_A);
+
+    assertThat(this.services.get(0).closed).isFalse();
+  }
+
+  @Test
+  public void closeShutsDownAllClients() {
+    CrosschainCoordinationV1 contractA = this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A);
+    this.registry.getContract(IP_2, CHAIN_2, CONTRACT_A);
+
+    this.registry.close();
+
+    assertThat(this.services).allMatch(service -> service.closed);
+    assertThat(this.registry.getContract(IP_1, CHAIN_1, CONTRACT_A)).isNotSameAs(contractA);
+    assertThat(this.services).hasSize(3);
+  }
+
+  /** Records whether it has been closed, which happens when its client is shut down. */
+  private static class TrackingHttpService extends HttpService {
+    final String ipAddressPort;
+    volatile boolean closed;
+
+    TrackingHttpService(final String ipAddressPort) {
+      super("http://" + ipAddressPort + "/");
+      this.ipAddressPort = ipAddressPort;
+    }
+
+    @Override
+    public void close() {
+      this.closed = true;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.keys.generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration.Round;
+import org.hyperledger.besu.crosschain.p2p.CrosschainDevP2PInterface;
+import org.hyperledger.besu.crosschain.p2p.SimulatedCrosschainDevP2P;
+import org.hyperledger.besu.crosschain.p2p.SimulatedOtherNode;
+import org.hyperledger.besu.crypto.SECP256K1;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThresholdKeyGenerationTest {
+  private static final BigInteger BLOCKCHAIN_ID = BigInteger.TEN;
+
+  private ThresholdKeyGenContractInterface keyGenContract;
+  private SimulatedCrosschainDevP2P p2p;
+  private final List<SimulatedOtherNode> honestNodes = new ArrayList<>();
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    this.keyGenContract = new SimulatedThresholdKeyGenContractWrapper();
+    this.p2p = new SimulatedCrosschainDevP2P(this.keyGenContract);
+    this.executor =
+        new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingDeque<>());
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+    this.p2p.close();
+  }
+
+  @Test
+  public void nodeWhichDoesNotPostCommitmentsIsDropped() throws Exception {
+    addHonestNodes(2);
+    BigInteger faulty = addFaultyNode(false);
+    ThresholdKeyGeneration keyGeneration = newKeyGeneration(3);
+
+    keyGeneration.startKeyGenerationAsync(this.executor).get();
+
+    assertSucceededWithoutNode(
+        keyGeneration, faulty, KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
+  }
+
+  @Test
+  public void nodeWhichDoesNotPostPublicValuesIsDropped() throws Exception {
+    addHonestNodes(2);
+    BigInteger faulty = addFaultyNode(true);
+    ThresholdKeyGeneration keyGeneration = newKeyGeneration(3);
+
+    keyGeneration.startKeyGenerationAsync(this.executor).get();
+
+    assertSucceededWithoutNode(
+        keyGeneration,
+        faulty,
+        KeyGenFailureToCompleteReason.DID_NOT_POST_COEFFICIENT_PUBLIC_VALUES);
+  }
+
+  @Test
+  public void failsWhenDroppedNodesLeaveFewerThanThreshold() throws Exception {
+    addHonestNodes(1);
+    BigInteger faulty = addFaultyNode(false);
+    ThresholdKeyGeneration keyGeneration = newKeyGeneration(3);
+
+    long keyVersion = keyGeneration.startKeyGenerationAsync(this.executor).get();
+
+    assertThat(keyVersion).isEqualTo(keyGeneration.getKeyVersion());
+    assertThat(keyGeneration.getFailureReason())
+        .isEqualTo(KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
+    assertThat(keyGeneration.getKeyStatus()).isEqualTo(KeyStatus.KEY_GEN_POST_COMMITMENT);
+    assertThat(keyGeneration.getNodesNoLongerInKeyGeneration())
+        .containsEntry(faulty, KeyGenFailureToCompleteReason.DID_NOT_POST_COMMITMENT);
+    assertThat(keyGeneration.getPublicKey()).isNull();
+    assertThat(keyGeneration.getPrivateKeyShare()).isNull();
+    // The rounds after the one in which the key generation failed are not run.
+    assertThat(keyGeneration.getRoundDurationsMs().keySet())
+        .containsOnly(Round.POST_X_VALUE, Round.POST_COMMITMENTS);
+  }
+
+  @Test
+  public void completesWhenExecutorRunsNewestTasksFirst() throws Exception {
+    // A single thread taking the most recently submitted task first runs the per node work and the
+    // rounds in the opposite order to which they are submitted.
+    this.executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingDeque<Runnable>() {
+              @Override
+              public boolean offer(final Runnable task) {
+                return super.offerFirst(task);
+              }
+            });
+    addHonestNodes(3);
+    ThresholdKeyGeneration keyGeneration = newKeyGeneration(3);
+
+    keyGeneration.startKeyGenerationAsync(this.executor).get(60, TimeUnit.SECONDS);
+
+    assertSucceeded(keyGeneration);
+    assertThat(keyGeneration.getRoundDurationsMs().keySet()).containsOnly(Round.values());
+  }
+
+  @Test
+  public void completesWhenExecutorRunsTasksOnCallingThread() throws Exception {
+    final Executor direct = Runnable::run;
+    addHonestNodes(2);
+    ThresholdKeyGeneration keyGeneration = newKeyGeneration(2);
+
+    // All of the events the rounds wait on happen while the previous round runs, so the key
+    // generation has completed by the time the future is returned.
+    assertThat(keyGeneration.startKeyGenerationAsync(direct)).isDone();
+
+    assertSucceeded(keyGeneration);
+    assertThat(keyGeneration.getRoundDurationsMs().keySet()).containsOnly(Round.values());
+  }
+
+  private void assertSucceededWithoutNode(
+      final ThresholdKeyGeneration keyGeneration,
+      final BigInteger droppedNode,
+      final KeyGenFailureToCompleteReason reason) {
+    assertSucceeded(keyGeneration);
+    assertThat(keyGeneration.getNodesNoLongerInKeyGeneration()).containsEntry(droppedNode, reason);
+    assertThat(keyGeneration.getNodesStillActiveInKeyGeneration()).doesNotContain(droppedNode);
+  }
+
+  private void assertSucceeded(final ThresholdKeyGeneration keyGeneration) {
+    assertThat(keyGeneration.getFailureReason()).isEqualTo(KeyGenFailureToCompleteReason.SUCCESS);
+    assertThat(keyGeneration.getKeyStatus()).isEqualTo(KeyStatus.KEY_GEN_COMPLETE);
+    assertThat(keyGeneration.getNodesStillActiveInKeyGeneration())
+        .hasSize(this.honestNodes.size() + 1);
+    for (SimulatedOtherNode node : this.honestNodes) {
+      assertThat(keyGeneration.getNodesStillActiveInKeyGeneration())
+          .contains(node.getMyNodeAddress());
+      assertThat(node.getPublicKey()).isEqualTo(keyGeneration.getPublicKey());
+    }
+  }
+
+  private ThresholdKeyGeneration newKeyGeneration(final int threshold) {
+    SECP256K1.KeyPair nodeKeys = SECP256K1.KeyPair.generate();
+    this.keyGenContract.init(nodeKeys);
+    return new ThresholdKeyGeneration(
+        threshold,
+        BLOCKCHAIN_ID,
+        BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256,
+        nodeKeys,
+        this.keyGenContract,
+        this.p2p);
+  }
+
+  private void addHonestNodes(final int number) {
+    for (int i = 0; i < number; i++) {
+      SimulatedOtherNode node =
+          new SimulatedOtherNode(nextAddress(), this.keyGenContract, this.p2p);
+      node.init();
+      this.honestNodes.add(node);
+    }
+  }
+
+  private BigInteger addFaultyNode(final boolean postsCommitments) {
+    BigInteger address = nextAddress();
+    new FaultyNode(address, this.keyGenContract, this.p2p, postsCommitments).init();
+    return address;
+  }
+
+  private BigInteger nextAddress() {
+    return BigInteger.valueOf(this.p2p.getAllPeers().size() + 1);
+  }
+
+  /**
+   * Node which posts its X value, and optionally its commitments, and then stops taking part in
+   * the key generation.
+   */
+  private static class FaultyNode extends SimulatedOtherNode {
+    private final boolean postsCommitments;
+
+    FaultyNode(
+        final BigInteger nodeAddress,
+        final ThresholdKeyGenContractInterface thresholdKeyGenContract,
+        final CrosschainDevP2PInterface p2p,
+        final boolean postsCommitments) {
+      super(nodeAddress, thresholdKeyGenContract, p2p);
+      this.postsCommitments = postsCommitments;
+    }
+
+    @Override
+    public void requestPostCommits(final long keyVersionNumber) {
+      if (this.postsCommitments) {
+        super.requestPostCommits(keyVersionNumber);
+      }
+    }
+
+    @Override
+    public void requestPostPublicValues(final long keyVersionNumber) {}
+
+    @Override
+    public void requestGetOtherNodeCoefs(final long keyVersionNumber) {}
+
+    @Override
+    public void requestSendPrivateValues(final long keyVersionNumber) {}
+
+    @Override
+    public void requestNodesCompleteKeyGen() {}
+  }
+}
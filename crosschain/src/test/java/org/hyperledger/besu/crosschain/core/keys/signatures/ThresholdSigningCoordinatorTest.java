@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.core.keys.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+import org.hyperledger.besu.crosschain.core.keys.CrosschainKeyManager;
+import org.hyperledger.besu.crosschain.core.keys.generation.SimulatedThresholdKeyGenContractWrapper;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGenContractInterface;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGeneration;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.crosschain.crypto.threshold.scheme.IntegerSecretShare;
+import org.hyperledger.besu.crosschain.crypto.threshold.scheme.ThresholdScheme;
+import org.hyperledger.besu.crosschain.p2p.SimulatedCrosschainDevP2P;
+import org.hyperledger.besu.crosschain.p2p.SimulatedOtherNode;
+import org.hyperledger.besu.crosschain.p2p.SimulatedOtherNode.SigningBehaviour;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThresholdSigningCoordinatorTest {
+  private static final int NUMBER_OF_NODES = 5;
+  private static final int THRESHOLD = 3;
+  private static final byte[] DATA = "data to be signed".getBytes(StandardCharsets.UTF_8);
+  private static final BytesValue MESSAGE = BytesValue.wrap(DATA);
+  // The alt_bn128 pairings used to verify signatures are slow.
+  private static final long TIMEOUT_MS = 60_000;
+
+  private ThresholdKeyGeneration keyGeneration;
+  private BlsThresholdCredentials credentials;
+  private SimulatedCrosschainDevP2P p2p;
+  private List<SimulatedOtherNode> otherNodes;
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final CrosschainMetrics metrics = new CrosschainMetrics(this.metricsSystem);
+  private ThresholdSigningCoordinator coordinator;
+
+  @Before
+  public void generateKeys() {
+    ThresholdKeyGenContractInterface keyGen = new SimulatedThresholdKeyGenContractWrapper();
+    this.p2p = new SimulatedCrosschainDevP2P(keyGen, NUMBER_OF_NODES - 1);
+    CrosschainKeyManager keyManager = new CrosschainKeyManager(keyGen, this.p2p);
+    keyManager.init(
+        BigInteger.TEN,
+        SECP256K1.KeyPair.generate(),
+        new CrosschainMetrics(new NoOpMetricsSystem()));
+    long keyVersion =
+        keyManager.generateNewKeys(THRESHOLD, BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256);
+
+    this.keyGeneration = keyManager.activeKeyGenerations.get(keyVersion);
+    this.credentials = this.keyGeneration.getCredentials();
+    this.otherNodes = new ArrayList<>(this.p2p.otherNodes.values());
+  }
+
+  @After
+  public void close() {
+    if (this.coordinator != null) {
+      this.coordinator.close();
+    }
+  }
+
+  @Test
+  public void signatureMatchesGroupKeySignature() throws Exception {
+    this.coordinator = new ThresholdSigningCoordinator(this.p2p, TIMEOUT_MS, this.metrics);
+    BlsPoint signature = this.coordinator.sign(this.credentials, DATA, MESSAGE).get();
+
+    assertThat(signature).isEqualTo(groupKeySignature());
+    assertThat(signingRequests("completed")).isEqualTo(1);
+    // All of the shares were valid, so they did not need to be verified individually.
+    assertThat(
+            this.metricsSystem.getCounterValue("threshold_signing_verifications_total", "shares"))
+        .isEqualTo(0);
+    assertThat(this.coordinator.getNumberOfPendingRequests()).isEqualTo(0);
+  }
+
+  @Test
+  public void invalidSharesAreDiscarded() throws Exception {
+    this.otherNodes.get(0).setSigningBehaviour(SigningBehaviour.WRONG_SHARE, 0);
+    this.otherNodes.get(1).setSigningBehaviour(SigningBehaviour.WRONG_SHARE, 0);
+    this.otherNodes.get(2).setSigningBehaviour(SigningBehaviour.HONEST, 200);
+    this.otherNodes.get(3).setSigningBehaviour(SigningBehaviour.HONEST, 200);
+    this.coordinator = new ThresholdSigningCoordinator(this.p2p, TIMEOUT_MS, this.metrics);
+
+    BlsPoint signature = this.coordinator.sign(this.credentials, DATA, MESSAGE).get();
+
+    assertThat(signature).isEqualTo(groupKeySignature());
+    assertThat(this.metricsSystem.getCounterValue("threshold_signature_shares_total", "invalid"))
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void signatureDoesNotWaitForSlowNodes() throws Exception {
+    this.otherNodes.get(0).setSigningBehaviour(SigningBehaviour.HONEST, 10 * TIMEOUT_MS);
+    this.otherNodes.get(1).setSigningBehaviour(SigningBehaviour.HONEST, 10 * TIMEOUT_MS);
+    this.coordinator = new ThresholdSigningCoordinator(this.p2p, 10 * TIMEOUT_MS, this.metrics);
+
+    BlsPoint signature =
+        this.coordinator
+            .sign(this.credentials, DATA, MESSAGE)
+            .get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+    assertThat(signature).isEqualTo(groupKeySignature());
+  }
+
+  @Test
+  public void timesOutWithoutEnoughShares() {
+    this.otherNodes.get(0).setSigningBehaviour(SigningBehaviour.NO_RESPONSE, 0);
+    this.otherNodes.get(1).setSigningBehaviour(SigningBehaviour.NO_RESPONSE, 0);
+    this.otherNodes.get(2).setSigningBehaviour(SigningBehaviour.NO_RESPONSE, 0);
+    this.coordinator = new ThresholdSigningCoordinator(this.p2p, 500, this.metrics);
+
+    assertThatThrownBy(() -> this.coordinator.sign(this.credentials, DATA, MESSAGE).get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+    assertThat(signingRequests("timed_out")).isEqualTo(1);
+    assertThat(this.coordinator.getNumberOfPendingRequests()).isEqualTo(0);
+  }
+
+  private long signingRequests(final String outcome) {
+    return this.metricsSystem.getCounterValue("threshold_signing_requests_total", outcome);
+  }
+
+  // Sign the data with the group private key. In a real situation, this private key is never
+  // combined.
+  private BlsPoint groupKeySignature() {
+    IntegerSecretShare[] shares = new IntegerSecretShare[THRESHOLD];
+    shares[0] =
+        new IntegerSecretShare(
+            this.keyGeneration.getMyNodeAddress(), this.keyGeneration.getPrivateKeyShare());
+    for (int i = 1; i < THRESHOLD; i++) {
+      SimulatedOtherNode otherNode = this.otherNodes.get(i - 1);
+      shares[i] =
+          new IntegerSecretShare(otherNode.getMyNodeAddress(), otherNode.getPrivateKeyShare());
+    }
+    BlsCryptoProvider cryptoProvider = this.credentials.getAlgorithm().getCryptoProvider();
+    BigInteger privateKey = new ThresholdScheme(cryptoProvider, THRESHOLD).calculateSecret(shares);
+    return cryptoProvider.sign(privateKey, DATA);
+  }
+}
@@ -14,6 +14,7 @@ package org.hyperledger.besu.crosschain.crypto.threshold;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics;
 import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
 import org.hyperledger.besu.crosschain.core.keys.CrosschainKeyManager;
 import org.hyperledger.besu.crosschain.core.keys.generation.SimulatedThresholdKeyGenContractWrapper;
@@ -26,6 +27,7 @@ import org.hyperledger.besu.crosschain.crypto.threshold.scheme.ThresholdScheme;
 import org.hyperledger.besu.crosschain.p2p.SimulatedCrosschainDevP2P;
 import org.hyperledger.besu.crosschain.p2p.SimulatedOtherNode;
 import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.math.BigInteger;
 import java.util.Collection;
@@ -46,7 +48,8 @@ public abstract class AbstractThresholdKeyGenerationTest {
     SimulatedCrosschainDevP2P p2pI = new SimulatedCrosschainDevP2P(keyGen, numberOfNodes - 1);
     CrosschainKeyManager keyManager = new CrosschainKeyManager(keyGen, p2pI);
     BigInteger blockchainId = BigInteger.TEN;
-    keyManager.init(blockchainId, SECP256K1.KeyPair.generate());
+    keyManager.init(
+        blockchainId, SECP256K1.KeyPair.generate(), new CrosschainMetrics(new NoOpMetricsSystem()));
     long keyVersionNumber =
         keyManager.generateNewKeys(threshold, BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256);
 
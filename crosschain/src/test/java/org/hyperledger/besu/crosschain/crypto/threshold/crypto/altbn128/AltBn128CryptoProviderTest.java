@@ -16,8 +16,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
 import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.crypto.altbn128.AltBn128Fq12Pairer;
+import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
+import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -74,4 +79,63 @@ public class AltBn128CryptoProviderTest {
     boolean verified = cryptoProvider.verify(pubKey, dataToBeSigned, signature);
     assertThat(verified).isFalse();
   }
+
+  @Test
+  public void verifyBatchIdentifiesBadSignature() {
+    BlsCryptoProvider cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+    List<BlsPoint> pubKeys = new ArrayList<>();
+    List<byte[]> data = new ArrayList<>();
+    List<BlsPoint> signatures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      BigInteger privateKey = BigInteger.valueOf(10 + (i % 2));
+      byte[] dataToBeSigned = new byte[] {0x01, 0x02, (byte) i};
+      pubKeys.add(cryptoProvider.createPointE2(privateKey));
+      data.add(dataToBeSigned);
+      signatures.add(cryptoProvider.sign(privateKey, dataToBeSigned));
+    }
+    assertThat(cryptoProvider.verifyBatch(pubKeys, data, signatures))
+        .containsExactly(true, true, true, true, true);
+
+    signatures.set(3, cryptoProvider.sign(BigInteger.TEN, data.get(3)));
+    assertThat(cryptoProvider.verifyBatch(pubKeys, data, signatures))
+        .containsExactly(true, true, true, false, true);
+  }
+
+  @Test
+  public void fixedBaseTableMatchesBasePointMultiplication() {
+    BigInteger[] scalars =
+        new BigInteger[] {
+          BigInteger.ZERO,
+          BigInteger.ONE,
+          BigInteger.valueOf(0x123456789L),
+          AltBn128Fq12Pairer.CURVE_ORDER.subtract(BigInteger.ONE)
+        };
+    for (BigInteger scalar : scalars) {
+      assertThat(AltBn128CryptoProvider.E1_TABLE.get().multiply(scalar))
+          .isEqualTo(AltBn128Point.g1().multiply(scalar));
+      assertThat(AltBn128CryptoProvider.E2_TABLE.get().multiply(scalar))
+          .isEqualTo(AltBn128Fq2Point.g2().multiply(scalar));
+    }
+  }
+
+  @Test
+  public void multiScalarMulMatchesSumOfProducts() {
+    BlsCryptoProvider cryptoProvider =
+        BlsCryptoProvider.getInstance(
+            BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
+            BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+    int numPoints = 5;
+    BlsPoint[] points = new BlsPoint[numPoints];
+    BigInteger[] scalars = new BigInteger[numPoints];
+    BlsPoint expected = cryptoProvider.createPointE2(BigInteger.ZERO);
+    for (int i = 0; i < numPoints; i++) {
+      points[i] = cryptoProvider.createPointE2(BigInteger.valueOf(1000 + i));
+      scalars[i] = BigInteger.valueOf(7).pow(40 + i);
+      expected = expected.add(points[i].scalarMul(cryptoProvider.modPrime(scalars[i])));
+    }
+    assertThat(cryptoProvider.multiScalarMul(points, scalars)).isEqualTo(expected);
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.crypto.bls12381;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Bls12381CryptoProviderTest {
+  private static final BigInteger ORDER = Bls12381CryptoProvider.E1_OPS.order();
+
+  private final BlsCryptoProvider cryptoProvider =
+      BlsCryptoProvider.getInstance(
+          BlsCryptoProvider.CryptoProviderTypes.LOCAL_BLS12_381,
+          BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+
+  private static BigInteger[] scalars() {
+    Random random = new Random(1);
+    return new BigInteger[] {
+      BigInteger.ONE,
+      BigInteger.valueOf(15),
+      BigInteger.valueOf(16),
+      BigInteger.valueOf(0x123456789L),
+      new BigInteger(ORDER.bitLength() - 1, random),
+      new BigInteger(ORDER.bitLength() - 1, random),
+      ORDER.subtract(BigInteger.ONE)
+    };
+  }
+
+  @Test
+  public void fixedBaseTableMatchesBasePointMultiplicationE1() {
+    for (BigInteger scalar : scalars()) {
+      assertThat(new Bls12381PointWrapper(Bls12381CryptoProvider.E1_TABLE.get().multiply(scalar)))
+          .isEqualTo(this.cryptoProvider.createPointE1(scalar));
+    }
+  }
+
+  @Test
+  public void fixedBaseTableMatchesBasePointMultiplicationE2() {
+    for (BigInteger scalar : scalars()) {
+      assertThat(
+              new Bls12381Fq2PointWrapper(Bls12381CryptoProvider.E2_TABLE.get().multiply(scalar)))
+          .isEqualTo(this.cryptoProvider.createPointE2(scalar));
+    }
+  }
+
+  @Test
+  public void multiScalarMulMatchesSumOfProductsE1() {
+    // Below and above the number of points at which the bucket method is used.
+    checkMultiScalarMulE1(5);
+    checkMultiScalarMulE1(40);
+  }
+
+  @Test
+  public void multiScalarMulMatchesSumOfProductsE2() {
+    int numPoints = 5;
+    Random random = new Random(3);
+    BlsPoint[] points = new BlsPoint[numPoints];
+    BigInteger[] scalars = new BigInteger[numPoints];
+    BlsPoint expected = new Bls12381Fq2PointWrapper(Bls12381CryptoProvider.E2_OPS.infinity());
+    for (int i = 0; i < numPoints; i++) {
+      points[i] = this.cryptoProvider.createPointE2(BigInteger.valueOf(1000 + i));
+      scalars[i] = new BigInteger(ORDER.bitLength() - 1, random);
+      expected = expected.add(points[i].scalarMul(scalars[i]));
+    }
+    assertThat(this.cryptoProvider.multiScalarMul(points, scalars)).isEqualTo(expected);
+  }
+
+  private void checkMultiScalarMulE1(final int numPoints) {
+    Random random = new Random(numPoints);
+    BlsPoint[] points = new BlsPoint[numPoints];
+    BigInteger[] scalars = new BigInteger[numPoints];
+    BlsPoint expected = new Bls12381PointWrapper(Bls12381CryptoProvider.E1_OPS.infinity());
+    for (int i = 0; i < numPoints; i++) {
+      points[i] = this.cryptoProvider.createPointE1(BigInteger.valueOf(1000 + i));
+      scalars[i] = new BigInteger(ORDER.bitLength() - 1, random);
+      expected = expected.add(points[i].scalarMul(scalars[i]));
+    }
+    assertThat(this.cryptoProvider.multiScalarMul(points, scalars)).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.crypto.threshold.scheme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsCryptoProvider;
+import org.hyperledger.besu.crosschain.crypto.threshold.crypto.BlsPoint;
+import org.hyperledger.besu.crypto.SecureRandomProvider;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class ThresholdSchemeTest {
+  private static final int THRESHOLD = 3;
+  private static final BigInteger SECRET = BigInteger.valueOf(0x1234567890L);
+  private static final BigInteger[] X_VALUES =
+      new BigInteger[] {
+        BigInteger.valueOf(11),
+        BigInteger.valueOf(23),
+        BigInteger.valueOf(37),
+        BigInteger.valueOf(41)
+      };
+
+  private final BlsCryptoProvider cryptoProvider =
+      BlsCryptoProvider.getInstance(
+          BlsCryptoProvider.CryptoProviderTypes.LOCAL_ALT_BN_128,
+          BlsCryptoProvider.DigestAlgorithm.KECCAK256);
+  private final ThresholdScheme thresholdScheme =
+      new ThresholdScheme(
+          this.cryptoProvider, THRESHOLD, SecureRandomProvider.createSecureRandom());
+
+  @Test
+  public void recoverSecretFromAnySubsetOfShares() {
+    BigInteger[] coefficients = this.thresholdScheme.generateRandomCoefficients(THRESHOLD - 1);
+    IntegerSecretShare[] shares =
+        this.thresholdScheme.generateSecretShares(SECRET, X_VALUES, coefficients);
+
+    assertThat(
+            this.thresholdScheme.calculateSecret(
+                new IntegerSecretShare[] {shares[0], shares[1], shares[2]}))
+        .isEqualTo(SECRET);
+    // Same set of x values in a different order uses the cached basis polynomial values.
+    assertThat(
+            this.thresholdScheme.calculateSecret(
+                new IntegerSecretShare[] {shares[2], shares[0], shares[1]}))
+        .isEqualTo(SECRET);
+    assertThat(
+            this.thresholdScheme.calculateSecret(
+                new IntegerSecretShare[] {shares[3], shares[1], shares[2]}))
+        .isEqualTo(SECRET);
+  }
+
+  @Test
+  public void calculateShareRegeneratesExistingShare() {
+    BigInteger[] coefficients = this.thresholdScheme.generateRandomCoefficients(THRESHOLD - 1);
+    IntegerSecretShare[] shares =
+        this.thresholdScheme.generateSecretShares(SECRET, X_VALUES, coefficients);
+
+    assertThat(
+            this.thresholdScheme.calculateShare(
+                new IntegerSecretShare[] {shares[0], shares[1], shares[2]}, X_VALUES[3]))
+        .isEqualTo(shares[3].getShareY());
+    assertThat(
+            this.thresholdScheme.calculateShare(
+                new IntegerSecretShare[] {shares[0], shares[1], shares[2]}, X_VALUES[1]))
+        .isEqualTo(shares[1].getShareY());
+  }
+
+  @Test
+  public void recoverPointFromPointShares() {
+    BigInteger[] coefficients = this.thresholdScheme.generateRandomCoefficients(THRESHOLD - 1);
+    IntegerSecretShare[] shares =
+        this.thresholdScheme.generateSecretShares(SECRET, X_VALUES, coefficients);
+
+    BlsPointSecretShare[] pointShares = new BlsPointSecretShare[THRESHOLD];
+    for (int i = 0; i < THRESHOLD; i++) {
+      pointShares[i] =
+          new BlsPointSecretShare(
+              shares[i + 1].getShareX(),
+              this.cryptoProvider.createPointE1(shares[i + 1].getShareY()));
+    }
+    BlsPoint expected = this.cryptoProvider.createPointE1(SECRET);
+    assertThat(this.thresholdScheme.calculateSecret(pointShares)).isEqualTo(expected);
+  }
+
+  @Test
+  public void batchInverse() {
+    BigInteger prime = this.cryptoProvider.getPrimeModulus();
+    BigInteger[] values =
+        new BigInteger[] {
+          BigInteger.ONE, BigInteger.valueOf(2), prime.subtract(BigInteger.ONE), SECRET
+        };
+    BigInteger[] inverses = LagrangeCoefficients.batchInverse(values, prime);
+    for (int i = 0; i < values.length; i++) {
+      assertThat(inverses[i]).isEqualTo(values[i].modInverse(prime));
+    }
+  }
+}
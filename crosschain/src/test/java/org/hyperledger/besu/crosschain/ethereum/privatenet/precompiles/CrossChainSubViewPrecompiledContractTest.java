@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.privatenet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.AddressHelpers;
+import org.hyperledger.besu.ethereum.core.CrosschainExecutionContext;
+import org.hyperledger.besu.ethereum.core.CrosschainTransaction;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.SpuriousDragonGasCalculator;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CrossChainSubViewPrecompiledContractTest {
+  private static final int NUM_TRANSACTIONS = 200;
+  private static final int NUM_VIEWS = 3;
+  private static final int NUM_THREADS = 16;
+
+  private final CrossChainSubViewPrecompiledContract precompile =
+      new CrossChainSubViewPrecompiledContract(new SpuriousDragonGasCalculator());
+  private ExecutionContextTestFixture executionContext;
+
+  @Before
+  public void setup() {
+    this.executionContext = ExecutionContextTestFixture.create();
+  }
+
+  @Test
+  public void returnsSignedResultsOfSubordinateViewsInOrder() {
+    CrosschainTransaction transaction = originatingTransaction(1);
+    MessageFrame frame = frame(transaction);
+
+    for (CrosschainTransaction view : transaction.getSubordinateTransactionsAndViews()) {
+      assertThat(this.precompile.compute(input(view), frame)).isEqualTo(view.getSignedResult());
+    }
+    assertThat(frame.getCrosschainContext().get().hasRemainingSubordinateTransactionsOrViews())
+        .isFalse();
+  }
+
+  @Test
+  public void failsWhenInputDoesNotMatchNextSubordinateView() {
+    CrosschainTransaction transaction = originatingTransaction(1);
+    CrosschainTransaction secondView = transaction.getSubordinateTransactionsAndViews().get(1);
+
+    assertThat(this.precompile.compute(input(secondView), frame(transaction))).isNull();
+  }
+
+  @Test
+  public void failsWhenInputIsNotRequiredLength() {
+    CrosschainTransaction transaction = originatingTransaction(1);
+    BytesValue input = input(transaction.getSubordinateTransactionsAndViews().get(0));
+
+    assertThat(SubordinateCallInput.decode(input.slice(0, input.size() - 1))).isEmpty();
+    assertThat(this.precompile.compute(input.slice(0, input.size() - 1), frame(transaction)))
+        .isNull();
+  }
+
+  @Test
+  public void failsWithoutCrosschainContext() {
+    CrosschainTransaction transaction = originatingTransaction(1);
+    MessageFrame frame =
+        new MessageFrameTestFixture().executionContextTestFixture(this.executionContext).build();
+
+    assertThat(
+            this.precompile.compute(
+                input(transaction.getSubordinateTransactionsAndViews().get(0)), frame))
+        .isNull();
+  }
+
+  @Test
+  public void simultaneousExecutionsAreIndependent() throws Exception {
+    // Each execution has its own frame, while sharing the one precompile instance. Half of the
+    // executions share the same transaction.
+    List<CrosschainTransaction> transactions = new ArrayList<>();
+    List<MessageFrame> frames = new ArrayList<>();
+    CrosschainTransaction sharedTransaction = originatingTransaction(0);
+    for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+      CrosschainTransaction transaction =
+          i % 2 == 0 ? sharedTransaction : originatingTransaction(i);
+      transactions.add(transaction);
+      frames.add(frame(transaction));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+        CrosschainTransaction transaction = transactions.get(i);
+        MessageFrame frame = frames.get(i);
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (CrosschainTransaction view :
+                      transaction.getSubordinateTransactionsAndViews()) {
+                    BytesValue result = this.precompile.compute(input(view), frame);
+                    if (result == null || !result.equals(view.getSignedResult())) {
+                      return false;
+                    }
+                  }
+                  return !frame
+                      .getCrosschainContext()
+                      .get()
+                      .hasRemainingSubordinateTransactionsOrViews();
+                }));
+      }
+      start.countDown();
+
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private MessageFrame frame(final CrosschainTransaction transaction) {
+    return new MessageFrameTestFixture()
+        .executionContextTestFixture(this.executionContext)
+        .crosschainContext(new CrosschainExecutionContext(transaction))
+        .build();
+  }
+
+  private static CrosschainTransaction originatingTransaction(final int id) {
+    List<CrosschainTransaction> views = new ArrayList<>();
+    for (int i = 0; i < NUM_VIEWS; i++) {
+      CrosschainTransaction view =
+          new CrosschainTransaction.Builder()
+              .type(CrosschainTransaction.CrosschainTransactionType.SUBORDINATE_VIEW)
+              .chainId(BigInteger.valueOf(100 + i))
+              .to(AddressHelpers.ofValue(id * NUM_VIEWS + i + 1))
+              .payload(
+                  BytesValues.concatenate(
+                      BytesValue.fromHexString("0x12345678"),
+                      Bytes32.leftPad(BytesValue.of(id, i))))
+              .build();
+      view.addSignedResult(Bytes32.leftPad(BytesValue.of(1, id, i)));
+      views.add(view);
+    }
+    return new CrosschainTransaction.Builder()
+        .type(CrosschainTransaction.CrosschainTransactionType.ORIGINATING_TRANSACTION)
+        .chainId(BigInteger.TEN)
+        .subordinateTransactionsAndViews(views)
+        .build();
+  }
+
+  // Encode the call to the precompile the Crosschain contract would make for the view.
+  private static BytesValue input(final CrosschainTransaction view) {
+    BytesValue payload = view.getPayload();
+    Address to = view.getTo().get();
+    BytesValue rest = BytesValues.concatenate(UInt256.of(payload.size()).getBytes(), payload);
+    return BytesValues.concatenate(
+        UInt256.of(Bytes32.SIZE * 3 + rest.size()).getBytes(),
+        UInt256.of(view.getChainId().get()).getBytes(),
+        Bytes32.leftPad(to),
+        UInt256.of(rest.size() + Bytes32.SIZE).getBytes(),
+        rest);
+  }
+}
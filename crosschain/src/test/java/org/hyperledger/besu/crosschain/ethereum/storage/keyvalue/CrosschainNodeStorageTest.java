@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.crosschain.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crosschain.core.BlockchainNodeInformation;
+import org.hyperledger.besu.crosschain.core.CoordContractManager;
+import org.hyperledger.besu.crosschain.core.CoordinationContractInformation;
+import org.hyperledger.besu.crosschain.core.CrosschainMetrics;
+import org.hyperledger.besu.crosschain.core.LinkedNodeManager;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCredentials;
+import org.hyperledger.besu.crosschain.core.keys.BlsThresholdCryptoSystem;
+import org.hyperledger.besu.crosschain.core.keys.CrosschainKeyManager;
+import org.hyperledger.besu.crosschain.core.keys.KeyStatus;
+import org.hyperledger.besu.crosschain.core.keys.generation.SimulatedThresholdKeyGenContractWrapper;
+import org.hyperledger.besu.crosschain.core.keys.generation.ThresholdKeyGenContractInterface;
+import org.hyperledger.besu.crosschain.p2p.SimulatedCrosschainDevP2P;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.io.Resources;
+import com.google.common.primitives.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CrosschainNodeStorageTest {
+  private static final BigInteger CHAIN_1 = BigInteger.valueOf(11);
+  private static final BigInteger CHAIN_2 = BigInteger.valueOf(22);
+  private static final Address COORD_ADDR =
+      Address.fromHexString("0x1234567890123456789012345678901234567890");
+  private static final BigInteger LEGACY_NODE_ADDRESS =
+      new BigInteger("1061540738787941524601966175602259145941626973412");
+
+  private InMemoryKeyValueStorage store;
+  private ThresholdKeyGenContractInterface keyGen;
+  private SimulatedCrosschainDevP2P p2p;
+
+  @Before
+  public void setup() {
+    this.store = new InMemoryKeyValueStorage();
+    this.keyGen = new SimulatedThresholdKeyGenContractWrapper();
+    this.p2p = new SimulatedCrosschainDevP2P(this.keyGen, 3);
+  }
+
+  @Test
+  public void linkedNodesAndCoordinationContractsAreRestored() {
+    CrosschainNodeStorage storage = new CrosschainNodeStorage(this.store);
+    storage.restoreNodeData(new LinkedNodeManager(), new CoordContractManager(), newKeyManager());
+    storage
+        .updater()
+        .putLinkedNode(CHAIN_1, "127.0.0.1:8545")
+        .putLinkedNode(CHAIN_2, "127.0.0.1:8546")
+        .putCoordCtrt(CHAIN_1, COORD_ADDR, "127.0.0.1:8545")
+        .commit();
+    storage.updater().removeLinkedNode(CHAIN_1).commit();
+
+    LinkedNodeManager linkedNodeManager = new LinkedNodeManager();
+    CoordContractManager coordContractManager = new CoordContractManager();
+    new CrosschainNodeStorage(this.store)
+        .restoreNodeData(linkedNodeManager, coordContractManager, newKeyManager());
+
+    assertThat(linkedNodeManager.listAllNodes()).hasSize(1);
+    BlockchainNodeInformation node = linkedNodeManager.listAllNodes().iterator().next();
+    assertThat(node.blockchainId).isEqualTo(CHAIN_2);
+    assertThat(node.ipAddressAndPort).isEqualTo("127.0.0.1:8546");
+    assertThat(coordContractManager.getAllCoordinationContracts()).hasSize(1);
+    CoordinationContractInformation coord =
+        coordContractManager.getAllCoordinationContracts().iterator().next();
+    assertThat(coord.coordinationBlockchainId).isEqualTo(CHAIN_1);
+    assertThat(coord.ipAddressAndPort).isEqualTo("127.0.0.1:8545");
+  }
+
+  @Test
+  public void keysAreRestored() {
+    CrosschainKeyManager keyManager = newKeyManager();
+    long activeKeyVersion =
+        keyManager.generateNewKeys(2, BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256);
+    keyManager.activateKey(activeKeyVersion);
+    long pendingKeyVersion =
+        keyManager.generateNewKeys(2, BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256);
+
+    CrosschainNodeStorage storage = new CrosschainNodeStorage(this.store);
+    storage.restoreNodeData(new LinkedNodeManager(), new CoordContractManager(), newKeyManager());
+    storage
+        .updater()
+        .putCredentials(keyManager.credentials.get(activeKeyVersion))
+        .putActiveKeyVersion(activeKeyVersion)
+        .putKeyGeneration(keyManager.activeKeyGenerations.get(pendingKeyVersion).getCredentials())
+        .commit();
+
+    CrosschainKeyManager restored = newKeyManager();
+    new CrosschainNodeStorage(this.store)
+        .restoreNodeData(new LinkedNodeManager(), new CoordContractManager(), restored);
+
+    assertThat(restored.getActiveKeyVersion()).isEqualTo(activeKeyVersion);
+    assertThat(restored.getKeyStatus(activeKeyVersion)).isEqualTo(KeyStatus.ACTIVE_KEY);
+    assertThat(restored.credentials.get(activeKeyVersion).getEncodedCredentials())
+        .isEqualTo(keyManager.credentials.get(activeKeyVersion).getEncodedCredentials());
+    assertThat(restored.getKeyStatus(pendingKeyVersion)).isEqualTo(KeyStatus.KEY_GEN_COMPLETE);
+    assertThat(restored.activeKeyGenerations.get(pendingKeyVersion).getCredentials().getPublicKey())
+        .isEqualTo(keyManager.activeKeyGenerations.get(pendingKeyVersion).getPublicKey());
+  }
+
+  @Test
+  public void originalFormatIsMigrated() throws IOException {
+    KeyValueStorageTransaction transaction = this.store.startTransaction();
+    transaction.put(longToByteArray(1), legacyRecord(1, CHAIN_1, "127.0.0.1:8545"));
+    transaction.put(
+        longToByteArray(2),
+        legacyRecord(2, CHAIN_2, "127.0.0.1:8546#" + COORD_ADDR.getHexString()));
+    // Key data written by the original classes. Key version 1 was activated, and key version 2
+    // completed key generation but was not activated.
+    transaction.put(
+        longToByteArray(3),
+        Resources.toByteArray(CrosschainNodeStorageTest.class.getResource("legacyKeyData.bin")));
+    transaction.put(longToByteArray(0), longToByteArray(3));
+    transaction.commit();
+
+    LinkedNodeManager linkedNodeManager = new LinkedNodeManager();
+    CoordContractManager coordContractManager = new CoordContractManager();
+    CrosschainKeyManager keyManager = newKeyManager();
+    new CrosschainNodeStorage(this.store)
+        .restoreNodeData(linkedNodeManager, coordContractManager, keyManager);
+
+    assertThat(linkedNodeManager.getIpAddressAndPort(CHAIN_1)).isEqualTo("127.0.0.1:8545");
+    assertThat(coordContractManager.getIpAndPort(CHAIN_2, COORD_ADDR)).isEqualTo("127.0.0.1:8546");
+    assertThat(this.store.containsKey(longToByteArray(0))).isFalse();
+    assertThat(this.store.containsKey(longToByteArray(1))).isFalse();
+    assertThat(this.store.containsKey(longToByteArray(3))).isFalse();
+
+    assertThat(keyManager.getActiveKeyVersion()).isEqualTo(1);
+    assertThat(keyManager.getKeyStatus(1)).isEqualTo(KeyStatus.ACTIVE_KEY);
+    BlsThresholdCredentials active = keyManager.credentials.get(1L);
+    assertThat(active.getPrivateKeyShare())
+        .isEqualTo(
+            new BigInteger(
+                "18122788824555932517761981526137940809885586969219104371696996947991359959616"));
+    assertThat(active.getMyNodeAddress()).isEqualTo(LEGACY_NODE_ADDRESS);
+    assertThat(active.getThreshold()).isEqualTo(2);
+    assertThat(active.getBlockchainId()).isEqualTo(BigInteger.TEN);
+    assertThat(active.getAlgorithm()).isEqualTo(BlsThresholdCryptoSystem.ALT_BN_128_WITH_KECCAK256);
+    assertThat(active.getMySecretShares()).hasSize(4);
+    assertThat(active.getNodesCompletedKeyGeneration()).hasSize(4).contains(LEGACY_NODE_ADDRESS);
+    // The original point classes held their curve points in transient fields.
+    assertThat(active.getPublicKey()).isNull();
+    assertThat(active.getPublicKeyShares()).isEmpty();
+
+    assertThat(keyManager.getKeyStatus(2)).isEqualTo(KeyStatus.KEY_GEN_COMPLETE);
+    BlsThresholdCredentials pending = keyManager.activeKeyGenerations.get(2L).getCredentials();
+    assertThat(pending.getPrivateKeyShare())
+        .isEqualTo(
+            new BigInteger(
+                "17060463829715072138412198268706382686453273203742199551837591984435866613447"));
+    assertThat(pending.getMyNodeAddress()).isEqualTo(LEGACY_NODE_ADDRESS);
+
+    // The migrated records are restored without migrating again.
+    linkedNodeManager = new LinkedNodeManager();
+    new CrosschainNodeStorage(this.store)
+        .restoreNodeData(linkedNodeManager, new CoordContractManager(), newKeyManager());
+    assertThat(linkedNodeManager.getIpAddressAndPort(CHAIN_1)).isEqualTo("127.0.0.1:8545");
+  }
+
+  private CrosschainKeyManager newKeyManager() {
+    CrosschainKeyManager keyManager = new CrosschainKeyManager(this.keyGen, this.p2p);
+    keyManager.init(
+        BigInteger.TEN,
+        SECP256K1.KeyPair.generate(),
+        new CrosschainMetrics(new NoOpMetricsSystem()));
+    return keyManager;
+  }
+
+  private static byte[] legacyRecord(
+      final int component, final BigInteger chainId, final String value) {
+    return Bytes.concat(
+        new byte[] {(byte) component},
+        longToByteArray(chainId.longValue()),
+        value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] longToByteArray(final long x) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(x).array();
+  }
+}
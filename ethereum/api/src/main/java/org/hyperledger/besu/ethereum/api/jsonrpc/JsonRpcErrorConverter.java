@@ -43,6 +43,9 @@ public class JsonRpcErrorConverter {
         return JsonRpcError.INCORRECT_PRIVATE_NONCE;
       case GAS_PRICE_TOO_LOW:
         return JsonRpcError.GAS_PRICE_TOO_LOW;
+        // Crosschain Transaction Invalid Reasons
+      case CROSSCHAIN_TOO_MANY_PENDING_TRANSACTIONS:
+        return JsonRpcError.CROSSCHAIN_TOO_MANY_PENDING_TRANSACTIONS;
 
       default:
         return JsonRpcError.INVALID_PARAMS;
@@ -14,6 +14,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Streams.stream;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
@@ -22,6 +23,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AsyncJsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -44,6 +46,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
@@ -368,10 +371,7 @@ public class JsonRpcHttpService {
       final RoutingContext routingContext, final JsonObject request, final Optional<User> user) {
     final HttpServerResponse response = routingContext.response();
     vertx.executeBlocking(
-        future -> {
-          final JsonRpcResponse jsonRpcResponse = process(request, user);
-          future.complete(jsonRpcResponse);
-        },
+        future -> complete(future, process(request, user)),
         false,
         (res) -> {
           if (res.failed()) {
@@ -425,7 +425,7 @@ public class JsonRpcHttpService {
                   final JsonObject req = (JsonObject) obj;
                   final Future<JsonRpcResponse> fut = Future.future();
                   vertx.executeBlocking(
-                      future -> future.complete(process(req, user)),
+                      future -> complete(future, process(req, user)),
                       false,
                       ar -> {
                         if (ar.failed()) {
@@ -462,19 +462,37 @@ public class JsonRpcHttpService {
     return result.getType() != JsonRpcResponseType.NONE;
   }
 
-  private JsonRpcResponse process(final JsonObject requestJson, final Optional<User> user) {
+  /**
+   * Complete the Vert.x future when the method's response is available. The worker thread is
+   * released as soon as the method has returned its future, rather than when the response is
+   * available.
+   */
+  private static <T> void complete(
+      final Future<T> future, final CompletableFuture<? extends T> response) {
+    response.whenComplete(
+        (jsonRpcResponse, error) -> {
+          if (error != null) {
+            future.fail(error);
+          } else {
+            future.complete(jsonRpcResponse);
+          }
+        });
+  }
+
+  private CompletableFuture<JsonRpcResponse> process(
+      final JsonObject requestJson, final Optional<User> user) {
     final JsonRpcRequest request;
     Object id = null;
     try {
       id = new JsonRpcRequestId(requestJson.getValue("id")).getValue();
       request = requestJson.mapTo(JsonRpcRequest.class);
     } catch (final IllegalArgumentException exception) {
-      return errorResponse(id, JsonRpcError.INVALID_REQUEST);
+      return completedFuture(errorResponse(id, JsonRpcError.INVALID_REQUEST));
     }
     // Handle notifications
     if (request.isNotification()) {
       // Notifications aren't handled so create empty result for now.
-      return NO_RESPONSE;
+      return completedFuture(NO_RESPONSE);
     }
 
     // TODO REMOVE
@@ -484,28 +502,42 @@ public class JsonRpcHttpService {
     final JsonRpcMethod method = rpcMethods.getMethod(request.getMethod());
     if (method == null) {
       if (!rpcMethods.isDefined(request.getMethod())) {
-        return errorResponse(id, JsonRpcError.METHOD_NOT_FOUND);
+        return completedFuture(errorResponse(id, JsonRpcError.METHOD_NOT_FOUND));
       }
       if (!rpcMethods.isEnabled(request.getMethod())) {
-        return errorResponse(id, JsonRpcError.METHOD_NOT_ENABLED);
+        return completedFuture(errorResponse(id, JsonRpcError.METHOD_NOT_ENABLED));
       }
     }
 
     if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
       // Generate response
-      try (final OperationTimer.TimingContext ignored =
-          requestTimer.labels(request.getMethod()).startTimer()) {
-        return method.response(request);
-      } catch (final InvalidJsonRpcParameters e) {
-        LOG.debug("Invalid Params", e);
-        return errorResponse(id, JsonRpcError.INVALID_PARAMS);
+      final OperationTimer.TimingContext timingContext =
+          requestTimer.labels(request.getMethod()).startTimer();
+      final Object requestId = id;
+      try {
+        return AsyncJsonRpcMethod.responseAsync(method, request)
+            .handle(
+                (response, error) -> {
+                  timingContext.stopTimer();
+                  return error == null ? response : errorResponse(requestId, error);
+                });
       } catch (final RuntimeException e) {
-        LOG.error("Error processing JSON-RPC request", e);
-        return errorResponse(id, JsonRpcError.INTERNAL_ERROR);
+        timingContext.stopTimer();
+        return completedFuture(errorResponse(id, e));
       }
     } else {
-      return unauthorizedResponse(id, JsonRpcError.UNAUTHORIZED);
+      return completedFuture(unauthorizedResponse(id, JsonRpcError.UNAUTHORIZED));
+    }
+  }
+
+  private JsonRpcResponse errorResponse(final Object id, final Throwable error) {
+    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (cause instanceof InvalidJsonRpcParameters) {
+      LOG.debug("Invalid Params", cause);
+      return errorResponse(id, JsonRpcError.INVALID_PARAMS);
     }
+    LOG.error("Error processing JSON-RPC request", cause);
+    return errorResponse(id, JsonRpcError.INTERNAL_ERROR);
   }
 
   private void handleJsonRpcError(
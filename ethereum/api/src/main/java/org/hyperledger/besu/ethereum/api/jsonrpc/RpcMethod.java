@@ -121,6 +121,8 @@ public enum RpcMethod {
   CROSS_GET_KEY_GEN_NODES_DROPPED_OUT_OF_KEY_GENERATION(
       "cross_getKeyGenNodesDroppedOutOfKeyGeneration"),
   CROSS_GET_KEY_STATUS("cross_getKeyStatus"),
+  CROSS_GET_LOCKED_CONTRACTS("cross_getLockedContracts"),
+  CROSS_GET_TRANSACTION_STATUS("cross_getTransactionStatus"),
   CROSS_IS_LOCKABLE("cross_isLockable"),
   CROSS_IS_LOCKED("cross_isLocked"),
   CROSS_LIST_COORDINAITON_CONTRACTS("cross_listCoordinationContracts"),
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JSON-RPC method which waits for events, for instance for a transaction to be mined, before it
+ * can respond. The JSON-RPC services call responseAsync, so that their worker threads are not tied
+ * up while the method waits. If the method has not responded within its timeout, the request is
+ * responded to with a timeout error.
+ */
+public interface AsyncJsonRpcMethod extends JsonRpcMethod {
+  long DEFAULT_TIMEOUT_MS = 300_000;
+
+  /**
+   * Applies the method to given request, without blocking the calling thread while waiting for
+   * events.
+   *
+   * @param request input data for the JSON-RPC method.
+   * @return future output from applying the JSON-RPC method to the input.
+   */
+  CompletableFuture<JsonRpcResponse> responseAsync(JsonRpcRequest request);
+
+  /** @return How long to wait for the method to respond, in milliseconds. */
+  default long getTimeoutMs() {
+    return DEFAULT_TIMEOUT_MS;
+  }
+
+  @Override
+  default JsonRpcResponse response(final JsonRpcRequest request) {
+    return responseAsync(request).join();
+  }
+
+  /**
+   * Applies the method to given request, without blocking the calling thread if the method waits
+   * for events. The response is a timeout error if the method does not respond within its timeout.
+   *
+   * @param method the JSON-RPC method.
+   * @param request input data for the JSON-RPC method.
+   * @return future output from applying the JSON-RPC method to the input.
+   */
+  static CompletableFuture<JsonRpcResponse> responseAsync(
+      final JsonRpcMethod method, final JsonRpcRequest request) {
+    if (method instanceof AsyncJsonRpcMethod) {
+      final AsyncJsonRpcMethod asyncMethod = (AsyncJsonRpcMethod) method;
+      // Time out a copy, so that the method's own future is not completed with the timeout error.
+      return asyncMethod
+          .responseAsync(request)
+          .copy()
+          .completeOnTimeout(
+              new JsonRpcErrorResponse(request.getId(), JsonRpcError.TIMEOUT_ERROR),
+              asyncMethod.getTimeoutMs(),
+              TimeUnit.MILLISECONDS);
+    }
+    return CompletableFuture.completedFuture(method.response(request));
+  }
+}
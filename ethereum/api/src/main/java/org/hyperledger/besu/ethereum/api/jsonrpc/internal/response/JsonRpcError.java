@@ -26,6 +26,7 @@ public enum JsonRpcError {
   INVALID_PARAMS(-32602, "Invalid params"),
   INTERNAL_ERROR(-32603, "Internal error"),
   METHOD_NOT_ENABLED(-32604, "Method not enabled"),
+  TIMEOUT_ERROR(-32603, "Timeout expired"),
 
   // eth_sendTransaction specific error message
   ETH_SEND_TX_NOT_AVAILABLE(
@@ -52,6 +53,8 @@ public enum JsonRpcError {
   TX_SENDER_NOT_AUTHORIZED(-32007, "Sender account not authorized to send transactions"),
   CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE(-32008, "Initial sync is still in progress"),
   GAS_PRICE_TOO_LOW(-32009, "Gas price below configured minimum gas price"),
+  CROSSCHAIN_TOO_MANY_PENDING_TRANSACTIONS(
+      -32000, "Too many crosschain transactions are being processed. Try again later"),
 
   // Miner failures
   COINBASE_NOT_SET(-32010, "Coinbase not set. Unable to start mining without a coinbase"),
@@ -14,6 +14,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationUtils;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AsyncJsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -74,7 +75,18 @@ public class WebSocketRequestHandler {
             LOG.debug("WS-RPC request -> {}", request.getMethod());
             request.setConnectionId(id);
             if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
-              future.complete(method.response(request));
+              AsyncJsonRpcMethod.responseAsync(method, request)
+                  .whenComplete(
+                      (response, error) -> {
+                        if (error != null) {
+                          LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), error);
+                          future.complete(
+                              new JsonRpcErrorResponse(
+                                  request.getId(), JsonRpcError.INTERNAL_ERROR));
+                        } else {
+                          future.complete(response);
+                        }
+                      });
             } else {
               future.complete(
                   new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED));
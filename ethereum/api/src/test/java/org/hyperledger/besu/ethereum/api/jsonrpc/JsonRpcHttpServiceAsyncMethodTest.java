@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AsyncJsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JsonRpcHttpServiceAsyncMethodTest {
+  @ClassRule public static final TemporaryFolder folder = new TemporaryFolder();
+
+  private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+  private static final Executor DELAYED =
+      CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Map<String, JsonRpcMethod> methods = new HashMap<>();
+  private final OkHttpClient client = new OkHttpClient();
+  private JsonRpcHttpService service;
+
+  @Before
+  public void startService() throws Exception {
+    addMethod(
+        "test_mined",
+        request ->
+            CompletableFuture.supplyAsync(
+                () -> new JsonRpcSuccessResponse(request.getId(), "mined"), DELAYED));
+    addMethod(
+        "test_failed",
+        request ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  throw new IllegalStateException("Transaction was dropped");
+                },
+                DELAYED));
+    addMethod("test_neverResponds", request -> new CompletableFuture<>());
+
+    final JsonRpcConfiguration config = JsonRpcConfiguration.createDefault();
+    config.setPort(0);
+    this.service =
+        new JsonRpcHttpService(
+            this.vertx,
+            folder.newFolder().toPath(),
+            config,
+            new NoOpMetricsSystem(),
+            Optional.empty(),
+            this.methods,
+            HealthService.ALWAYS_HEALTHY,
+            HealthService.ALWAYS_HEALTHY);
+    this.service.start().join();
+  }
+
+  @After
+  public void stopService() {
+    this.service.stop().join();
+    this.vertx.close();
+  }
+
+  @Test
+  public void respondsWhenMethodCompletes() throws IOException {
+    final JsonObject json = call("test_mined");
+
+    assertThat(json.getString("result")).isEqualTo("mined");
+  }
+
+  @Test
+  public void respondsWithErrorWhenMethodFails() throws IOException {
+    final JsonObject json = call("test_failed");
+
+    assertError(json, JsonRpcError.INTERNAL_ERROR);
+  }
+
+  @Test
+  public void respondsWithErrorWhenMethodTimesOut() throws IOException {
+    final JsonObject json = call("test_neverResponds");
+
+    assertError(json, JsonRpcError.TIMEOUT_ERROR);
+  }
+
+  @Test
+  public void batchRespondsWhenAllMethodsComplete() throws IOException {
+    final String body =
+        "[" + request(1, "test_mined") + "," + request(2, "test_neverResponds") + "]";
+    try (final Response response = post(body)) {
+      assertThat(response.code()).isEqualTo(200);
+      final String json = response.body().string();
+      assertThat(json).contains("\"result\":\"mined\"");
+      assertThat(json).contains("\"message\":\"" + JsonRpcError.TIMEOUT_ERROR.getMessage() + "\"");
+    }
+  }
+
+  private void addMethod(
+      final String name,
+      final Function<JsonRpcRequest, CompletableFuture<JsonRpcResponse>> response) {
+    this.methods.put(
+        name,
+        new AsyncJsonRpcMethod() {
+          @Override
+          public String getName() {
+            return name;
+          }
+
+          @Override
+          public CompletableFuture<JsonRpcResponse> responseAsync(final JsonRpcRequest request) {
+            return response.apply(request);
+          }
+
+          @Override
+          public long getTimeoutMs() {
+            return 500;
+          }
+        });
+  }
+
+  private JsonObject call(final String method) throws IOException {
+    try (final Response response = post(request(1, method))) {
+      assertThat(response.code()).isEqualTo(200);
+      final JsonObject json = new JsonObject(response.body().string());
+      assertThat(json.getInteger("id")).isEqualTo(1);
+      return json;
+    }
+  }
+
+  private Response post(final String body) throws IOException {
+    final Request request =
+        new Request.Builder().post(RequestBody.create(JSON, body)).url(this.service.url()).build();
+    return this.client.newCall(request).execute();
+  }
+
+  private static String request(final int id, final String method) {
+    return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"" + method + "\"}";
+  }
+
+  private static void assertError(final JsonObject json, final JsonRpcError expected) {
+    final JsonObject error = json.getJsonObject("error");
+    assertThat(error.getInteger("code")).isEqualTo(expected.getCode());
+    assertThat(error.getString("message")).isEqualTo(expected.getMessage());
+  }
+}
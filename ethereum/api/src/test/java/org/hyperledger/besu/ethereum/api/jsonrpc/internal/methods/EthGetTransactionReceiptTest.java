@@ -92,6 +92,7 @@ public class EthGetTransactionReceiptTest {
           BlockHeader::getCoinbase,
           null,
           false,
+          null,
           null);
   private final ProtocolSpec<Void> statusTransactionTypeSpec =
       new ProtocolSpec<>(
@@ -112,6 +113,7 @@ public class EthGetTransactionReceiptTest {
           BlockHeader::getCoinbase,
           null,
           false,
+          null,
           null);
 
   private final JsonRpcParameter parameters = new JsonRpcParameter();
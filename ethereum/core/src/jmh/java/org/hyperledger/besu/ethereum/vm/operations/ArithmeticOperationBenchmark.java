@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import org.hyperledger.besu.ethereum.vm.GasCalculator;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.Operation;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValues;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the arithmetic operations, which work on 64 bit limbs, with doing the same arithmetic
+ * on {@link BigInteger}, as the operations used to.
+ */
+@State(Scope.Thread)
+public class ArithmeticOperationBenchmark {
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
+  @Param({"ADD", "MUL", "SUB", "DIV", "SDIV", "MOD", "SMOD", "ADDMOD", "MULMOD", "EXP"})
+  public String opcode;
+
+  // Size in bits of the operands. The exponent of EXP is always small.
+  @Param({"64", "256"})
+  public int operandBits;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private Operation operation;
+  private MessageFrame frame;
+  private Bytes32[] operands;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    operation = createOperation(opcode, new ConstantinopleFixGasCalculator());
+    frame = operationBenchmarkHelper.createMessageFrame();
+
+    final Random random = new Random(42);
+    operands = new Bytes32[operation.getStackItemsConsumed()];
+    for (int i = 0; i < operands.length; i++) {
+      // Avoid a zero divisor or modulus, which are special cased.
+      final BigInteger operand = new BigInteger(operandBits, random).setBit(0);
+      operands[i] = UInt256.of(operand).getBytes();
+    }
+    if (opcode.equals("EXP")) {
+      operands[1] = UInt256.of(1 + random.nextInt(255)).getBytes();
+    }
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public Bytes32 executeOperation() {
+    for (int i = operands.length - 1; i >= 0; i--) {
+      frame.pushStackItem(operands[i]);
+    }
+    operation.execute(frame);
+    return frame.popStackItem();
+  }
+
+  @Benchmark
+  public Bytes32 executeOnBigInteger() {
+    final BigInteger a = BytesValues.asUnsignedBigInteger(operands[0]);
+    final BigInteger b = BytesValues.asUnsignedBigInteger(operands[1]);
+    final BigInteger result;
+    switch (opcode) {
+      case "ADD":
+        result = a.add(b);
+        break;
+      case "MUL":
+        result = a.multiply(b);
+        break;
+      case "SUB":
+        result = a.subtract(b);
+        break;
+      case "DIV":
+        result = a.divide(b);
+        break;
+      case "SDIV":
+        result =
+            BytesValues.asSignedBigInteger(operands[0])
+                .divide(BytesValues.asSignedBigInteger(operands[1]));
+        break;
+      case "MOD":
+        result = a.mod(b);
+        break;
+      case "SMOD":
+        final BigInteger signed = BytesValues.asSignedBigInteger(operands[0]);
+        final BigInteger absModulo =
+            signed.abs().mod(BytesValues.asSignedBigInteger(operands[1]).abs());
+        result = signed.signum() < 0 ? absModulo.negate() : absModulo;
+        break;
+      case "ADDMOD":
+        result = a.add(b).mod(BytesValues.asUnsignedBigInteger(operands[2]));
+        break;
+      case "MULMOD":
+        result = a.multiply(b).mod(BytesValues.asUnsignedBigInteger(operands[2]));
+        break;
+      case "EXP":
+        result = a.modPow(b, P256);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported opcode " + opcode);
+    }
+    return UInt256.of(result.mod(P256)).getBytes();
+  }
+
+  private static Operation createOperation(final String opcode, final GasCalculator gasCalculator) {
+    switch (opcode) {
+      case "ADD":
+        return new AddOperation(gasCalculator);
+      case "MUL":
+        return new MulOperation(gasCalculator);
+      case "SUB":
+        return new SubOperation(gasCalculator);
+      case "DIV":
+        return new DivOperation(gasCalculator);
+      case "SDIV":
+        return new SDivOperation(gasCalculator);
+      case "MOD":
+        return new ModOperation(gasCalculator);
+      case "SMOD":
+        return new SModOperation(gasCalculator);
+      case "ADDMOD":
+        return new AddModOperation(gasCalculator);
+      case "MULMOD":
+        return new MulModOperation(gasCalculator);
+      case "EXP":
+        return new ExpOperation(gasCalculator);
+      default:
+        throw new IllegalArgumentException("Unsupported opcode " + opcode);
+    }
+  }
+}
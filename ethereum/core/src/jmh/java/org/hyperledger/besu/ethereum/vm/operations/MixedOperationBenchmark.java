@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.config.StubGenesisConfigOptions;
+import org.hyperledger.besu.ethereum.core.Gas;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+import org.hyperledger.besu.ethereum.vm.Code;
+import org.hyperledger.besu.ethereum.vm.EVM;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+import org.hyperledger.besu.ethereum.vm.ehalt.ExceptionalHaltException;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs a loop mixing the bitwise, comparison, memory and jump operations through the untraced
+ * interpreter, to measure how much their operand reads cost relative to the dispatch.
+ */
+@State(Scope.Thread)
+public class MixedOperationBenchmark {
+  // Each iteration stores and loads the counter, runs it through AND, OR, XOR, NOT, LT, GT, SLT,
+  // SGT, ISZERO and EQ, then decrements it and loops back to the JUMPDEST with JUMPI.
+  private static final String LOOP_BODY =
+      "5b8060405260405160ff16600f178018196001106002116000126000131560011450600190038060035700";
+
+  @Param({"1", "100", "1000"})
+  public int iterations;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM evm;
+  private Code code;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    evm =
+        MainnetProtocolSchedule.fromConfig(new StubGenesisConfigOptions().istanbulBlock(0))
+            .getByBlockNumber(0)
+            .getEvm();
+    code = new Code(BytesValue.fromHexString(String.format("0x61%04x", iterations) + LOOP_BODY));
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public Gas executeCode() throws ExceptionalHaltException {
+    final MessageFrame frame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .code(code)
+            .initialGas(Gas.of(10_000_000))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    if (frame.getState() != MessageFrame.State.CODE_SUCCESS) {
+      throw new IllegalStateException("Benchmark code did not complete: " + frame.getState());
+    }
+    return frame.getRemainingGas();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Locking a lockable contract, and unlocking it by committing or ignoring the provisional state,
+ * for contracts with large storage. Each operation is applied to, and persists, a fresh copy of
+ * the same world state.
+ */
+@State(Scope.Thread)
+public class LockableContractBenchmark {
+  private static final Address CONTRACT = Address.fromHexString("0x1234");
+
+  @Param({"10000", "100000"})
+  public int storageSlots;
+
+  // Number of storage slots written by the transaction which locks the contract.
+  @Param({"1", "100"})
+  public int updatedSlots;
+
+  private WorldStateArchive worldStateArchive;
+  private Hash unlockedRoot;
+  private Hash lockedRoot;
+
+  @Setup
+  public void prepare() {
+    worldStateArchive =
+        new WorldStateArchive(
+            new WorldStateKeyValueStorage(new InMemoryKeyValueStorage()),
+            new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount contract = updater.createAccount(CONTRACT);
+    contract.setCode(BytesValue.of(1, 2, 3));
+    contract.setLockability(true);
+    for (int i = 0; i < storageSlots; i++) {
+      contract.setStorageValue(UInt256.of(i), UInt256.of(i + 1));
+    }
+    updater.commit();
+    worldState.persist();
+    unlockedRoot = worldState.rootHash();
+    lockedRoot = lock();
+  }
+
+  @Benchmark
+  public Hash lock() {
+    final MutableWorldState worldState = worldStateArchive.getMutable(unlockedRoot).get();
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount contract = updater.getMutable(CONTRACT);
+    contract.lock();
+    for (int i = 0; i < updatedSlots; i++) {
+      contract.setStorageValue(UInt256.of(i), UInt256.of(storageSlots + i));
+    }
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+
+  @Benchmark
+  public Hash unlockCommit() {
+    return unlock(true);
+  }
+
+  @Benchmark
+  public Hash unlockIgnore() {
+    return unlock(false);
+  }
+
+  private Hash unlock(final boolean commit) {
+    final MutableWorldState worldState = worldStateArchive.getMutable(lockedRoot).get();
+    final WorldUpdater updater = worldState.updater();
+    updater.getMutable(CONTRACT).unlock(commit);
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+}
@@ -147,6 +147,21 @@ public interface Blockchain {
    */
   Optional<Hash> getBlockHashByNumber(long number);
 
+  /**
+   * Retrieves the hash of a recent block of the canonical chain from memory, if the block is the
+   * given descendant block or one of its ancestors. Implementations which don't hold recent hashes
+   * in memory return empty, and the hash must then be found by following the descendant's parents.
+   *
+   * @param number The height of the block whose hash should be retrieved.
+   * @param descendantHash The hash of the block whose ancestor is wanted.
+   * @param descendantNumber The height of the block whose ancestor is wanted.
+   * @return The hash of the block at the given height, if it is held in memory.
+   */
+  default Optional<Hash> getRecentAncestorHash(
+      final long number, final Hash descendantHash, final long descendantNumber) {
+    return Optional.empty();
+  }
+
   /**
    * Returns the total difficulty (cumulative difficulty up to and including the target block) of
    * the block corresponding to the given hash. Associated block is not necessarily on the canonical
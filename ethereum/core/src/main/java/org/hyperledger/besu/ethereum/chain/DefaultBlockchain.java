@@ -47,6 +47,7 @@ public class DefaultBlockchain implements MutableBlockchain {
   protected final BlockchainStorage blockchainStorage;
 
   private final Subscribers<BlockAddedObserver> blockAddedObservers = Subscribers.create();
+  private final RecentBlockHashes recentBlockHashes = new RecentBlockHashes();
 
   private volatile BlockHeader chainHeader;
   private volatile UInt256 totalDifficulty;
@@ -70,6 +71,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     final BlockBody chainHeadBody = blockchainStorage.getBlockBody(chainHead).get();
     chainHeadTransactionCount = chainHeadBody.getTransactions().size();
     chainHeadOmmerCount = chainHeadBody.getOmmers().size();
+    recentBlockHashes.reset(this, chainHeader);
 
     metricsSystem.createLongGauge(
         BesuMetricCategory.ETHEREUM,
@@ -414,6 +416,7 @@ public class DefaultBlockchain implements MutableBlockchain {
       updater.commit();
 
       updateCacheForNewCanonicalHead(block, calculateTotalDifficulty(block));
+      recentBlockHashes.reset(this, block.getHeader());
       return true;
     } catch (final NoSuchElementException e) {
       // Any Optional.get() calls in this block should be present, missing data means data
@@ -511,7 +514,14 @@ public class DefaultBlockchain implements MutableBlockchain {
     return blockAddedObservers.getSubscriberCount();
   }
 
+  @Override
+  public Optional<Hash> getRecentAncestorHash(
+      final long number, final Hash descendantHash, final long descendantNumber) {
+    return recentBlockHashes.getAncestorHash(number, descendantHash, descendantNumber);
+  }
+
   private void notifyBlockAdded(final BlockAddedEvent event) {
+    recentBlockHashes.onBlockAdded(event, this);
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(event, this));
   }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.util.Optional;
+
+/**
+ * Hashes of the most recent blocks of the canonical chain, which are the blocks whose hashes the
+ * BLOCKHASH operation can return. The hashes are held in a ring indexed by block number, and are
+ * kept up to date from block added events, so that blocks which build on the chain head can look
+ * up the hashes of their ancestors without reading the ancestors' headers from storage.
+ *
+ * <p>When the chain head does not advance by a single block, the ring is refilled from the
+ * canonical chain index.
+ */
+class RecentBlockHashes implements BlockAddedObserver {
+  static final int SIZE = 256;
+
+  private final Hash[] hashes = new Hash[SIZE];
+  // The ring holds the hashes of the blocks from lowestNumber to headNumber inclusive.
+  private long lowestNumber = 0;
+  private long headNumber = -1;
+
+  @Override
+  public synchronized void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final BlockHeader header = event.getBlock().getHeader();
+    if (headNumber >= 0
+        && header.getNumber() == headNumber + 1
+        && header.getParentHash().equals(hashes[index(headNumber)])) {
+      headNumber++;
+      hashes[index(headNumber)] = header.getHash();
+      lowestNumber = Math.max(lowestNumber, headNumber - SIZE + 1);
+    } else {
+      reset(blockchain, header);
+    }
+  }
+
+  /**
+   * Refill the ring from the canonical chain index.
+   *
+   * @param blockchain Blockchain whose canonical chain the hashes are read from.
+   * @param head New head of the canonical chain.
+   */
+  synchronized void reset(final Blockchain blockchain, final BlockHeader head) {
+    headNumber = head.getNumber();
+    lowestNumber = headNumber;
+    hashes[index(headNumber)] = head.getHash();
+    while (lowestNumber > 0 && headNumber - lowestNumber + 1 < SIZE) {
+      final Optional<Hash> hash = blockchain.getBlockHashByNumber(lowestNumber - 1);
+      if (hash.isEmpty()) {
+        break;
+      }
+      lowestNumber--;
+      hashes[index(lowestNumber)] = hash.get();
+    }
+  }
+
+  /**
+   * Returns the hash of a block, if it is held and is the given descendant block or one of its
+   * ancestors. This is only the case when the descendant block is on the canonical chain.
+   *
+   * @param number Number of the block whose hash is wanted.
+   * @param descendantHash Hash of the block whose ancestor is wanted.
+   * @param descendantNumber Number of the block whose ancestor is wanted.
+   * @return The hash of the block, or empty if it is not held.
+   */
+  synchronized Optional<Hash> getAncestorHash(
+      final long number, final Hash descendantHash, final long descendantNumber) {
+    if (number < lowestNumber
+        || number > descendantNumber
+        || descendantNumber > headNumber
+        || !descendantHash.equals(hashes[index(descendantNumber)])) {
+      return Optional.empty();
+    }
+    return Optional.of(hashes[index(number)]);
+  }
+
+  private static int index(final long number) {
+    return (int) (number & (SIZE - 1));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * The context of a single execution of a transaction, as seen by the crosschain precompiles. A new
+ * context is created for each execution and is passed to the precompiles via the message frames of
+ * the execution, so that the same transaction can be executed on several threads at once.
+ *
+ * <p>For Crosschain Transactions, the context tracks which of the transaction's Subordinate
+ * Transactions and Views have been consumed by this execution.
+ */
+public class CrosschainExecutionContext {
+  private final Transaction transaction;
+  private final Iterator<CrosschainTransaction> subordinateTransactionsAndViews;
+
+  public CrosschainExecutionContext(final Transaction transaction) {
+    this.transaction = transaction;
+    this.subordinateTransactionsAndViews =
+        transaction instanceof CrosschainTransaction
+            ? ((CrosschainTransaction) transaction).getSubordinateTransactionsAndViews().iterator()
+            : null;
+  }
+
+  /** @return The transaction being executed. */
+  public Transaction getTransaction() {
+    return this.transaction;
+  }
+
+  /** @return The transaction being executed, if it is a Crosschain Transaction. */
+  public Optional<CrosschainTransaction> getCrosschainTransaction() {
+    return this.subordinateTransactionsAndViews == null
+        ? Optional.empty()
+        : Optional.of((CrosschainTransaction) this.transaction);
+  }
+
+  /**
+   * Return the next Subordinate Transaction or View which has not been consumed by this execution.
+   *
+   * @return The next Subordinate Transaction or View - or null if there are no more.
+   */
+  public synchronized CrosschainTransaction getNextSubordinateTransactionOrView() {
+    if (this.subordinateTransactionsAndViews == null
+        || !this.subordinateTransactionsAndViews.hasNext()) {
+      return null;
+    }
+    return this.subordinateTransactionsAndViews.next();
+  }
+
+  /** @return true if this execution has not consumed all Subordinate Transactions and Views. */
+  public synchronized boolean hasRemainingSubordinateTransactionsOrViews() {
+    return this.subordinateTransactionsAndViews != null
+        && this.subordinateTransactionsAndViews.hasNext();
+  }
+}
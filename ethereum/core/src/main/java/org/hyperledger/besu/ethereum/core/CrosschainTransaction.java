@@ -28,7 +28,6 @@ import org.hyperledger.besu.util.uint.UInt256;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -176,7 +175,6 @@ public class CrosschainTransaction extends Transaction {
 
   // Ordered list of Subordinate Transactions and Views.
   private final List<CrosschainTransaction> subordinateTransactionsAndViews;
-  private Iterator<CrosschainTransaction> subordinateTransactionAndViewsIterator;
 
   // Signed result if a subordinate view.
   private BytesValue signedResult;
@@ -358,22 +356,6 @@ public class CrosschainTransaction extends Transaction {
     return subordinateTransactionsAndViews;
   }
 
-  public void resetSubordinateTransactionsAndViewsList() {
-    this.subordinateTransactionAndViewsIterator = this.subordinateTransactionsAndViews.iterator();
-  }
-
-  /**
-   * Return the next Subordinate Transaction or View.
-   *
-   * @return The next Crosschain Transaction or View - or null if there are no more.
-   */
-  public CrosschainTransaction getNextSubordinateTransactionOrView() {
-    if (!this.subordinateTransactionAndViewsIterator.hasNext()) {
-      return null;
-    }
-    return this.subordinateTransactionAndViewsIterator.next();
-  }
-
   @Override
   public Address getSender() {
     if (sender == null) {
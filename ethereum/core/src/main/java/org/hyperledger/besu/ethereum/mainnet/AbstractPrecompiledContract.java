@@ -33,8 +33,6 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
 
   private final String name;
 
-  protected int offset;
-
   public AbstractPrecompiledContract(final String name, final GasCalculator gasCalculator) {
     this.name = name;
     this.gasCalculator = gasCalculator;
@@ -64,19 +62,6 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
     return retval;
   }
 
-  /**
-   * Extracts a parameter from the input, starting from the currently accumulated offset
-   *
-   * @param input RLP input
-   * @param length encoded size of the parameter being extracted
-   * @return the extracted parameter
-   */
-  protected BigInteger extractParameter(final BytesValue input, final int length) {
-    BigInteger result = extractParameter(input, this.offset, length);
-    this.offset += length;
-    return result;
-  }
-
   protected static BigInteger extractParameter(
       final BytesValue input, final BigInteger offset, final int length) {
     if (BigInteger.valueOf(input.size()).compareTo(offset) <= 0) {
@@ -378,18 +378,32 @@ public class FrontierGasCalculator implements GasCalculator {
   }
 
   @Override
-  public Gas mLoadOperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.U_32));
+  public Gas mLoadOperationGasCost(final MessageFrame frame, final long offset) {
+    return plusMemoryExpansionGasCost(VERY_LOW_TIER_GAS_COST, frame, offset, Bytes32.SIZE);
   }
 
   @Override
-  public Gas mStoreOperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.U_32));
+  public Gas mStoreOperationGasCost(final MessageFrame frame, final long offset) {
+    return plusMemoryExpansionGasCost(VERY_LOW_TIER_GAS_COST, frame, offset, Bytes32.SIZE);
   }
 
   @Override
-  public Gas mStore8OperationGasCost(final MessageFrame frame, final UInt256 offset) {
-    return VERY_LOW_TIER_GAS_COST.plus(memoryExpansionGasCost(frame, offset, UInt256.ONE));
+  public Gas mStore8OperationGasCost(final MessageFrame frame, final long offset) {
+    return plusMemoryExpansionGasCost(VERY_LOW_TIER_GAS_COST, frame, offset, 1);
+  }
+
+  // Adds the cost of expanding memory for an offset and length read with
+  // getStackItemAsSaturatedLong. Does not allocate when memory is not expanded, which is by far the
+  // most common case.
+  private static Gas plusMemoryExpansionGasCost(
+      final Gas cost, final MessageFrame frame, final long offset, final long length) {
+    final UInt256 pre = frame.memoryWordSize();
+    final UInt256 post = frame.calculateMemoryExpansion(offset, length);
+    if (post == pre) {
+      return cost;
+    }
+
+    return cost.plus(memoryCost(post).minus(memoryCost(pre)));
   }
 
   @Override
@@ -110,6 +110,10 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
+    // The block hash lookup and the mining beneficiary are the same for every transaction in the
+    // block, and the beneficiary may need a signature to be recovered to find it.
+    final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
     for (final Transaction transaction : transactions) {
       final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
@@ -122,10 +126,6 @@ public class MainnetBlockProcessor implements BlockProcessor {
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-
       final TransactionProcessor.Result result =
           transactionProcessor.processTransaction(
               blockchain,
@@ -91,7 +91,8 @@ public abstract class MainnetProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new MainnetTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -99,13 +100,15 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .privateTransactionProcessorBuilder(
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
                 messageCallProcessor,
-                privateTransactionValidator) ->
+                privateTransactionValidator,
+                codeCache) ->
                 new PrivateTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -114,7 +117,8 @@ public abstract class MainnetProtocolSpecs {
                     false,
                     stackSizeLimit,
                     Account.DEFAULT_VERSION,
-                    new PrivateTransactionValidator(Optional.empty())))
+                    new PrivateTransactionValidator(Optional.empty()),
+                    codeCache))
         .difficultyCalculator(MainnetDifficultyCalculators.FRONTIER)
         .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::create)
         .ommerHeaderValidatorBuilder(MainnetBlockHeaderValidator::createOmmerValidator)
@@ -216,7 +220,8 @@ public abstract class MainnetProtocolSpecs {
             (gasCalculator,
                 transactionValidator,
                 contractCreationProcessor,
-                messageCallProcessor) ->
+                messageCallProcessor,
+                codeCache) ->
                 new MainnetTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -224,7 +229,8 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     true,
                     stackSizeLimit,
-                    Account.DEFAULT_VERSION))
+                    Account.DEFAULT_VERSION,
+                    codeCache))
         .name("SpuriousDragon");
   }
 
@@ -249,7 +255,8 @@ public abstract class MainnetProtocolSpecs {
                 transactionValidator,
                 contractCreationProcessor,
                 messageCallProcessor,
-                privateTransactionValidator) ->
+                privateTransactionValidator,
+                codeCache) ->
                 new PrivateTransactionProcessor(
                     gasCalculator,
                     transactionValidator,
@@ -258,7 +265,8 @@ public abstract class MainnetProtocolSpecs {
                     false,
                     stackSizeLimit,
                     Account.DEFAULT_VERSION,
-                    privateTransactionValidator))
+                    privateTransactionValidator,
+                    codeCache))
         .name("Byzantium");
   }
 
@@ -297,8 +305,9 @@ public abstract class MainnetProtocolSpecs {
             chainId, configContractSizeLimit, configStackSizeLimit, enableRevertReason)
         .gasCalculator(IstanbulGasCalculator::new)
         .evmBuilder(
-            gasCalculator ->
-                MainnetEvmRegistries.istanbul(gasCalculator, chainId.orElse(BigInteger.ZERO)))
+            (gasCalculator, codeCache) ->
+                MainnetEvmRegistries.istanbul(
+                    gasCalculator, codeCache, chainId.orElse(BigInteger.ZERO)))
         .precompileContractRegistryBuilder(MainnetPrecompiledContractRegistries::istanbul)
         .contractCreationProcessorBuilder(
             (gasCalculator, evm) ->
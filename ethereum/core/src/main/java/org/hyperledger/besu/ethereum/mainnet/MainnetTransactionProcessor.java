@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.Code;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
@@ -52,6 +53,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
 
   protected final int createContractAccountVersion;
 
+  protected final CodeCache codeCache;
+
   public static class Result implements TransactionProcessor.Result {
 
     private final Status status;
@@ -153,7 +156,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
       final AbstractMessageProcessor messageCallProcessor,
       final boolean clearEmptyAccounts,
       final int maxStackSize,
-      final int createContractAccountVersion) {
+      final int createContractAccountVersion,
+      final CodeCache codeCache) {
     this.gasCalculator = gasCalculator;
     this.transactionValidator = transactionValidator;
     this.contractCreationProcessor = contractCreationProcessor;
@@ -161,6 +165,7 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
     this.clearEmptyAccounts = clearEmptyAccounts;
     this.maxStackSize = maxStackSize;
     this.createContractAccountVersion = createContractAccountVersion;
+    this.codeCache = codeCache;
   }
 
   @Override
@@ -270,7 +275,7 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(codeCache.getCode(contract))
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -15,6 +15,7 @@ package org.hyperledger.besu.ethereum.mainnet;
 import org.hyperledger.besu.config.GenesisConfigOptions;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionValidator;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 
 import java.math.BigInteger;
 import java.util.Optional;
@@ -32,6 +33,8 @@ public class ProtocolScheduleBuilder<C> {
   private final Optional<BigInteger> defaultChainId;
   private final PrivacyParameters privacyParameters;
   private final boolean isRevertReasonEnabled;
+  // Shared by all of the milestones, as contract code doesn't change between them.
+  private final CodeCache codeCache = new CodeCache(CodeCache.DEFAULT_MAXIMUM_CODE_BYTES);
 
   public ProtocolScheduleBuilder(
       final GenesisConfigOptions config,
@@ -165,6 +168,7 @@ public class ProtocolScheduleBuilder<C> {
                 protocolSpecAdapter
                     .apply(definition)
                     .privacyParameters(privacyParameters)
+                    .codeCache(codeCache)
                     .privateTransactionValidatorBuilder(
                         () -> new PrivateTransactionValidator(protocolSchedule.getChainId()))
                     .build(protocolSchedule)));
@@ -17,6 +17,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.TransactionFilter;
 import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 
@@ -28,6 +29,8 @@ public class ProtocolSpec<C> {
 
   private final GasCalculator gasCalculator;
 
+  private final CodeCache codeCache;
+
   private final TransactionValidator transactionValidator;
 
   private final TransactionProcessor transactionProcessor;
@@ -79,6 +82,7 @@ public class ProtocolSpec<C> {
    * @param precompileContractRegistry all the pre-compiled contracts added
    * @param skipZeroBlockRewards should rewards be skipped if it is zero
    * @param gasCalculator the gas calculator to use.
+   * @param codeCache the cache of analysed contract code to use.
    */
   public ProtocolSpec(
       final String name,
@@ -98,7 +102,8 @@ public class ProtocolSpec<C> {
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
       final PrecompileContractRegistry precompileContractRegistry,
       final boolean skipZeroBlockRewards,
-      final GasCalculator gasCalculator) {
+      final GasCalculator gasCalculator,
+      final CodeCache codeCache) {
     this.name = name;
     this.evm = evm;
     this.transactionValidator = transactionValidator;
@@ -117,6 +122,7 @@ public class ProtocolSpec<C> {
     this.precompileContractRegistry = precompileContractRegistry;
     this.skipZeroBlockRewards = skipZeroBlockRewards;
     this.gasCalculator = gasCalculator;
+    this.codeCache = codeCache;
   }
 
   /**
@@ -273,6 +279,15 @@ public class ProtocolSpec<C> {
     return gasCalculator;
   }
 
+  /**
+   * Returns the cache of analysed contract code used in this specification.
+   *
+   * @return the code cache
+   */
+  public CodeCache getCodeCache() {
+    return codeCache;
+  }
+
   public void setTransactionFilter(final TransactionFilter transactionFilter) {
     transactionValidator.setTransactionFilter(transactionFilter);
   }
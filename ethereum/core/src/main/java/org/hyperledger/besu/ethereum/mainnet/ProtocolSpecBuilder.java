@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.mainnet.precompiles.privacy.PrivacyPrecompiledContract;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionValidator;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 
@@ -38,7 +39,7 @@ public class ProtocolSpecBuilder<T> {
   private BlockHeaderFunctions blockHeaderFunctions;
   private MainnetBlockProcessor.TransactionReceiptFactory transactionReceiptFactory;
   private DifficultyCalculator<T> difficultyCalculator;
-  private Function<GasCalculator, EVM> evmBuilder;
+  private BiFunction<GasCalculator, CodeCache, EVM> evmBuilder;
   private Function<GasCalculator, TransactionValidator> transactionValidatorBuilder;
   private Function<DifficultyCalculator<T>, BlockHeaderValidator<T>> blockHeaderValidatorBuilder;
   private Function<DifficultyCalculator<T>, BlockHeaderValidator<T>> ommerHeaderValidatorBuilder;
@@ -55,6 +56,7 @@ public class ProtocolSpecBuilder<T> {
   private String name;
   private MiningBeneficiaryCalculator miningBeneficiaryCalculator;
   private PrivacyParameters privacyParameters;
+  private CodeCache codeCache;
   private PrivateTransactionProcessorBuilder privateTransactionProcessorBuilder;
   private PrivateTransactionValidatorBuilder privateTransactionValidatorBuilder;
 
@@ -91,7 +93,8 @@ public class ProtocolSpecBuilder<T> {
     return this;
   }
 
-  public ProtocolSpecBuilder<T> evmBuilder(final Function<GasCalculator, EVM> evmBuilder) {
+  public ProtocolSpecBuilder<T> evmBuilder(
+      final BiFunction<GasCalculator, CodeCache, EVM> evmBuilder) {
     this.evmBuilder = evmBuilder;
     return this;
   }
@@ -206,6 +209,11 @@ public class ProtocolSpecBuilder<T> {
     return this;
   }
 
+  public ProtocolSpecBuilder<T> codeCache(final CodeCache codeCache) {
+    this.codeCache = codeCache;
+    return this;
+  }
+
   public <R> ProtocolSpecBuilder<R> changeConsensusContextType(
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> blockHeaderValidatorBuilder,
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> ommerHeaderValidatorBuilder,
@@ -220,6 +228,7 @@ public class ProtocolSpecBuilder<T> {
         .privateTransactionValidatorBuilder(privateTransactionValidatorBuilder)
         .contractCreationProcessorBuilder(contractCreationProcessorBuilder)
         .privacyParameters(privacyParameters)
+        .codeCache(codeCache)
         .precompileContractRegistryBuilder(precompileContractRegistryBuilder)
         .messageCallProcessorBuilder(messageCallProcessorBuilder)
         .transactionProcessorBuilder(transactionProcessorBuilder)
@@ -262,9 +271,10 @@ public class ProtocolSpecBuilder<T> {
     checkNotNull(miningBeneficiaryCalculator, "Missing Mining Beneficiary Calculator");
     checkNotNull(protocolSchedule, "Missing protocol schedule");
     checkNotNull(privacyParameters, "Missing privacy parameters");
+    checkNotNull(codeCache, "Missing code cache");
 
     final GasCalculator gasCalculator = gasCalculatorBuilder.get();
-    final EVM evm = evmBuilder.apply(gasCalculator);
+    final EVM evm = evmBuilder.apply(gasCalculator, codeCache);
     final PrecompiledContractConfiguration precompiledContractConfiguration =
         new PrecompiledContractConfiguration(gasCalculator, privacyParameters);
     final TransactionValidator transactionValidator =
@@ -277,7 +287,11 @@ public class ProtocolSpecBuilder<T> {
         messageCallProcessorBuilder.apply(evm, precompileContractRegistry);
     final TransactionProcessor transactionProcessor =
         transactionProcessorBuilder.apply(
-            gasCalculator, transactionValidator, contractCreationProcessor, messageCallProcessor);
+            gasCalculator,
+            transactionValidator,
+            contractCreationProcessor,
+            messageCallProcessor,
+            codeCache);
 
     // Set private Tx Processor
     if (privacyParameters.isEnabled()) {
@@ -289,7 +303,8 @@ public class ProtocolSpecBuilder<T> {
               transactionValidator,
               contractCreationProcessor,
               messageCallProcessor,
-              privateTransactionValidator);
+              privateTransactionValidator,
+              codeCache);
       Address address = Address.privacyPrecompiled(privacyParameters.getPrivacyAddress());
       PrivacyPrecompiledContract privacyPrecompiledContract =
           (PrivacyPrecompiledContract)
@@ -331,7 +346,8 @@ public class ProtocolSpecBuilder<T> {
         miningBeneficiaryCalculator,
         precompileContractRegistry,
         skipZeroBlockRewards,
-        gasCalculator);
+        gasCalculator,
+        codeCache);
   }
 
   public interface TransactionProcessorBuilder {
@@ -339,7 +355,8 @@ public class ProtocolSpecBuilder<T> {
         GasCalculator gasCalculator,
         TransactionValidator transactionValidator,
         AbstractMessageProcessor contractCreationProcessor,
-        AbstractMessageProcessor messageCallProcessor);
+        AbstractMessageProcessor messageCallProcessor,
+        CodeCache codeCache);
   }
 
   public interface PrivateTransactionProcessorBuilder {
@@ -348,7 +365,8 @@ public class ProtocolSpecBuilder<T> {
         TransactionValidator transactionValidator,
         AbstractMessageProcessor contractCreationProcessor,
         AbstractMessageProcessor messageCallProcessor,
-        PrivateTransactionValidator privateTransactionValidator);
+        PrivateTransactionValidator privateTransactionValidator,
+        CodeCache codeCache);
   }
 
   public interface PrivateTransactionValidatorBuilder {
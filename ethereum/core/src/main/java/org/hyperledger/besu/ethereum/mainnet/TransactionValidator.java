@@ -77,6 +77,7 @@ public interface TransactionValidator {
     CROSSCHAIN_FAILED_SUBORDINATE_VIEW,
     CROSSCHAIN_FAILED_SUBORDINATE_TRANSACTION,
     CROSSCHAIN_FAILED_EXECUTION,
+    CROSSCHAIN_TOO_MANY_PENDING_TRANSACTIONS,
     CROSSCHAIN_UNKNOWN_FAILURE;
   }
 }
@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.Code;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
@@ -60,6 +61,8 @@ public class PrivateTransactionProcessor {
 
   private final int createContractAccountVersion;
 
+  private final CodeCache codeCache;
+
   public static class Result implements TransactionProcessor.Result {
 
     private final Status status;
@@ -163,7 +166,8 @@ public class PrivateTransactionProcessor {
       final boolean clearEmptyAccounts,
       final int maxStackSize,
       final int createContractAccountVersion,
-      final PrivateTransactionValidator privateTransactionValidator) {
+      final PrivateTransactionValidator privateTransactionValidator,
+      final CodeCache codeCache) {
     this.gasCalculator = gasCalculator;
     this.transactionValidator = transactionValidator;
     this.contractCreationProcessor = contractCreationProcessor;
@@ -172,6 +176,7 @@ public class PrivateTransactionProcessor {
     this.maxStackSize = maxStackSize;
     this.createContractAccountVersion = createContractAccountVersion;
     this.privateTransactionValidator = privateTransactionValidator;
+    this.codeCache = codeCache;
   }
 
   @SuppressWarnings("unused")
@@ -266,7 +271,7 @@ public class PrivateTransactionProcessor {
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(codeCache.getCode(contract))
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
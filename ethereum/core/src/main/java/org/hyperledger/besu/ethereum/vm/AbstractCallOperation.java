@@ -28,6 +28,8 @@ import org.hyperledger.besu.util.uint.UInt256;
  */
 public abstract class AbstractCallOperation extends AbstractOperation {
 
+  private final CodeCache codeCache;
+
   public AbstractCallOperation(
       final int opcode,
       final String name,
@@ -35,7 +37,8 @@ public abstract class AbstractCallOperation extends AbstractOperation {
       final int stackItemsProduced,
       final boolean updatesProgramCounter,
       final int opSize,
-      final GasCalculator gasCalculator) {
+      final GasCalculator gasCalculator,
+      final CodeCache codeCache) {
     super(
         opcode,
         name,
@@ -44,6 +47,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
         updatesProgramCounter,
         opSize,
         gasCalculator);
+    this.codeCache = codeCache;
   }
 
   /**
@@ -179,7 +183,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
             .sender(sender(frame))
             .value(value(frame))
             .apparentValue(apparentValue(frame))
-            .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+            .code(codeCache.getCode(contract))
             .blockHeader(frame.getBlockHeader())
             .depth(frame.getMessageStackDepth() + 1)
             .isStatic(isStatic(frame))
@@ -187,6 +191,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
             .miningBeneficiary(frame.getMiningBeneficiary())
             .blockHashLookup(frame.getBlockHashLookup())
             .maxStackSize(frame.getMaxStackSize())
+            .crosschainContext(frame.getCrosschainContext())
             .build();
 
     frame.getMessageFrameStack().addFirst(childFrame);
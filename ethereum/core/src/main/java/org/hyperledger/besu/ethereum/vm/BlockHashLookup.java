@@ -19,12 +19,17 @@ import org.hyperledger.besu.ethereum.vm.operations.BlockHashOperation;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Calculates and caches block hashes by number following the chain for a specific branch. This is
  * used by {@link BlockHashOperation} and ensures that the correct block hash is returned even when
  * the block being imported is on a fork.
  *
+ * <p>When the block being processed builds on the canonical chain, the hashes are taken from the
+ * recent canonical block hashes the blockchain holds in memory, rather than by reading the headers
+ * of the block's ancestors.
+ *
  * <p>A new BlockHashCache must be created for each block being processed but should be reused for
  * all transactions within that block.
  */
@@ -32,12 +37,16 @@ public class BlockHashLookup {
 
   private ProcessableBlockHeader searchStartHeader;
   private final Blockchain blockchain;
+  private final Hash parentHash;
+  private final long parentNumber;
   private final Map<Long, Hash> hashByNumber = new HashMap<>();
 
   public BlockHashLookup(final ProcessableBlockHeader currentBlock, final Blockchain blockchain) {
     this.searchStartHeader = currentBlock;
     this.blockchain = blockchain;
-    hashByNumber.put(currentBlock.getNumber() - 1, currentBlock.getParentHash());
+    this.parentHash = currentBlock.getParentHash();
+    this.parentNumber = currentBlock.getNumber() - 1;
+    hashByNumber.put(parentNumber, parentHash);
   }
 
   public Hash getBlockHash(final long blockNumber) {
@@ -45,6 +54,12 @@ public class BlockHashLookup {
     if (cachedHash != null) {
       return cachedHash;
     }
+    final Optional<Hash> recentHash =
+        blockchain.getRecentAncestorHash(blockNumber, parentHash, parentNumber);
+    if (recentHash.isPresent()) {
+      hashByNumber.put(blockNumber, recentHash.get());
+      return recentHash.get();
+    }
     while (searchStartHeader != null && searchStartHeader.getNumber() - 1 > blockNumber) {
       searchStartHeader = blockchain.getBlockHeader(searchStartHeader.getParentHash()).orElse(null);
       if (searchStartHeader != null) {
@@ -12,22 +12,42 @@
  */
 package org.hyperledger.besu.ethereum.vm;
 
+import static org.hyperledger.besu.util.uint.UInt256Limbs.LIMBS;
+
 import org.hyperledger.besu.ethereum.vm.operations.JumpDestOperation;
+import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.BitSet;
 
 import com.google.common.base.MoreObjects;
 
-/** Represents EVM code associated with an account. */
+/**
+ * Represents EVM code associated with an account.
+ *
+ * <p>The code is analysed the first time it is needed: the valid jump destinations are found, and
+ * the values pushed by PUSH operations are decoded. A {@code Code} is safe to share between
+ * threads, so that the analysis can be reused by every call to the same code, see {@link
+ * CodeCache}.
+ */
 public class Code {
 
+  private static final int PUSH1_OPCODE = 0x60;
+  private static final int PUSH32_OPCODE = 0x7F;
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
   /** The bytes representing the code. */
   private final BytesValue bytes;
 
-  /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  /** Used to cache the analysis of the code. */
+  private volatile Analysis analysis;
 
   /**
    * Public constructor.
@@ -71,39 +91,115 @@ public class Code {
   /**
    * Determine whether a specified destination is a valid jump target.
    *
-   * @param evm the EVM executing this code
-   * @param frame The current message frame
    * @param destination The destination we're checking for validity.
    * @return Whether or not this location is a valid jump destination.
    */
-  public boolean isValidJumpDestination(
-      final EVM evm, final MessageFrame frame, final UInt256 destination) {
+  public boolean isValidJumpDestination(final UInt256 destination) {
     if (!destination.fitsInt()) return false;
 
     final int jumpDestination = destination.toInt();
     if (jumpDestination > getSize()) return false;
 
-    if (validJumpDestinations == null) {
-      // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
-      evm.forEachOperation(
-          this,
-          frame.getContractAccountVersion(),
-          (final Operation op, final Integer offset) -> {
-            if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
-            }
-          });
-    }
-    return validJumpDestinations.get(jumpDestination);
+    return getAnalysis().validJumpDestinations.get(jumpDestination);
+  }
+
+  /**
+   * Determine whether a specified destination is a valid jump target.
+   *
+   * @param destination The non-negative destination we're checking for validity, as read with
+   *     {@link MessageFrame#getStackItemAsSaturatedLong(int)}.
+   * @return Whether or not this location is a valid jump destination.
+   */
+  public boolean isValidJumpDestination(final long destination) {
+    if (destination > getSize()) return false;
+
+    return getAnalysis().validJumpDestinations.get((int) destination);
+  }
+
+  /**
+   * Returns the values pushed by the PUSH operations of the code, as {@link
+   * org.hyperledger.besu.util.uint.UInt256Limbs}. The value pushed by the PUSH operation at an
+   * offset starts at {@link #getPushValueIndex(int)}.
+   *
+   * @return The values pushed by the PUSH operations of the code. Must not be modified.
+   */
+  public long[] getPushValues() {
+    return getAnalysis().pushValues;
+  }
+
+  /**
+   * @param offset The offset of a PUSH operation in the code.
+   * @return The index in {@link #getPushValues()} of the value pushed by the operation.
+   */
+  public int getPushValueIndex(final int offset) {
+    return getAnalysis().pushValueIndexes[offset];
   }
 
   public BytesValue getBytes() {
     return bytes;
   }
 
+  private Analysis getAnalysis() {
+    Analysis result = analysis;
+    if (result == null) {
+      // Analysing the same code concurrently is harmless, as the results are the same.
+      result = new Analysis(bytes.getArrayUnsafe());
+      analysis = result;
+    }
+    return result;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("bytes", bytes).toString();
   }
+
+  /*
+   * The jump destinations only depend on the size of the PUSH operations, which is the same for
+   * all account versions, so the analysis does not depend on the version the code is run with.
+   */
+  private static final class Analysis {
+    private final BitSet validJumpDestinations;
+    // Indexed by the offset of each PUSH operation.
+    private final int[] pushValueIndexes;
+    private final long[] pushValues;
+
+    private Analysis(final byte[] code) {
+      validJumpDestinations = new BitSet(code.length);
+      pushValueIndexes = new int[code.length];
+      int pushCount = 0;
+      for (int pc = 0; pc < code.length; pc++) {
+        final int opcode = code[pc] & 0xFF;
+        if (opcode == JumpDestOperation.OPCODE) {
+          validJumpDestinations.set(pc);
+        } else if (opcode >= PUSH1_OPCODE && opcode <= PUSH32_OPCODE) {
+          pushValueIndexes[pc] = pushCount * LIMBS;
+          pushCount++;
+          pc += opcode - PUSH1_OPCODE + 1;
+        }
+      }
+
+      pushValues = new long[pushCount * LIMBS];
+      final byte[] word = new byte[Bytes32.SIZE];
+      for (int pc = 0; pc < code.length; pc++) {
+        final int opcode = code[pc] & 0xFF;
+        if (opcode >= PUSH1_OPCODE && opcode <= PUSH32_OPCODE) {
+          // The pushed bytes are right aligned, and padded with zeros if the code ends first.
+          final int length = opcode - PUSH1_OPCODE + 1;
+          Arrays.fill(word, (byte) 0);
+          System.arraycopy(
+              code,
+              pc + 1,
+              word,
+              Bytes32.SIZE - length,
+              Math.min(length, code.length - pc - 1));
+          final int index = pushValueIndexes[pc];
+          for (int i = 0; i < LIMBS; i++) {
+            pushValues[index + i] = (long) LONGS.get(word, Bytes32.SIZE - Long.BYTES * (i + 1));
+          }
+          pc += length;
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the {@link Code} of contracts, keyed by code hash, so that the code of a contract is
+ * only loaded and analysed once, rather than for every call to the contract.
+ *
+ * <p>A single cache is created for each protocol schedule and shared by all of its transaction
+ * processors and call operations, so that it covers all of the transactions, blocks and calls
+ * processed by the node. It is bounded by the total size of the cached code. Analysing code takes
+ * memory in proportion to the size of the code, up to around 15 times its size.
+ */
+public class CodeCache {
+  public static final long DEFAULT_MAXIMUM_CODE_BYTES = 4 * 1024 * 1024;
+
+  private static final Code EMPTY_CODE = new Code();
+
+  private final Cache<Hash, Code> codes;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maximumCodeBytes Maximum total size of the cached code. The least recently used code is
+   *     evicted first.
+   */
+  public CodeCache(final long maximumCodeBytes) {
+    this.codes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumCodeBytes)
+            .<Hash, Code>weigher((codeHash, code) -> code.getSize())
+            .build();
+  }
+
+  /**
+   * Get the code of a contract.
+   *
+   * @param contract The contract, or null if there is no account at the address being called.
+   * @return The code of the contract. Empty if there is no contract.
+   */
+  public Code getCode(final Account contract) {
+    if (contract == null) {
+      return EMPTY_CODE;
+    }
+    final Hash codeHash = contract.getCodeHash();
+    final Code cached = this.codes.getIfPresent(codeHash);
+    if (cached != null) {
+      this.hits.increment();
+      return cached;
+    }
+    this.misses.increment();
+    final Code code = new Code(contract.getCode());
+    this.codes.put(codeHash, code);
+    return code;
+  }
+
+  /** @return The number of times code was found in the cache. */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /** @return The number of times code was not found in the cache. */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /** @param metricsSystem Metrics system to report the hits and misses of the cache to. */
+  public void registerMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "code_cache_hits",
+        "Number of times the analysed code of a contract was found in the code cache",
+        this::getHits);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "code_cache_misses",
+        "Number of times the code of a contract was loaded and analysed",
+        this::getMisses);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "code_cache_size",
+        "Number of contracts in the code cache",
+        this.codes::size);
+  }
+}
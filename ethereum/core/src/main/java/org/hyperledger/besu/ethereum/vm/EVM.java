@@ -30,18 +30,48 @@ public class EVM {
   private static final Logger LOG = getLogger();
 
   private static final int STOP_OPCODE = 0x00;
+  private static final int INVALID_OPCODE = 0xfe;
+  private static final int NUM_OPCODES = 256;
+  // Returned when an operation's gas cost can not be determined without a full evaluation.
+  private static final long UNKNOWN_GAS_COST = -1;
+
   private final OperationRegistry operations;
   private final Operation invalidOperation;
+  // Indexed by contract account version.
+  private final DispatchTable[] dispatchTables;
 
   public EVM(final OperationRegistry operations, final Operation invalidOperation) {
     this.operations = operations;
     this.invalidOperation = invalidOperation;
+    this.dispatchTables = new DispatchTable[operations.getNumVersions()];
+    for (int version = 0; version < dispatchTables.length; version++) {
+      dispatchTables[version] = new DispatchTable(operations, version, invalidOperation);
+    }
   }
 
+  /**
+   * Execute the frame's code until the frame halts.
+   *
+   * <p>When the execution is not being traced, operations are executed without evaluating them
+   * through the exceptional halt predicates, and without allocating for each operation. Only an
+   * operation which may halt is evaluated in full, in the same way as when tracing, so that the
+   * reasons for the halt are the same.
+   *
+   * @param frame The frame to execute.
+   * @param operationTracer Tracer of each operation, or {@link OperationTracer#NO_TRACING}.
+   * @throws ExceptionalHaltException if the frame halts exceptionally.
+   */
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
-    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
-      executeNextOperation(frame, operationTracer);
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      final DispatchTable dispatchTable = dispatchTables[frame.getContractAccountVersion()];
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperationUntraced(frame, dispatchTable);
+      }
+    } else {
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperation(frame, operationTracer);
+      }
     }
   }
 
@@ -77,6 +107,51 @@ public class EVM {
         });
   }
 
+  private void executeNextOperationUntraced(
+      final MessageFrame frame, final DispatchTable dispatchTable) throws ExceptionalHaltException {
+    final BytesValue bytecode = frame.getCode().getBytes();
+    final int pc = frame.getPC();
+    // If the length of the program code is shorter than the required offset, halt execution.
+    final int opcode = pc < bytecode.size() ? bytecode.get(pc) & 0xff : STOP_OPCODE;
+    final Operation operation = dispatchTable.operations[opcode];
+    frame.setCurrentOperation(operation);
+
+    final long gasCost = untracedGasCost(frame, dispatchTable, opcode);
+    if (gasCost == UNKNOWN_GAS_COST || frame.getRemainingGasAsLong() < gasCost) {
+      executeNextOperation(frame, OperationTracer.NO_TRACING);
+      return;
+    }
+    if (LOG.isTraceEnabled()) {
+      logState(frame, Optional.of(Gas.of(gasCost)));
+    }
+    frame.decrementRemainingGas(gasCost);
+    operation.execute(frame);
+    incrementProgramCounter(frame);
+  }
+
+  // The gas cost of the current operation, or UNKNOWN_GAS_COST if the operation will halt, or its
+  // cost can't be calculated.
+  private long untracedGasCost(
+      final MessageFrame frame, final DispatchTable dispatchTable, final int opcode) {
+    final int stackSize = frame.stackSize();
+    final Operation operation = dispatchTable.operations[opcode];
+    if (dispatchTable.invalid[opcode]
+        || stackSize < dispatchTable.stackItemsConsumed[opcode]
+        || stackSize + dispatchTable.stackSizeChange[opcode] > frame.getMaxStackSize()
+        || !frame.getExceptionalHaltReasons().isEmpty()
+        || operation
+            .exceptionalHaltCondition(frame, frame.getExceptionalHaltReasons(), this)
+            .isPresent()) {
+      return UNKNOWN_GAS_COST;
+    }
+    try {
+      final Gas gasCost = operation.cost(frame);
+      return gasCost == null ? UNKNOWN_GAS_COST : gasCost.toLong();
+    } catch (final IllegalArgumentException e) {
+      return UNKNOWN_GAS_COST;
+    }
+  }
+
   private void evaluateExceptionalHaltReasons(final MessageFrame frame) {
     final EnumSet<ExceptionalHaltReason> haltReasons =
         ExceptionalHaltManager.evaluateAll(frame, this);
@@ -150,4 +225,23 @@ public class EVM {
 
     return operations.getOrDefault(bytecode.get(offset), contractAccountVersion, invalidOperation);
   }
+
+  /** The operations of a contract account version, indexed by opcode. */
+  private static final class DispatchTable {
+    final Operation[] operations = new Operation[NUM_OPCODES];
+    final boolean[] invalid = new boolean[NUM_OPCODES];
+    final int[] stackItemsConsumed = new int[NUM_OPCODES];
+    final int[] stackSizeChange = new int[NUM_OPCODES];
+
+    DispatchTable(
+        final OperationRegistry registry, final int version, final Operation invalidOperation) {
+      for (int opcode = 0; opcode < NUM_OPCODES; opcode++) {
+        final Operation operation = registry.getOrDefault((byte) opcode, version, invalidOperation);
+        operations[opcode] = operation;
+        invalid[opcode] = operation.getOpcode() == INVALID_OPCODE;
+        stackItemsConsumed[opcode] = operation.getStackItemsConsumed();
+        stackSizeChange[opcode] = operation.getStackSizeChange();
+      }
+    }
+  }
 }
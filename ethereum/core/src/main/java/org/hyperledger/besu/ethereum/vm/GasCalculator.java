@@ -300,28 +300,31 @@ public interface GasCalculator {
    * Returns the cost for executing a {@link MLoadOperation}.
    *
    * @param frame The current frame
-   * @param offset The offset in memory where the access takes place
+   * @param offset The offset in memory where the access takes place, or {@link Long#MAX_VALUE} if
+   *     it is larger
    * @return the cost for executing the memory load operation
    */
-  Gas mLoadOperationGasCost(MessageFrame frame, UInt256 offset);
+  Gas mLoadOperationGasCost(MessageFrame frame, long offset);
 
   /**
    * Returns the cost for executing a {@link MStoreOperation}.
    *
    * @param frame The current frame
-   * @param offset The offset in memory where the access takes place
+   * @param offset The offset in memory where the access takes place, or {@link Long#MAX_VALUE} if
+   *     it is larger
    * @return the cost for executing the memory store operation
    */
-  Gas mStoreOperationGasCost(MessageFrame frame, UInt256 offset);
+  Gas mStoreOperationGasCost(MessageFrame frame, long offset);
 
   /**
    * Returns the cost for executing a {@link MStore8Operation}.
    *
    * @param frame The current frame
-   * @param offset The offset in memory where the access takes place
+   * @param offset The offset in memory where the access takes place, or {@link Long#MAX_VALUE} if
+   *     it is larger
    * @return the cost for executing the memory byte store operation
    */
-  Gas mStore8OperationGasCost(MessageFrame frame, UInt256 offset);
+  Gas mStore8OperationGasCost(MessageFrame frame, long offset);
 
   /**
    * Returns the cost for executing a {@link SelfDestructOperation}.
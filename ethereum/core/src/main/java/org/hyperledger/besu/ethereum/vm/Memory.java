@@ -15,17 +15,13 @@ package org.hyperledger.besu.ethereum.vm;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.bytes.BytesValues;
-import org.hyperledger.besu.util.bytes.MutableBytes32;
 import org.hyperledger.besu.util.bytes.MutableBytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 import org.hyperledger.besu.util.uint.UInt256Value;
 import org.hyperledger.besu.util.uint.UInt256s;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Objects;
-
-import com.google.common.base.Joiner;
+import java.util.Arrays;
 
 /**
  * A EVM memory implementation.
@@ -36,51 +32,28 @@ import com.google.common.base.Joiner;
 public class Memory {
 
   // See below.
-  private static final long MAX_BYTES = 32L * Integer.MAX_VALUE;
+  private static final long MAX_BYTES = (Integer.MAX_VALUE / Bytes32.SIZE) * Bytes32.SIZE;
 
   /**
    * The data stored within the memory.
    *
-   * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
-   * overflow this. That said we can already store up to 64GB and:
-   *
-   * <ul>
-   *   <li>that's 64GB of underlying bytes, but *a lot* more physical memory use in practice,
-   *       because ... Java; worth testing but I suspect all but the beefiest servers would OOM
-   *       before we come close to his in the first place.
-   *   <li>the price of a transaction needing more than that is likely prohibitive.
-   * </ul>
-   *
-   * So this is likely a reasonable limitation, at least at first (and possibly ever if I'm to bet).
+   * <p>Note that the current Ethereum spec don't put a limit on memory, but as the memory is held
+   * in a single byte array it can hold at most MAX_BYTES, that is almost 2GB. Expanding memory to
+   * that size costs in the order of 10^13 gas, so no transaction can get close to it.
    */
   /*
-   * Implementation note: using an array of word have a bunch of advantages: - it can make
-   * expansions cheaper (less bytes to copy on resize). - it makes word-related operations simple. -
-   * it's an easy way to put a higher limit on addressable memory (Integer.MAX_VALUE word is 32
-   * times more capacity than Integer.MAX_VALUE bytes). but it's not without downsides either: -
-   * non-word aligned operations (on more than 1 byte) are currently more expansive (could be
-   * improved, but with more works). - sequential access, even word-aligned, might be slower than if
-   * we allocated larger byte arrays underneath due to cache effects. This is likely good enough
-   * initially, but a page-based design (with a page being X word, X to be determined) could be
-   * worth exploring as a future improvement.
-   *
-   * Lastly note that we may want to share the underlying implementation with the VM Stack: the
-   * stack is really just growable memory that is grown/accessed from the end and on by fully word,
-   * but the same page-based design probably make sense.
+   * Implementation note: memory is a single byte array, rather than an array of words, so that
+   * loading and storing values, and copying data in and out of memory, are bulk array copies
+   * whatever the alignment. The array grows geometrically, so that expanding memory a word at a
+   * time does not copy it each time. The bytes of the array after the active words are always
+   * zero, so newly active words do not need to be cleared.
    */
-  private final ArrayList<MutableBytes32> data;
-
-  // Really data.size(), but cached as a UInt256 to avoid recomputing it each time.
-  private UInt256 activeWords = UInt256.ZERO;
+  private byte[] data = new byte[0];
 
-  public Memory() {
-    this(new ArrayList<>());
-  }
+  private int activeWords;
 
-  private Memory(final ArrayList<MutableBytes32> data) {
-    this.data = data;
-    this.activeWords = UInt256.of(data.size());
-  }
+  // activeWords as a UInt256, for gas calculations. Only recomputed when memory is expanded.
+  private UInt256 activeWordsValue = UInt256.ZERO;
 
   private static RuntimeException overflow(final long v) {
     return overflow(String.valueOf(v));
@@ -111,25 +84,14 @@ public class Memory {
 
   private static int asByteLength(final UInt256 l) {
     try {
-      // While we can theoretically support up to 32 * Integer.MAX_VALUE due to storing words, and
-      // so an index in memory need to be a long internally, we simply cannot load/store more than
-      // Integer.MAX_VALUE bytes at a time (BytesValue has an int size).
+      // We cannot load/store more than Integer.MAX_VALUE bytes at a time (BytesValue has an int
+      // size). Lengths which pass this check but don't fit MAX_BYTES fail when memory expands.
       return l.toInt();
     } catch (final IllegalStateException e) {
       throw overflow(l.toString());
     }
   }
 
-  private int wordForByte(final long byteIndex) {
-    checkByteIndex(byteIndex);
-    return (int) (byteIndex / Bytes32.SIZE);
-  }
-
-  private int indexInWord(final long byteIndex) {
-    checkByteIndex(byteIndex);
-    return (int) (byteIndex - ((byteIndex / Bytes32.SIZE) * Bytes32.SIZE));
-  }
-
   /**
    * For use in memoryExpansionGasCost() of GasCost. Returns the number of new active words that
    * accommodate at least the number of specified bytes from the provide memory offset.
@@ -145,7 +107,7 @@ public class Memory {
   public UInt256 calculateNewActiveWords(
       final UInt256Value<?> location, final UInt256Value<?> numBytes) {
     if (numBytes.isZero()) {
-      return activeWords;
+      return activeWordsValue;
     }
 
     if (location.fitsInt() && numBytes.fitsInt()) {
@@ -153,7 +115,7 @@ public class Memory {
       final long byteSize = (long) location.toInt() + (long) numBytes.toInt();
       int wordSize = (int) (byteSize / Bytes32.SIZE);
       if (byteSize % Bytes32.SIZE != 0) wordSize += 1;
-      return wordSize > data.size() ? UInt256.of(wordSize) : activeWords;
+      return wordSize > activeWords ? UInt256.of(wordSize) : activeWordsValue;
     } else {
       // Slow, rare path
 
@@ -167,7 +129,32 @@ public class Memory {
       if (!result[1].equals(BigInteger.ZERO)) {
         wordSize = wordSize.add(BigInteger.ONE);
       }
-      return UInt256s.max(activeWords, UInt256.of(wordSize));
+      return UInt256s.max(activeWordsValue, UInt256.of(wordSize));
+    }
+  }
+
+  /**
+   * Returns the number of new active words that accommodate at least the number of specified bytes
+   * from the provided memory offset, as {@link #calculateNewActiveWords(UInt256Value,
+   * UInt256Value)} does, for an offset and number of bytes read from the stack with {@link
+   * OperandStack#getSaturatedLong(int)}.
+   *
+   * @param location The offset in memory from which we want to accommodate {@code numBytes}.
+   * @param numBytes The minimum number of bytes in memory.
+   * @return The number of active words that accommodate at least the number of specified bytes.
+   */
+  public UInt256 calculateNewActiveWords(final long location, final long numBytes) {
+    if (numBytes == 0) {
+      return activeWordsValue;
+    }
+
+    if (location <= Integer.MAX_VALUE && numBytes <= Integer.MAX_VALUE) {
+      final long byteSize = location + numBytes;
+      int wordSize = (int) (byteSize / Bytes32.SIZE);
+      if (byteSize % Bytes32.SIZE != 0) wordSize += 1;
+      return wordSize > activeWords ? UInt256.of(wordSize) : activeWordsValue;
+    } else {
+      return calculateNewActiveWords(UInt256.of(location), UInt256.of(numBytes));
     }
   }
 
@@ -183,8 +170,9 @@ public class Memory {
     if (numBytes == 0) {
       return;
     }
-    final int lastWordRequired = wordForByte(address + numBytes - 1);
-    maybeExpandCapacity(lastWordRequired + 1);
+    final long lastByteRequired = address + numBytes - 1;
+    checkByteIndex(lastByteRequired);
+    maybeExpandCapacity((int) (lastByteRequired / Bytes32.SIZE) + 1);
   }
 
   /**
@@ -193,15 +181,15 @@ public class Memory {
    * @param newActiveWords The new number of active words to expand to.
    */
   private void maybeExpandCapacity(final int newActiveWords) {
-    if (data.size() >= newActiveWords) return;
+    if (activeWords >= newActiveWords) return;
 
-    // Require full capacity to guarantee we don't resize more than once.
-    data.ensureCapacity(newActiveWords);
-    final int toAdd = newActiveWords - data.size();
-    for (int i = 0; i < toAdd; i++) {
-      data.add(MutableBytes32.create());
+    final int newActiveBytes = newActiveWords * Bytes32.SIZE;
+    if (newActiveBytes > data.length) {
+      final long newCapacity = Math.max(newActiveBytes, Math.min(2L * data.length, MAX_BYTES));
+      data = Arrays.copyOf(data, (int) newCapacity);
     }
-    this.activeWords = UInt256.of(data.size());
+    this.activeWords = newActiveWords;
+    this.activeWordsValue = UInt256.of(newActiveWords);
   }
 
   /**
@@ -217,12 +205,18 @@ public class Memory {
     if (!(other instanceof Memory)) return false;
 
     final Memory that = (Memory) other;
-    return this.data.equals(that.data);
+    final int activeBytes = this.activeWords * Bytes32.SIZE;
+    return this.activeWords == that.activeWords
+        && Arrays.equals(this.data, 0, activeBytes, that.data, 0, activeBytes);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(data);
+    int hashCode = 1;
+    for (int i = 0; i < activeWords * Bytes32.SIZE; i++) {
+      hashCode = 31 * hashCode + data[i];
+    }
+    return hashCode;
   }
 
   /**
@@ -231,7 +225,7 @@ public class Memory {
    * @return The current number of active bytes stored in memory.
    */
   public long getActiveBytes() {
-    return (long) data.size() * Bytes32.SIZE;
+    return (long) activeWords * Bytes32.SIZE;
   }
 
   /**
@@ -240,7 +234,7 @@ public class Memory {
    * @return The current number of active words stored in memory.
    */
   public UInt256 getActiveWords() {
-    return activeWords;
+    return activeWordsValue;
   }
 
   /**
@@ -265,36 +259,7 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
 
-    // Index of last byte to set.
-    final long end = start + length - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      final MutableBytesValue bytes = data.get(startWord);
-      return idxInStart == 0 && length == Bytes32.SIZE
-          ? bytes.copy()
-          : bytes.slice(idxInStart, length).copy();
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    final MutableBytesValue result = MutableBytesValue.create(length);
-    int resultIdx = 0;
-    data.get(startWord).slice(idxInStart).copyTo(result, resultIdx);
-    resultIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).copyTo(result, resultIdx);
-      resultIdx += Bytes32.SIZE;
-    }
-    data.get(endWord).slice(0, bytesInEndWord).copyTo(result, resultIdx);
-    return result;
+    return BytesValue.wrap(Arrays.copyOfRange(data, (int) start, (int) start + length));
   }
 
   /**
@@ -362,44 +327,11 @@ public class Memory {
 
     // We've properly expanded memory as needed. We now have simply have to copy the
     // min(length, value.size()) first bytes of value and clear any bytes that exceed value's length
-    if (taintedValue.isEmpty()) {
-      clearBytes(location, numBytes);
-      return;
+    final int toCopy = Math.min(length, taintedValue.size());
+    if (toCopy > 0) {
+      taintedValue.slice(0, toCopy).copyTo(MutableBytesValue.wrap(data, (int) start, toCopy), 0);
     }
-    final BytesValue value;
-    if (taintedValue.size() > length) {
-      value = taintedValue.slice(0, length);
-    } else if (taintedValue.size() < length) {
-      value = taintedValue;
-      clearBytes(location.plus(taintedValue.size()), numBytes.minus(taintedValue.size()));
-    } else {
-      value = taintedValue;
-    }
-
-    // Index of last byte to set.
-    final long end = start + value.size() - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      value.copyTo(data.get(startWord), idxInStart);
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-
-    int valueIdx = 0;
-    value.slice(valueIdx, bytesInStartWord).copyTo(data.get(startWord), idxInStart);
-    valueIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      value.slice(valueIdx, Bytes32.SIZE).copyTo(data.get(i));
-      valueIdx += Bytes32.SIZE;
-    }
-    value.slice(valueIdx).copyTo(data.get(endWord), 0);
+    Arrays.fill(data, (int) start + toCopy, (int) start + length, (byte) 0);
   }
 
   /**
@@ -430,33 +362,7 @@ public class Memory {
 
     ensureCapacityForBytes(location, numBytes);
 
-    // Index of last byte to set.
-    final long end = location + numBytes - 1;
-
-    final int startWord = wordForByte(location);
-    final int idxInStart = indexInWord(location);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      MutableBytesValue bytes = data.get(startWord);
-      if (idxInStart != 0 || numBytes != Bytes32.SIZE) {
-        bytes = bytes.mutableSlice(idxInStart, numBytes);
-      }
-      bytes.clear();
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    data.get(startWord).mutableSlice(idxInStart, bytesInStartWord).clear();
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).clear();
-    }
-    data.get(endWord).mutableSlice(0, bytesInEndWord).clear();
+    Arrays.fill(data, (int) location, (int) location + numBytes, (byte) 0);
   }
 
   /**
@@ -469,10 +375,7 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
 
-    final int word = wordForByte(start);
-    final int idxInWord = indexInWord(start);
-
-    data.get(word).set(idxInWord, value);
+    data[(int) start] = value;
   }
 
   /**
@@ -485,22 +388,7 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      return data.get(startWord).copy();
-    }
-
-    // Spans 2 memory word, slower path.
-    final MutableBytes32 result = MutableBytes32.create();
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    data.get(startWord).slice(idxInStart, sizeInFirstWord).copyTo(result, 0);
-    data.get(startWord + 1)
-        .slice(0, Bytes32.SIZE - sizeInFirstWord)
-        .copyTo(result, sizeInFirstWord);
-    return result;
+    return Bytes32.wrap(Arrays.copyOfRange(data, (int) start, (int) start + Bytes32.SIZE));
   }
 
   /**
@@ -516,27 +404,43 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
+    bytes.copyTo(MutableBytesValue.wrap(data, (int) start, Bytes32.SIZE), 0);
+  }
 
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      bytes.copyTo(data.get(startWord));
-      return;
-    }
+  /**
+   * Pushes the 32-bytes word that begins at the specified memory location onto a stack.
+   *
+   * @param location The memory location the 256-bit word begins at.
+   * @param stack The stack to push the word onto.
+   */
+  public void pushWord(final long location, final OperandStack stack) {
+    ensureCapacityForBytes(location, Bytes32.SIZE);
+
+    stack.pushBytes(data, (int) location);
+  }
 
-    // Spans 2 memory word, slower path.
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    bytes.slice(0, sizeInFirstWord).copyTo(data.get(startWord), idxInStart);
-    bytes.slice(sizeInFirstWord).copyTo(data.get(startWord + 1), 0);
+  /**
+   * Sets a 32-bytes word in memory at the provided location to an operand on a stack.
+   *
+   * <p>Note that this method will extend memory to accommodate the location assigned and bytes
+   * copied and so never fails.
+   *
+   * @param location the location at which to start setting the bytes.
+   * @param stack the stack holding the operand to copy at {@code location}.
+   * @param offset the position of the operand relative to the top of the stack.
+   */
+  public void setWord(final long location, final OperandStack stack, final int offset) {
+    ensureCapacityForBytes(location, Bytes32.SIZE);
+
+    stack.copyBytes(offset, data, (int) location);
   }
 
   @Override
   public String toString() {
-    if (data.isEmpty()) {
-      return "";
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < activeWords; i++) {
+      builder.append('\n').append(BytesValue.wrap(data, i * Bytes32.SIZE, Bytes32.SIZE));
     }
-
-    return '\n' + Joiner.on("\n").join(data);
+    return builder.toString();
   }
 }
@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.CrosschainExecutionContext;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.core.Log;
 import org.hyperledger.besu.ethereum.core.LogSeries;
@@ -28,6 +29,7 @@ import org.hyperledger.besu.ethereum.mainnet.AbstractMessageProcessor;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 import org.hyperledger.besu.util.uint.UInt256Value;
 
 import java.util.Deque;
@@ -193,7 +195,8 @@ public class MessageFrame {
   private State state;
 
   // Machine state fields.
-  private Gas gasRemaining;
+  // Held as a primitive so that charging for each operation does not allocate.
+  private long gasRemaining;
   private final BlockHashLookup blockHashLookup;
   private final int maxStackSize;
   private int pc;
@@ -226,6 +229,7 @@ public class MessageFrame {
   private final Address miningBeneficiary;
   private final Boolean isPersistingState;
   private Optional<BytesValue> revertReason;
+  private final Optional<CrosschainExecutionContext> crosschainContext;
 
   // Miscellaneous fields.
   private final EnumSet<ExceptionalHaltReason> exceptionalHaltReasons =
@@ -261,12 +265,13 @@ public class MessageFrame {
       final BlockHashLookup blockHashLookup,
       final Boolean isPersistingState,
       final Optional<BytesValue> revertReason,
-      final int maxStackSize) {
+      final int maxStackSize,
+      final Optional<CrosschainExecutionContext> crosschainContext) {
     this.type = type;
     this.blockchain = blockchain;
     this.messageFrameStack = messageFrameStack;
     this.worldState = worldState;
-    this.gasRemaining = initialGas;
+    this.gasRemaining = initialGas.toLong();
     this.blockHashLookup = blockHashLookup;
     this.maxStackSize = maxStackSize;
     this.pc = 0;
@@ -296,6 +301,7 @@ public class MessageFrame {
     this.miningBeneficiary = miningBeneficiary;
     this.isPersistingState = isPersistingState;
     this.revertReason = revertReason;
+    this.crosschainContext = crosschainContext;
   }
 
   /**
@@ -318,7 +324,7 @@ public class MessageFrame {
 
   /** Deducts the remaining gas. */
   public void clearGasRemaining() {
-    this.gasRemaining = Gas.ZERO;
+    this.gasRemaining = 0;
   }
 
   /**
@@ -327,7 +333,16 @@ public class MessageFrame {
    * @param amount The amount of gas to deduct
    */
   public void decrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.minus(amount);
+    decrementRemainingGas(amount.toLong());
+  }
+
+  /**
+   * Decrement the amount of remaining gas.
+   *
+   * @param amount The amount of gas to deduct
+   */
+  public void decrementRemainingGas(final long amount) {
+    this.gasRemaining -= amount;
   }
 
   /**
@@ -336,6 +351,15 @@ public class MessageFrame {
    * @return the amount of remaining gas
    */
   public Gas getRemainingGas() {
+    return Gas.of(gasRemaining);
+  }
+
+  /**
+   * Return the amount of remaining gas.
+   *
+   * @return the amount of remaining gas
+   */
+  public long getRemainingGasAsLong() {
     return gasRemaining;
   }
 
@@ -345,7 +369,7 @@ public class MessageFrame {
    * @param amount The amount of gas to increment
    */
   public void incrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.plus(amount);
+    this.gasRemaining = Gas.of(gasRemaining).plus(amount).toLong();
   }
 
   /**
@@ -354,7 +378,7 @@ public class MessageFrame {
    * @param amount The amount of remaining gas
    */
   public void setGasRemaining(final Gas amount) {
-    this.gasRemaining = amount;
+    this.gasRemaining = amount.toLong();
   }
 
   /**
@@ -414,6 +438,31 @@ public class MessageFrame {
     return stack.get(offset);
   }
 
+  /**
+   * Returns whether the item at the specified offset in the stack is zero, without converting it to
+   * a {@link Bytes32}.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @return Whether the item at the specified offset in the stack is zero
+   * @throws IndexOutOfBoundsException if the offset is out of range
+   */
+  public boolean isStackItemZero(final int offset) {
+    return stack.isZero(offset);
+  }
+
+  /**
+   * Returns the item at the specified offset in the stack as a long, without converting it to a
+   * {@link Bytes32}. Items larger than {@link Long#MAX_VALUE} are returned as {@link
+   * Long#MAX_VALUE}.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @return The item at the specified offset in the stack, or {@link Long#MAX_VALUE} if larger
+   * @throws IndexOutOfBoundsException if the offset is out of range
+   */
+  public long getStackItemAsSaturatedLong(final int offset) {
+    return stack.getSaturatedLong(offset);
+  }
+
   /**
    * Removes the item at the top of the stack.
    *
@@ -444,6 +493,17 @@ public class MessageFrame {
     stack.push(value);
   }
 
+  /**
+   * Pushes an item held as {@link UInt256Limbs} onto the top of the stack.
+   *
+   * @param limbs The array holding the limbs of the item
+   * @param offset The index of the first limb of the item in {@code limbs}
+   * @throws IllegalStateException if the stack is full
+   */
+  public void pushStackItemLimbs(final long[] limbs, final int offset) {
+    stack.pushLimbs(limbs, offset);
+  }
+
   /**
    * Sets the stack item at the specified offset from the top of the stack to the value
    *
@@ -455,6 +515,56 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Pushes a copy of the stack item at the specified offset from the top of the stack.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws IllegalStateException if the stack is full
+   */
+  public void dupStackItem(final int offset) {
+    stack.dup(offset);
+  }
+
+  /**
+   * Swaps the item at the top of the stack with the item at the specified offset from the top of
+   * the stack.
+   *
+   * @param offset The other item's position relative to the top of the stack
+   */
+  public void swapStackItem(final int offset) {
+    stack.swap(offset);
+  }
+
+  /**
+   * Replaces the item at the top of the stack with the result of an operation on it.
+   *
+   * @param operation The operation
+   * @throws IllegalStateException if the stack is empty
+   */
+  public void applyUnaryStackOperation(final UInt256Limbs.UnaryOp operation) {
+    stack.applyUnaryOperation(operation);
+  }
+
+  /**
+   * Replaces the two items at the top of the stack with the result of an operation on them.
+   *
+   * @param operation The operation, whose first operand is the item at the top of the stack
+   * @throws IllegalStateException if the stack does not contain enough items
+   */
+  public void applyBinaryStackOperation(final UInt256Limbs.BinaryOp operation) {
+    stack.applyBinaryOperation(operation);
+  }
+
+  /**
+   * Replaces the three items at the top of the stack with the result of an operation on them.
+   *
+   * @param operation The operation, whose first operand is the item at the top of the stack
+   * @throws IllegalStateException if the stack does not contain enough items
+   */
+  public void applyTernaryStackOperation(final UInt256Limbs.TernaryOp operation) {
+    stack.applyTernaryOperation(operation);
+  }
+
   /**
    * Return the current stack size.
    *
@@ -485,6 +595,18 @@ public class MessageFrame {
     return memory.calculateNewActiveWords(offset, length);
   }
 
+  /**
+   * Returns the memory size for specified memory access, for an offset and length read with {@link
+   * #getStackItemAsSaturatedLong(int)}.
+   *
+   * @param offset The offset in memory
+   * @param length The length of the memory access
+   * @return the memory size for specified memory access
+   */
+  public UInt256 calculateMemoryExpansion(final long offset, final long length) {
+    return memory.calculateNewActiveWords(offset, length);
+  }
+
   /**
    * Expands memory to accomodate the specified memory access.
    *
@@ -537,6 +659,27 @@ public class MessageFrame {
     return memory.getBytes(offset, length);
   }
 
+  /**
+   * Read a word in memory, and push it onto the top of the stack.
+   *
+   * @param offset The offset in memory of the word
+   * @throws IllegalStateException if the stack is full
+   */
+  public void pushMemoryWord(final long offset) {
+    memory.pushWord(offset, stack);
+  }
+
+  /**
+   * Write a stack item to a word in memory.
+   *
+   * @param offset The offset in memory of the word
+   * @param stackOffset The item's position relative to the top of the stack
+   * @throws IndexOutOfBoundsException if the stack offset is out of range
+   */
+  public void writeMemoryWord(final long offset, final int stackOffset) {
+    memory.setWord(offset, stack, stackOffset);
+  }
+
   /**
    * Write byte to memory
    *
@@ -880,6 +1023,16 @@ public class MessageFrame {
     return contractAccountVersion;
   }
 
+  /**
+   * Returns the context of the transaction execution this message is part of, used by the
+   * crosschain precompiles.
+   *
+   * @return the crosschain execution context, if one was provided
+   */
+  public Optional<CrosschainExecutionContext> getCrosschainContext() {
+    return crosschainContext;
+  }
+
   public static class Builder {
 
     private Type type;
@@ -906,6 +1059,7 @@ public class MessageFrame {
     private BlockHashLookup blockHashLookup;
     private Boolean isPersistingState = false;
     private Optional<BytesValue> reason = Optional.empty();
+    private Optional<CrosschainExecutionContext> crosschainContext = Optional.empty();
 
     public Builder type(final Type type) {
       this.type = type;
@@ -1028,6 +1182,11 @@ public class MessageFrame {
       return this;
     }
 
+    public Builder crosschainContext(final Optional<CrosschainExecutionContext> crosschainContext) {
+      this.crosschainContext = crosschainContext;
+      return this;
+    }
+
     private void validate() {
       checkState(type != null, "Missing message frame type");
       checkState(blockchain != null, "Missing message frame blockchain");
@@ -1079,7 +1238,8 @@ public class MessageFrame {
           blockHashLookup,
           isPersistingState,
           reason,
-          maxStackSize);
+          maxStackSize,
+          crosschainContext);
     }
   }
 }
@@ -15,6 +15,7 @@ package org.hyperledger.besu.ethereum.vm;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 /**
  * An operand stack for the Ethereum Virtual machine (EVM).
@@ -34,6 +35,42 @@ public interface OperandStack {
    */
   Bytes32 get(int offset);
 
+  /**
+   * Returns whether the operand located at the offset from the top of the stack is zero, without
+   * converting it to a {@link Bytes32}.
+   *
+   * @param offset the position relative to the top of the stack of the operand to test
+   * @return whether the operand located at the specified offset is zero
+   * @throws IndexOutOfBoundsException if the offset is out of range (offset &lt; 0 || offset &gt;=
+   *     {@link #size()})
+   */
+  boolean isZero(int offset);
+
+  /**
+   * Returns the operand located at the offset from the top of the stack as a long, without
+   * converting it to a {@link Bytes32}. Operands larger than {@link Long#MAX_VALUE} are returned as
+   * {@link Long#MAX_VALUE}, which is large enough to stand for them as a memory offset or length,
+   * or as a jump destination.
+   *
+   * @param offset the position relative to the top of the stack of the operand to return
+   * @return the operand located at the specified offset, or {@link Long#MAX_VALUE} if it is larger
+   * @throws IndexOutOfBoundsException if the offset is out of range (offset &lt; 0 || offset &gt;=
+   *     {@link #size()})
+   */
+  long getSaturatedLong(int offset);
+
+  /**
+   * Copies the 32 big endian bytes of the operand located at the offset from the top of the stack
+   * to an array.
+   *
+   * @param offset the position relative to the top of the stack of the operand to copy
+   * @param destination the array to copy the operand to
+   * @param destinationOffset the index in {@code destination} to copy the first byte to
+   * @throws IndexOutOfBoundsException if the offset is out of range (offset &lt; 0 || offset &gt;=
+   *     {@link #size()})
+   */
+  void copyBytes(int offset, byte[] destination, int destinationOffset);
+
   /**
    * Removes the operand at the top of the stack.
    *
@@ -73,6 +110,24 @@ public interface OperandStack {
    */
   public void push(Bytes32 operand);
 
+  /**
+   * Pushes an operand held as {@link UInt256Limbs} onto the stack.
+   *
+   * @param limbs the array holding the limbs of the operand
+   * @param offset the index of the first limb of the operand in {@code limbs}
+   * @throws IllegalStateException when the stack is at capacity (e.g. a stack overflow occurs)
+   */
+  void pushLimbs(long[] limbs, int offset);
+
+  /**
+   * Pushes an operand held as 32 big endian bytes in an array onto the stack.
+   *
+   * @param source the array holding the bytes of the operand
+   * @param sourceOffset the index of the first byte of the operand in {@code source}
+   * @throws IllegalStateException when the stack is at capacity (e.g. a stack overflow occurs)
+   */
+  void pushBytes(byte[] source, int sourceOffset);
+
   /**
    * Sets the ith item from the top of the stack to the value.
    *
@@ -83,6 +138,52 @@ public interface OperandStack {
    */
   void set(int index, Bytes32 operand);
 
+  /**
+   * Pushes a copy of the operand located at the offset from the top of the stack.
+   *
+   * @param offset the position relative to the top of the stack of the operand to copy
+   * @throws IndexOutOfBoundsException if the offset is out of range (offset &lt; 0 || offset &gt;=
+   *     {@link #size()})
+   * @throws IllegalStateException when the stack is at capacity (e.g. a stack overflow occurs)
+   */
+  void dup(int offset);
+
+  /**
+   * Swaps the operand at the top of the stack with the operand located at the offset from the top
+   * of the stack.
+   *
+   * @param offset the position relative to the top of the stack of the operand to swap with
+   * @throws IndexOutOfBoundsException if the offset is out of range (offset &lt; 1 || offset &gt;=
+   *     {@link #size()})
+   */
+  void swap(int offset);
+
+  /**
+   * Replaces the operand at the top of the stack with the result of an operation on it.
+   *
+   * @param operation the operation to apply
+   * @throws IllegalStateException if the stack is empty
+   */
+  void applyUnaryOperation(UInt256Limbs.UnaryOp operation);
+
+  /**
+   * Replaces the two operands at the top of the stack with the result of an operation on them. The
+   * operand at the top of the stack is the first operand of the operation.
+   *
+   * @param operation the operation to apply
+   * @throws IllegalStateException if the stack holds less than two operands
+   */
+  void applyBinaryOperation(UInt256Limbs.BinaryOp operation);
+
+  /**
+   * Replaces the three operands at the top of the stack with the result of an operation on them.
+   * The operand at the top of the stack is the first operand of the operation.
+   *
+   * @param operation the operation to apply
+   * @throws IllegalStateException if the stack holds less than three operands
+   */
+  void applyTernaryOperation(UInt256Limbs.TernaryOp operation);
+
   /**
    * Returns the current number of operands in the stack.
    *
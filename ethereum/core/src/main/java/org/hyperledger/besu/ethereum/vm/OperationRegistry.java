@@ -38,6 +38,10 @@ public class OperationRegistry {
     return operations[version][opcode];
   }
 
+  public int getNumVersions() {
+    return operations.length;
+  }
+
   public void put(final Operation operation, final int version) {
     operations[version][operation.getOpcode()] = operation;
   }
@@ -12,8 +12,14 @@
  */
 package org.hyperledger.besu.ethereum.vm;
 
+import static org.hyperledger.besu.util.uint.UInt256Limbs.LIMBS;
+
 import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 /**
@@ -21,21 +27,35 @@ import java.util.Arrays;
  *
  * <p>The {@code PreAllocatedOperandStack} pre-allocates its internal storage to hold the max number
  * it is capable of storing.
+ *
+ * <p>The operands are held in a single {@code long[]}, as {@link UInt256Limbs}, so that pushing and
+ * popping operands does not allocate a word each time, and operands are duplicated, swapped and
+ * operated on in place. An operand is only converted to a {@link Bytes32} when it is read as one.
  */
 public class PreAllocatedOperandStack implements OperandStack {
 
-  private final Bytes32[] entries;
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  // The limbs of the operand at position i from the bottom of the stack start at i * LIMBS.
+  private final long[] entries;
 
   private final int maxSize;
 
   private int top;
 
+  // Operands of binary and ternary operations, and their result.
+  private final long[] operand0 = UInt256Limbs.create();
+  private final long[] operand1 = UInt256Limbs.create();
+  private final long[] operand2 = UInt256Limbs.create();
+  private final long[] result = UInt256Limbs.create();
+
   public PreAllocatedOperandStack(final int maxSize) {
     if (maxSize < 0) {
       throw new IllegalArgumentException(
           String.format("max size (%d) must be non-negative", maxSize));
     }
-    this.entries = new Bytes32[maxSize];
+    this.entries = new long[maxSize * LIMBS];
     this.maxSize = maxSize;
     this.top = -1;
   }
@@ -46,7 +66,40 @@ public class PreAllocatedOperandStack implements OperandStack {
       throw new IndexOutOfBoundsException();
     }
 
-    return entries[top - offset];
+    return read(top - offset);
+  }
+
+  @Override
+  public boolean isZero(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    final int start = (top - offset) * LIMBS;
+    return (entries[start] | entries[start + 1] | entries[start + 2] | entries[start + 3]) == 0;
+  }
+
+  @Override
+  public long getSaturatedLong(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    final int start = (top - offset) * LIMBS;
+    final long least = entries[start];
+    if (least < 0 || (entries[start + 1] | entries[start + 2] | entries[start + 3]) != 0) {
+      return Long.MAX_VALUE;
+    }
+    return least;
+  }
+
+  @Override
+  public void copyBytes(final int offset, final byte[] destination, final int destinationOffset) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    read(top - offset, destination, destinationOffset);
   }
 
   @Override
@@ -55,9 +108,24 @@ public class PreAllocatedOperandStack implements OperandStack {
       throw new IllegalStateException("operand stack underflow");
     }
 
-    final Bytes32 removed = entries[top];
-    entries[top--] = null;
-    return removed;
+    return read(top--);
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    if (items < 0) {
+      throw new IllegalArgumentException(
+          String.format("requested number of items to bulk pop (%d) is negative", items));
+    }
+    if (items == 0) {
+      throw new IllegalArgumentException("number of items to pop must be greater than 0");
+    }
+    if (items > size()) {
+      throw new IllegalStateException(
+          String.format("requested to bulk pop %d items off a stack of size %d", items, size()));
+    }
+
+    top -= items;
   }
 
   @Override
@@ -66,7 +134,31 @@ public class PreAllocatedOperandStack implements OperandStack {
     if (nextTop == maxSize) {
       throw new IllegalStateException("operand stack overflow");
     }
-    entries[nextTop] = operand;
+    write(nextTop, operand);
+    top = nextTop;
+  }
+
+  @Override
+  public void pushLimbs(final long[] limbs, final int offset) {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new IllegalStateException("operand stack overflow");
+    }
+    System.arraycopy(limbs, offset, entries, nextTop * LIMBS, LIMBS);
+    top = nextTop;
+  }
+
+  @Override
+  public void pushBytes(final byte[] source, final int sourceOffset) {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new IllegalStateException("operand stack overflow");
+    }
+    final int start = nextTop * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      entries[start + i] =
+          (long) LONGS.get(source, sourceOffset + Bytes32.SIZE - Long.BYTES * (i + 1));
+    }
     top = nextTop;
   }
 
@@ -76,7 +168,74 @@ public class PreAllocatedOperandStack implements OperandStack {
       throw new IndexOutOfBoundsException();
     }
 
-    entries[top - offset] = operand;
+    write(top - offset, operand);
+  }
+
+  @Override
+  public void dup(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new IllegalStateException("operand stack overflow");
+    }
+
+    System.arraycopy(entries, (top - offset) * LIMBS, entries, nextTop * LIMBS, LIMBS);
+    top = nextTop;
+  }
+
+  @Override
+  public void swap(final int offset) {
+    if (offset < 1 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    final int topIndex = top * LIMBS;
+    final int otherIndex = (top - offset) * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = entries[topIndex + i];
+      entries[topIndex + i] = entries[otherIndex + i];
+      entries[otherIndex + i] = tmp;
+    }
+  }
+
+  @Override
+  public void applyUnaryOperation(final UInt256Limbs.UnaryOp operation) {
+    if (top < 0) {
+      throw new IllegalStateException("operand stack underflow");
+    }
+
+    System.arraycopy(entries, top * LIMBS, operand0, 0, LIMBS);
+    operation.applyOp(operand0, result);
+    System.arraycopy(result, 0, entries, top * LIMBS, LIMBS);
+  }
+
+  @Override
+  public void applyBinaryOperation(final UInt256Limbs.BinaryOp operation) {
+    if (top < 1) {
+      throw new IllegalStateException("operand stack underflow");
+    }
+
+    System.arraycopy(entries, top * LIMBS, operand0, 0, LIMBS);
+    System.arraycopy(entries, (top - 1) * LIMBS, operand1, 0, LIMBS);
+    operation.applyOp(operand0, operand1, result);
+    top--;
+    System.arraycopy(result, 0, entries, top * LIMBS, LIMBS);
+  }
+
+  @Override
+  public void applyTernaryOperation(final UInt256Limbs.TernaryOp operation) {
+    if (top < 2) {
+      throw new IllegalStateException("operand stack underflow");
+    }
+
+    System.arraycopy(entries, top * LIMBS, operand0, 0, LIMBS);
+    System.arraycopy(entries, (top - 1) * LIMBS, operand1, 0, LIMBS);
+    System.arraycopy(entries, (top - 2) * LIMBS, operand2, 0, LIMBS);
+    operation.applyOp(operand0, operand1, operand2, result);
+    top -= 2;
+    System.arraycopy(result, 0, entries, top * LIMBS, LIMBS);
   }
 
   @Override
@@ -84,6 +243,29 @@ public class PreAllocatedOperandStack implements OperandStack {
     return top + 1;
   }
 
+  private Bytes32 read(final int position) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    read(position, bytes, 0);
+    return Bytes32.wrap(bytes);
+  }
+
+  private void read(final int position, final byte[] destination, final int destinationOffset) {
+    final int start = position * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      LONGS.set(
+          destination, destinationOffset + Bytes32.SIZE - Long.BYTES * (i + 1), entries[start + i]);
+    }
+  }
+
+  private void write(final int position, final Bytes32 operand) {
+    // Only copies if the operand is not backed by exactly a 32 byte array.
+    final byte[] bytes = operand.getArrayUnsafe();
+    final int start = position * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      entries[start + i] = (long) LONGS.get(bytes, Bytes32.SIZE - Long.BYTES * (i + 1));
+    }
+  }
+
   @Override
   public String toString() {
     final StringBuilder builder = new StringBuilder();
@@ -95,7 +277,11 @@ public class PreAllocatedOperandStack implements OperandStack {
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(entries);
+    int hashCode = 1;
+    for (int i = 0; i < size() * LIMBS; i++) {
+      hashCode = 31 * hashCode + Long.hashCode(entries[i]);
+    }
+    return hashCode;
   }
 
   @Override
@@ -105,6 +291,8 @@ public class PreAllocatedOperandStack implements OperandStack {
     }
 
     final PreAllocatedOperandStack that = (PreAllocatedOperandStack) other;
-    return Arrays.deepEquals(this.entries, that.entries);
+    final int length = size() * LIMBS;
+    return this.size() == that.size()
+        && Arrays.equals(this.entries, 0, length, that.entries, 0, length);
   }
 }
@@ -124,6 +124,7 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
             .miningBeneficiary(frame.getMiningBeneficiary())
             .blockHashLookup(frame.getBlockHashLookup())
             .maxStackSize(frame.getMaxStackSize())
+            .crosschainContext(frame.getCrosschainContext())
             .build();
 
     frame.getMessageFrameStack().addFirst(childFrame);
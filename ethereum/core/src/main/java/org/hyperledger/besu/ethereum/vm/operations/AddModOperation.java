@@ -16,7 +16,7 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.uint.UInt256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 public class AddModOperation extends AbstractOperation {
 
@@ -31,12 +31,6 @@ public class AddModOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 value0 = frame.popStackItem().asUInt256();
-    final UInt256 value1 = frame.popStackItem().asUInt256();
-    final UInt256 value2 = frame.popStackItem().asUInt256();
-
-    final UInt256 result = value0.plusModulo(value1, value2);
-
-    frame.pushStackItem(result.getBytes());
+    frame.applyTernaryStackOperation(UInt256Limbs::addModulo);
   }
 }
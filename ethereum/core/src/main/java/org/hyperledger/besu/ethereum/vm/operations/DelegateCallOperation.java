@@ -17,6 +17,7 @@ import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.vm.AbstractCallOperation;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.Words;
@@ -24,8 +25,8 @@ import org.hyperledger.besu.util.uint.UInt256;
 
 public class DelegateCallOperation extends AbstractCallOperation {
 
-  public DelegateCallOperation(final GasCalculator gasCalculator) {
-    super(0xF4, "DELEGATECALL", 6, 1, false, 1, gasCalculator);
+  public DelegateCallOperation(final GasCalculator gasCalculator, final CodeCache codeCache) {
+    super(0xF4, "DELEGATECALL", 6, 1, false, 1, gasCalculator, codeCache);
   }
 
   @Override
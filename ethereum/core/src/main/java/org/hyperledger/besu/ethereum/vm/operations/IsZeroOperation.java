@@ -16,8 +16,7 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.Bytes32;
-import org.hyperledger.besu.util.uint.UInt256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 public class IsZeroOperation extends AbstractOperation {
 
@@ -32,8 +31,6 @@ public class IsZeroOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 value = frame.popStackItem().asUInt256();
-
-    frame.pushStackItem(value.isZero() ? Bytes32.TRUE : Bytes32.FALSE);
+    frame.applyUnaryStackOperation(UInt256Limbs::equalsZero);
   }
 }
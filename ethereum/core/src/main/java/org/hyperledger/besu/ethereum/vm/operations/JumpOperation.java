@@ -19,7 +19,6 @@ import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.ExceptionalHaltReason;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.uint.UInt256;
 
 import java.util.EnumSet;
 import java.util.Optional;
@@ -37,8 +36,9 @@ public class JumpOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 jumpDestination = frame.popStackItem().asUInt256();
-    frame.setPC(jumpDestination.toInt());
+    final long jumpDestination = frame.getStackItemAsSaturatedLong(0);
+    frame.popStackItems(1);
+    frame.setPC((int) jumpDestination);
   }
 
   @Override
@@ -48,8 +48,8 @@ public class JumpOperation extends AbstractOperation {
       final EVM evm) {
     final Code code = frame.getCode();
 
-    final UInt256 potentialJumpDestination = frame.getStackItem(0).asUInt256();
-    return !code.isValidJumpDestination(evm, frame, potentialJumpDestination)
+    final long potentialJumpDestination = frame.getStackItemAsSaturatedLong(0);
+    return !code.isValidJumpDestination(potentialJumpDestination)
         ? Optional.of(ExceptionalHaltReason.INVALID_JUMP_DESTINATION)
         : Optional.empty();
   }
@@ -19,8 +19,6 @@ import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.ExceptionalHaltReason;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.Bytes32;
-import org.hyperledger.besu.util.uint.UInt256;
 
 import java.util.EnumSet;
 import java.util.Optional;
@@ -38,11 +36,12 @@ public class JumpiOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 jumpDestination = frame.popStackItem().asUInt256();
-    final Bytes32 condition = frame.popStackItem();
+    final long jumpDestination = frame.getStackItemAsSaturatedLong(0);
+    final boolean condition = !frame.isStackItemZero(1);
+    frame.popStackItems(2);
 
-    if (!condition.isZero()) {
-      frame.setPC(jumpDestination.toInt());
+    if (condition) {
+      frame.setPC((int) jumpDestination);
     } else {
       frame.setPC(frame.getPC() + getOpSize());
     }
@@ -54,13 +53,13 @@ public class JumpiOperation extends AbstractOperation {
       final EnumSet<ExceptionalHaltReason> previousReasons,
       final EVM evm) {
     // If condition is zero (false), no jump is will be performed. Therefore skip the test.
-    if (frame.getStackItem(1).isZero()) {
+    if (frame.isStackItemZero(1)) {
       return Optional.empty();
     }
 
     final Code code = frame.getCode();
-    final UInt256 potentialJumpDestination = frame.getStackItem(0).asUInt256();
-    return !code.isValidJumpDestination(evm, frame, potentialJumpDestination)
+    final long potentialJumpDestination = frame.getStackItemAsSaturatedLong(0);
+    return !code.isValidJumpDestination(potentialJumpDestination)
         ? Optional.of(ExceptionalHaltReason.INVALID_JUMP_DESTINATION)
         : Optional.empty();
   }
@@ -27,7 +27,7 @@ public class MStore8Operation extends AbstractOperation {
 
   @Override
   public Gas cost(final MessageFrame frame) {
-    final UInt256 offset = frame.getStackItem(0).asUInt256();
+    final long offset = frame.getStackItemAsSaturatedLong(0);
 
     return gasCalculator().mStore8OperationGasCost(frame, offset);
   }
@@ -16,8 +16,6 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.Bytes32;
-import org.hyperledger.besu.util.uint.UInt256;
 
 public class MStoreOperation extends AbstractOperation {
 
@@ -27,16 +25,16 @@ public class MStoreOperation extends AbstractOperation {
 
   @Override
   public Gas cost(final MessageFrame frame) {
-    final UInt256 offset = frame.getStackItem(0).asUInt256();
+    final long offset = frame.getStackItemAsSaturatedLong(0);
 
     return gasCalculator().mStoreOperationGasCost(frame, offset);
   }
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 location = frame.popStackItem().asUInt256();
-    final Bytes32 value = frame.popStackItem();
+    final long location = frame.getStackItemAsSaturatedLong(0);
 
-    frame.writeMemory(location, UInt256.U_32, value);
+    frame.writeMemoryWord(location, 1);
+    frame.popStackItems(2);
   }
 }
@@ -16,7 +16,7 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.uint.UInt256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 public class NotOperation extends AbstractOperation {
 
@@ -31,10 +31,6 @@ public class NotOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final UInt256 value = frame.popStackItem().asUInt256();
-
-    final UInt256 result = value.not();
-
-    frame.pushStackItem(result.getBytes());
+    frame.applyUnaryStackOperation(UInt256Limbs::not);
   }
 }
@@ -12,22 +12,16 @@
  */
 package org.hyperledger.besu.ethereum.vm.operations;
 
-import static java.lang.Math.min;
-
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
+import org.hyperledger.besu.ethereum.vm.Code;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.BytesValue;
-import org.hyperledger.besu.util.bytes.MutableBytes32;
 
 public class PushOperation extends AbstractOperation {
 
-  private final int length;
-
   public PushOperation(final int length, final GasCalculator gasCalculator) {
     super(0x60 + length - 1, "PUSH" + length, 0, 1, false, length + 1, gasCalculator);
-    this.length = length;
   }
 
   @Override
@@ -37,12 +31,7 @@ public class PushOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final int pc = frame.getPC();
-    final BytesValue code = frame.getCode().getBytes();
-
-    final int copyLength = min(length, code.size() - pc - 1);
-    final MutableBytes32 bytes = MutableBytes32.create();
-    code.slice(pc + 1, copyLength).copyTo(bytes, bytes.size() - length);
-    frame.pushStackItem(bytes);
+    final Code code = frame.getCode();
+    frame.pushStackItemLimbs(code.getPushValues(), code.getPushValueIndex(frame.getPC()));
   }
 }
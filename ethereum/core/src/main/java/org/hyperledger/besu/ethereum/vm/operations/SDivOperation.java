@@ -16,7 +16,7 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.uint.Int256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 public class SDivOperation extends AbstractOperation {
 
@@ -31,11 +31,6 @@ public class SDivOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final Int256 value0 = frame.popStackItem().asInt256();
-    final Int256 value1 = frame.popStackItem().asInt256();
-
-    final Int256 result = value0.dividedBy(value1);
-
-    frame.pushStackItem(result.getBytes());
+    frame.applyBinaryStackOperation(UInt256Limbs::signedDivide);
   }
 }
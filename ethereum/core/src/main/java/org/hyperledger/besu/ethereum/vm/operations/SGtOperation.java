@@ -16,8 +16,7 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.Bytes32;
-import org.hyperledger.besu.util.uint.Int256;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 public class SGtOperation extends AbstractOperation {
 
@@ -32,11 +31,6 @@ public class SGtOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final Int256 value0 = frame.popStackItem().asInt256();
-    final Int256 value1 = frame.popStackItem().asInt256();
-
-    final Bytes32 result = value0.compareTo(value1) > 0 ? Bytes32.TRUE : Bytes32.FALSE;
-
-    frame.pushStackItem(result);
+    frame.applyBinaryStackOperation(UInt256Limbs::signedGreaterThan);
   }
 }
@@ -17,6 +17,7 @@ import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.vm.AbstractCallOperation;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.Words;
@@ -24,8 +25,8 @@ import org.hyperledger.besu.util.uint.UInt256;
 
 public class StaticCallOperation extends AbstractCallOperation {
 
-  public StaticCallOperation(final GasCalculator gasCalculator) {
-    super(0xFA, "STATICCALL", 6, 1, false, 1, gasCalculator);
+  public StaticCallOperation(final GasCalculator gasCalculator, final CodeCache codeCache) {
+    super(0xFA, "STATICCALL", 6, 1, false, 1, gasCalculator, codeCache);
   }
 
   @Override
@@ -16,7 +16,6 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
-import org.hyperledger.besu.util.bytes.Bytes32;
 
 public class SwapOperation extends AbstractOperation {
 
@@ -34,8 +33,6 @@ public class SwapOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final Bytes32 tmp = frame.getStackItem(0);
-    frame.setStackItem(0, frame.getStackItem(index));
-    frame.setStackItem(index, tmp);
+    frame.swapStackItem(index);
   }
 }
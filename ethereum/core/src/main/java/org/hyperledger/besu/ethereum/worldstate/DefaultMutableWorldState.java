@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.util.Subscribers;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
@@ -35,10 +36,12 @@ import org.hyperledger.besu.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Stream;
@@ -59,6 +62,12 @@ public class DefaultMutableWorldState implements MutableWorldState {
   private final Map<Bytes32, UInt256> newStorageKeyPreimages = new HashMap<>();
   private final Map<Bytes32, Address> newAccountKeyPreimages = new HashMap<>();
 
+  // Changes to lockable contracts since the world state was last persisted.
+  private final Subscribers<LockStateObserver> lockStateObservers;
+  private final Map<Address, Boolean> updatedLockStates = new HashMap<>();
+  private final Set<Address> deletedAccounts = new HashSet<>();
+  private Hash persistedRootHash;
+
   public DefaultMutableWorldState(
       final WorldStateStorage storage, final WorldStatePreimageStorage preimageStorage) {
     this(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH, storage, preimageStorage);
@@ -68,9 +77,19 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final Bytes32 rootHash,
       final WorldStateStorage worldStateStorage,
       final WorldStatePreimageStorage preimageStorage) {
+    this(rootHash, worldStateStorage, preimageStorage, Subscribers.none());
+  }
+
+  DefaultMutableWorldState(
+      final Bytes32 rootHash,
+      final WorldStateStorage worldStateStorage,
+      final WorldStatePreimageStorage preimageStorage,
+      final Subscribers<LockStateObserver> lockStateObservers) {
     this.worldStateStorage = worldStateStorage;
     this.accountStateTrie = newAccountStateTrie(rootHash);
     this.preimageStorage = preimageStorage;
+    this.lockStateObservers = lockStateObservers;
+    this.persistedRootHash = rootHash();
   }
 
   public DefaultMutableWorldState(final WorldState worldState) {
@@ -85,6 +104,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
     this.worldStateStorage = other.worldStateStorage;
     this.preimageStorage = other.preimageStorage;
     this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
+    this.lockStateObservers = other.lockStateObservers;
+    this.persistedRootHash = rootHash();
   }
 
   private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(final Bytes32 rootHash) {
@@ -104,7 +125,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public MutableWorldState copy() {
-    return new DefaultMutableWorldState(rootHash(), worldStateStorage, preimageStorage);
+    return new DefaultMutableWorldState(
+        rootHash(), worldStateStorage, preimageStorage, lockStateObservers);
   }
 
   @Override
@@ -197,6 +219,33 @@ public class DefaultMutableWorldState implements MutableWorldState {
     // Push changes to underlying storage
     preimageUpdater.commit();
     stateUpdater.commit();
+
+    notifyLockStateObservers();
+  }
+
+  private void notifyLockStateObservers() {
+    final Hash stateRoot = rootHash();
+    if (lockStateObservers.getSubscriberCount() > 0) {
+      final Hash parentStateRoot = persistedRootHash;
+      final Map<Address, Boolean> lockStates = Map.copyOf(updatedLockStates);
+      final Set<Address> deleted = Set.copyOf(deletedAccounts);
+      lockStateObservers.forEach(
+          observer ->
+              observer.onLockStatesPersisted(parentStateRoot, stateRoot, lockStates, deleted));
+    }
+    updatedLockStates.clear();
+    deletedAccounts.clear();
+    persistedRootHash = stateRoot;
+  }
+
+  private void recordLockState(final Address address, final boolean locked) {
+    deletedAccounts.remove(address);
+    updatedLockStates.put(address, locked);
+  }
+
+  private void recordDeletedAccount(final Address address) {
+    updatedLockStates.remove(address);
+    deletedAccounts.add(address);
   }
 
   private Optional<UInt256> getStorageTrieKeyPreimage(final Bytes32 trieKey) {
@@ -403,6 +452,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
       for (final Address address : deletedAccounts()) {
         deleteAccount(wrapped, address);
+        wrapped.recordDeletedAccount(address);
       }
 
       for (final UpdateTrackingAccount<WorldStateAccount> updated : updatedAccounts()) {
@@ -411,6 +461,10 @@ public class DefaultMutableWorldState implements MutableWorldState {
           processLockableContracts(origin, updated, wrapped);
         } else {
           storeUpdatedStateTo(origin, updated, wrapped, updated.getAddress());
+          if (origin == null && updated.isLockable()) {
+            // A lockable contract has been deployed.
+            wrapped.recordLockState(updated.getAddress(), false);
+          }
         }
       }
     }
@@ -425,6 +479,13 @@ public class DefaultMutableWorldState implements MutableWorldState {
      *   <li>Not-locked, and not doing anything: A local transaction has executed.
      * </ul>
      *
+     * <p>The provisional account's storage trie is a copy of the real account's storage trie, which
+     * shares all of its nodes, so locking only writes the trie nodes on the paths to the updated
+     * slots. Unlocking and committing swaps the provisional account, including its storage root,
+     * into the real account, and moves any of the provisional account's storage and code which
+     * have not yet been persisted over to the real account. Unlocking and ignoring only deletes the
+     * provisional account.
+     *
      * @param origin Underlying account.
      * @param updated Account with updated state.
      * @param wrapped World state wrapper.
@@ -448,6 +509,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
             break;
           case LOCK:
             changeLockStateOnAccount(origin, updated, wrapped, true);
+            wrapped.recordLockState(realAddress, true);
             // Store the updated information in a provisional account.
             // TODO what happens if there is an account at the provisionalStateAddress - for
             // instance someone sent
@@ -468,6 +530,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
           case UNLOCK_IGNORE:
             changeLockStateOnAccount(origin, updated, wrapped, false);
             deleteAccount(wrapped, provisionalStateAddress);
+            wrapped.recordLockState(realAddress, false);
             break;
           case UNLOCK_COMMIT:
             // Copy the state from the provisional account to the real account.
@@ -478,6 +541,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
               LOG.error("Unexpectedly, no provisional state");
             } else {
               wrapped.accountStateTrie.put(updated.getAddressHash(), storedAccount.get());
+              moveUnpersistedState(wrapped, provisionalStateAddress, realAddress);
+              wrapped.recordLockState(realAddress, false);
             }
             deleteAccount(wrapped, provisionalStateAddress);
             break;
@@ -513,8 +578,16 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
       if (!updatedStorage.isEmpty()) {
         // Apply any storage updates
-        final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
-            freshState ? wrapped.newAccountStorageTrie(Hash.EMPTY_TRIE_HASH) : origin.storageTrie();
+        final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
+        if (freshState) {
+          storageTrie = wrapped.newAccountStorageTrie(Hash.EMPTY_TRIE_HASH);
+        } else if (address.equals(origin.address)) {
+          storageTrie = origin.storageTrie();
+        } else {
+          // Storing to a provisional account: start from a copy of the real account's storage, so
+          // that the real account's storage is not changed.
+          storageTrie = origin.storageTrie().copy();
+        }
         wrapped.updatedStorageTries.put(address, storageTrie);
         for (final Map.Entry<UInt256, UInt256> entry : updatedStorage.entrySet()) {
           final UInt256 value = entry.getValue();
@@ -568,6 +641,21 @@ public class DefaultMutableWorldState implements MutableWorldState {
       }
     }
 
+    // The provisional account's storage trie and code are only written to storage when the world
+    // state is persisted, so if they have not been persisted yet, the real account needs them.
+    private void moveUnpersistedState(
+        final DefaultMutableWorldState wrapped, final Address from, final Address to) {
+      final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
+          wrapped.updatedStorageTries.remove(from);
+      if (storageTrie != null) {
+        wrapped.updatedStorageTries.put(to, storageTrie);
+      }
+      final BytesValue code = wrapped.updatedAccountCode.remove(from);
+      if (code != null) {
+        wrapped.updatedAccountCode.put(to, code);
+      }
+    }
+
     private void deleteAccount(final DefaultMutableWorldState wrapped, final Address address) {
       final Hash addressHash = Hash.hash(address);
       wrapped.accountStateTrie.remove(addressHash);
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notified when a world state is persisted, with the changes to lockable contracts made since the
+ * world state was last persisted. The world state may not be part of the canonical chain.
+ */
+@FunctionalInterface
+public interface LockStateObserver {
+
+  /**
+   * @param parentStateRoot The state root the changes were applied to.
+   * @param stateRoot The state root after the changes.
+   * @param lockStates The lockable contracts which were created, locked or unlocked, mapped to
+   *     whether the contract is now locked.
+   * @param deletedAccounts Accounts which were deleted, and so are no longer lockable contracts.
+   */
+  void onLockStatesPersisted(
+      Hash parentStateRoot,
+      Hash stateRoot,
+      Map<Address, Boolean> lockStates,
+      Set<Address> deletedAccounts);
+}
@@ -19,6 +19,7 @@ import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.util.Subscribers;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 
@@ -29,6 +30,7 @@ public class WorldStateArchive {
   private final WorldStateStorage worldStateStorage;
   private final WorldStatePreimageStorage preimageStorage;
   private final WorldStateProofProvider worldStateProof;
+  private final Subscribers<LockStateObserver> lockStateObservers = Subscribers.create(true);
 
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
@@ -51,7 +53,9 @@ public class WorldStateArchive {
     if (!worldStateStorage.isWorldStateAvailable(rootHash)) {
       return Optional.empty();
     }
-    return Optional.of(new DefaultMutableWorldState(rootHash, worldStateStorage, preimageStorage));
+    return Optional.of(
+        new DefaultMutableWorldState(
+            rootHash, worldStateStorage, preimageStorage, lockStateObservers));
   }
 
   public WorldState get() {
@@ -66,6 +70,20 @@ public class WorldStateArchive {
     return worldStateStorage.getNodeData(hash);
   }
 
+  /**
+   * Observe the changes to lockable contracts when world states from this archive are persisted.
+   *
+   * @param observer The observer to notify.
+   * @return The id of the observer, used to remove the observer.
+   */
+  public long observeLockStates(final LockStateObserver observer) {
+    return lockStateObservers.subscribe(observer);
+  }
+
+  public boolean removeLockStateObserver(final long observerId) {
+    return lockStateObservers.unsubscribe(observerId);
+  }
+
   public WorldStateStorage getWorldStateStorage() {
     return worldStateStorage;
   }
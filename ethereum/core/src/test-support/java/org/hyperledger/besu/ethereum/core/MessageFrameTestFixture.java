@@ -50,7 +50,9 @@ public class MessageFrameTestFixture {
   private final List<Bytes32> stackItems = new ArrayList<>();
   private Optional<BlockHeader> blockHeader = Optional.empty();
   private int depth = 0;
+  private boolean isStatic = false;
   private Optional<BlockHashLookup> blockHashLookup = Optional.empty();
+  private Optional<CrosschainExecutionContext> crosschainContext = Optional.empty();
   private ExecutionContextTestFixture executionContextTestFixture;
 
   public MessageFrameTestFixture type(final Type type) {
@@ -144,6 +146,11 @@ public class MessageFrameTestFixture {
     return this;
   }
 
+  public MessageFrameTestFixture isStatic(final boolean isStatic) {
+    this.isStatic = isStatic;
+    return this;
+  }
+
   public MessageFrameTestFixture pushStackItem(final Bytes32 item) {
     stackItems.add(item);
     return this;
@@ -154,6 +161,12 @@ public class MessageFrameTestFixture {
     return this;
   }
 
+  public MessageFrameTestFixture crosschainContext(
+      final CrosschainExecutionContext crosschainContext) {
+    this.crosschainContext = Optional.of(crosschainContext);
+    return this;
+  }
+
   public MessageFrame build() {
     final Blockchain blockchain = this.blockchain.orElseGet(this::createDefaultBlockchain);
     final BlockHeader blockHeader =
@@ -177,11 +190,13 @@ public class MessageFrameTestFixture {
             .code(code)
             .blockHeader(blockHeader)
             .depth(depth)
+            .isStatic(isStatic)
             .completer(c -> {})
             .miningBeneficiary(blockHeader.getCoinbase())
             .blockHashLookup(
                 blockHashLookup.orElseGet(() -> new BlockHashLookup(blockHeader, blockchain)))
             .maxStackSize(maxStackSize)
+            .crosschainContext(crosschainContext)
             .build();
     stackItems.forEach(frame::pushStackItem);
     return frame;
@@ -556,6 +556,71 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.blockIsOnCanonicalChain(originalHead.getHash())).isFalse();
   }
 
+  @Test
+  public void recentAncestorHashesFollowChainHead() {
+    final BlockDataGenerator gen = new BlockDataGenerator(3);
+
+    final int chainLength = RecentBlockHashes.SIZE + 44;
+    final List<Block> chain = gen.blockSequence(chainLength);
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain = createMutableBlockchain(kvStore, chain.get(0));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+
+    final Block head = chain.get(chainLength - 1);
+    final long headNumber = head.getHeader().getNumber();
+    final long lowestNumber = headNumber - RecentBlockHashes.SIZE + 1;
+    assertThat(blockchain.getRecentAncestorHash(lowestNumber, head.getHash(), headNumber))
+        .contains(chain.get((int) lowestNumber).getHash());
+    assertThat(blockchain.getRecentAncestorHash(lowestNumber - 1, head.getHash(), headNumber))
+        .isEmpty();
+    assertThat(blockchain.getRecentAncestorHash(headNumber, head.getHash(), headNumber))
+        .contains(head.getHash());
+
+    final Block ancestor = chain.get(100);
+    assertThat(blockchain.getRecentAncestorHash(50, ancestor.getHash(), 100))
+        .contains(chain.get(50).getHash());
+    assertThat(blockchain.getRecentAncestorHash(101, ancestor.getHash(), 100)).isEmpty();
+    assertThat(blockchain.getRecentAncestorHash(50, Hash.ZERO, 100)).isEmpty();
+
+    // A blockchain read from storage fills the hashes from the canonical chain index.
+    final Blockchain readOnlyBlockchain = createBlockchain(kvStore);
+    assertThat(readOnlyBlockchain.getRecentAncestorHash(lowestNumber, head.getHash(), headNumber))
+        .contains(chain.get((int) lowestNumber).getHash());
+  }
+
+  @Test
+  public void recentAncestorHashesFollowChainReorg() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+
+    final List<Block> chain = gen.blockSequence(3);
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain = createMutableBlockchain(kvStore, chain.get(0));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+    final Block originalHead = chain.get(2);
+
+    final BlockDataGenerator.BlockOptions options =
+        new BlockDataGenerator.BlockOptions()
+            .setParentHash(chain.get(1).getHash())
+            .setBlockNumber(2)
+            .setDifficulty(originalHead.getHeader().getDifficulty().plus(10L));
+    final Block fork = gen.block(options);
+    blockchain.appendBlock(fork, gen.receipts(fork));
+
+    assertThat(blockchain.getRecentAncestorHash(2, fork.getHash(), 2)).contains(fork.getHash());
+    assertThat(blockchain.getRecentAncestorHash(1, fork.getHash(), 2))
+        .contains(chain.get(1).getHash());
+    assertThat(blockchain.getRecentAncestorHash(1, originalHead.getHash(), 2)).isEmpty();
+
+    blockchain.rewindToBlock(1);
+    assertThat(blockchain.getRecentAncestorHash(1, fork.getHash(), 2)).isEmpty();
+    assertThat(blockchain.getRecentAncestorHash(0, chain.get(1).getHash(), 1))
+        .contains(chain.get(0).getHash());
+  }
+
   @Test
   public void appendBlockForFork() {
     final BlockDataGenerator gen = new BlockDataGenerator(2);
@@ -100,4 +100,12 @@ public class MainnetProtocolScheduleTest {
     Assertions.assertThat(sched.getByBlockNumber(Long.MAX_VALUE).getName())
         .isEqualTo("ConstantinopleFix");
   }
+
+  @Test
+  public void shouldShareCodeCacheBetweenMilestones() {
+    final ProtocolSchedule<Void> sched = MainnetProtocolSchedule.create();
+    Assertions.assertThat(sched.getByBlockNumber(0).getCodeCache()).isNotNull();
+    Assertions.assertThat(sched.getByBlockNumber(Long.MAX_VALUE).getCodeCache())
+        .isSameAs(sched.getByBlockNumber(0).getCodeCache());
+  }
 }
@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 
 import org.junit.Before;
@@ -60,7 +61,8 @@ public class MainnetTransactionProcessorTest {
             messageCallProcessor,
             false,
             MAX_STACK_SIZE,
-            Account.DEFAULT_VERSION);
+            Account.DEFAULT_VERSION,
+            new CodeCache(CodeCache.DEFAULT_MAXIMUM_CODE_BYTES));
   }
 
   @Test
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class CodeCacheTest {
+  // PUSH1 0x04, JUMP, PUSH2 0x5b5b, JUMPDEST, PUSH32 truncated to 2 bytes.
+  private static final BytesValue CODE = BytesValue.fromHexString("0x600456615b5b5b7fabcd");
+
+  private final WorldUpdater updater = InMemoryStorageProvider.createInMemoryWorldState().updater();
+
+  private MutableAccount contract(final Address address, final BytesValue code) {
+    final MutableAccount account = updater.createAccount(address);
+    account.setCode(code);
+    return account;
+  }
+
+  @Test
+  public void reusesCodeOfContractsWithTheSameCode() {
+    final CodeCache cache = new CodeCache(CodeCache.DEFAULT_MAXIMUM_CODE_BYTES);
+    final Code code = cache.getCode(contract(Address.fromHexString("0x01"), CODE));
+    assertThat(code.getBytes()).isEqualTo(CODE);
+    assertThat(cache.getCode(contract(Address.fromHexString("0x02"), CODE))).isSameAs(code);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+
+    final BytesValue otherCode = BytesValue.fromHexString("0x5b00");
+    assertThat(cache.getCode(contract(Address.fromHexString("0x03"), otherCode)).getBytes())
+        .isEqualTo(otherCode);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void missingContractHasEmptyCode() {
+    final CodeCache cache = new CodeCache(CodeCache.DEFAULT_MAXIMUM_CODE_BYTES);
+    assertThat(cache.getCode(null).getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void evictsCodeWhenFull() {
+    final CodeCache cache = new CodeCache(CODE.size());
+    final Code code = cache.getCode(contract(Address.fromHexString("0x01"), CODE));
+    cache.getCode(contract(Address.fromHexString("0x02"), BytesValue.fromHexString("0x5b00")));
+    assertThat(cache.getCode(contract(Address.fromHexString("0x03"), CODE))).isNotSameAs(code);
+    assertThat(cache.getMisses()).isEqualTo(3);
+  }
+
+  @Test
+  public void analysesJumpDestinationsAndPushValues() {
+    final Code code = new Code(CODE);
+    assertThat(code.isValidJumpDestination(UInt256.of(6))).isTrue();
+    // Inside the immediate of PUSH2.
+    assertThat(code.isValidJumpDestination(UInt256.of(4))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(CODE.size()))).isFalse();
+
+    final long[] pushValues = code.getPushValues();
+    assertThat(pushValues[code.getPushValueIndex(0)]).isEqualTo(0x04);
+    assertThat(pushValues[code.getPushValueIndex(3)]).isEqualTo(0x5b5b);
+    // PUSH32 with only 2 bytes left is padded on the right.
+    final int index = code.getPushValueIndex(7);
+    assertThat(pushValues[index + 3]).isEqualTo(0xabcdL << 48);
+    assertThat(pushValues[index] | pushValues[index + 1] | pushValues[index + 2]).isZero();
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.config.StubGenesisConfigOptions;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.Gas;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.vm.ehalt.ExceptionalHaltException;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Checks that executing code without tracing, which skips the evaluation of the exceptional halt
+ * predicates for operations which can't halt, has exactly the same effect as executing it with a
+ * tracer. The code is also executed with every amount of gas up to the amount it uses, so that
+ * running out of gas is checked at every operation.
+ */
+@RunWith(Parameterized.class)
+public class EVMTest {
+  private static final ProtocolSchedule<Void> PROTOCOL_SCHEDULE =
+      MainnetProtocolSchedule.fromConfig(new StubGenesisConfigOptions().istanbulBlock(0));
+  private static final long ENOUGH_GAS = 1_000_000;
+  // Executing the code with every amount of gas up to the amount used takes too long for code which
+  // uses more gas than this. Only the amounts around the amount used are checked for such code.
+  private static final long MAXIMUM_GAS_SWEEP = 500;
+  // A tracer which does nothing, but is not NO_TRACING, so that the traced path is taken.
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  @Parameters(name = "{0}")
+  public static Object[][] scenarios() {
+    return new Object[][] {
+      // PUSH1 3, PUSH1 5, ADD, MSTORE at 0, RETURN 32 bytes.
+      {"arithmetic", "0x600360050160005260206000f3", false, ENOUGH_GAS, none()},
+      // PUSH1 0x0f, PUSH1 0xf0, OR, PUSH1 4, SHL, MSTORE at 0, RETURN 32 bytes.
+      {"bitwise", "0x600f60f01760041b60005260206000f3", false, ENOUGH_GAS, none()},
+      // LT, ISZERO and JUMPI over an INVALID to a JUMPDEST, MSTORE at 0, RETURN 32 bytes.
+      {
+        "comparisonAndJump",
+        "0x600160021015600a57fe5b600160005260206000f3",
+        false,
+        ENOUGH_GAS,
+        none()
+      },
+      // MSTORE at 0x40, MLOAD it back, SHA3 of the first 0x60 bytes, SSTORE at 0, STOP.
+      {"memoryAndStorage", "0x60aa60405260405150606060002060005500", false, ENOUGH_GAS, none()},
+      // PUSH2 with only one byte of data before the end of the code.
+      {"truncatedPush", "0x6101", false, ENOUGH_GAS, none()},
+      // MSTORE at 0, REVERT with 32 bytes.
+      {"revert", "0x60aa60005260206000fd", false, ENOUGH_GAS, none()},
+      // MSTORE at 0xffffff, which expands memory by more than the gas available pays for.
+      {
+        "outOfGasExpandingMemoryWithMstore",
+        "0x600162ffffff52",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INSUFFICIENT_GAS)
+      },
+      // MLOAD at 0xffffff.
+      {
+        "outOfGasExpandingMemoryWithMload",
+        "0x62ffffff51",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INSUFFICIENT_GAS)
+      },
+      // PUSH1 1, then DUP1 in a loop until the stack overflows.
+      {
+        "stackOverflowFromDup",
+        "0x60015b8060025600",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.TOO_MANY_STACK_ITEMS)
+      },
+      // ADD with an empty stack.
+      {
+        "stackUnderflow",
+        "0x01",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS)
+      },
+      // INVALID.
+      {
+        "invalidOperation",
+        "0xfe",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INVALID_OPERATION)
+      },
+      // JUMP to 3, which is not a JUMPDEST.
+      {
+        "invalidJumpDestination",
+        "0x600356",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INVALID_JUMP_DESTINATION)
+      },
+      // JUMP to 3, with only enough gas for the PUSH1.
+      {
+        "invalidJumpDestinationWithoutGas",
+        "0x600356",
+        false,
+        3L,
+        EnumSet.of(
+            ExceptionalHaltReason.INSUFFICIENT_GAS, ExceptionalHaltReason.INVALID_JUMP_DESTINATION)
+      },
+      // RETURNDATACOPY of 1 byte when there is no return data.
+      {
+        "invalidReturnDataAccess",
+        "0x6001600060003e",
+        false,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.INVALID_RETURN_DATA_BUFFER_ACCESS)
+      },
+      // SSTORE in a static call.
+      {
+        "illegalStateChange",
+        "0x6001600055",
+        true,
+        ENOUGH_GAS,
+        EnumSet.of(ExceptionalHaltReason.ILLEGAL_STATE_CHANGE)
+      },
+    };
+  }
+
+  private final EVM evm = PROTOCOL_SCHEDULE.getByBlockNumber(0).getEvm();
+  private final ExecutionContextTestFixture executionContext = ExecutionContextTestFixture.create();
+
+  @Parameter public String name;
+
+  @Parameter(value = 1)
+  public String code;
+
+  @Parameter(value = 2)
+  public boolean isStatic;
+
+  @Parameter(value = 3)
+  public long gas;
+
+  @Parameter(value = 4)
+  public EnumSet<ExceptionalHaltReason> expectedHaltReasons;
+
+  @Test
+  public void untracedExecutionMatchesTracedExecution() {
+    final List<Object> traced = execute(this.gas, PASS_THROUGH_TRACER);
+
+    assertThat(traced.get(0)).isEqualTo(this.expectedHaltReasons);
+    assertThat(execute(this.gas, OperationTracer.NO_TRACING)).isEqualTo(traced);
+  }
+
+  @Test
+  public void untracedExecutionMatchesTracedExecutionWhenRunningOutOfGas() {
+    final Gas remaining = (Gas) execute(this.gas, PASS_THROUGH_TRACER).get(3);
+    final long gasUsed = this.gas - remaining.toLong();
+    final List<Long> gasLimits = new ArrayList<>();
+    for (long limit = 0; limit <= Math.min(gasUsed + 1, MAXIMUM_GAS_SWEEP); limit++) {
+      gasLimits.add(limit);
+    }
+    gasLimits.add(Math.max(gasUsed - 1, 0));
+    gasLimits.add(gasUsed);
+    gasLimits.add(gasUsed + 1);
+
+    for (final long limit : gasLimits) {
+      assertThat(execute(limit, OperationTracer.NO_TRACING))
+          .describedAs("Execution with %d gas", limit)
+          .isEqualTo(execute(limit, PASS_THROUGH_TRACER));
+    }
+  }
+
+  // The observable results of executing the code: the exceptional halt reasons, the frame's state,
+  // program counter, remaining gas, output, stack, memory size and gas refund.
+  private List<Object> execute(final long gas, final OperationTracer tracer) {
+    final WorldUpdater worldState = this.executionContext.getStateArchive().getMutable().updater();
+    worldState.getOrCreate(MessageFrameTestFixture.DEFAUT_ADDRESS);
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .executionContextTestFixture(this.executionContext)
+            .worldState(worldState)
+            .initialGas(Gas.of(gas))
+            .isStatic(this.isStatic)
+            .code(new Code(BytesValue.fromHexString(this.code)))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+
+    EnumSet<ExceptionalHaltReason> haltReasons = EnumSet.noneOf(ExceptionalHaltReason.class);
+    try {
+      this.evm.runToHalt(frame, tracer);
+    } catch (final ExceptionalHaltException e) {
+      haltReasons = e.getReasons();
+    }
+
+    final List<Object> stack = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      stack.add(frame.getStackItem(i));
+    }
+    return Arrays.asList(
+        haltReasons,
+        frame.getState(),
+        frame.getPC(),
+        frame.getRemainingGas(),
+        frame.getOutputData(),
+        stack,
+        frame.memoryByteSize(),
+        frame.getGasRefund(),
+        EnumSet.copyOf(frame.getExceptionalHaltReasons()));
+  }
+
+  private static EnumSet<ExceptionalHaltReason> none() {
+    return EnumSet.noneOf(ExceptionalHaltReason.class);
+  }
+}
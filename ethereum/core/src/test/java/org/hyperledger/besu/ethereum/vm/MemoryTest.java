@@ -147,6 +147,20 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.of(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldSetAndGetUnalignedWordAcrossMemoryExpansions() {
+    memory.setWord(UInt256.of(31), WORD1);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(2));
+    memory.setWord(UInt256.of(1000), WORD2);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(33));
+    assertThat(memory.getActiveBytes()).isEqualTo(33 * 32);
+
+    assertThat(memory.getWord(UInt256.of(31))).isEqualTo(WORD1);
+    assertThat(memory.getWord(UInt256.of(1000))).isEqualTo(WORD2);
+    assertThat(memory.getBytes(UInt256.of(30), UInt256.of(34)))
+        .isEqualTo(BytesValues.concatenate(BytesValue.of(0), WORD1, BytesValue.of(0)));
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
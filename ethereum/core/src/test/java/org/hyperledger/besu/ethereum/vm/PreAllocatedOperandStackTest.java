@@ -15,6 +15,7 @@ package org.hyperledger.besu.ethereum.vm;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.uint.UInt256Limbs;
 
 import org.junit.Test;
 
@@ -102,4 +103,155 @@ public class PreAllocatedOperandStackTest {
     assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
     assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x04"));
   }
+
+  @Test
+  public void bulkPop() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.bulkPop(2);
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void bulkPop_StackUnderflow() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.bulkPop(2);
+  }
+
+  @Test
+  public void dup() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.dup(1);
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void dup_StackOverflow() {
+    final OperandStack stack = new PreAllocatedOperandStack(1);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.dup(0);
+  }
+
+  @Test
+  public void swap() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.swap(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x03"));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void swap_IndexGreaterThanSize() {
+    final OperandStack stack = new PreAllocatedOperandStack(2);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.swap(2);
+  }
+
+  @Test
+  public void applyBinaryOperation() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.push(Bytes32.fromHexString("0x05"));
+    stack.applyBinaryOperation(UInt256Limbs::subtract);
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x03"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void applyBinaryOperation_StackUnderflow() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.applyBinaryOperation(UInt256Limbs::subtract);
+  }
+
+  @Test
+  public void applyTernaryOperation() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.fromHexString("0x04"));
+    stack.push(Bytes32.fromHexString("0x03"));
+    stack.push(Bytes32.fromHexString("0x02"));
+    stack.applyTernaryOperation(UInt256Limbs::addModulo);
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test
+  public void applyUnaryOperation() {
+    final OperandStack stack = new PreAllocatedOperandStack(2);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.push(Bytes32.ZERO);
+    stack.applyUnaryOperation(UInt256Limbs::equalsZero);
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void applyUnaryOperation_StackUnderflow() {
+    final OperandStack stack = new PreAllocatedOperandStack(1);
+    stack.applyUnaryOperation(UInt256Limbs::not);
+  }
+
+  @Test
+  public void isZero() {
+    final OperandStack stack = new PreAllocatedOperandStack(3);
+    stack.push(Bytes32.ZERO);
+    stack.push(Bytes32.fromHexString("0x010000000000000000000000000000000000000000"));
+    stack.push(Bytes32.fromHexString("0x01"));
+    assertThat(stack.isZero(0)).isFalse();
+    assertThat(stack.isZero(1)).isFalse();
+    assertThat(stack.isZero(2)).isTrue();
+  }
+
+  @Test
+  public void getSaturatedLong() {
+    final OperandStack stack = new PreAllocatedOperandStack(4);
+    stack.push(Bytes32.fromHexString("0x010000000000000000"));
+    stack.push(Bytes32.fromHexString("0x8000000000000000"));
+    stack.push(Bytes32.fromHexString("0x7fffffffffffffff"));
+    stack.push(Bytes32.fromHexString("0x0123"));
+    assertThat(stack.getSaturatedLong(0)).isEqualTo(0x123);
+    assertThat(stack.getSaturatedLong(1)).isEqualTo(Long.MAX_VALUE);
+    assertThat(stack.getSaturatedLong(2)).isEqualTo(Long.MAX_VALUE);
+    assertThat(stack.getSaturatedLong(3)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getSaturatedLong_IndexGreaterThanSize() {
+    final OperandStack stack = new PreAllocatedOperandStack(1);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.getSaturatedLong(1);
+  }
+
+  @Test
+  public void pushAndCopyBytes() {
+    final Bytes32 operand =
+        Bytes32.fromHexString("0x000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f");
+    final byte[] bytes = new byte[Bytes32.SIZE + 2];
+    operand.copyTo(bytes, 0, 1);
+
+    final OperandStack stack = new PreAllocatedOperandStack(1);
+    stack.pushBytes(bytes, 1);
+    assertThat(stack.get(0)).isEqualTo(operand);
+
+    final byte[] copy = new byte[Bytes32.SIZE + 2];
+    stack.copyBytes(0, copy, 1);
+    assertThat(copy).isEqualTo(bytes);
+  }
 }
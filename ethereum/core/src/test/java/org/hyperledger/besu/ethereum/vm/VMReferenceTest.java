@@ -119,6 +119,7 @@ public class VMReferenceTest extends AbstractRetryingTest {
     final ProtocolSpec<Void> protocolSpec =
         MainnetProtocolSpecs.frontierDefinition(OptionalInt.empty(), OptionalInt.empty())
             .privacyParameters(PrivacyParameters.DEFAULT)
+            .codeCache(new CodeCache(CodeCache.DEFAULT_MAXIMUM_CODE_BYTES))
             .privateTransactionValidatorBuilder(() -> new PrivateTransactionValidator(CHAIN_ID))
             .build(new MutableProtocolSchedule<>(CHAIN_ID));
 
@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValue
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.Subscribers;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
@@ -37,6 +38,7 @@ import org.hyperledger.besu.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -668,4 +670,108 @@ public class DefaultMutableWorldStateTest {
     worldState.persist();
     assertThat(worldState.get(ADDRESS).storageEntriesFrom(Hash.ZERO, 10)).isEqualTo(finalEntries);
   }
+
+  @Test
+  public void lockedContractProvisionalStorageIsCopyOnWrite() {
+    final KeyValueStorage storage = new InMemoryKeyValueStorage();
+    final MutableWorldState worldState = createEmpty(new WorldStateKeyValueStorage(storage));
+
+    // Deploy a lockable contract with some storage.
+    WorldUpdater updater = worldState.updater();
+    MutableAccount account = updater.createAccount(ADDRESS);
+    account.setCode(BytesValue.of(1, 2, 3));
+    account.setLockability(true);
+    account.setStorageValue(UInt256.ONE, UInt256.of(1));
+    account.setStorageValue(UInt256.of(2), UInt256.of(2));
+    updater.commit();
+    worldState.persist();
+
+    // Update the contract, and then lock it and update it again, without persisting in between.
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).setStorageValue(UInt256.ONE, UInt256.of(10));
+    updater.commit();
+    updater = worldState.updater();
+    account = updater.getMutable(ADDRESS);
+    account.lock();
+    account.setStorageValue(UInt256.of(2), UInt256.of(20));
+    account.setStorageValue(UInt256.of(3), UInt256.of(30));
+    updater.commit();
+
+    // The real contract's storage is unchanged by the locked update.
+    assertThat(worldState.get(ADDRESS).isLocked()).isTrue();
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(10));
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.of(2))).isEqualTo(UInt256.of(2));
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.of(3))).isEqualTo(UInt256.ZERO);
+
+    // Unlock it, committing the provisional state.
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).unlock(true);
+    updater.commit();
+    worldState.persist();
+
+    // The provisional storage, which was never persisted on its own, is now the contract's.
+    final MutableWorldState newWorldState =
+        new DefaultMutableWorldState(
+            worldState.rootHash(),
+            new WorldStateKeyValueStorage(storage),
+            new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
+    final Account committed = newWorldState.get(ADDRESS);
+    assertThat(committed.isLocked()).isFalse();
+    assertThat(committed.getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(10));
+    assertThat(committed.getStorageValue(UInt256.of(2))).isEqualTo(UInt256.of(20));
+    assertThat(committed.getStorageValue(UInt256.of(3))).isEqualTo(UInt256.of(30));
+    assertThat(newWorldState.get(ADDRESS.deriveAddress())).isNull();
+  }
+
+  @Test
+  public void persistReportsLockStateChanges() {
+    final Subscribers<LockStateObserver> observers = Subscribers.create();
+    final List<Map<Address, Boolean>> reportedLockStates = new ArrayList<>();
+    final List<Set<Address>> reportedDeletedAccounts = new ArrayList<>();
+    observers.subscribe(
+        (parentStateRoot, stateRoot, lockStates, deletedAccounts) -> {
+          reportedLockStates.add(lockStates);
+          reportedDeletedAccounts.add(deletedAccounts);
+        });
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(
+            MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH,
+            new WorldStateKeyValueStorage(new InMemoryKeyValueStorage()),
+            new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()),
+            observers);
+
+    // Deploy a lockable contract.
+    WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setCode(BytesValue.of(1, 2, 3));
+    account.setLockability(true);
+    updater.commit();
+    worldState.persist();
+
+    // Lock it.
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).lock();
+    updater.commit();
+    worldState.persist();
+    assertThat(worldState.get(ADDRESS).isLocked()).isTrue();
+
+    // Unlock it, discarding the provisional state.
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).unlock(false);
+    updater.commit();
+    worldState.persist();
+    assertThat(worldState.get(ADDRESS).isLocked()).isFalse();
+
+    // Delete it.
+    updater = worldState.updater();
+    updater.deleteAccount(ADDRESS);
+    updater.commit();
+    worldState.persist();
+
+    assertThat(reportedLockStates)
+        .containsExactly(
+            Map.of(ADDRESS, false), Map.of(ADDRESS, true), Map.of(ADDRESS, false), Map.of());
+    assertThat(reportedDeletedAccounts)
+        .containsExactly(Set.of(), Set.of(), Set.of(), Set.of(ADDRESS));
+  }
 }
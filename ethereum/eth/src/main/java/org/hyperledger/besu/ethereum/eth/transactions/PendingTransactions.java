@@ -298,11 +298,11 @@ public class PendingTransactions {
     pendingTransactionSubscribers.unsubscribe(id);
   }
 
-  long subscribeDroppedTransactions(final PendingTransactionDroppedListener listener) {
+  public long subscribeDroppedTransactions(final PendingTransactionDroppedListener listener) {
     return transactionDroppedListeners.subscribe(listener);
   }
 
-  void unsubscribeDroppedTransactions(final long id) {
+  public void unsubscribeDroppedTransactions(final long id) {
     transactionDroppedListeners.unsubscribe(id);
   }
 
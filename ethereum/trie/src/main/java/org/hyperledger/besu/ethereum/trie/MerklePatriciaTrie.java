@@ -74,6 +74,15 @@ public interface MerklePatriciaTrie<K, V> {
    */
   void commit(NodeUpdater nodeUpdater);
 
+  /**
+   * Returns a copy of the trie, including any pending changes. Nodes are immutable, so the copy
+   * shares all of its nodes with this trie, and only the nodes on the path to an entry updated in
+   * either trie are recreated. Committing the copy also commits the pending changes it shares.
+   *
+   * @return A copy of the trie, which can be updated independently of this trie.
+   */
+  MerklePatriciaTrie<K, V> copy();
+
   /**
    * Retrieve up to {@code limit} storage entries beginning from the first entry with hash equal to
    * or greater than {@code startKeyHash}.
@@ -47,6 +47,11 @@ public class SimpleMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
     this.root = NullNode.instance();
   }
 
+  private SimpleMerklePatriciaTrie(final DefaultNodeFactory<V> nodeFactory, final Node<V> root) {
+    this.nodeFactory = nodeFactory;
+    this.root = root;
+  }
+
   @Override
   public Optional<V> get(final K key) {
     checkNotNull(key);
@@ -91,6 +96,11 @@ public class SimpleMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
     // Nothing to do here
   }
 
+  @Override
+  public SimpleMerklePatriciaTrie<K, V> copy() {
+    return new SimpleMerklePatriciaTrie<>(nodeFactory, root);
+  }
+
   @Override
   public Map<Bytes32, V> entriesFrom(final Bytes32 startKeyHash, final int limit) {
     return StorageEntriesCollector.collectEntries(root, startKeyHash, limit);
@@ -72,6 +72,11 @@ public class StoredMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
             : new StoredNode<>(nodeFactory, rootHash);
   }
 
+  private StoredMerklePatriciaTrie(final StoredNodeFactory<V> nodeFactory, final Node<V> root) {
+    this.nodeFactory = nodeFactory;
+    this.root = root;
+  }
+
   @Override
   public Optional<V> get(final K key) {
     checkNotNull(key);
@@ -117,6 +122,11 @@ public class StoredMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
             : new StoredNode<>(nodeFactory, rootHash);
   }
 
+  @Override
+  public StoredMerklePatriciaTrie<K, V> copy() {
+    return new StoredMerklePatriciaTrie<>(nodeFactory, root);
+  }
+
   @Override
   public Map<Bytes32, V> entriesFrom(final Bytes32 startKeyHash, final int limit) {
     return StorageEntriesCollector.collectEntries(root, startKeyHash, limit);
@@ -118,4 +118,34 @@ public class StoredMerklePatriciaTrieTest extends AbstractMerklePatriciaTrieTest
     assertThat(trie.get(key2)).isEqualTo(Optional.of("value2"));
     assertThat(trie.get(key3)).isEqualTo(Optional.of("value3"));
   }
+
+  @Test
+  public void copySharesUncommittedChanges() {
+    final BytesValue key1 = BytesValue.of(1, 5, 8, 9);
+    final BytesValue key2 = BytesValue.of(1, 6, 1, 2);
+    final BytesValue key3 = BytesValue.of(1, 6, 1, 3);
+
+    trie.put(key1, "value1");
+    trie.commit(merkleStorage::put);
+    trie.put(key2, "value2");
+    final Bytes32 originalHash = trie.getRootHash();
+
+    // Update the copy, without committing the change made to the original trie.
+    final MerklePatriciaTrie<BytesValue, String> copy = trie.copy();
+    copy.put(key1, "value4");
+    copy.put(key3, "value3");
+    assertThat(trie.getRootHash()).isEqualTo(originalHash);
+    assertThat(trie.get(key1)).isEqualTo(Optional.of("value1"));
+    assertThat(trie.get(key3)).isEmpty();
+
+    // Committing the copy commits the changes it shares with the original trie.
+    final Bytes32 copyHash = copy.getRootHash();
+    copy.commit(merkleStorage::put);
+    final MerklePatriciaTrie<BytesValue, String> reloaded =
+        new StoredMerklePatriciaTrie<>(
+            merkleStorage::get, copyHash, valueSerializer, valueDeserializer);
+    assertThat(reloaded.get(key1)).isEqualTo(Optional.of("value4"));
+    assertThat(reloaded.get(key2)).isEqualTo(Optional.of("value2"));
+    assertThat(reloaded.get(key3)).isEqualTo(Optional.of("value3"));
+  }
 }
@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableSet;
 
 public enum BesuMetricCategory implements MetricCategory {
   BLOCKCHAIN("blockchain"),
+  CROSSCHAIN("crosschain"),
   ETHEREUM("ethereum", false),
   EXECUTORS("executors"),
   NETWORK("network"),
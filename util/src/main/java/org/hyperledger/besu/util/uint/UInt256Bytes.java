@@ -21,7 +21,6 @@ import org.hyperledger.besu.util.bytes.BytesValues;
 import org.hyperledger.besu.util.bytes.MutableBytes32;
 
 import java.math.BigInteger;
-import java.util.function.BinaryOperator;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -56,8 +55,6 @@ public abstract class UInt256Bytes {
 
   private static final int SIZE = Bytes32.SIZE;
 
-  private static final BigInteger P256 = BigInteger.valueOf(2).pow(8 * 32);
-
   /** The number of ints a word contains. */
   private static final int INT_SIZE = 32 / 4;
 
@@ -83,36 +80,34 @@ public abstract class UInt256Bytes {
     }
   }
 
-  private static void copy(final BigInteger result, final MutableBytes32 destination) {
-    copyPadded(BytesValue.wrap(result.toByteArray()), destination, ALL_ZERO_BYTE);
-  }
-
-  private interface TriOperator<T> {
-    T apply(T op1, T op2, T op3);
-  }
-
-  private static void doOnBigInteger(
+  // Multiplication, division and exponentiation are done on 64 bit limbs, see UInt256Limbs.
+  static void doOnLimbs(
       final Bytes32 v1,
       final Bytes32 v2,
       final MutableBytes32 dest,
-      final BinaryOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger result = operator.apply(i1, i2);
-    copy(result, dest);
+      final UInt256Limbs.BinaryOp operator) {
+    final long[] l1 = UInt256Limbs.create();
+    final long[] l2 = UInt256Limbs.create();
+    UInt256Limbs.fromBytes(v1, l1);
+    UInt256Limbs.fromBytes(v2, l2);
+    operator.applyOp(l1, l2, l1);
+    UInt256Limbs.toBytes(l1, dest);
   }
 
-  private static void doOnBigInteger(
+  private static void doOnLimbs(
       final Bytes32 v1,
       final Bytes32 v2,
       final Bytes32 v3,
       final MutableBytes32 dest,
-      final TriOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger i3 = BytesValues.asUnsignedBigInteger(v3);
-    final BigInteger result = operator.apply(i1, i2, i3);
-    copy(result, dest);
+      final UInt256Limbs.TernaryOp operator) {
+    final long[] l1 = UInt256Limbs.create();
+    final long[] l2 = UInt256Limbs.create();
+    final long[] l3 = UInt256Limbs.create();
+    UInt256Limbs.fromBytes(v1, l1);
+    UInt256Limbs.fromBytes(v2, l2);
+    UInt256Limbs.fromBytes(v3, l3);
+    operator.applyOp(l1, l2, l3, l1);
+    UInt256Limbs.toBytes(l1, dest);
   }
 
   public static void add(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
@@ -147,7 +142,7 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.add(op2).mod(mod));
+      doOnLimbs(v1, v2, modulo, result, UInt256Limbs::addModulo);
     }
   }
 
@@ -227,7 +222,7 @@ public abstract class UInt256Bytes {
   }
 
   public static void multiply(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, BigInteger::multiply);
+    doOnLimbs(v1, v2, result, UInt256Limbs::multiply);
   }
 
   public static void multiply(final Bytes32 v1, final long v2, final MutableBytes32 result) {
@@ -237,12 +232,12 @@ public abstract class UInt256Bytes {
       final int shifts = log2(v2);
       // We have to be careful with overflowing operation.
       if (bitLength(v1) >= SIZE - 1 - shifts) {
-        doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+        multiply(v1, of(v2), result);
       } else {
         shiftLeft(v1, shifts, result);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+      multiply(v1, of(v2), result);
     }
   }
 
@@ -251,7 +246,7 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.multiply(op2).mod(mod));
+      doOnLimbs(v1, v2, modulo, result, UInt256Limbs::multiplyModulo);
     }
   }
 
@@ -259,7 +254,7 @@ public abstract class UInt256Bytes {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::divide);
+      doOnLimbs(v1, v2, result, UInt256Limbs::divide);
     }
   }
 
@@ -308,19 +303,19 @@ public abstract class UInt256Bytes {
     } else if (v2 > 0 && isPowerOf2(v2)) {
       shiftRight(v1, log2(v2), result);
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::divide);
+      divide(v1, of(v2), result);
     }
   }
 
   public static void exponent(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, (val, pow) -> val.modPow(pow, P256));
+    doOnLimbs(v1, v2, result, UInt256Limbs::exponent);
   }
 
   public static void modulo(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::mod);
+      doOnLimbs(v1, v2, result, UInt256Limbs::modulo);
     }
   }
 
@@ -340,7 +335,7 @@ public abstract class UInt256Bytes {
         result.set(SIZE - 1 - i, (byte) 0);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::mod);
+      modulo(v1, of(v2), result);
     }
   }
 
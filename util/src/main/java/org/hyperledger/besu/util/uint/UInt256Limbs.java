@@ -0,0 +1,518 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.util.uint;
+
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.MutableBytes32;
+
+/**
+ * Static operations on 256 bit unsigned integers held as four 64 bit limbs.
+ *
+ * <p>The limbs are held in a {@code long[]} of {@link #LIMBS} elements, least significant limb
+ * first. Each limb is interpreted as unsigned. Arithmetic is modulo 2^256, as for the EVM.
+ *
+ * <p>All operations that write a result are written assuming that the result may be the same array
+ * as one or more of the operands.
+ */
+public final class UInt256Limbs {
+
+  /** The number of limbs of a value. */
+  public static final int LIMBS = 4;
+
+  /** This mask is used to obtain the value of an int as if it were unsigned. */
+  private static final long LONG_MASK = 0xffffffffL;
+
+  private UInt256Limbs() {}
+
+  /** An operation on one value, such as {@link #not}. */
+  public interface UnaryOp {
+    void applyOp(long[] v, long[] result);
+  }
+
+  /** An operation on two values, such as {@link #add}. */
+  public interface BinaryOp {
+    void applyOp(long[] v1, long[] v2, long[] result);
+  }
+
+  /** An operation on three values, such as {@link #addModulo}. */
+  public interface TernaryOp {
+    void applyOp(long[] v1, long[] v2, long[] v3, long[] result);
+  }
+
+  /** @return A new value, set to zero. */
+  public static long[] create() {
+    return new long[LIMBS];
+  }
+
+  public static void fromBytes(final Bytes32 bytes, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = bytes.getLong(Bytes32.SIZE - 8 * (i + 1));
+    }
+  }
+
+  public static void toBytes(final long[] v, final MutableBytes32 result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result.setLong(Bytes32.SIZE - 8 * (i + 1), v[i]);
+    }
+  }
+
+  public static boolean isZero(final long[] v) {
+    return (v[0] | v[1] | v[2] | v[3]) == 0;
+  }
+
+  /** @return Whether the value is less than 2^64, that is fits in the least significant limb. */
+  public static boolean fitsLong(final long[] v) {
+    return (v[1] | v[2] | v[3]) == 0;
+  }
+
+  /** Compares the values interpreted as two's complement signed values. */
+  public static int compareSigned(final long[] v1, final long[] v2) {
+    final int comparison = Long.compare(v1[LIMBS - 1], v2[LIMBS - 1]);
+    if (comparison != 0) {
+      return comparison;
+    }
+    for (int i = LIMBS - 2; i >= 0; i--) {
+      final int lowerComparison = Long.compareUnsigned(v1[i], v2[i]);
+      if (lowerComparison != 0) {
+        return lowerComparison;
+      }
+    }
+    return 0;
+  }
+
+  public static int compareUnsigned(final long[] v1, final long[] v2) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int comparison = Long.compareUnsigned(v1[i], v2[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  public static void add(final long[] v1, final long[] v2, final long[] result) {
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = v1[i] + v2[i] + carry;
+      // The sum overflowed if it is less than an operand, or equal to it while carrying.
+      carry = (Long.compareUnsigned(sum, v1[i]) < 0 || (carry != 0 && sum == v1[i])) ? 1 : 0;
+      result[i] = sum;
+    }
+    // Discard the final carry since we work modulo 256.
+  }
+
+  public static void subtract(final long[] v1, final long[] v2, final long[] result) {
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long a = v1[i];
+      final long diff = a - v2[i] - borrow;
+      borrow = (Long.compareUnsigned(a, v2[i]) < 0 || (borrow != 0 && a == v2[i])) ? 1 : 0;
+      result[i] = diff;
+    }
+  }
+
+  /** Two's complement negation, that is 2^256 - v. */
+  public static void negate(final long[] v, final long[] result) {
+    long carry = 1;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = ~v[i] + carry;
+      carry = (carry != 0 && sum == 0) ? 1 : 0;
+      result[i] = sum;
+    }
+  }
+
+  /** @return Whether the value is negative when interpreted as a two's complement signed value. */
+  public static boolean isNegative(final long[] v) {
+    return v[LIMBS - 1] < 0;
+  }
+
+  public static void multiply(final long[] v1, final long[] v2, final long[] result) {
+    if (fitsLong(v1) && fitsLong(v2)) {
+      final long a = v1[0];
+      final long b = v2[0];
+      result[0] = a * b;
+      result[1] = unsignedMultiplyHigh(a, b);
+      result[2] = 0;
+      result[3] = 0;
+      return;
+    }
+    final long[] product = new long[LIMBS];
+    multiplyInto(v1, v2, product, LIMBS);
+    System.arraycopy(product, 0, result, 0, LIMBS);
+  }
+
+  public static void divide(final long[] v1, final long[] v2, final long[] result) {
+    if (isZero(v2)) {
+      clear(result);
+    } else if (fitsLong(v1) && fitsLong(v2)) {
+      result[0] = Long.divideUnsigned(v1[0], v2[0]);
+      result[1] = 0;
+      result[2] = 0;
+      result[3] = 0;
+    } else {
+      divide(v1, v2, result, null);
+    }
+  }
+
+  public static void modulo(final long[] v1, final long[] v2, final long[] result) {
+    if (isZero(v2)) {
+      clear(result);
+    } else if (fitsLong(v1) && fitsLong(v2)) {
+      result[0] = Long.remainderUnsigned(v1[0], v2[0]);
+      result[1] = 0;
+      result[2] = 0;
+      result[3] = 0;
+    } else {
+      divide(v1, v2, null, result);
+    }
+  }
+
+  public static void addModulo(
+      final long[] v1, final long[] v2, final long[] modulo, final long[] result) {
+    if (isZero(modulo)) {
+      clear(result);
+      return;
+    }
+    // The sum is computed in full, with the carry out of 256 bits in a fifth limb.
+    final long[] sum = new long[LIMBS + 1];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long s = v1[i] + v2[i] + carry;
+      carry = (Long.compareUnsigned(s, v1[i]) < 0 || (carry != 0 && s == v1[i])) ? 1 : 0;
+      sum[i] = s;
+    }
+    sum[LIMBS] = carry;
+    divide(sum, modulo, null, result);
+  }
+
+  public static void multiplyModulo(
+      final long[] v1, final long[] v2, final long[] modulo, final long[] result) {
+    if (isZero(modulo)) {
+      clear(result);
+      return;
+    }
+    // The product is computed in full, as 512 bits.
+    final long[] product = new long[2 * LIMBS];
+    multiplyInto(v1, v2, product, 2 * LIMBS);
+    divide(product, modulo, null, result);
+  }
+
+  public static void exponent(final long[] base, final long[] exponent, final long[] result) {
+    final long[] power = {1, 0, 0, 0};
+    final int bitLength = bitLength(exponent);
+    // Square and multiply, from the most significant bit of the exponent.
+    for (int bit = bitLength - 1; bit >= 0; bit--) {
+      multiply(power, power, power);
+      if ((exponent[bit >>> 6] & (1L << (bit & 63))) != 0) {
+        multiply(power, base, power);
+      }
+      if (isZero(power)) {
+        break;
+      }
+    }
+    System.arraycopy(power, 0, result, 0, LIMBS);
+  }
+
+  /**
+   * Signed division, rounding towards zero. Dividing -2^255 by -1 overflows, and results in -2^255.
+   */
+  public static void signedDivide(final long[] v1, final long[] v2, final long[] result) {
+    if (isZero(v2)) {
+      clear(result);
+      return;
+    }
+    final boolean negative1 = isNegative(v1);
+    final boolean negative2 = isNegative(v2);
+    final long[] a = create();
+    final long[] b = create();
+    abs(v1, a);
+    abs(v2, b);
+    divide(a, b, result);
+    if (negative1 != negative2) {
+      negate(result, result);
+    }
+  }
+
+  /** Signed modulo. The result has the sign of the dividend. */
+  public static void signedModulo(final long[] v1, final long[] v2, final long[] result) {
+    if (isZero(v2)) {
+      clear(result);
+      return;
+    }
+    final boolean negative1 = isNegative(v1);
+    final long[] a = create();
+    final long[] b = create();
+    abs(v1, a);
+    abs(v2, b);
+    modulo(a, b, result);
+    if (negative1) {
+      negate(result, result);
+    }
+  }
+
+  public static int bitLength(final long[] v) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      if (v[i] != 0) {
+        return 64 * i + 64 - Long.numberOfLeadingZeros(v[i]);
+      }
+    }
+    return 0;
+  }
+
+  public static void and(final long[] v1, final long[] v2, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = v1[i] & v2[i];
+    }
+  }
+
+  public static void or(final long[] v1, final long[] v2, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = v1[i] | v2[i];
+    }
+  }
+
+  public static void xor(final long[] v1, final long[] v2, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = v1[i] ^ v2[i];
+    }
+  }
+
+  public static void not(final long[] v, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      result[i] = ~v[i];
+    }
+  }
+
+  /** Sets the result to 1 if v1 is less than v2, and to 0 otherwise. */
+  public static void lessThan(final long[] v1, final long[] v2, final long[] result) {
+    setBoolean(compareUnsigned(v1, v2) < 0, result);
+  }
+
+  /** Sets the result to 1 if v1 is greater than v2, and to 0 otherwise. */
+  public static void greaterThan(final long[] v1, final long[] v2, final long[] result) {
+    setBoolean(compareUnsigned(v1, v2) > 0, result);
+  }
+
+  /** Sets the result to 1 if v1 is less than v2 as signed values, and to 0 otherwise. */
+  public static void signedLessThan(final long[] v1, final long[] v2, final long[] result) {
+    setBoolean(compareSigned(v1, v2) < 0, result);
+  }
+
+  /** Sets the result to 1 if v1 is greater than v2 as signed values, and to 0 otherwise. */
+  public static void signedGreaterThan(final long[] v1, final long[] v2, final long[] result) {
+    setBoolean(compareSigned(v1, v2) > 0, result);
+  }
+
+  /** Sets the result to 1 if v1 equals v2, and to 0 otherwise. */
+  public static void equal(final long[] v1, final long[] v2, final long[] result) {
+    setBoolean(compareUnsigned(v1, v2) == 0, result);
+  }
+
+  /** Sets the result to 1 if v is zero, and to 0 otherwise. */
+  public static void equalsZero(final long[] v, final long[] result) {
+    setBoolean(isZero(v), result);
+  }
+
+  private static void setBoolean(final boolean value, final long[] result) {
+    result[0] = value ? 1 : 0;
+    result[1] = 0;
+    result[2] = 0;
+    result[3] = 0;
+  }
+
+  private static void clear(final long[] v) {
+    for (int i = 0; i < LIMBS; i++) {
+      v[i] = 0;
+    }
+  }
+
+  private static void abs(final long[] v, final long[] result) {
+    if (isNegative(v)) {
+      negate(v, result);
+    } else {
+      System.arraycopy(v, 0, result, 0, LIMBS);
+    }
+  }
+
+  private static long unsignedMultiplyHigh(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  // Schoolbook multiplication, keeping the least significant productLimbs limbs of the product.
+  private static void multiplyInto(
+      final long[] v1, final long[] v2, final long[] product, final int productLimbs) {
+    for (int i = 0; i < LIMBS; i++) {
+      final long a = v1[i];
+      if (a == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < LIMBS && i + j < productLimbs; j++) {
+        final long b = v2[j];
+        final long low = a * b;
+        long high = unsignedMultiplyHigh(a, b);
+        // The full sum of the product, the existing limb and the carry fits in 128 bits.
+        final long sum1 = low + product[i + j];
+        if (Long.compareUnsigned(sum1, low) < 0) {
+          high++;
+        }
+        final long sum2 = sum1 + carry;
+        if (Long.compareUnsigned(sum2, sum1) < 0) {
+          high++;
+        }
+        product[i + j] = sum2;
+        carry = high;
+      }
+      if (i + LIMBS < productLimbs) {
+        product[i + LIMBS] = carry;
+      }
+    }
+  }
+
+  /**
+   * Divide a numerator of any number of limbs by a 256 bit divisor, using Knuth's algorithm D on 32
+   * bit digits.
+   *
+   * @param numerator Numerator, least significant limb first.
+   * @param divisor Divisor. Must not be zero.
+   * @param quotient Set to the least significant 256 bits of the quotient, if not null.
+   * @param remainder Set to the remainder, if not null.
+   */
+  private static void divide(
+      final long[] numerator, final long[] divisor, final long[] quotient, final long[] remainder) {
+    final int[] u = toDigits(numerator);
+    final int[] v = toDigits(divisor);
+    final int m = significantDigits(u);
+    final int n = significantDigits(v);
+    final int[] q = new int[Math.max(m - n + 1, 1)];
+    final int[] r;
+    if (m < n) {
+      r = u;
+    } else if (n == 1) {
+      r = new int[] {divideByDigit(u, m, v[0], q)};
+    } else {
+      r = new int[n];
+      divideDigits(u, m, v, n, q, r);
+    }
+    if (quotient != null) {
+      fromDigits(q, quotient);
+    }
+    if (remainder != null) {
+      fromDigits(r, remainder);
+    }
+  }
+
+  private static int divideByDigit(final int[] u, final int m, final int divisor, final int[] q) {
+    final long d = divisor & LONG_MASK;
+    long rem = 0;
+    for (int j = m - 1; j >= 0; j--) {
+      final long dividend = (rem << 32) | (u[j] & LONG_MASK);
+      q[j] = (int) Long.divideUnsigned(dividend, d);
+      rem = Long.remainderUnsigned(dividend, d);
+    }
+    return (int) rem;
+  }
+
+  // Knuth's algorithm D, as given in Hacker's Delight. The digits are least significant first. The
+  // divisor has n > 1 significant digits, and the numerator m >= n significant digits.
+  private static void divideDigits(
+      final int[] u, final int m, final int[] v, final int n, final int[] q, final int[] r) {
+    final long b = 1L << 32;
+    // Normalise, so that the most significant digit of the divisor has its top bit set.
+    final int s = Integer.numberOfLeadingZeros(v[n - 1]);
+    final int[] vn = new int[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (v[i] << s) | (int) ((v[i - 1] & LONG_MASK) >>> (32 - s));
+    }
+    vn[0] = v[0] << s;
+    final int[] un = new int[m + 1];
+    un[m] = (int) ((u[m - 1] & LONG_MASK) >>> (32 - s));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (u[i] << s) | (int) ((u[i - 1] & LONG_MASK) >>> (32 - s));
+    }
+    un[0] = u[0] << s;
+
+    final long vTop = vn[n - 1] & LONG_MASK;
+    final long vNext = vn[n - 2] & LONG_MASK;
+    for (int j = m - n; j >= 0; j--) {
+      // Estimate the quotient digit from the top two digits of the remaining numerator.
+      final long top = ((un[j + n] & LONG_MASK) << 32) | (un[j + n - 1] & LONG_MASK);
+      long qhat = Long.divideUnsigned(top, vTop);
+      long rhat = Long.remainderUnsigned(top, vTop);
+      while (qhat >= b
+          || Long.compareUnsigned(qhat * vNext, (rhat << 32) | (un[j + n - 2] & LONG_MASK)) > 0) {
+        qhat--;
+        rhat += vTop;
+        if (rhat >= b) {
+          break;
+        }
+      }
+
+      // Multiply and subtract.
+      long k = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qhat * (vn[i] & LONG_MASK);
+        t = (un[i + j] & LONG_MASK) - k - (p & LONG_MASK);
+        un[i + j] = (int) t;
+        k = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & LONG_MASK) - k;
+      un[j + n] = (int) t;
+
+      q[j] = (int) qhat;
+      if (t < 0) {
+        // The estimate was one too large, so add the divisor back.
+        q[j]--;
+        k = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & LONG_MASK) + (vn[i] & LONG_MASK) + k;
+          un[i + j] = (int) t;
+          k = t >>> 32;
+        }
+        un[j + n] += (int) k;
+      }
+    }
+
+    // Unnormalise the remainder.
+    for (int i = 0; i < n - 1; i++) {
+      r[i] = (un[i] >>> s) | (int) ((un[i + 1] & LONG_MASK) << (32 - s));
+    }
+    r[n - 1] = un[n - 1] >>> s;
+  }
+
+  private static int[] toDigits(final long[] v) {
+    final int[] digits = new int[2 * v.length];
+    for (int i = 0; i < v.length; i++) {
+      digits[2 * i] = (int) v[i];
+      digits[2 * i + 1] = (int) (v[i] >>> 32);
+    }
+    return digits;
+  }
+
+  private static void fromDigits(final int[] digits, final long[] result) {
+    for (int i = 0; i < LIMBS; i++) {
+      final long low = 2 * i < digits.length ? digits[2 * i] & LONG_MASK : 0;
+      final long high = 2 * i + 1 < digits.length ? digits[2 * i + 1] & LONG_MASK : 0;
+      result[i] = (high << 32) | low;
+    }
+  }
+
+  private static int significantDigits(final int[] digits) {
+    int length = digits.length;
+    while (length > 0 && digits[length - 1] == 0) {
+      length--;
+    }
+    return length;
+  }
+}
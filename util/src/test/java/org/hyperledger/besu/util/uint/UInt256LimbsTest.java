@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.hyperledger.besu.util.uint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValues;
+import org.hyperledger.besu.util.bytes.MutableBytes32;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+public class UInt256LimbsTest {
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+  private static final BigInteger P255 = BigInteger.ONE.shiftLeft(255);
+  private static final int RANDOM_VALUES = 100;
+
+  private interface TernaryOperator {
+    BigInteger apply(BigInteger v1, BigInteger v2, BigInteger v3);
+  }
+
+  // Edge cases, followed by random values of all sizes.
+  private static List<BigInteger> values() {
+    final List<BigInteger> values = new ArrayList<>();
+    values.add(BigInteger.ZERO);
+    values.add(BigInteger.ONE);
+    values.add(BigInteger.TWO);
+    values.add(BigInteger.valueOf(Long.MAX_VALUE));
+    values.add(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+    values.add(BigInteger.ONE.shiftLeft(64));
+    values.add(BigInteger.ONE.shiftLeft(128).add(BigInteger.ONE));
+    values.add(P255);
+    values.add(P255.subtract(BigInteger.ONE));
+    values.add(P256.subtract(BigInteger.ONE));
+    values.add(P256.subtract(BigInteger.TWO));
+    final Random random = new Random(1);
+    for (int i = 0; i < RANDOM_VALUES; i++) {
+      values.add(new BigInteger(1 + random.nextInt(256), random));
+    }
+    return values;
+  }
+
+  private static long[] limbs(final BigInteger value) {
+    final long[] limbs = UInt256Limbs.create();
+    UInt256Limbs.fromBytes(UInt256.of(value).getBytes(), limbs);
+    return limbs;
+  }
+
+  private static BigInteger unsigned(final long[] limbs) {
+    final MutableBytes32 bytes = MutableBytes32.create();
+    UInt256Limbs.toBytes(limbs, bytes);
+    return BytesValues.asUnsignedBigInteger(bytes);
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.testBit(255) ? value.subtract(P256) : value;
+  }
+
+  private static BigInteger wrap(final BigInteger value) {
+    return value.mod(P256);
+  }
+
+  private static void checkBinary(
+      final String name,
+      final UInt256Limbs.BinaryOp op,
+      final BinaryOperator<BigInteger> expected) {
+    final long[] result = UInt256Limbs.create();
+    for (final BigInteger v1 : values()) {
+      for (final BigInteger v2 : values()) {
+        op.applyOp(limbs(v1), limbs(v2), result);
+        assertThat(unsigned(result))
+            .as("%s(%s, %s)", name, v1, v2)
+            .isEqualTo(expected.apply(v1, v2));
+      }
+    }
+  }
+
+  private static void checkUnary(
+      final String name,
+      final UInt256Limbs.UnaryOp op,
+      final UnaryOperator<BigInteger> expected) {
+    final long[] result = UInt256Limbs.create();
+    for (final BigInteger v : values()) {
+      op.applyOp(limbs(v), result);
+      assertThat(unsigned(result)).as("%s(%s)", name, v).isEqualTo(expected.apply(v));
+    }
+  }
+
+  private static BigInteger bool(final boolean value) {
+    return value ? BigInteger.ONE : BigInteger.ZERO;
+  }
+
+  private static void checkTernary(
+      final String name, final UInt256Limbs.TernaryOp op, final TernaryOperator expected) {
+    final long[] result = UInt256Limbs.create();
+    final List<BigInteger> values = values();
+    final Random random = new Random(2);
+    for (final BigInteger v1 : values) {
+      for (final BigInteger v2 : values) {
+        final BigInteger modulo = values.get(random.nextInt(values.size()));
+        op.applyOp(limbs(v1), limbs(v2), limbs(modulo), result);
+        assertThat(unsigned(result))
+            .as("%s(%s, %s, %s)", name, v1, v2, modulo)
+            .isEqualTo(expected.apply(v1, v2, modulo));
+      }
+    }
+  }
+
+  @Test
+  public void roundTripsThroughBytes() {
+    for (final BigInteger value : values()) {
+      final Bytes32 bytes = UInt256.of(value).getBytes();
+      final long[] limbs = UInt256Limbs.create();
+      UInt256Limbs.fromBytes(bytes, limbs);
+      final MutableBytes32 result = MutableBytes32.create();
+      UInt256Limbs.toBytes(limbs, result);
+      assertThat(result).isEqualTo(bytes);
+      assertThat(UInt256Limbs.bitLength(limbs)).isEqualTo(value.bitLength());
+      assertThat(UInt256Limbs.isZero(limbs)).isEqualTo(value.signum() == 0);
+    }
+  }
+
+  @Test
+  public void compareUnsigned() {
+    for (final BigInteger v1 : values()) {
+      for (final BigInteger v2 : values()) {
+        assertThat(Integer.signum(UInt256Limbs.compareUnsigned(limbs(v1), limbs(v2))))
+            .isEqualTo(v1.compareTo(v2));
+      }
+    }
+  }
+
+  @Test
+  public void compareSigned() {
+    for (final BigInteger v1 : values()) {
+      for (final BigInteger v2 : values()) {
+        assertThat(Integer.signum(UInt256Limbs.compareSigned(limbs(v1), limbs(v2))))
+            .isEqualTo(signed(v1).compareTo(signed(v2)));
+      }
+    }
+  }
+
+  @Test
+  public void bitwise() {
+    checkBinary("and", UInt256Limbs::and, BigInteger::and);
+    checkBinary("or", UInt256Limbs::or, BigInteger::or);
+    checkBinary("xor", UInt256Limbs::xor, BigInteger::xor);
+    checkUnary("not", UInt256Limbs::not, v -> P256.subtract(BigInteger.ONE).subtract(v));
+  }
+
+  @Test
+  public void comparisons() {
+    checkBinary("lessThan", UInt256Limbs::lessThan, (v1, v2) -> bool(v1.compareTo(v2) < 0));
+    checkBinary("greaterThan", UInt256Limbs::greaterThan, (v1, v2) -> bool(v1.compareTo(v2) > 0));
+    checkBinary(
+        "signedLessThan",
+        UInt256Limbs::signedLessThan,
+        (v1, v2) -> bool(signed(v1).compareTo(signed(v2)) < 0));
+    checkBinary(
+        "signedGreaterThan",
+        UInt256Limbs::signedGreaterThan,
+        (v1, v2) -> bool(signed(v1).compareTo(signed(v2)) > 0));
+    checkBinary("equal", UInt256Limbs::equal, (v1, v2) -> bool(v1.equals(v2)));
+    checkUnary("equalsZero", UInt256Limbs::equalsZero, v -> bool(v.signum() == 0));
+  }
+
+  @Test
+  public void add() {
+    checkBinary("add", UInt256Limbs::add, (v1, v2) -> wrap(v1.add(v2)));
+  }
+
+  @Test
+  public void subtract() {
+    checkBinary("subtract", UInt256Limbs::subtract, (v1, v2) -> wrap(v1.subtract(v2)));
+  }
+
+  @Test
+  public void multiply() {
+    checkBinary("multiply", UInt256Limbs::multiply, (v1, v2) -> wrap(v1.multiply(v2)));
+  }
+
+  @Test
+  public void divide() {
+    checkBinary(
+        "divide",
+        UInt256Limbs::divide,
+        (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : v1.divide(v2));
+  }
+
+  @Test
+  public void modulo() {
+    checkBinary(
+        "modulo",
+        UInt256Limbs::modulo,
+        (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : v1.mod(v2));
+  }
+
+  @Test
+  public void signedDivide() {
+    checkBinary(
+        "signedDivide",
+        UInt256Limbs::signedDivide,
+        (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : wrap(signed(v1).divide(signed(v2))));
+  }
+
+  @Test
+  public void signedDivideOverflows() {
+    final long[] result = UInt256Limbs.create();
+    UInt256Limbs.signedDivide(limbs(P255), limbs(P256.subtract(BigInteger.ONE)), result);
+    assertThat(unsigned(result)).isEqualTo(P255);
+  }
+
+  @Test
+  public void signedModulo() {
+    checkBinary(
+        "signedModulo",
+        UInt256Limbs::signedModulo,
+        (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : wrap(signed(v1).rem(signed(v2))));
+  }
+
+  @Test
+  public void exponent() {
+    checkBinary("exponent", UInt256Limbs::exponent, (v1, v2) -> v1.modPow(v2, P256));
+  }
+
+  @Test
+  public void addModulo() {
+    checkTernary(
+        "addModulo",
+        UInt256Limbs::addModulo,
+        (v1, v2, m) -> m.signum() == 0 ? BigInteger.ZERO : v1.add(v2).mod(m));
+  }
+
+  @Test
+  public void multiplyModulo() {
+    checkTernary(
+        "multiplyModulo",
+        UInt256Limbs::multiplyModulo,
+        (v1, v2, m) -> m.signum() == 0 ? BigInteger.ZERO : v1.multiply(v2).mod(m));
+  }
+}